@@ -0,0 +1,326 @@
+package com.fortisbank.business.bll_utils;
+
+import com.fortisbank.business.bll_utils.ColumnarLedgerWriter.RowGroupInfo;
+import com.fortisbank.contracts.models.transactions.Transaction;
+import com.fortisbank.contracts.models.transactions.TransactionType;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Reads a file written by {@link ColumnarLedgerWriter}.
+ *
+ * A scan reads only the requested columns, plus those its filter needs, and only the row groups whose
+ * statistics may match the filter on date and type. Rows within a read row group are then filtered exactly.
+ */
+public class ColumnarLedgerReader implements Closeable {
+
+    private final RandomAccessFile file;
+    private final List<String> dictionary;
+    private final List<RowGroupInfo> rowGroups;
+
+    /**
+     * Opens a file and reads its footer.
+     *
+     * @param path the path of the file
+     * @throws IOException if the file cannot be read or is not a columnar ledger file
+     */
+    public ColumnarLedgerReader(Path path) throws IOException {
+        this.file = new RandomAccessFile(path.toFile(), "r");
+        try {
+            if (file.length() < 20 || file.readInt() != ColumnarLedgerWriter.MAGIC) {
+                throw new IOException("Not a columnar ledger file: " + path);
+            }
+            int version = file.readInt();
+            if (version != ColumnarLedgerWriter.VERSION) {
+                throw new IOException("Unsupported columnar ledger version " + version + ": " + path);
+            }
+            file.seek(file.length() - 12);
+            long footerOffset = file.readLong();
+            if (file.readInt() != ColumnarLedgerWriter.MAGIC) {
+                throw new IOException("Incomplete columnar ledger file: " + path);
+            }
+
+            file.seek(footerOffset);
+            int dictionarySize = file.readInt();
+            List<String> entries = new ArrayList<>(dictionarySize);
+            for (int i = 0; i < dictionarySize; i++) entries.add(file.readUTF());
+            int groupCount = file.readInt();
+            List<RowGroupInfo> groups = new ArrayList<>(groupCount);
+            for (int i = 0; i < groupCount; i++) groups.add(RowGroupInfo.readFrom(file));
+            this.dictionary = Collections.unmodifiableList(entries);
+            this.rowGroups = Collections.unmodifiableList(groups);
+        } catch (IOException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of rows in the file.
+     *
+     * @return the number of rows
+     */
+    public long getRowCount() {
+        return rowGroups.stream().mapToLong(group -> group.rowCount).sum();
+    }
+
+    /**
+     * Returns the number of row groups in the file.
+     *
+     * @return the number of row groups
+     */
+    public int getRowGroupCount() {
+        return rowGroups.size();
+    }
+
+    /**
+     * Passes the rows matching a filter to an action, oldest row group first, until it returns false.
+     * Columns that were not requested are null in the rows, and zero for the date.
+     *
+     * @param filter the rows to read
+     * @param columns the columns to read
+     * @param action receives each matching row and returns whether to continue
+     * @return the number of row groups read and skipped and the number of rows passed to the action
+     * @throws IOException if the file cannot be read
+     */
+    public ScanResult scan(Filter filter, Set<LedgerColumn> columns, Predicate<LedgerRow> action) throws IOException {
+        Set<LedgerColumn> needed = columns.isEmpty() ? EnumSet.noneOf(LedgerColumn.class) : EnumSet.copyOf(columns);
+        if (filter.hasDateBounds()) needed.add(LedgerColumn.DATE);
+        if (filter.types() != null) needed.add(LedgerColumn.TYPE);
+
+        long from = filter.fromMillis();
+        long until = filter.untilMillis();
+        int read = 0;
+        int skipped = 0;
+        long matched = 0;
+        for (RowGroupInfo group : rowGroups) {
+            if (!filter.mayMatch(group, from, until)) {
+                skipped++;
+                continue;
+            }
+            read++;
+            ColumnValues values = readColumns(group, needed);
+            for (int row = 0; row < group.rowCount; row++) {
+                long date = values.dates != null ? values.dates[row] : 0;
+                TransactionType type = values.types != null ? values.types[row] : null;
+                if (!filter.matches(date, type, from, until)) continue;
+                matched++;
+                LedgerRow ledgerRow = new LedgerRow(
+                        values.numbers != null ? values.numbers[row] : null,
+                        columns.contains(LedgerColumn.DATE) ? date : 0,
+                        columns.contains(LedgerColumn.TYPE) ? type : null,
+                        values.amounts != null ? values.amounts[row] : null,
+                        values.sources != null ? values.sources[row] : null,
+                        values.destinations != null ? values.destinations[row] : null);
+                if (!action.test(ledgerRow)) return new ScanResult(read, skipped, matched);
+            }
+        }
+        return new ScanResult(read, skipped, matched);
+    }
+
+    /**
+     * Returns the checksum of every row of the file in order, as {@link #checksum(long, LedgerRow)} folds them.
+     * Compared with the checksum of the transactions written, it tells whether the file reads back what was written.
+     *
+     * @return the checksum of the file
+     * @throws IOException if the file cannot be read
+     */
+    public long checksum() throws IOException {
+        long[] checksum = {0};
+        scan(Filter.all(), EnumSet.allOf(LedgerColumn.class), row -> {
+            checksum[0] = checksum(checksum[0], row);
+            return true;
+        });
+        return checksum[0];
+    }
+
+    /**
+     * Adds a row to a running checksum. The checksum depends on the order of the rows, and amounts are
+     * compared by value, since a row group stores all its amounts at the largest scale among them.
+     *
+     * @param checksum the checksum of the previous rows, zero for the first row
+     * @param row the row to add
+     * @return the checksum including the row
+     */
+    public static long checksum(long checksum, LedgerRow row) {
+        return 31 * checksum + Objects.hash(row.transactionNumber(), row.dateMillis(), row.type(),
+                row.amount() != null ? row.amount().stripTrailingZeros() : null,
+                row.sourceAccountNumber(), row.destinationAccountNumber());
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private ColumnValues readColumns(RowGroupInfo group, Set<LedgerColumn> columns) throws IOException {
+        ColumnValues values = new ColumnValues();
+        int rows = group.rowCount;
+        for (LedgerColumn column : columns) {
+            byte[] compressed = new byte[group.chunkLengths[column.ordinal()]];
+            file.seek(group.chunkOffsets[column.ordinal()]);
+            file.readFully(compressed);
+            try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed)))) {
+                switch (column) {
+                    case NUMBER -> {
+                        values.numbers = new String[rows];
+                        for (int i = 0; i < rows; i++) values.numbers[i] = in.readUTF();
+                    }
+                    case DATE -> {
+                        values.dates = new long[rows];
+                        long previous = 0;
+                        for (int i = 0; i < rows; i++) {
+                            previous += readVarLong(in);
+                            values.dates[i] = previous;
+                        }
+                    }
+                    case TYPE -> {
+                        TransactionType[] types = TransactionType.values();
+                        values.types = new TransactionType[rows];
+                        for (int i = 0; i < rows; i++) values.types[i] = types[in.readUnsignedByte()];
+                    }
+                    case AMOUNT -> {
+                        int scale = in.readUnsignedByte();
+                        values.amounts = new BigDecimal[rows];
+                        for (int i = 0; i < rows; i++) values.amounts[i] = BigDecimal.valueOf(readVarLong(in), scale);
+                    }
+                    case SOURCE -> values.sources = readAccounts(in, rows);
+                    case DESTINATION -> values.destinations = readAccounts(in, rows);
+                }
+            }
+        }
+        return values;
+    }
+
+    private String[] readAccounts(DataInputStream in, int rows) throws IOException {
+        String[] accounts = new String[rows];
+        for (int i = 0; i < rows; i++) {
+            int index = (int) readVarLong(in);
+            accounts[i] = index == 0 ? null : dictionary.get(index - 1);
+        }
+        return accounts;
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long v = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) break;
+        }
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /**
+     * The decoded columns of one row group; columns that were not read are null.
+     */
+    private static final class ColumnValues {
+        String[] numbers;
+        long[] dates;
+        TransactionType[] types;
+        BigDecimal[] amounts;
+        String[] sources;
+        String[] destinations;
+    }
+
+    /**
+     * A row of the ledger.
+     *
+     * @param transactionNumber the transaction number
+     * @param dateMillis the transaction date in epoch milliseconds
+     * @param type the transaction type
+     * @param amount the amount
+     * @param sourceAccountNumber the source account number, or null
+     * @param destinationAccountNumber the destination account number, or null
+     */
+    public record LedgerRow(String transactionNumber, long dateMillis, TransactionType type, BigDecimal amount,
+                            String sourceAccountNumber, String destinationAccountNumber) {
+
+        /**
+         * Returns the row {@link ColumnarLedgerWriter} stores for a transaction.
+         *
+         * @param transaction the transaction
+         * @return the row
+         */
+        public static LedgerRow of(Transaction transaction) {
+            return new LedgerRow(
+                    transaction.getTransactionNumber() != null ? transaction.getTransactionNumber() : "",
+                    transaction.getTransactionDate().getTime(),
+                    transaction.getTransactionType(),
+                    transaction.getAmount(),
+                    transaction.getSourceAccountNumber(),
+                    transaction.getDestinationAccountNumber());
+        }
+    }
+
+    /**
+     * The outcome of a scan.
+     *
+     * @param rowGroupsRead the number of row groups whose columns were read
+     * @param rowGroupsSkipped the number of row groups skipped on their statistics
+     * @param rowsMatched the number of rows passed to the action
+     */
+    public record ScanResult(int rowGroupsRead, int rowGroupsSkipped, long rowsMatched) {
+    }
+
+    /**
+     * The rows a scan reads: those within a date range and of some types.
+     *
+     * @param from the first day to read, or null for no lower bound
+     * @param to the last day to read, or null for no upper bound
+     * @param types the types to read, or null for all types
+     */
+    public record Filter(LocalDate from, LocalDate to, Set<TransactionType> types) {
+
+        /**
+         * A filter that reads every row.
+         *
+         * @return the filter
+         */
+        public static Filter all() {
+            return new Filter(null, null, null);
+        }
+
+        private boolean hasDateBounds() {
+            return from != null || to != null;
+        }
+
+        private long fromMillis() {
+            return from != null ? from.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli() : Long.MIN_VALUE;
+        }
+
+        private long untilMillis() {
+            return to != null ? to.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli() : Long.MAX_VALUE;
+        }
+
+        private boolean mayMatch(RowGroupInfo group, long from, long until) {
+            if (group.maxDate < from || group.minDate >= until) return false;
+            if (types == null) return true;
+            for (TransactionType type : types) {
+                if ((group.typeMask & (1 << type.ordinal())) != 0) return true;
+            }
+            return false;
+        }
+
+        private boolean matches(long date, TransactionType type, long from, long until) {
+            if (hasDateBounds() && (date < from || date >= until)) return false;
+            return types == null || types.contains(type);
+        }
+    }
+}
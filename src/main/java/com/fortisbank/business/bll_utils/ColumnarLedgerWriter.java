@@ -0,0 +1,228 @@
+package com.fortisbank.business.bll_utils;
+
+import com.fortisbank.contracts.models.transactions.Transaction;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes transactions to a columnar ledger file for offline analysis.
+ *
+ * Rows are buffered into row groups of {@link #ROW_GROUP_SIZE} transactions. Each column of a row group is
+ * encoded by type and compressed on its own, so a reader only inflates the columns it needs. The footer
+ * holds the account dictionary, the position of every column chunk and the minimum and maximum date,
+ * amount and types of each row group, which lets a reader skip row groups that cannot match its filter.
+ *
+ * Layout: {@code magic, version, row groups..., footer, footer offset, magic}.
+ * Writing transactions in date order keeps the date ranges of the row groups narrow.
+ */
+public class ColumnarLedgerWriter implements Closeable {
+
+    static final int MAGIC = 0x46424C43; // "FBLC"
+    static final int VERSION = 1;
+    static final int ROW_GROUP_SIZE = 65_536;
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> dictionaryEntries = new ArrayList<>();
+    private final List<RowGroupInfo> rowGroups = new ArrayList<>();
+    private final List<Transaction> pending = new ArrayList<>(ROW_GROUP_SIZE);
+    private long position;
+    private long rowCount;
+    private boolean closed;
+
+    /**
+     * Creates the file, replacing any existing one.
+     *
+     * @param path the path of the file
+     * @throws IOException if the file cannot be created
+     */
+    public ColumnarLedgerWriter(Path path) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        position = out.size();
+    }
+
+    /**
+     * Adds a transaction to the file.
+     *
+     * @param transaction the transaction to add
+     * @throws IOException if a full row group cannot be written
+     */
+    public void write(Transaction transaction) throws IOException {
+        pending.add(transaction);
+        rowCount++;
+        if (pending.size() == ROW_GROUP_SIZE) flushRowGroup();
+    }
+
+    /**
+     * Returns the number of transactions added so far.
+     *
+     * @return the number of rows
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes the last row group and the footer and closes the file.
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        try (out) {
+            if (!pending.isEmpty()) flushRowGroup();
+            long footerOffset = position;
+            out.writeInt(dictionaryEntries.size());
+            for (String accountNumber : dictionaryEntries) out.writeUTF(accountNumber);
+            out.writeInt(rowGroups.size());
+            for (RowGroupInfo group : rowGroups) group.writeTo(out);
+            out.writeLong(footerOffset);
+            out.writeInt(MAGIC);
+        }
+    }
+
+    private void flushRowGroup() throws IOException {
+        RowGroupInfo group = new RowGroupInfo(pending.size());
+        int scale = 0;
+        for (Transaction t : pending) {
+            group.include(t);
+            scale = Math.max(scale, t.getAmount().scale());
+        }
+
+        for (LedgerColumn column : LedgerColumn.values()) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (DataOutputStream chunk = new DataOutputStream(new DeflaterOutputStream(buffer))) {
+                encode(column, chunk, scale);
+            }
+            buffer.writeTo(out);
+            group.chunkOffsets[column.ordinal()] = position;
+            group.chunkLengths[column.ordinal()] = buffer.size();
+            position += buffer.size();
+        }
+        rowGroups.add(group);
+        pending.clear();
+    }
+
+    private void encode(LedgerColumn column, DataOutputStream chunk, int scale) throws IOException {
+        switch (column) {
+            case NUMBER -> {
+                for (Transaction t : pending) chunk.writeUTF(t.getTransactionNumber() != null ? t.getTransactionNumber() : "");
+            }
+            case DATE -> {
+                long previous = 0;
+                for (Transaction t : pending) {
+                    long date = t.getTransactionDate().getTime();
+                    writeVarLong(chunk, date - previous);
+                    previous = date;
+                }
+            }
+            case TYPE -> {
+                for (Transaction t : pending) chunk.writeByte(t.getTransactionType().ordinal());
+            }
+            case AMOUNT -> {
+                chunk.writeByte(scale);
+                for (Transaction t : pending) writeVarLong(chunk, t.getAmount().setScale(scale).unscaledValue().longValueExact());
+            }
+            case SOURCE -> {
+                for (Transaction t : pending) writeVarLong(chunk, dictionaryIndex(t.getSourceAccountNumber()));
+            }
+            case DESTINATION -> {
+                for (Transaction t : pending) writeVarLong(chunk, dictionaryIndex(t.getDestinationAccountNumber()));
+            }
+        }
+    }
+
+    /**
+     * Returns the index of an account number in the dictionary plus one, or zero for no account.
+     */
+    private long dictionaryIndex(String accountNumber) {
+        if (accountNumber == null) return 0;
+        return dictionary.computeIfAbsent(accountNumber, number -> {
+            dictionaryEntries.add(number);
+            return dictionaryEntries.size();
+        });
+    }
+
+    /**
+     * Writes a zigzag variable-length integer: small values of either sign take one or two bytes.
+     */
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+
+    /**
+     * Statistics and chunk positions of one row group.
+     */
+    static final class RowGroupInfo {
+        final int rowCount;
+        final long[] chunkOffsets = new long[LedgerColumn.values().length];
+        final int[] chunkLengths = new int[LedgerColumn.values().length];
+        long minDate = Long.MAX_VALUE;
+        long maxDate = Long.MIN_VALUE;
+        int typeMask;
+        BigDecimal minAmount;
+        BigDecimal maxAmount;
+
+        RowGroupInfo(int rowCount) {
+            this.rowCount = rowCount;
+        }
+
+        private void include(Transaction t) {
+            long date = t.getTransactionDate().getTime();
+            minDate = Math.min(minDate, date);
+            maxDate = Math.max(maxDate, date);
+            typeMask |= 1 << t.getTransactionType().ordinal();
+            if (minAmount == null || t.getAmount().compareTo(minAmount) < 0) minAmount = t.getAmount();
+            if (maxAmount == null || t.getAmount().compareTo(maxAmount) > 0) maxAmount = t.getAmount();
+        }
+
+        private void writeTo(DataOutputStream out) throws IOException {
+            out.writeInt(rowCount);
+            out.writeLong(minDate);
+            out.writeLong(maxDate);
+            out.writeInt(typeMask);
+            out.writeUTF(minAmount.toPlainString());
+            out.writeUTF(maxAmount.toPlainString());
+            for (int i = 0; i < chunkOffsets.length; i++) {
+                out.writeLong(chunkOffsets[i]);
+                out.writeInt(chunkLengths[i]);
+            }
+        }
+
+        static RowGroupInfo readFrom(DataInput in) throws IOException {
+            RowGroupInfo group = new RowGroupInfo(in.readInt());
+            group.minDate = in.readLong();
+            group.maxDate = in.readLong();
+            group.typeMask = in.readInt();
+            group.minAmount = new BigDecimal(in.readUTF());
+            group.maxAmount = new BigDecimal(in.readUTF());
+            for (int i = 0; i < group.chunkOffsets.length; i++) {
+                group.chunkOffsets[i] = in.readLong();
+                group.chunkLengths[i] = in.readInt();
+            }
+            return group;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.fortisbank.business.bll_utils;
+
+/**
+ * The columns of a columnar ledger file, in the order their chunks are stored within a row group.
+ */
+public enum LedgerColumn {
+    /**
+     * The transaction number, stored as text.
+     */
+    NUMBER,
+
+    /**
+     * The transaction date in epoch milliseconds, stored as deltas from the previous row.
+     */
+    DATE,
+
+    /**
+     * The transaction type, stored as one byte.
+     */
+    TYPE,
+
+    /**
+     * The amount, stored as an unscaled integer with one scale per row group.
+     */
+    AMOUNT,
+
+    /**
+     * The source account number, stored as an index into the account dictionary.
+     */
+    SOURCE,
+
+    /**
+     * The destination account number, stored as an index into the account dictionary.
+     */
+    DESTINATION
+}
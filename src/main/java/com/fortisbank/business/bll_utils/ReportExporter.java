@@ -5,16 +5,34 @@ import com.fortisbank.contracts.collections.AccountList;
 import com.fortisbank.contracts.models.reports.BankSummaryReport;
 import com.fortisbank.contracts.models.reports.CustomerStatementReport;
 import com.fortisbank.contracts.models.transactions.Transaction;
+import com.fortisbank.contracts.models.users.Customer;
+import com.fortisbank.contracts.utils.IdGenerator;
 
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * Utility class for exporting reports to CSV files.
+ *
+ * Files are written through a large buffer, so each row costs no more than a copy into memory.
  */
 public class ReportExporter {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int PROGRESS_INTERVAL = 1000;
+
     /**
      * Exports a customer statement report to a CSV file.
      *
@@ -24,7 +42,8 @@ public class ReportExporter {
      * @throws IOException if an I/O error occurs
      */
     public static void exportCustomerStatementToCSV(CustomerStatementReport report, String filePath, AccountList customerAccounts) throws IOException {
-        try (FileWriter writer = new FileWriter(filePath)) {
+        Set<String> accountNumbers = accountNumbers(customerAccounts);
+        try (Writer writer = openWriter(filePath)) {
             writer.write("Customer Statement Report\n");
             writer.write("Report ID:," + csvEscape(report.getReportId()) + "\n");
             writer.write("Generated:," + csvEscape(report.getGeneratedDate().toString()) + "\n");
@@ -35,26 +54,66 @@ public class ReportExporter {
 
             writer.write("TransactionNumber,Date,Type,Description,SignedAmount\n");
 
+            StringBuilder row = new StringBuilder(128);
             for (Transaction t : report.getTransactions()) {
-                BigDecimal signed = BigDecimal.ZERO;
+                writeTransactionRow(writer, row, t, t.getSignedAmountFor(accountNumbers));
+            }
+        }
+    }
 
-                for (Account account : customerAccounts) {
-                    signed = t.getSignedAmountFor(account);
-                    if (signed.compareTo(BigDecimal.ZERO) != 0) {
-                        break;
-                    }
-                }
+    /**
+     * Streams a customer statement to a CSV file while its transactions are read, so statements of any
+     * length are exported in bounded memory. The closing balance is only known once every transaction
+     * has been written, so it follows the transactions instead of preceding them.
+     *
+     * The export stops when the monitor reports that it was cancelled; the partly written file is then
+     * deleted and a {@link CancellationException} is thrown.
+     *
+     * @param customer the customer for whom the statement is exported
+     * @param periodStart the start date of the statement period
+     * @param periodEnd the end date of the statement period
+     * @param openingBalance the opening balance at the start of the statement period
+     * @param customerAccounts the list of customer accounts
+     * @param transactions reads the transactions of the statement, oldest first
+     * @param filePath the file path to save the CSV file
+     * @param monitor receives the progress of the export and tells whether it was cancelled
+     * @return the closing balance at the end of the statement period
+     * @throws IOException if an I/O error occurs or the transactions cannot be read
+     */
+    public static BigDecimal streamCustomerStatementToCSV(Customer customer, LocalDate periodStart, LocalDate periodEnd,
+                                                          BigDecimal openingBalance, AccountList customerAccounts,
+                                                          TransactionCursor transactions, String filePath,
+                                                          ExportMonitor monitor) throws IOException {
+        StatementRowWriter rows;
+        boolean completed = false;
+        try (Writer writer = openWriter(filePath)) {
+            writer.write("Customer Statement Report\n");
+            writer.write("Report ID:," + csvEscape(IdGenerator.generateId()) + "\n");
+            writer.write("Generated:," + csvEscape(new Date().toString()) + "\n");
+            writer.write("Customer:," + csvEscape(customer.getFullName()) + "\n");
+            writer.write("Period:," + csvEscape(periodStart.toString()) + " to " + csvEscape(periodEnd.toString()) + "\n");
+            writer.write("Opening Balance:," + openingBalance + "\n\n");
 
-                writer.write(String.join(",",
-                        csvEscape(t.getTransactionNumber()),
-                        csvEscape(t.getTransactionDate().toString()),
-                        csvEscape(t.getTransactionType().name()),
-                        csvEscape(t.getDescription()),
-                        signed.toString()
-                ));
-                writer.write("\n");
+            writer.write("TransactionNumber,Date,Type,Description,SignedAmount\n");
+
+            rows = new StatementRowWriter(writer, accountNumbers(customerAccounts), openingBalance, monitor);
+            try {
+                transactions.forEach(rows);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IOException("Failed to read the transactions of the statement", e);
             }
+            if (rows.failure != null) throw rows.failure;
+            if (rows.cancelled) throw new CancellationException("Export cancelled after " + rows.count + " transactions");
+
+            writer.write("\nClosing Balance:," + rows.balance + "\n");
+            completed = true;
+        } finally {
+            if (!completed) Files.deleteIfExists(Path.of(filePath));
         }
+        monitor.onProgress(rows.count);
+        return rows.balance;
     }
 
     /**
@@ -65,7 +124,7 @@ public class ReportExporter {
      * @throws IOException if an I/O error occurs
      */
     public static void exportBankSummaryToCSV(BankSummaryReport report, String filePath) throws IOException {
-        try (FileWriter writer = new FileWriter(filePath)) {
+        try (Writer writer = openWriter(filePath)) {
             writer.write("Bank Summary Report\n");
             writer.write("Report ID:," + csvEscape(report.getReportId()) + "\n");
             writer.write("Generated:," + csvEscape(report.getGeneratedDate().toString()) + "\n");
@@ -86,7 +145,8 @@ public class ReportExporter {
                 }
             });
 
-            writer.write("\nLow Balance Accounts (< $50):\nAccountNumber,Customer,Balance\n");
+            writer.write("\nLow Balance Accounts (< $50):," + report.getLowBalanceAccountCount() + "\n");
+            writer.write("Lowest " + report.getLowBalanceAccounts().size() + ":\nAccountNumber,Customer,Balance\n");
             for (Account acc : report.getLowBalanceAccounts()) {
                 writer.write(String.join(",",
                         csvEscape(acc.getAccountNumber()),
@@ -95,9 +155,38 @@ public class ReportExporter {
                 ));
                 writer.write("\n");
             }
+
+            writer.write("\nTransactions from " + report.getPeriodStart() + " to " + report.getPeriodEnd() + ":,"
+                    + report.getPeriodTransactionCount() + "\n");
+            writer.write("Largest " + report.getLargestTransactions().size() + ":\nTransactionNumber,Date,Type,Description,Amount\n");
+            StringBuilder row = new StringBuilder(128);
+            for (Transaction t : report.getLargestTransactions()) {
+                writeTransactionRow(writer, row, t, t.getAmount());
+            }
         }
     }
 
+    private static Writer openWriter(String filePath) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(Path.of(filePath)), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private static Set<String> accountNumbers(AccountList accounts) {
+        return accounts.stream().map(Account::getAccountNumber).collect(Collectors.toSet());
+    }
+
+    /**
+     * Writes one transaction row, building it in the given reusable buffer.
+     */
+    private static void writeTransactionRow(Writer writer, StringBuilder row, Transaction t, BigDecimal signed) throws IOException {
+        row.setLength(0);
+        row.append(csvEscape(t.getTransactionNumber())).append(',')
+                .append(csvEscape(t.getTransactionDate().toString())).append(',')
+                .append(csvEscape(t.getTransactionType().name())).append(',')
+                .append(csvEscape(t.getDescription())).append(',')
+                .append(signed).append('\n');
+        writer.append(row);
+    }
+
     /**
      * Escapes special characters for CSV compatibility.
      *
@@ -108,4 +197,81 @@ public class ReportExporter {
         if (input == null) return "";
         return "\"" + input.replace("\"", "\"\"") + "\"";
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes the rows of a streamed statement and keeps its running balance.
+     * Stops the cursor when writing fails or the export is cancelled.
+     */
+    private static final class StatementRowWriter implements Predicate<Transaction> {
+        private final Writer writer;
+        private final Set<String> accountNumbers;
+        private final ExportMonitor monitor;
+        private final StringBuilder row = new StringBuilder(128);
+        private BigDecimal balance;
+        private long count;
+        private boolean cancelled;
+        private IOException failure;
+
+        private StatementRowWriter(Writer writer, Set<String> accountNumbers, BigDecimal openingBalance, ExportMonitor monitor) {
+            this.writer = writer;
+            this.accountNumbers = accountNumbers;
+            this.balance = openingBalance;
+            this.monitor = monitor;
+        }
+
+        @Override
+        public boolean test(Transaction t) {
+            if (monitor.isCancelled()) {
+                cancelled = true;
+                return false;
+            }
+            BigDecimal signed = t.getSignedAmountFor(accountNumbers);
+            try {
+                writeTransactionRow(writer, row, t, signed);
+            } catch (IOException e) {
+                failure = e;
+                return false;
+            }
+            balance = balance.add(signed);
+            if (++count % PROGRESS_INTERVAL == 0) monitor.onProgress(count);
+            return true;
+        }
+    }
+
+    /**
+     * Reads the transactions of a streamed export one at a time.
+     */
+    @FunctionalInterface
+    public interface TransactionCursor {
+        /**
+         * Passes each transaction to the action until it returns false.
+         *
+         * @param action receives each transaction and returns whether to continue
+         * @throws Exception if the transactions cannot be read
+         */
+        void forEach(Predicate<Transaction> action) throws Exception;
+    }
+
+    /**
+     * Follows a streamed export.
+     */
+    @FunctionalInterface
+    public interface ExportMonitor {
+        /**
+         * Called every thousand rows and once the export has finished.
+         *
+         * @param rowsWritten the number of transactions written so far
+         */
+        void onProgress(long rowsWritten);
+
+        /**
+         * Returns whether the export should stop. By default an export stops when its thread is interrupted,
+         * e.g. when the background task running it is cancelled.
+         *
+         * @return true to stop the export
+         */
+        default boolean isCancelled() {
+            return Thread.currentThread().isInterrupted();
+        }
+    }
+}
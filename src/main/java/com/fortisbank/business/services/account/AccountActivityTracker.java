@@ -0,0 +1,319 @@
+package com.fortisbank.business.services.account;
+
+import com.fortisbank.contracts.exceptions.AccountRepositoryException;
+import com.fortisbank.contracts.exceptions.TransactionRepositoryException;
+import com.fortisbank.contracts.models.accounts.Account;
+import com.fortisbank.contracts.models.transactions.Transaction;
+import com.fortisbank.data.dal_utils.FileManager;
+import com.fortisbank.data.dal_utils.RepositoryFactory;
+import com.fortisbank.data.dal_utils.StorageMode;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Tracks which accounts changed since the periodic account jobs last ran.
+ *
+ * Every committed transaction marks its accounts as dirty and moves them to the end of a
+ * time-ordered last-activity index. The low-balance job only visits the dirty accounts, and the
+ * inactivity job only visits the head of the index, i.e. the accounts idle for longer than its threshold.
+ * The first use rebuilds the state from all accounts and transactions once; afterwards it is
+ * kept incrementally and persisted after each job run and on shutdown. Every change in between is
+ * also appended to a journal, which is replayed on top of the saved state at startup, so activity
+ * recorded just before a crash is not lost.
+ */
+public class AccountActivityTracker {
+
+    private static final Logger LOGGER = Logger.getLogger(AccountActivityTracker.class.getName());
+    private static final Map<StorageMode, AccountActivityTracker> instances = new EnumMap<>(StorageMode.class);
+    private static final String JOURNAL_ACTIVITY = "A";
+    private static final String JOURNAL_DIRTY = "D";
+    private static final String JOURNAL_FORGET = "F";
+
+    private final File file;
+    private final File journalFile;
+    private final StorageMode storageMode;
+    private final Set<String> dirtyAccounts = new HashSet<>();
+    private final Map<String, Long> lastActivity = new HashMap<>();
+    private final TreeSet<ActivityEntry> activityIndex = new TreeSet<>();
+    private boolean initialized = false;
+    private Writer journal;
+
+    private AccountActivityTracker(StorageMode storageMode) {
+        this.storageMode = storageMode;
+        this.file = new File("data/account_activity_" + storageMode.name().toLowerCase() + ".ser");
+        this.journalFile = new File("data/account_activity_" + storageMode.name().toLowerCase() + ".journal");
+        State stored = FileManager.readObjectFromFile(file);
+        if (stored != null) {
+            dirtyAccounts.addAll(stored.dirtyAccounts);
+            stored.lastActivity.forEach(this::touch);
+            initialized = true;
+        }
+        replayJournal();
+    }
+
+    /**
+     * Returns the singleton instance of AccountActivityTracker for the given storage mode.
+     *
+     * @param storageMode the storage mode
+     * @return the singleton instance of AccountActivityTracker
+     */
+    public static synchronized AccountActivityTracker getInstance(StorageMode storageMode) {
+        return instances.computeIfAbsent(storageMode, AccountActivityTracker::new);
+    }
+
+    /**
+     * Records a newly opened account.
+     *
+     * @param account the new account
+     */
+    public synchronized void recordOpened(Account account) {
+        long openedAt = account.getOpenedDate() != null ? account.getOpenedDate().getTime() : System.currentTimeMillis();
+        dirtyAccounts.add(account.getAccountNumber());
+        touch(account.getAccountNumber(), openedAt);
+        appendToJournal(JOURNAL_ACTIVITY + "," + account.getAccountNumber() + "," + openedAt);
+    }
+
+    /**
+     * Records a committed transaction against the accounts it touches.
+     *
+     * @param transaction the committed transaction
+     */
+    public synchronized void recordActivity(Transaction transaction) {
+        long at = transaction.getTransactionDate() != null ? transaction.getTransactionDate().getTime() : System.currentTimeMillis();
+        for (String accountNumber : new String[]{transaction.getSourceAccountNumber(), transaction.getDestinationAccountNumber()}) {
+            if (accountNumber == null) continue;
+            dirtyAccounts.add(accountNumber);
+            touch(accountNumber, at);
+            appendToJournal(JOURNAL_ACTIVITY + "," + accountNumber + "," + at);
+        }
+    }
+
+    /**
+     * Returns the accounts changed since the previous call and clears the dirty set.
+     * Callers that fail to process them should hand them back with {@link #markDirty(Collection)}.
+     *
+     * @return the changed account numbers
+     */
+    public synchronized Set<String> drainDirtyAccounts() {
+        initializeIfNeeded();
+        Set<String> drained = new HashSet<>(dirtyAccounts);
+        dirtyAccounts.clear();
+        return drained;
+    }
+
+    /**
+     * Marks accounts as changed so the next run visits them again.
+     *
+     * @param accountNumbers the account numbers
+     */
+    public synchronized void markDirty(Collection<String> accountNumbers) {
+        dirtyAccounts.addAll(accountNumbers);
+        accountNumbers.forEach(accountNumber -> appendToJournal(JOURNAL_DIRTY + "," + accountNumber));
+    }
+
+    /**
+     * Returns the accounts whose last activity is older than the given time, oldest first.
+     *
+     * @param cutoffMillis the cutoff time in epoch milliseconds
+     * @return the idle account numbers
+     */
+    public synchronized List<String> getAccountsInactiveSince(long cutoffMillis) {
+        initializeIfNeeded();
+        List<String> idle = new ArrayList<>();
+        for (ActivityEntry entry : activityIndex.headSet(new ActivityEntry(cutoffMillis, ""))) {
+            idle.add(entry.accountNumber);
+        }
+        return idle;
+    }
+
+    /**
+     * Returns the last activity time of an account.
+     *
+     * @param accountNumber the account number
+     * @return the last activity in epoch milliseconds, or null if the account is not tracked
+     */
+    public synchronized Long getLastActivity(String accountNumber) {
+        initializeIfNeeded();
+        return lastActivity.get(accountNumber);
+    }
+
+    /**
+     * Stops tracking an account, e.g. after it was closed.
+     *
+     * @param accountNumber the account number
+     */
+    public synchronized void forget(String accountNumber) {
+        Long previous = lastActivity.remove(accountNumber);
+        if (previous != null) activityIndex.remove(new ActivityEntry(previous, accountNumber));
+        dirtyAccounts.remove(accountNumber);
+        appendToJournal(JOURNAL_FORGET + "," + accountNumber);
+    }
+
+    /**
+     * Writes the tracked state to disk and starts a new journal.
+     */
+    public synchronized void flush() {
+        try {
+            FileManager.writeObjectToFileDurably(file, new State(dirtyAccounts, lastActivity));
+        } catch (IOException e) {
+            // The journal is kept, so nothing recorded since the last flush is lost.
+            LOGGER.log(Level.WARNING, "Error saving account activity: {0}", e.getMessage());
+            return;
+        }
+        try {
+            if (journal != null) {
+                journal.close();
+                journal = null;
+            }
+            Files.deleteIfExists(journalFile.toPath());
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error clearing account activity journal: {0}", e.getMessage());
+        }
+    }
+
+    /**
+     * Appends a change to the journal. The line is handed to the operating system right away, so it
+     * survives the application stopping without a flush.
+     */
+    private void appendToJournal(String entry) {
+        try {
+            if (journal == null) {
+                if (journalFile.getParentFile() != null) journalFile.getParentFile().mkdirs();
+                journal = new BufferedWriter(new FileWriter(journalFile, true));
+            }
+            journal.write(entry);
+            journal.write(System.lineSeparator());
+            journal.flush();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error writing account activity journal: {0}", e.getMessage());
+        }
+    }
+
+    /**
+     * Applies the changes journaled since the last flush. A line cut short by a crash is skipped.
+     */
+    private void replayJournal() {
+        if (!journalFile.exists()) return;
+        int replayed = 0;
+        try (BufferedReader reader = new BufferedReader(new FileReader(journalFile))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                try {
+                    switch (fields[0]) {
+                        case JOURNAL_ACTIVITY -> {
+                            dirtyAccounts.add(fields[1]);
+                            touch(fields[1], Long.parseLong(fields[2]));
+                        }
+                        case JOURNAL_DIRTY -> dirtyAccounts.add(fields[1]);
+                        case JOURNAL_FORGET -> {
+                            Long previous = lastActivity.remove(fields[1]);
+                            if (previous != null) activityIndex.remove(new ActivityEntry(previous, fields[1]));
+                            dirtyAccounts.remove(fields[1]);
+                        }
+                        default -> {
+                            continue;
+                        }
+                    }
+                    replayed++;
+                } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                    LOGGER.log(Level.WARNING, "Skipping incomplete account activity journal entry: {0}", line);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error reading account activity journal: {0}", e.getMessage());
+        }
+        LOGGER.log(Level.INFO, "Replayed {0} account activity journal entries.", replayed);
+    }
+
+    private void touch(String accountNumber, long at) {
+        Long previous = lastActivity.get(accountNumber);
+        if (previous != null) {
+            if (previous >= at) return;
+            activityIndex.remove(new ActivityEntry(previous, accountNumber));
+        }
+        lastActivity.put(accountNumber, at);
+        activityIndex.add(new ActivityEntry(at, accountNumber));
+    }
+
+    /**
+     * Builds the state from a full scan the first time the tracker is used without a saved state.
+     * The scan is applied in memory only and saved as one snapshot at the end; a crash before that
+     * simply repeats the scan.
+     */
+    private void initializeIfNeeded() {
+        if (initialized) return;
+        var factory = RepositoryFactory.getInstance(storageMode);
+        try {
+            for (Account account : factory.getAccountRepository().getAllAccounts()) {
+                dirtyAccounts.add(account.getAccountNumber());
+                touch(account.getAccountNumber(), account.getOpenedDate() != null ? account.getOpenedDate().getTime() : System.currentTimeMillis());
+            }
+            for (Transaction transaction : factory.getTransactionRepository().getAllTransactions()) {
+                long at = transaction.getTransactionDate() != null ? transaction.getTransactionDate().getTime() : System.currentTimeMillis();
+                for (String accountNumber : new String[]{transaction.getSourceAccountNumber(), transaction.getDestinationAccountNumber()}) {
+                    if (accountNumber == null) continue;
+                    dirtyAccounts.add(accountNumber);
+                    touch(accountNumber, at);
+                }
+            }
+        } catch (AccountRepositoryException | TransactionRepositoryException e) {
+            LOGGER.log(Level.SEVERE, "Error building account activity index: {0}", e.getMessage());
+            throw new RuntimeException("Failed to build account activity index", e);
+        }
+        initialized = true;
+        flush();
+        LOGGER.log(Level.INFO, "Built account activity index for {0} accounts.", lastActivity.size());
+    }
+
+    /**
+     * Entry of the time-ordered index, ordered by activity time and then account number.
+     */
+    private static class ActivityEntry implements Comparable<ActivityEntry> {
+        private final long at;
+        private final String accountNumber;
+
+        private ActivityEntry(long at, String accountNumber) {
+            this.at = at;
+            this.accountNumber = accountNumber;
+        }
+
+        @Override
+        public int compareTo(ActivityEntry other) {
+            int byTime = Long.compare(at, other.at);
+            return byTime != 0 ? byTime : accountNumber.compareTo(other.accountNumber);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof ActivityEntry other)) return false;
+            return at == other.at && accountNumber.equals(other.accountNumber);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(at, accountNumber);
+        }
+    }
+
+    /**
+     * The persisted part of the tracker.
+     */
+    private static class State implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final Set<String> dirtyAccounts;
+        private final Map<String, Long> lastActivity;
+
+        private State(Set<String> dirtyAccounts, Map<String, Long> lastActivity) {
+            this.dirtyAccounts = new HashSet<>(dirtyAccounts);
+            this.lastActivity = new HashMap<>(lastActivity);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.fortisbank.business.services.account;
 
     import com.fortisbank.business.services.notification.NotificationService;
+    import com.fortisbank.business.services.report.LedgerVersion;
     import com.fortisbank.contracts.exceptions.AccountRepositoryException;
     import com.fortisbank.data.interfaces.IAccountRepository;
     import com.fortisbank.data.dal_utils.RepositoryFactory;
@@ -9,6 +10,7 @@ package com.fortisbank.business.services.account;
     import com.fortisbank.contracts.models.accounts.AccountFactory;
     import com.fortisbank.contracts.models.accounts.AccountType;
     import com.fortisbank.contracts.collections.AccountList;
+    import com.fortisbank.contracts.models.others.Money;
     import com.fortisbank.contracts.models.others.NotificationType;
     import com.fortisbank.contracts.models.users.Customer;
 
@@ -17,8 +19,10 @@ package com.fortisbank.business.services.account;
     import java.time.ZoneId;
     import java.util.Date;
     import java.util.EnumMap;
+    import java.util.HashSet;
     import java.util.Map;
     import java.util.Objects;
+    import java.util.Set;
     import java.util.logging.Level;
     import java.util.logging.Logger;
 
@@ -30,14 +34,20 @@ package com.fortisbank.business.services.account;
 
         private static final Logger LOGGER = Logger.getLogger(AccountService.class.getName());
         private static final Map<StorageMode, AccountService> instances = new EnumMap<>(StorageMode.class);
-        private static final BigDecimal LOW_BALANCE_THRESHOLD = new BigDecimal("100.00");
+        private static final Money LOW_BALANCE_THRESHOLD = Money.of(new BigDecimal("100.00"));
 
         private final IAccountRepository accountRepository;
+        private final BalanceProjectionService balanceProjectionService;
+        private final AccountActivityTracker activityTracker;
         private final StorageMode storageMode;
+        private final LedgerVersion ledgerVersion;
 
         private AccountService(StorageMode storageMode) {
             this.storageMode = storageMode;
             this.accountRepository = RepositoryFactory.getInstance(storageMode).getAccountRepository();
+            this.balanceProjectionService = BalanceProjectionService.getInstance(storageMode);
+            this.activityTracker = AccountActivityTracker.getInstance(storageMode);
+            this.ledgerVersion = LedgerVersion.getInstance(storageMode);
         }
 
         public static synchronized AccountService getInstance(StorageMode storageMode) {
@@ -49,6 +59,9 @@ package com.fortisbank.business.services.account;
             validateAccount(account);
             try {
                 accountRepository.insertAccount(account);
+                balanceProjectionService.recordOpeningBalance(account);
+                activityTracker.recordOpened(account);
+                ledgerVersion.advance();
             } catch (AccountRepositoryException e) {
                 LOGGER.log(Level.SEVERE, "Error creating account: {0}", e.getMessage());
                 throw new RuntimeException("Failed to create account", e);
@@ -62,17 +75,34 @@ package com.fortisbank.business.services.account;
             }
             try {
                 accountRepository.updateAccount(account);
+                ledgerVersion.advance();
             } catch (AccountRepositoryException e) {
                 LOGGER.log(Level.SEVERE, "Error updating account: {0}", e.getMessage());
                 throw new RuntimeException("Failed to update account", e);
             }
         }
 
+        @Override
+        public void updateAccounts(AccountList accounts) {
+            if (accounts == null || accounts.stream().anyMatch(a -> a == null || a.getAccountNumber() == null)) {
+                throw new IllegalArgumentException("Invalid accounts provided for update.");
+            }
+            if (accounts.isEmpty()) return;
+            try {
+                accountRepository.updateAccounts(accounts);
+                ledgerVersion.advance();
+            } catch (AccountRepositoryException e) {
+                LOGGER.log(Level.SEVERE, "Error updating accounts: {0}", e.getMessage());
+                throw new RuntimeException("Failed to update accounts", e);
+            }
+        }
+
         @Override
         public void deleteAccount(String accountId) {
             validateId(accountId, "Account ID is required for deletion.");
             try {
                 accountRepository.deleteAccount(accountId);
+                ledgerVersion.advance();
             } catch (AccountRepositoryException e) {
                 LOGGER.log(Level.SEVERE, "Error deleting account: {0}", e.getMessage());
                 throw new RuntimeException("Failed to delete account", e);
@@ -83,7 +113,7 @@ package com.fortisbank.business.services.account;
         public Account getAccount(String accountId) {
             validateId(accountId, "Account ID is required.");
             try {
-                return accountRepository.getAccountById(accountId);
+                return withDerivedBalance(accountRepository.getAccountById(accountId));
             } catch (AccountRepositoryException e) {
                 LOGGER.log(Level.SEVERE, "Error retrieving account: {0}", e.getMessage());
                 throw new RuntimeException("Failed to retrieve account", e);
@@ -94,7 +124,7 @@ package com.fortisbank.business.services.account;
         public AccountList getAccountsByCustomerId(String customerId) {
             validateId(customerId, "Customer ID is required.");
             try {
-                return accountRepository.getAccountsByCustomerId(customerId);
+                return withDerivedBalances(accountRepository.getAccountsByCustomerId(customerId));
             } catch (AccountRepositoryException e) {
                 LOGGER.log(Level.SEVERE, "Error retrieving accounts by customer ID: {0}", e.getMessage());
                 throw new RuntimeException("Failed to retrieve accounts by customer ID", e);
@@ -104,7 +134,7 @@ package com.fortisbank.business.services.account;
         @Override
         public AccountList getAllAccounts() {
             try {
-                return accountRepository.getAllAccounts();
+                return withDerivedBalances(accountRepository.getAllAccounts());
             } catch (AccountRepositoryException e) {
                 LOGGER.log(Level.SEVERE, "Error retrieving all accounts: {0}", e.getMessage());
                 throw new RuntimeException("Failed to retrieve all accounts", e);
@@ -147,38 +177,80 @@ package com.fortisbank.business.services.account;
             }
         }
 
+        /**
+         * Closes currency accounts without activity for over a year. Only the accounts at the head of
+         * the last-activity index are visited.
+         */
         public void autoCloseInactiveCurrencyAccounts() {
             try {
-                AccountList allAccounts = getAllAccounts();
+                long cutoff = LocalDate.now().minusYears(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
                 NotificationService notificationService = NotificationService.getInstance(storageMode);
 
-                for (Account account : allAccounts) {
-                    if (shouldCloseInactiveCurrencyAccount(account)) {
+                for (String accountNumber : activityTracker.getAccountsInactiveSince(cutoff)) {
+                    Account account = accountRepository.getAccountById(accountNumber);
+                    if (account == null || !account.isActive()) {
+                        activityTracker.forget(accountNumber);
+                    } else if (account.getAccountType() == AccountType.CURRENCY) {
                         closeInactiveCurrencyAccount(account, notificationService);
+                        activityTracker.forget(accountNumber);
                     }
                 }
+                activityTracker.flush();
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Error auto-closing inactive currency accounts: {0}", e.getMessage());
                 throw new RuntimeException("Failed to auto-close inactive currency accounts", e);
             }
         }
 
+        /**
+         * Sends or resets low balance alerts for the accounts whose balance changed since the last run.
+         */
         public void checkLowBalanceAndNotify() {
+            Set<String> changed = activityTracker.drainDirtyAccounts();
+            Set<String> remaining = new HashSet<>(changed);
             try {
-                AccountList allAccounts = getAllAccounts();
                 NotificationService notificationService = NotificationService.getInstance(storageMode);
 
-                for (Account account : allAccounts) {
-                    if (account.isActive()) {
+                for (String accountNumber : changed) {
+                    Account account = withDerivedBalance(accountRepository.getAccountById(accountNumber));
+                    if (account != null && account.isActive()) {
                         handleLowBalanceNotification(account, notificationService);
                     }
+                    remaining.remove(accountNumber);
                 }
+                activityTracker.flush();
             } catch (Exception e) {
+                activityTracker.markDirty(remaining);
                 LOGGER.log(Level.SEVERE, "Error checking low balance and notifying: {0}", e.getMessage());
                 throw new RuntimeException("Failed to check low balance and notify", e);
             }
         }
 
+        /**
+         * Replaces the stored balance of the returned account with the derived one in the event-sourced mode.
+         * The two only differ if the stored balance drifted from the transaction log, which is logged so the
+         * account can be checked; the account is never written back here.
+         */
+        private Account withDerivedBalance(Account account) {
+            if (account != null && balanceProjectionService.isEventSourced()) {
+                BigDecimal stored = account.getAvailableBalance();
+                BigDecimal derived = balanceProjectionService.getDerivedBalance(account.getAccountNumber());
+                if (stored == null || stored.compareTo(derived) != 0) {
+                    LOGGER.log(Level.WARNING, "Stored balance {1} of account {0} differs from its derived balance {2}.",
+                            new Object[]{account.getAccountNumber(), stored, derived});
+                    account.setAvailableBalance(derived);
+                }
+            }
+            return account;
+        }
+
+        private AccountList withDerivedBalances(AccountList accounts) {
+            if (balanceProjectionService.isEventSourced()) {
+                accounts.forEach(this::withDerivedBalance);
+            }
+            return accounts;
+        }
+
         private void validateAccount(Account account) {
             if (account == null) throw new IllegalArgumentException("Account cannot be null.");
             if (account.getCustomer() == null) throw new IllegalArgumentException("Account must be linked to a customer.");
@@ -195,27 +267,11 @@ package com.fortisbank.business.services.account;
             if (account == null || account.getAccountNumber() == null) {
                 throw new IllegalArgumentException("Account is required to close.");
             }
-            if (account.getAvailableBalance().compareTo(BigDecimal.ZERO) != 0) {
+            if (account.getBalance().signum() != 0) {
                 throw new IllegalStateException("Unable to close account: balance must be zero.");
             }
         }
 
-        private boolean shouldCloseInactiveCurrencyAccount(Account account) {
-            if (account.getAccountType() != AccountType.CURRENCY || !account.isActive()) {
-                return false;
-            }
-
-            Date lastActivity = account.getTransactions().getLastActivityDate();
-            if (lastActivity == null) {
-                lastActivity = account.getOpenedDate();
-            }
-
-            LocalDate lastActivityDate = lastActivity.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
-            LocalDate oneYearAgo = LocalDate.now().minusYears(1);
-
-            return lastActivityDate.isBefore(oneYearAgo);
-        }
-
         private void closeInactiveCurrencyAccount(Account account, NotificationService notificationService) {
             try {
                 account.setActive(false);
@@ -245,8 +301,8 @@ package com.fortisbank.business.services.account;
 
         private void handleLowBalanceNotification(Account account, NotificationService notificationService) {
             try {
-                BigDecimal balance = account.getAvailableBalance();
-                boolean belowThreshold = balance.compareTo(LOW_BALANCE_THRESHOLD) < 0;
+                Money balance = account.getBalance();
+                boolean belowThreshold = !balance.isAtLeast(LOW_BALANCE_THRESHOLD);
 
                 if (belowThreshold && !account.isLowBalanceAlertSent()) {
                     notificationService.sendNotification(
@@ -254,7 +310,7 @@ package com.fortisbank.business.services.account;
                             NotificationType.INFO,
                             "Low Balance Warning",
                             String.format("Your account (%s) balance has dropped below $%.2f. Current balance: $%.2f",
-                                    account.getAccountNumber(), LOW_BALANCE_THRESHOLD, balance),
+                                    account.getAccountNumber(), LOW_BALANCE_THRESHOLD.toBigDecimal(), balance.toBigDecimal()),
                             account.getCustomer(),
                             account
                     );
@@ -0,0 +1,240 @@
+package com.fortisbank.business.services.account;
+
+import com.fortisbank.business.services.report.ReportCache;
+import com.fortisbank.contracts.collections.AccountList;
+import com.fortisbank.contracts.exceptions.AccountRepositoryException;
+import com.fortisbank.contracts.exceptions.BalanceCheckpointRepositoryException;
+import com.fortisbank.contracts.exceptions.BalanceSnapshotRepositoryException;
+import com.fortisbank.contracts.exceptions.TransactionRepositoryException;
+import com.fortisbank.contracts.models.accounts.Account;
+import com.fortisbank.contracts.models.accounts.BalanceCheckpoint;
+import com.fortisbank.contracts.models.accounts.BalanceSnapshot;
+import com.fortisbank.data.dal_utils.RepositoryFactory;
+import com.fortisbank.data.dal_utils.StorageMode;
+import com.fortisbank.data.interfaces.IAccountRepository;
+import com.fortisbank.data.interfaces.IBalanceCheckpointRepository;
+import com.fortisbank.data.interfaces.IBalanceSnapshotRepository;
+import com.fortisbank.data.interfaces.ITransactionRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Answers account balances at past dates from monthly balance checkpoints.
+ *
+ * When a month closes, the balance of every account before the first day of the next month is stored.
+ * The balance at a later date is then the latest checkpoint plus the net change since it, so its cost
+ * depends on the time since the last close instead of the age of the account.
+ *
+ * Accounts closed in no month yet are read from their balance snapshot instead, which includes the
+ * opening balance that no transaction records, e.g. the credit limit a credit account starts with.
+ * Accounts without a snapshot either are read from their stored balance.
+ */
+public class BalanceCheckpointService {
+
+    private static final Logger LOGGER = Logger.getLogger(BalanceCheckpointService.class.getName());
+    private static final Map<StorageMode, BalanceCheckpointService> instances = new EnumMap<>(StorageMode.class);
+
+    private final ITransactionRepository transactionRepository;
+    private final IAccountRepository accountRepository;
+    private final IBalanceCheckpointRepository checkpointRepository;
+    private final IBalanceSnapshotRepository snapshotRepository;
+    private final ReportCache reportCache;
+
+    private BalanceCheckpointService(StorageMode storageMode) {
+        this(RepositoryFactory.getInstance(storageMode).getTransactionRepository(),
+                RepositoryFactory.getInstance(storageMode).getAccountRepository(),
+                RepositoryFactory.getInstance(storageMode).getBalanceCheckpointRepository(),
+                RepositoryFactory.getInstance(storageMode).getBalanceSnapshotRepository(),
+                ReportCache.getInstance(storageMode));
+    }
+
+    BalanceCheckpointService(ITransactionRepository transactionRepository, IAccountRepository accountRepository,
+                             IBalanceCheckpointRepository checkpointRepository, IBalanceSnapshotRepository snapshotRepository,
+                             ReportCache reportCache) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.reportCache = reportCache;
+    }
+
+    public static synchronized BalanceCheckpointService getInstance(StorageMode storageMode) {
+        return instances.computeIfAbsent(storageMode, BalanceCheckpointService::new);
+    }
+
+    /**
+     * Returns the balance of each account before a given day: the latest checkpoint on or before that day
+     * plus the net change of the account since the checkpoint. An account without a checkpoint starts from
+     * its balance snapshot, or from its stored balance if it has none. Accounts that start from the same
+     * day, which is the usual case, are read together.
+     *
+     * @param accountNumbers the numbers of the accounts
+     * @param date the day before which to compute the balances
+     * @return the balances by account number, including zero balances
+     */
+    public Map<String, BigDecimal> getBalancesBefore(Collection<String> accountNumbers, LocalDate date) {
+        try {
+            Map<String, BalanceCheckpoint> checkpoints = checkpointRepository.getLatestCheckpoints(accountNumbers, date);
+            Map<String, Anchor> anchors = new HashMap<>();
+            List<String> withoutCheckpoint = new ArrayList<>();
+            for (String accountNumber : accountNumbers) {
+                BalanceCheckpoint checkpoint = checkpoints.get(accountNumber);
+                if (checkpoint != null) {
+                    anchors.put(accountNumber, new Anchor(checkpoint.getBalance(), checkpoint.getAsOf()));
+                } else {
+                    withoutCheckpoint.add(accountNumber);
+                }
+            }
+            if (!withoutCheckpoint.isEmpty()) anchors.putAll(openingAnchors(withoutCheckpoint));
+
+            // A null day stands for a balance before the account's first transaction
+            Map<LocalDate, List<String>> accountsByDay = new HashMap<>();
+            anchors.forEach((accountNumber, anchor) ->
+                    accountsByDay.computeIfAbsent(anchor.before(), d -> new ArrayList<>()).add(accountNumber));
+
+            Map<String, BigDecimal> balances = new HashMap<>();
+            for (Map.Entry<LocalDate, List<String>> group : accountsByDay.entrySet()) {
+                LocalDate day = group.getKey();
+                // An anchor after the requested day, e.g. a snapshot taken today, is walked back instead
+                boolean forward = day == null || !day.isAfter(date);
+                Map<String, BigDecimal> changes = forward
+                        ? transactionRepository.getNetChangesByAccount(group.getValue(), day, date)
+                        : transactionRepository.getNetChangesByAccount(group.getValue(), date, day);
+                for (String accountNumber : group.getValue()) {
+                    BigDecimal change = changes.getOrDefault(accountNumber, BigDecimal.ZERO);
+                    BigDecimal balance = anchors.get(accountNumber).balance();
+                    balances.put(accountNumber, forward ? balance.add(change) : balance.subtract(change));
+                }
+            }
+            return balances;
+        } catch (BalanceCheckpointRepositoryException | TransactionRepositoryException e) {
+            LOGGER.log(Level.SEVERE, "Error computing balances before {0}: {1}", new Object[]{date, e.getMessage()});
+            throw new RuntimeException("Failed to compute balances before " + date, e);
+        }
+    }
+
+    /**
+     * Returns where the balances of accounts without a checkpoint start from: their balance snapshot, or
+     * their stored balance, which includes every transaction dated up to today.
+     */
+    private Map<String, Anchor> openingAnchors(List<String> accountNumbers) {
+        try {
+            Map<String, Anchor> anchors = new HashMap<>();
+            Set<String> wanted = new HashSet<>(accountNumbers);
+            for (BalanceSnapshot snapshot : snapshotRepository.getAllSnapshots()) {
+                if (wanted.remove(snapshot.getAccountNumber())) {
+                    anchors.put(snapshot.getAccountNumber(), new Anchor(snapshot.getBalance(), snapshot.getCoveredBefore()));
+                }
+            }
+            LocalDate tomorrow = LocalDate.now().plusDays(1);
+            for (String accountNumber : wanted) {
+                Account account = accountRepository.getAccountById(accountNumber);
+                BigDecimal balance = account != null ? account.getAvailableBalance() : BigDecimal.ZERO;
+                anchors.put(accountNumber, new Anchor(balance, tomorrow));
+            }
+            return anchors;
+        } catch (BalanceSnapshotRepositoryException | AccountRepositoryException e) {
+            LOGGER.log(Level.SEVERE, "Error reading opening balances: {0}", e.getMessage());
+            throw new RuntimeException("Failed to read opening balances", e);
+        }
+    }
+
+    /**
+     * Returns the combined balance of all accounts of a customer before a given day.
+     *
+     * @param customerId the ID of the customer
+     * @param date the day before which to compute the balance
+     * @return the balance of the customer
+     */
+    public BigDecimal getCustomerBalanceBefore(String customerId, LocalDate date) {
+        try {
+            return getCombinedBalanceBefore(accountRepository.getAccountsByCustomerId(customerId), date);
+        } catch (AccountRepositoryException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving accounts of customer {0}: {1}", new Object[]{customerId, e.getMessage()});
+            throw new RuntimeException("Failed to compute the balance of customer " + customerId, e);
+        }
+    }
+
+    /**
+     * Returns the combined balance of some accounts before a given day.
+     *
+     * @param accounts the accounts, e.g. all accounts of a customer
+     * @param date the day before which to compute the balance
+     * @return the combined balance of the accounts
+     */
+    public BigDecimal getCombinedBalanceBefore(AccountList accounts, LocalDate date) {
+        return getBalancesBefore(accountNumbers(accounts), date).values().stream()
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Returns the combined balance of the accounts of several customers before a given day, in one read
+     * per checkpoint date.
+     *
+     * @param accountsByCustomer the accounts of each customer by customer ID
+     * @param date the day before which to compute the balances
+     * @return the balances by customer ID, including zero balances
+     */
+    public Map<String, BigDecimal> getCustomerBalancesBefore(Map<String, AccountList> accountsByCustomer, LocalDate date) {
+        List<String> allAccounts = accountsByCustomer.values().stream()
+                .flatMap(accounts -> accountNumbers(accounts).stream())
+                .collect(Collectors.toList());
+        Map<String, BigDecimal> balances = getBalancesBefore(allAccounts, date);
+
+        Map<String, BigDecimal> customerBalances = new HashMap<>();
+        accountsByCustomer.forEach((customerId, accounts) -> {
+            BigDecimal total = BigDecimal.ZERO;
+            for (Account account : accounts) {
+                total = total.add(balances.get(account.getAccountNumber()));
+            }
+            customerBalances.put(customerId, total);
+        });
+        return customerBalances;
+    }
+
+    /**
+     * Stores the balance of every account at the close of a month. Closing a month again replaces its
+     * checkpoints, e.g. after a correction.
+     *
+     * @param month the month to close; it must have ended
+     * @return the number of checkpoints written
+     * @throws IllegalArgumentException if the month has not ended yet
+     */
+    public int closeMonth(YearMonth month) {
+        LocalDate asOf = month.plusMonths(1).atDay(1);
+        if (asOf.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Cannot close " + month + " before it has ended");
+        }
+        try {
+            List<String> accountNumbers = accountNumbers(accountRepository.getAllAccounts());
+            Map<String, BigDecimal> balances = getBalancesBefore(accountNumbers, asOf);
+            List<BalanceCheckpoint> checkpoints = accountNumbers.stream()
+                    .map(number -> new BalanceCheckpoint(number, asOf, balances.get(number)))
+                    .collect(Collectors.toList());
+            checkpointRepository.saveCheckpoints(checkpoints);
+            // A re-close can move the opening balances of the month after it and of every later month
+            reportCache.invalidateStatementsFrom(month);
+            LOGGER.log(Level.INFO, "Closed {0} with {1} balance checkpoints.", new Object[]{month, checkpoints.size()});
+            return checkpoints.size();
+        } catch (AccountRepositoryException | BalanceCheckpointRepositoryException e) {
+            LOGGER.log(Level.SEVERE, "Error closing {0}: {1}", new Object[]{month, e.getMessage()});
+            throw new RuntimeException("Failed to write balance checkpoints for " + month, e);
+        }
+    }
+
+    private static List<String> accountNumbers(AccountList accounts) {
+        return accounts.stream().map(Account::getAccountNumber).collect(Collectors.toList());
+    }
+
+    /**
+     * A known balance of an account: its balance before a day, or before its first transaction if the day is null.
+     */
+    private record Anchor(BigDecimal balance, LocalDate before) {
+    }
+}
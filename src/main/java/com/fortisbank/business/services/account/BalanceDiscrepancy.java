@@ -0,0 +1,87 @@
+package com.fortisbank.business.services.account;
+
+import java.math.BigDecimal;
+
+/**
+ * Difference between the stored balance of an account and the balance derived from its transactions.
+ */
+public class BalanceDiscrepancy {
+
+    /**
+     * The account whose balances disagree.
+     */
+    private final String accountNumber;
+
+    /**
+     * The balance stored on the account.
+     */
+    private final BigDecimal storedBalance;
+
+    /**
+     * The balance derived by folding the account's transactions.
+     */
+    private final BigDecimal derivedBalance;
+
+    /**
+     * Constructor initializing the discrepancy with specified values.
+     *
+     * @param accountNumber the account number
+     * @param storedBalance the balance stored on the account
+     * @param derivedBalance the balance derived from the transaction log
+     */
+    public BalanceDiscrepancy(String accountNumber, BigDecimal storedBalance, BigDecimal derivedBalance) {
+        this.accountNumber = accountNumber;
+        this.storedBalance = storedBalance;
+        this.derivedBalance = derivedBalance;
+    }
+
+    /**
+     * Returns the account number.
+     *
+     * @return the account number
+     */
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    /**
+     * Returns the balance stored on the account.
+     *
+     * @return the stored balance
+     */
+    public BigDecimal getStoredBalance() {
+        return storedBalance;
+    }
+
+    /**
+     * Returns the balance derived from the transaction log.
+     *
+     * @return the derived balance
+     */
+    public BigDecimal getDerivedBalance() {
+        return derivedBalance;
+    }
+
+    /**
+     * Returns the stored balance minus the derived balance.
+     *
+     * @return the difference
+     */
+    public BigDecimal getDifference() {
+        return storedBalance.subtract(derivedBalance);
+    }
+
+    /**
+     * Returns a string representation of the discrepancy.
+     *
+     * @return a string representation of the discrepancy
+     */
+    @Override
+    public String toString() {
+        return "BalanceDiscrepancy{" +
+                "accountNumber='" + accountNumber + '\'' +
+                ", storedBalance=" + storedBalance +
+                ", derivedBalance=" + derivedBalance +
+                '}';
+    }
+}
@@ -0,0 +1,342 @@
+package com.fortisbank.business.services.account;
+
+import com.fortisbank.contracts.collections.AccountList;
+import com.fortisbank.contracts.collections.TransactionList;
+import com.fortisbank.contracts.exceptions.AccountRepositoryException;
+import com.fortisbank.contracts.exceptions.BalanceSnapshotRepositoryException;
+import com.fortisbank.contracts.exceptions.TransactionRepositoryException;
+import com.fortisbank.contracts.models.accounts.Account;
+import com.fortisbank.contracts.models.accounts.BalanceSnapshot;
+import com.fortisbank.contracts.models.others.Money;
+import com.fortisbank.contracts.models.transactions.Transaction;
+import com.fortisbank.data.dal_utils.RepositoryFactory;
+import com.fortisbank.data.dal_utils.StorageMode;
+import com.fortisbank.data.interfaces.IAccountRepository;
+import com.fortisbank.data.interfaces.IBalanceSnapshotRepository;
+import com.fortisbank.data.interfaces.ITransactionRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Derives account balances by folding the transaction log on top of per-account snapshots.
+ *
+ * A snapshot holds the balance of every transaction dated before its boundary day and is moved
+ * forward every {@link #SNAPSHOT_INTERVAL} events of an account, so rebuilding a balance only reads
+ * the transactions dated from the boundary on. The running projection of an account is stored with
+ * its snapshot and advanced as transactions commit, so reading a balance is a single lookup, also
+ * after a restart. Accounts without a snapshot, i.e. accounts opened before balances were projected,
+ * are given one from their stored balance when the service starts.
+ *
+ * The event-sourced read path is enabled with the {@code fortisbank.eventSourcedBalances} system
+ * property; projections are kept and the verification job works in either mode.
+ */
+public class BalanceProjectionService {
+
+    private static final Logger LOGGER = Logger.getLogger(BalanceProjectionService.class.getName());
+    private static final Map<StorageMode, BalanceProjectionService> instances = new EnumMap<>(StorageMode.class);
+    private static final int SNAPSHOT_INTERVAL = 50;
+
+    private final boolean eventSourced;
+    private final ITransactionRepository transactionRepository;
+    private final IAccountRepository accountRepository;
+    private final IBalanceSnapshotRepository snapshotRepository;
+    private final Map<String, Projection> projections = new ConcurrentHashMap<>();
+
+    private BalanceProjectionService(StorageMode storageMode) {
+        this(RepositoryFactory.getInstance(storageMode).getTransactionRepository(),
+                RepositoryFactory.getInstance(storageMode).getAccountRepository(),
+                RepositoryFactory.getInstance(storageMode).getBalanceSnapshotRepository(),
+                Boolean.getBoolean("fortisbank.eventSourcedBalances"));
+    }
+
+    BalanceProjectionService(ITransactionRepository transactionRepository, IAccountRepository accountRepository,
+                             IBalanceSnapshotRepository snapshotRepository, boolean eventSourced) {
+        this.transactionRepository = transactionRepository;
+        this.accountRepository = accountRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.eventSourced = eventSourced;
+        backfillOpeningSnapshots();
+    }
+
+    public static synchronized BalanceProjectionService getInstance(StorageMode storageMode) {
+        return instances.computeIfAbsent(storageMode, BalanceProjectionService::new);
+    }
+
+    /**
+     * Returns whether balances are read from the transaction log instead of the stored account balance.
+     *
+     * @return true if the event-sourced mode is enabled
+     */
+    public boolean isEventSourced() {
+        return eventSourced;
+    }
+
+    /**
+     * Returns the balance of an account derived from its transaction log.
+     * This reads the stored projection once and is an in-memory lookup afterwards.
+     *
+     * @param accountNumber the account number
+     * @return the derived balance
+     */
+    public BigDecimal getDerivedBalance(String accountNumber) {
+        return projections.computeIfAbsent(accountNumber, this::load).balance();
+    }
+
+    /**
+     * Records the opening balance of a newly created account as its first snapshot.
+     *
+     * @param account the new account
+     */
+    public void recordOpeningBalance(Account account) {
+        BigDecimal balance = account.getAvailableBalance();
+        BalanceSnapshot opening = new BalanceSnapshot(account.getAccountNumber(), balance, 0, null);
+        projections.put(account.getAccountNumber(), persist(new Projection(opening, balance, 0)));
+    }
+
+    /**
+     * Advances the projections of the accounts touched by a committed transaction.
+     * Must be called after the transaction has been persisted.
+     *
+     * @param transaction the committed transaction
+     */
+    public void recordTransaction(Transaction transaction) {
+        LocalDate day = dayOf(transaction);
+        for (String accountNumber : accountNumbersOf(transaction)) {
+            BigDecimal delta = signedAmountFor(transaction, accountNumber);
+            projections.compute(accountNumber, (key, current) -> {
+                if (current == null) {
+                    BalanceSnapshot snapshot = loadSnapshot(key);
+                    if (snapshot == null || snapshot.getProjectedBalance() == null) {
+                        // The replay reads the transactions from the snapshot boundary on, which include this one
+                        // unless it is backdated before the boundary; the snapshot is then corrected first.
+                        if (snapshot != null && snapshot.covers(day)) snapshot = snapshot.advance(delta);
+                        return persist(replay(key, snapshot));
+                    }
+                    current = new Projection(snapshot, snapshot.getProjectedBalance(), snapshot.getTailSize());
+                }
+                if (current.snapshot().covers(day)) {
+                    return persist(new Projection(current.snapshot().advance(delta), current.balance().add(delta), current.tailSize()));
+                }
+                int tailSize = current.tailSize() + 1;
+                // Every interval the tail is read back once to move the snapshot forward.
+                if (tailSize % SNAPSHOT_INTERVAL == 0) return persist(replay(key, current.snapshot()));
+                return persist(new Projection(current.snapshot(), current.balance().add(delta), tailSize));
+            });
+        }
+    }
+
+    /**
+     * Discards the projection of an account and rebuilds it by replaying the transactions from its
+     * snapshot boundary on.
+     *
+     * @param accountNumber the account number
+     * @return the rebuilt balance
+     */
+    public BigDecimal rebuild(String accountNumber) {
+        return projections.compute(accountNumber, (key, current) -> persist(replay(key, loadSnapshot(key)))).balance();
+    }
+
+    /**
+     * Compares the stored balance of every account with the balance derived from the transaction log.
+     * The log and snapshots are read once and the accounts are checked in parallel. Stored projections
+     * that disagree with the log, e.g. after a crash between a commit and its projection update, are rebuilt.
+     *
+     * @return the accounts whose stored and derived balances differ
+     */
+    public List<BalanceDiscrepancy> verifyAllBalances() {
+        try {
+            AccountList accounts = accountRepository.getAllAccounts();
+            Map<String, BalanceSnapshot> snapshots = snapshotRepository.getAllSnapshots().stream()
+                    .collect(Collectors.toMap(BalanceSnapshot::getAccountNumber, s -> s, (a, b) -> b));
+            Map<String, List<Transaction>> log = groupByAccount(transactionRepository.getAllTransactions());
+
+            Set<String> staleProjections = ConcurrentHashMap.newKeySet();
+            List<BalanceDiscrepancy> discrepancies = accounts.parallelStream()
+                    .map(account -> {
+                        String accountNumber = account.getAccountNumber();
+                        List<Transaction> history = log.getOrDefault(accountNumber, List.of());
+                        BalanceSnapshot snapshot = snapshots.get(accountNumber);
+                        BigDecimal derived = fold(accountNumber, snapshot, history).balance();
+                        if (snapshot != null && snapshot.getProjectedBalance() != null
+                                && snapshot.getProjectedBalance().compareTo(derived) != 0) {
+                            staleProjections.add(accountNumber);
+                        }
+                        return Money.rounded(derived).equals(account.getBalance())
+                                ? null
+                                : new BalanceDiscrepancy(accountNumber, account.getAvailableBalance(), derived);
+                    })
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+
+            for (String accountNumber : staleProjections) {
+                // The rebuild reads the log again under the account's projection, so commits made meanwhile are kept.
+                LOGGER.log(Level.WARNING, "Rebuilding stale balance projection of account {0}.", accountNumber);
+                rebuild(accountNumber);
+            }
+
+            LOGGER.log(Level.INFO, "Balance verification checked {0} accounts, found {1} discrepancies.",
+                    new Object[]{accounts.size(), discrepancies.size()});
+            return discrepancies;
+        } catch (AccountRepositoryException | BalanceSnapshotRepositoryException | TransactionRepositoryException e) {
+            LOGGER.log(Level.SEVERE, "Error verifying balances: {0}", e.getMessage());
+            throw new RuntimeException("Failed to verify balances", e);
+        }
+    }
+
+    /**
+     * Loads the stored projection of an account, replaying and storing it once if it was never recorded.
+     */
+    private Projection load(String accountNumber) {
+        BalanceSnapshot snapshot = loadSnapshot(accountNumber);
+        if (snapshot != null && snapshot.getProjectedBalance() != null) {
+            return new Projection(snapshot, snapshot.getProjectedBalance(), snapshot.getTailSize());
+        }
+        return persist(replay(accountNumber, snapshot));
+    }
+
+    /**
+     * Gives every account without a snapshot one taken from its stored balance, so accounts opened before
+     * balances were projected do not fold their history from zero. The stored balance already includes
+     * every transaction dated up to today, so the snapshot boundary is tomorrow.
+     */
+    private void backfillOpeningSnapshots() {
+        try {
+            Set<String> covered = snapshotRepository.getAllSnapshots().stream()
+                    .map(BalanceSnapshot::getAccountNumber)
+                    .collect(Collectors.toSet());
+            LocalDate boundary = LocalDate.now().plusDays(1);
+            int backfilled = 0;
+            for (Account account : accountRepository.getAllAccounts()) {
+                String accountNumber = account.getAccountNumber();
+                if (covered.contains(accountNumber)) continue;
+                BigDecimal balance = account.getAvailableBalance();
+                int eventCount = transactionRepository.countTransactions(accountNumber, null);
+                snapshotRepository.saveSnapshot(new BalanceSnapshot(accountNumber, balance, eventCount, boundary, balance, 0));
+                backfilled++;
+            }
+            if (backfilled > 0) {
+                LOGGER.log(Level.INFO, "Backfilled balance snapshots of {0} accounts from their stored balances.", backfilled);
+            }
+        } catch (AccountRepositoryException | BalanceSnapshotRepositoryException | TransactionRepositoryException e) {
+            LOGGER.log(Level.SEVERE, "Error backfilling balance snapshots: {0}", e.getMessage());
+            throw new RuntimeException("Failed to backfill balance snapshots", e);
+        }
+    }
+
+    /**
+     * Reads only the transactions dated from the snapshot boundary on and folds them on top of it.
+     */
+    private Projection replay(String accountNumber, BalanceSnapshot snapshot) {
+        try {
+            LocalDate from = snapshot != null ? snapshot.getCoveredBefore() : null;
+            return fold(accountNumber, snapshot, transactionRepository.getTransactionsByAccountSince(accountNumber, from));
+        } catch (TransactionRepositoryException e) {
+            LOGGER.log(Level.SEVERE, "Error replaying balance for account {0}: {1}", new Object[]{accountNumber, e.getMessage()});
+            throw new RuntimeException("Failed to replay balance for account: " + accountNumber, e);
+        }
+    }
+
+    private BalanceSnapshot loadSnapshot(String accountNumber) {
+        try {
+            return snapshotRepository.getSnapshot(accountNumber);
+        } catch (BalanceSnapshotRepositoryException e) {
+            LOGGER.log(Level.SEVERE, "Error loading balance snapshot for account {0}: {1}", new Object[]{accountNumber, e.getMessage()});
+            throw new RuntimeException("Failed to replay balance for account: " + accountNumber, e);
+        }
+    }
+
+    /**
+     * Folds the transactions not covered by the snapshot on top of it. When at least one interval of them
+     * is dated before today, a new snapshot is taken with today as its boundary; transactions dated today
+     * can still be joined by others of the same day, so they are always left in the tail. Nothing is stored here.
+     */
+    private Projection fold(String accountNumber, BalanceSnapshot snapshot, List<Transaction> transactions) {
+        BalanceSnapshot start = snapshot != null ? snapshot : new BalanceSnapshot(accountNumber, BigDecimal.ZERO, 0, null);
+        LocalDate today = LocalDate.now();
+
+        // The tail is summed in minor units so a long replay does not allocate a BigDecimal per event.
+        Money settled = Money.rounded(start.getBalance());
+        Money recent = Money.ZERO;
+        int settledCount = 0;
+        int recentCount = 0;
+        for (Transaction transaction : transactions) {
+            LocalDate day = dayOf(transaction);
+            if (start.covers(day)) continue;
+            Money delta = Money.of(signedAmountFor(transaction, accountNumber));
+            if (day.isBefore(today)) {
+                settled = settled.plus(delta);
+                settledCount++;
+            } else {
+                recent = recent.plus(delta);
+                recentCount++;
+            }
+        }
+
+        Money balance = settled.plus(recent);
+        if (settledCount < SNAPSHOT_INTERVAL) {
+            return new Projection(start, balance.toBigDecimal(), settledCount + recentCount);
+        }
+        BalanceSnapshot next = new BalanceSnapshot(accountNumber, settled.toBigDecimal(), start.getEventCount() + settledCount, today);
+        return new Projection(next, balance.toBigDecimal(), recentCount);
+    }
+
+    private LocalDate dayOf(Transaction transaction) {
+        return transaction.getTransactionDate().toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private Map<String, List<Transaction>> groupByAccount(TransactionList transactions) {
+        Map<String, List<Transaction>> byAccount = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            for (String accountNumber : accountNumbersOf(transaction)) {
+                byAccount.computeIfAbsent(accountNumber, k -> new ArrayList<>()).add(transaction);
+            }
+        }
+        return byAccount;
+    }
+
+    private Set<String> accountNumbersOf(Transaction transaction) {
+        Set<String> accountNumbers = new LinkedHashSet<>(2);
+        if (transaction.getSourceAccountNumber() != null) accountNumbers.add(transaction.getSourceAccountNumber());
+        if (transaction.getDestinationAccountNumber() != null) accountNumbers.add(transaction.getDestinationAccountNumber());
+        return accountNumbers;
+    }
+
+    private BigDecimal signedAmountFor(Transaction transaction, String accountNumber) {
+        boolean isSource = accountNumber.equals(transaction.getSourceAccountNumber());
+        boolean isDestination = accountNumber.equals(transaction.getDestinationAccountNumber());
+        return switch (transaction.getTransactionType()) {
+            case DEPOSIT -> isDestination ? transaction.getAmount() : BigDecimal.ZERO;
+            case WITHDRAWAL, FEE -> isSource ? transaction.getAmount().negate() : BigDecimal.ZERO;
+            case TRANSFER -> isSource ? transaction.getAmount().negate()
+                    : isDestination ? transaction.getAmount() : BigDecimal.ZERO;
+        };
+    }
+
+    /**
+     * Stores a projection with its snapshot and returns it as stored.
+     */
+    private Projection persist(Projection projection) {
+        BalanceSnapshot stored = projection.snapshot().withProjection(projection.balance(), projection.tailSize());
+        try {
+            snapshotRepository.saveSnapshot(stored);
+        } catch (BalanceSnapshotRepositoryException e) {
+            // The in-memory projection stays correct; the stored one is rebuilt by the next verification run.
+            LOGGER.log(Level.WARNING, "Error saving balance projection: {0}", e.getMessage());
+        }
+        return new Projection(stored, projection.balance(), projection.tailSize());
+    }
+
+    /**
+     * The running balance of an account, the stored snapshot it started from and the number of
+     * transactions folded on top of that snapshot.
+     */
+    private record Projection(BalanceSnapshot snapshot, BigDecimal balance, int tailSize) {
+    }
+}
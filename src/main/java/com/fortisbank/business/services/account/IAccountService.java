@@ -22,6 +22,13 @@ void createAccount(Account account);
  */
 void updateAccount(Account account);
 
+/**
+ * Updates the given accounts in a single write.
+ *
+ * @param accounts the accounts to be updated
+ */
+void updateAccounts(AccountList accounts);
+
 /**
  * Deletes the account with the given ID.
  *
@@ -2,10 +2,22 @@ package com.fortisbank.business.services.automation;
 
 import com.fortisbank.business.services.transaction.TransactionService;
 import com.fortisbank.business.services.account.AccountService;
-import com.fortisbank.business.bll_utils.DaemonThread;
+import com.fortisbank.business.services.account.BalanceCheckpointService;
+import com.fortisbank.business.services.account.BalanceProjectionService;
+import com.fortisbank.business.services.exchange.ExchangeRateFeedService;
+import com.fortisbank.business.services.report.DailyAggregateService;
+import com.fortisbank.business.services.report.ReportService;
+import com.fortisbank.data.dal_utils.RepositoryFactory;
 import com.fortisbank.data.dal_utils.StorageMode;
 
-import java.util.concurrent.TimeUnit;
+import java.io.File;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -13,100 +25,188 @@ public class AutomationService {
     private static final Logger LOGGER = Logger.getLogger(AutomationService.class.getName());
 
     /**
-     * Starts all daemon tasks for the given storage mode.
+     * Registers all background jobs for the given storage mode with the {@link JobScheduler}.
+     * Schedules are persisted, so a restart does not re-run jobs that already ran in the current period.
      *
      * @param storageMode the storage mode
      */
     public static void startAllDaemonTasks(StorageMode storageMode) {
+        JobScheduler scheduler = JobScheduler.getInstance();
 
-        // 1. Interest Application (Daily)
-        new DaemonThread(() -> {
+        // 1. Interest Application (credit monthly, savings yearly)
+        scheduler.schedule("credit-interest", JobTrigger.cron("0 2 1 * *"), () -> {
             try {
-                TransactionService.getInstance(storageMode).applyMonthlyInterestToAllCreditAccounts();
+                var result = TransactionService.getInstance(storageMode).applyMonthlyInterestToAllCreditAccounts();
+                if (!result.isComplete()) {
+                    throw new IllegalStateException(result.getFailedChunks() + " chunks failed and will be retried on the next run.");
+                }
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Error applying monthly interest to credit accounts: {0}", e.getMessage());
+                throw e;
             }
-        }, TimeUnit.DAYS.toMillis(30)).start();
+        });
 
-        new DaemonThread(() -> {
+        scheduler.schedule("savings-interest", JobTrigger.cron("0 3 1 1 *"), () -> {
             try {
-                TransactionService.getInstance(storageMode).applyAnnualInterestToAllSavingsAccounts();
+                var result = TransactionService.getInstance(storageMode).applyAnnualInterestToAllSavingsAccounts();
+                if (!result.isComplete()) {
+                    throw new IllegalStateException(result.getFailedChunks() + " chunks failed and will be retried on the next run.");
+                }
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Error applying annual interest to savings accounts: {0}", e.getMessage());
+                throw e;
             }
-        }, TimeUnit.DAYS.toMillis(365)).start();
+        });
 
         // 2. Auto-close inactive currency accounts (Daily)
-        new DaemonThread(() -> {
+        scheduler.schedule("close-inactive-currency-accounts", JobTrigger.cron("0 1 * * *"), () -> {
             try {
                 AccountService.getInstance(storageMode).autoCloseInactiveCurrencyAccounts();
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Error auto-closing inactive currency accounts: {0}", e.getMessage());
+                throw e;
             }
-        }, TimeUnit.DAYS.toMillis(1)).start();
+        });
 
         // 3. Low Balance Alerts (Every 15 minutes)
-        new DaemonThread(() -> {
+        scheduler.schedule("low-balance-alerts", JobTrigger.fixedRate(Duration.ofMinutes(15)), () -> {
             try {
                 AccountService.getInstance(storageMode).checkLowBalanceAndNotify();
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Error checking low balance and notifying: {0}", e.getMessage());
+                throw e;
             }
-        }, TimeUnit.MINUTES.toMillis(15)).start();
+        });
 
-        // 4. Fraud Detection (Hourly)
-        new DaemonThread(() -> {
+        // 4. Balance Verification against the transaction log (Daily)
+        scheduler.schedule("balance-verification", JobTrigger.cron("30 3 * * *"), () -> {
             try {
-                TransactionService.getInstance(storageMode).scanForSuspiciousActivity();
+                var discrepancies = BalanceProjectionService.getInstance(storageMode).verifyAllBalances();
+                discrepancies.forEach(d -> LOGGER.log(Level.WARNING, "Balance discrepancy detected: {0}", d));
             } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Error scanning for suspicious activity: {0}", e.getMessage());
+                LOGGER.log(Level.SEVERE, "Error verifying account balances: {0}", e.getMessage());
+                throw e;
             }
-        }, TimeUnit.HOURS.toMillis(1)).start();
+        });
 
-        // Uncomment and implement the following tasks as needed:
-        // 5. Monthly Statement Generation (Monthly)
-        // new DaemonThread(() -> {
-        //     try {
-        //         StatementService.generateMonthlyStatements();
-        //     } catch (Exception e) {
-        //         LOGGER.log(Level.SEVERE, "Error generating monthly statements: {0}", e.getMessage());
-        //     }
-        // }, TimeUnit.DAYS.toMillis(30)).start();
+        // 4b. Daily aggregate verification against the transaction log, rebuilding them on a mismatch (Daily)
+        scheduler.schedule("aggregate-verification", JobTrigger.cron("45 3 * * *"), () -> {
+            try {
+                DailyAggregateService aggregateService = DailyAggregateService.getInstance(storageMode);
+                var discrepancies = aggregateService.verify();
+                if (!discrepancies.isEmpty()) {
+                    discrepancies.forEach(d -> LOGGER.log(Level.WARNING, "Daily aggregate discrepancy detected: {0}", d));
+                    aggregateService.rebuild();
+                }
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error verifying daily aggregates: {0}", e.getMessage());
+                throw e;
+            }
+        });
+
+        // 4c. Month close: balance checkpoints of every account, ahead of the statements (Monthly)
+        scheduler.schedule("balance-checkpoints", JobTrigger.cron("0 1 1 * *"), () -> {
+            try {
+                BalanceCheckpointService.getInstance(storageMode).closeMonth(YearMonth.now().minusMonths(1));
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error writing balance checkpoints: {0}", e.getMessage());
+                throw e;
+            }
+        });
+
+        // 5. Monthly Statement Generation for the previous month, after any earlier month left incomplete (Monthly)
+        File statementDirectory = new File("data/statements/" + storageMode.name().toLowerCase());
+        scheduler.schedule("monthly-statements", JobTrigger.cron("0 4 1 * *"), () -> {
+            try {
+                ReportService reportService = new ReportService(RepositoryFactory.getInstance(storageMode));
+                Set<YearMonth> months = new TreeSet<>(reportService.getUnfinishedStatementMonths(statementDirectory));
+                months.add(YearMonth.now().minusMonths(1));
+                generateMonthlyStatements(reportService, months, statementDirectory);
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error generating monthly statements: {0}", e.getMessage());
+                throw e;
+            }
+        });
+
+        // 5a. Retry of monthly statements left with failed chunks (Hourly)
+        scheduler.schedule("monthly-statements-retry", JobTrigger.fixedRate(Duration.ofHours(1)), () -> {
+            try {
+                ReportService reportService = new ReportService(RepositoryFactory.getInstance(storageMode));
+                generateMonthlyStatements(reportService, reportService.getUnfinishedStatementMonths(statementDirectory), statementDirectory);
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error retrying monthly statements: {0}", e.getMessage());
+                throw e;
+            }
+        });
+
+        // 5b. Exchange Rate Updates from the rate feeds (Hourly); the stored rate history is restored right away
+        ExchangeRateFeedService rateFeedService = ExchangeRateFeedService.getInstance();
+        scheduler.schedule("exchange-rates", JobTrigger.fixedRate(Duration.ofHours(1)), () -> {
+            try {
+                rateFeedService.ingest();
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error updating exchange rates: {0}", e.getMessage());
+                throw e;
+            }
+        });
 
+        // Uncomment and implement the following tasks as needed:
         // 6. Archive Old Transactions (Monthly)
-        // new DaemonThread(() -> {
+        // scheduler.schedule("archive-transactions", JobTrigger.cron("0 5 1 * *"), () -> {
         //     try {
         //         ArchiveService.archiveOldTransactions();
         //     } catch (Exception e) {
         //         LOGGER.log(Level.SEVERE, "Error archiving old transactions: {0}", e.getMessage());
         //     }
-        // }, TimeUnit.DAYS.toMillis(30)).start();
+        // });
 
         // 7. Auto-Approval for Low-Risk Account Requests (Every 5 minutes)
-        // new DaemonThread(() -> {
+        // scheduler.schedule("auto-approve-account-requests", JobTrigger.fixedRate(Duration.ofMinutes(5)), () -> {
         //     try {
         //         AccountApprovalService.autoApproveLowRiskRequests();
         //     } catch (Exception e) {
         //         LOGGER.log(Level.SEVERE, "Error auto-approving low-risk account requests: {0}", e.getMessage());
         //     }
-        // }, TimeUnit.MINUTES.toMillis(5)).start();
-
-        // 8. Exchange Rate Updates (Hourly)
-        // new DaemonThread(() -> {
-        //     try {
-        //         CurrencyService.updateExchangeRates();
-        //     } catch (Exception e) {
-        //         LOGGER.log(Level.SEVERE, "Error updating exchange rates: {0}", e.getMessage());
-        //     }
-        // }, TimeUnit.HOURS.toMillis(1)).start();
+        // });
 
         // 9. Cleanup Expired/Orphaned Data (Daily)
-        // new DaemonThread(() -> {
+        // scheduler.schedule("cleanup-orphaned-data", JobTrigger.cron("0 0 * * *"), () -> {
         //     try {
         //         CleanupService.removeExpiredOrphanedData();
         //     } catch (Exception e) {
         //         LOGGER.log(Level.SEVERE, "Error cleaning up expired/orphaned data: {0}", e.getMessage());
         //     }
-        // }, TimeUnit.DAYS.toMillis(1)).start();
+        // });
+    }
+
+    /**
+     * Stops all background jobs, waiting up to the given timeout for running jobs to finish.
+     *
+     * @param timeout how long to wait for running jobs
+     */
+    public static void stopAllDaemonTasks(Duration timeout) {
+        JobScheduler.getInstance().shutdown(timeout);
+    }
+
+    /**
+     * Generates the statements of each month in turn, carrying on past months that fail.
+     *
+     * @throws IllegalStateException if a month still has unwritten chunks; they are retried by the hourly job
+     */
+    private static void generateMonthlyStatements(ReportService reportService, Collection<YearMonth> months, File directory) {
+        List<String> unfinished = new ArrayList<>();
+        for (YearMonth month : months) {
+            try {
+                var result = reportService.generateMonthlyStatements(month, directory);
+                if (!result.isComplete()) {
+                    unfinished.add(month + " (" + result.getBatch().getFailedChunks() + " chunks failed)");
+                }
+            } catch (RuntimeException e) {
+                unfinished.add(month + " (" + e.getMessage() + ")");
+            }
+        }
+        if (!unfinished.isEmpty()) {
+            throw new IllegalStateException("Statements incomplete for " + String.join(", ", unfinished) + "; they will be retried within the hour.");
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.fortisbank.business.services.automation;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+
+/**
+ * Trigger driven by a five-field cron expression: minute, hour, day of month, month and day of week.
+ *
+ * Each field accepts {@code *}, single values, ranges ({@code 1-5}), lists ({@code 1,15}) and
+ * steps ({@code *}{@code /15}). Day of week runs from 0 (Sunday) to 6, and 7 is also accepted for Sunday.
+ * As in standard cron, when both day fields are restricted a day matching either of them fires.
+ * Times are evaluated in the system default time zone.
+ */
+public class CronTrigger implements JobTrigger {
+
+    private static final int MAX_YEARS_AHEAD = 5;
+
+    private final String expression;
+    private final ZoneId zone;
+    private final BitSet minutes;
+    private final BitSet hours;
+    private final BitSet daysOfMonth;
+    private final BitSet months;
+    private final BitSet daysOfWeek;
+    private final boolean dayOfMonthRestricted;
+    private final boolean dayOfWeekRestricted;
+
+    /**
+     * Constructs a CronTrigger from the specified expression.
+     *
+     * @param expression the cron expression
+     * @throws IllegalArgumentException if the expression is malformed
+     */
+    public CronTrigger(String expression) {
+        if (expression == null) throw new IllegalArgumentException("Cron expression cannot be null.");
+        String[] fields = expression.trim().split("\\s+");
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Cron expression must have 5 fields: " + expression);
+        }
+        this.expression = expression.trim();
+        this.zone = ZoneId.systemDefault();
+        this.minutes = parseField(fields[0], 0, 59);
+        this.hours = parseField(fields[1], 0, 23);
+        this.daysOfMonth = parseField(fields[2], 1, 31);
+        this.months = parseField(fields[3], 1, 12);
+        this.daysOfWeek = parseField(fields[4], 0, 7);
+        if (daysOfWeek.get(7)) daysOfWeek.set(0);
+        this.dayOfMonthRestricted = !fields[2].equals("*");
+        this.dayOfWeekRestricted = !fields[4].equals("*");
+    }
+
+    @Override
+    public Instant nextRunAfter(Instant after) {
+        ZonedDateTime time = after.atZone(zone).truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        ZonedDateTime limit = time.plusYears(MAX_YEARS_AHEAD);
+
+        while (time.isBefore(limit)) {
+            if (!months.get(time.getMonthValue())) {
+                time = time.plusMonths(1).withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+            } else if (!matchesDay(time)) {
+                time = time.plusDays(1).truncatedTo(ChronoUnit.DAYS);
+            } else if (!hours.get(time.getHour())) {
+                time = time.plusHours(1).truncatedTo(ChronoUnit.HOURS);
+            } else if (!minutes.get(time.getMinute())) {
+                time = time.plusMinutes(1);
+            } else {
+                return time.toInstant();
+            }
+        }
+        throw new IllegalStateException("Cron expression never fires: " + expression);
+    }
+
+    private boolean matchesDay(ZonedDateTime time) {
+        boolean dayOfMonth = daysOfMonth.get(time.getDayOfMonth());
+        boolean dayOfWeek = daysOfWeek.get(time.getDayOfWeek().getValue() % 7);
+        if (dayOfMonthRestricted && dayOfWeekRestricted) {
+            return dayOfMonth || dayOfWeek;
+        }
+        return dayOfMonth && dayOfWeek;
+    }
+
+    private static BitSet parseField(String field, int min, int max) {
+        BitSet values = new BitSet(max + 1);
+        for (String part : field.split(",")) {
+            int step = 1;
+            String range = part;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = parseValue(part.substring(slash + 1), 1, max);
+                range = part.substring(0, slash);
+            }
+
+            int from;
+            int to;
+            if (range.equals("*")) {
+                from = min;
+                to = max;
+            } else if (range.contains("-")) {
+                String[] bounds = range.split("-", 2);
+                from = parseValue(bounds[0], min, max);
+                to = parseValue(bounds[1], min, max);
+            } else {
+                from = parseValue(range, min, max);
+                to = slash >= 0 ? max : from;
+            }
+            if (from > to) throw new IllegalArgumentException("Invalid cron range: " + part);
+
+            for (int value = from; value <= to; value += step) {
+                values.set(value);
+            }
+        }
+        return values;
+    }
+
+    private static int parseValue(String value, int min, int max) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < min || parsed > max) {
+                throw new IllegalArgumentException("Cron value out of range [" + min + "-" + max + "]: " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cron value: " + value, e);
+        }
+    }
+
+    /**
+     * Returns the cron expression, used to detect schedule changes across restarts.
+     *
+     * @return the cron expression
+     */
+    @Override
+    public String toString() {
+        return "cron " + expression;
+    }
+}
@@ -0,0 +1,41 @@
+package com.fortisbank.business.services.automation;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Trigger that fires at a fixed interval. The interval is added to the previous scheduled time
+ * rather than to the completion time, so run times do not drift with job duration.
+ */
+public class FixedRateTrigger implements JobTrigger {
+
+    private final Duration interval;
+
+    /**
+     * Constructs a FixedRateTrigger with the specified interval.
+     *
+     * @param interval the interval between runs
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public FixedRateTrigger(Duration interval) {
+        if (interval == null || interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Interval must be positive.");
+        }
+        this.interval = interval;
+    }
+
+    @Override
+    public Instant nextRunAfter(Instant after) {
+        return after.plus(interval);
+    }
+
+    /**
+     * Returns a string representation of the trigger, used to detect schedule changes across restarts.
+     *
+     * @return a string representation of the trigger
+     */
+    @Override
+    public String toString() {
+        return "every " + interval;
+    }
+}
@@ -0,0 +1,178 @@
+package com.fortisbank.business.services.automation;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Point-in-time view of a scheduled job: its schedule, its last run and its run counters.
+ */
+public class JobMetrics implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String jobName;
+    private final String trigger;
+    private final Instant lastRun;
+    private final Instant nextRun;
+    private final Duration lastDuration;
+    private final JobOutcome lastOutcome;
+    private final String lastError;
+    private final long runCount;
+    private final long failureCount;
+    private final long skippedCount;
+    private final boolean running;
+
+    /**
+     * Constructor initializing the metrics with specified values.
+     *
+     * @param jobName the name of the job
+     * @param trigger the description of the job's trigger
+     * @param lastRun the start time of the last run, or null if the job never ran
+     * @param nextRun the next scheduled run, or null if the job is not scheduled
+     * @param lastDuration the duration of the last run, or null if the job never ran
+     * @param lastOutcome the outcome of the last run, or null if the job never ran
+     * @param lastError the error message of the last failed run, or null
+     * @param runCount the number of completed runs
+     * @param failureCount the number of failed runs
+     * @param skippedCount the number of runs skipped because the job was still running
+     * @param running whether the job is running now
+     */
+    public JobMetrics(String jobName, String trigger, Instant lastRun, Instant nextRun, Duration lastDuration,
+                      JobOutcome lastOutcome, String lastError, long runCount, long failureCount,
+                      long skippedCount, boolean running) {
+        this.jobName = jobName;
+        this.trigger = trigger;
+        this.lastRun = lastRun;
+        this.nextRun = nextRun;
+        this.lastDuration = lastDuration;
+        this.lastOutcome = lastOutcome;
+        this.lastError = lastError;
+        this.runCount = runCount;
+        this.failureCount = failureCount;
+        this.skippedCount = skippedCount;
+        this.running = running;
+    }
+
+    /**
+     * Returns the name of the job.
+     *
+     * @return the job name
+     */
+    public String getJobName() {
+        return jobName;
+    }
+
+    /**
+     * Returns the description of the job's trigger.
+     *
+     * @return the trigger description
+     */
+    public String getTrigger() {
+        return trigger;
+    }
+
+    /**
+     * Returns the start time of the last run.
+     *
+     * @return the last run time, or null if the job never ran
+     */
+    public Instant getLastRun() {
+        return lastRun;
+    }
+
+    /**
+     * Returns the next scheduled run.
+     *
+     * @return the next run time, or null if the job is not scheduled
+     */
+    public Instant getNextRun() {
+        return nextRun;
+    }
+
+    /**
+     * Returns the duration of the last run.
+     *
+     * @return the last duration, or null if the job never ran
+     */
+    public Duration getLastDuration() {
+        return lastDuration;
+    }
+
+    /**
+     * Returns the outcome of the last run.
+     *
+     * @return the last outcome, or null if the job never ran
+     */
+    public JobOutcome getLastOutcome() {
+        return lastOutcome;
+    }
+
+    /**
+     * Returns the error message of the last failed run.
+     *
+     * @return the error message, or null
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Returns the number of completed runs.
+     *
+     * @return the run count
+     */
+    public long getRunCount() {
+        return runCount;
+    }
+
+    /**
+     * Returns the number of failed runs.
+     *
+     * @return the failure count
+     */
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    /**
+     * Returns the number of runs skipped because the job was still running.
+     *
+     * @return the skipped count
+     */
+    public long getSkippedCount() {
+        return skippedCount;
+    }
+
+    /**
+     * Returns whether the job is running now.
+     *
+     * @return true if the job is running, false otherwise
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Returns a string representation of the metrics.
+     *
+     * @return a string representation of the metrics
+     */
+    @Override
+    public String toString() {
+        return "JobMetrics{" +
+                "jobName='" + jobName + '\'' +
+                ", trigger='" + trigger + '\'' +
+                ", lastRun=" + lastRun +
+                ", nextRun=" + nextRun +
+                ", lastDuration=" + lastDuration +
+                ", lastOutcome=" + lastOutcome +
+                ", lastError='" + lastError + '\'' +
+                ", runCount=" + runCount +
+                ", failureCount=" + failureCount +
+                ", skippedCount=" + skippedCount +
+                ", running=" + running +
+                '}';
+    }
+}
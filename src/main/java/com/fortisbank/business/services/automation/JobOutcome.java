@@ -0,0 +1,21 @@
+package com.fortisbank.business.services.automation;
+
+/**
+ * Enum representing the outcome of a scheduled job run.
+ */
+public enum JobOutcome {
+    /**
+     * The job completed without throwing.
+     */
+    SUCCESS,
+
+    /**
+     * The job threw an exception.
+     */
+    FAILURE,
+
+    /**
+     * The run was skipped because the previous run of the same job was still in progress.
+     */
+    SKIPPED
+}
@@ -0,0 +1,255 @@
+package com.fortisbank.business.services.automation;
+
+import com.fortisbank.data.dal_utils.FileManager;
+
+import java.io.File;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs named background jobs on a shared {@link ScheduledExecutorService}.
+ *
+ * The last and next run times of every job are written to disk, so a restart resumes the schedule
+ * instead of running every job immediately; a run missed while the application was down fires once
+ * on startup. A job never overlaps with itself: a run that comes due while the previous one is still
+ * in progress is skipped and counted. Duration and outcome of each run are exposed as {@link JobMetrics}.
+ */
+public class JobScheduler {
+
+    private static final Logger LOGGER = Logger.getLogger(JobScheduler.class.getName());
+    private static final File file = new File("data/scheduler_state.ser");
+    private static final int POOL_SIZE = 4;
+
+    private static JobScheduler instance;
+
+    private final ScheduledExecutorService executor;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<String, JobState> states;
+    private volatile boolean shuttingDown = false;
+
+    private JobScheduler() {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(POOL_SIZE, runnable -> {
+            Thread thread = new Thread(runnable, "fortisbank-scheduler-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Map<String, JobState> stored = FileManager.readObjectFromFile(file);
+        this.states = stored != null ? stored : new HashMap<>();
+    }
+
+    /**
+     * Returns the singleton instance of JobScheduler.
+     *
+     * @return the singleton instance of JobScheduler
+     */
+    public static synchronized JobScheduler getInstance() {
+        if (instance == null) {
+            instance = new JobScheduler();
+        }
+        return instance;
+    }
+
+    /**
+     * Registers a job and schedules its next run. A job that was registered in a previous run of the
+     * application with the same trigger continues from its persisted next run time.
+     *
+     * @param name the unique name of the job
+     * @param trigger decides when the job runs
+     * @param task the work to run
+     * @throws IllegalStateException if a job with the same name is already registered or the scheduler is shut down
+     */
+    public synchronized void schedule(String name, JobTrigger trigger, Runnable task) {
+        if (shuttingDown) throw new IllegalStateException("Scheduler is shut down.");
+        if (jobs.containsKey(name)) throw new IllegalStateException("Job already scheduled: " + name);
+
+        Job job = new Job(name, trigger, task);
+        jobs.put(name, job);
+
+        JobState state = states.computeIfAbsent(name, k -> new JobState());
+        Instant now = Instant.now();
+        Instant nextRun;
+        if (state.nextRun != null && trigger.toString().equals(state.trigger)) {
+            nextRun = state.nextRun.isBefore(now) ? now : state.nextRun;
+        } else {
+            nextRun = trigger.nextRunAfter(now);
+        }
+        state.trigger = trigger.toString();
+        scheduleRun(job, nextRun);
+        LOGGER.log(Level.INFO, "Scheduled job {0} ({1}), next run at {2}", new Object[]{name, trigger, nextRun});
+    }
+
+    /**
+     * Runs a job immediately, outside its schedule. Does nothing if the job is already running.
+     *
+     * @param name the name of the job
+     * @return true if the job was started, false if it was already running
+     * @throws IllegalArgumentException if no job with the name is registered
+     */
+    public boolean runNow(String name) {
+        Job job = jobs.get(name);
+        if (job == null) throw new IllegalArgumentException("Unknown job: " + name);
+        if (job.running.get()) return false;
+        executor.execute(() -> run(job));
+        return true;
+    }
+
+    /**
+     * Returns the metrics of all registered jobs.
+     *
+     * @return the metrics, one entry per job
+     */
+    public synchronized List<JobMetrics> getJobMetrics() {
+        List<JobMetrics> metrics = new ArrayList<>(jobs.size());
+        jobs.keySet().forEach(name -> metrics.add(getJobMetrics(name)));
+        return metrics;
+    }
+
+    /**
+     * Returns the metrics of a job.
+     *
+     * @param name the name of the job
+     * @return the metrics, or null if no job with the name is registered
+     */
+    public synchronized JobMetrics getJobMetrics(String name) {
+        Job job = jobs.get(name);
+        if (job == null) return null;
+        JobState state = states.get(name);
+        return new JobMetrics(name, state.trigger, state.lastRun, state.nextRun,
+                state.lastDurationMillis >= 0 ? Duration.ofMillis(state.lastDurationMillis) : null,
+                state.lastOutcome, state.lastError, state.runCount, state.failureCount, state.skippedCount,
+                job.running.get());
+    }
+
+    /**
+     * Stops scheduling new runs and waits for the runs in progress to finish.
+     * Runs still in progress after the timeout are interrupted.
+     *
+     * @param timeout how long to wait for running jobs
+     */
+    public void shutdown(Duration timeout) {
+        synchronized (this) {
+            if (shuttingDown) return;
+            shuttingDown = true;
+        }
+        LOGGER.log(Level.INFO, "Shutting down job scheduler...");
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOGGER.log(Level.WARNING, "Jobs still running after {0}; interrupting them.", timeout);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        persistState();
+    }
+
+    private synchronized void scheduleRun(Job job, Instant runAt) {
+        if (shuttingDown) return;
+        states.get(job.name).nextRun = runAt;
+        persistState();
+        long delay = Math.max(0, Duration.between(Instant.now(), runAt).toMillis());
+        executor.schedule(() -> fire(job, runAt), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void fire(Job job, Instant scheduledAt) {
+        run(job);
+        Instant next = job.trigger.nextRunAfter(scheduledAt);
+        Instant now = Instant.now();
+        if (next.isBefore(now)) {
+            // The run overran one or more periods; skip them rather than firing back to back.
+            next = job.trigger.nextRunAfter(now);
+        }
+        scheduleRun(job, next);
+    }
+
+    private void run(Job job) {
+        if (!job.running.compareAndSet(false, true)) {
+            LOGGER.log(Level.WARNING, "Job {0} is still running; skipping this run.", job.name);
+            synchronized (this) {
+                states.get(job.name).skippedCount++;
+            }
+            return;
+        }
+
+        Instant startedAt = Instant.now();
+        long start = System.nanoTime();
+        JobOutcome outcome = JobOutcome.SUCCESS;
+        String error = null;
+        try {
+            job.task.run();
+        } catch (RuntimeException e) {
+            outcome = JobOutcome.FAILURE;
+            error = e.getMessage();
+            LOGGER.log(Level.SEVERE, "Job " + job.name + " failed: " + e.getMessage(), e);
+        } finally {
+            long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            synchronized (this) {
+                JobState state = states.get(job.name);
+                state.lastRun = startedAt;
+                state.lastDurationMillis = durationMillis;
+                state.lastOutcome = outcome;
+                state.lastError = error;
+                state.runCount++;
+                if (outcome == JobOutcome.FAILURE) state.failureCount++;
+                persistState();
+            }
+            job.running.set(false);
+            LOGGER.log(Level.INFO, "Job {0} finished with {1} in {2} ms", new Object[]{job.name, outcome, durationMillis});
+        }
+    }
+
+    private synchronized void persistState() {
+        FileManager.writeObjectToFile(file, new HashMap<>(states));
+    }
+
+    /**
+     * A registered job and its in-memory run state.
+     */
+    private static class Job {
+        private final String name;
+        private final JobTrigger trigger;
+        private final Runnable task;
+        private final AtomicBoolean running = new AtomicBoolean(false);
+
+        private Job(String name, JobTrigger trigger, Runnable task) {
+            this.name = name;
+            this.trigger = trigger;
+            this.task = task;
+        }
+    }
+
+    /**
+     * The persisted schedule and counters of a job.
+     */
+    private static class JobState implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private String trigger;
+        private Instant lastRun;
+        private Instant nextRun;
+        private long lastDurationMillis = -1;
+        private JobOutcome lastOutcome;
+        private String lastError;
+        private long runCount;
+        private long failureCount;
+        private long skippedCount;
+    }
+}
@@ -0,0 +1,38 @@
+package com.fortisbank.business.services.automation;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Decides when a scheduled job runs next.
+ */
+public interface JobTrigger {
+
+    /**
+     * Returns the first run time strictly after the given instant.
+     *
+     * @param after the reference instant, usually the previous scheduled run
+     * @return the next run time
+     */
+    Instant nextRunAfter(Instant after);
+
+    /**
+     * Creates a trigger that fires at a fixed interval, measured between scheduled start times.
+     *
+     * @param interval the interval between runs
+     * @return the trigger
+     */
+    static JobTrigger fixedRate(Duration interval) {
+        return new FixedRateTrigger(interval);
+    }
+
+    /**
+     * Creates a trigger from a five-field cron expression (minute, hour, day of month, month, day of week).
+     *
+     * @param expression the cron expression, e.g. {@code "0 2 1 * *"}
+     * @return the trigger
+     */
+    static JobTrigger cron(String expression) {
+        return new CronTrigger(expression);
+    }
+}
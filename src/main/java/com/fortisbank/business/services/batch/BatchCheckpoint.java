@@ -0,0 +1,93 @@
+package com.fortisbank.business.services.batch;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Progress of one run of a chunked batch job.
+ *
+ * The chunk plan is fixed when the run starts and stored with the checkpoint, so a resumed run
+ * processes exactly the chunks that were not committed, even if the set of eligible items has
+ * changed in the meantime.
+ */
+public class BatchCheckpoint implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Identifies the period the run belongs to, e.g. {@code 2024-05} for a monthly job.
+     */
+    private final String runKey;
+
+    /**
+     * The item IDs of every chunk, in chunk order.
+     */
+    private final List<List<String>> chunks;
+
+    /**
+     * The indexes of the chunks that have been committed.
+     */
+    private final Set<Integer> completedChunks;
+
+    /**
+     * Constructor initializing a checkpoint with no completed chunks.
+     *
+     * @param runKey the key of the run
+     * @param chunks the item IDs of every chunk
+     */
+    public BatchCheckpoint(String runKey, List<List<String>> chunks) {
+        this.runKey = runKey;
+        this.chunks = new ArrayList<>(chunks);
+        this.completedChunks = new HashSet<>();
+    }
+
+    /**
+     * Returns the key of the run.
+     *
+     * @return the run key
+     */
+    public String getRunKey() {
+        return runKey;
+    }
+
+    /**
+     * Returns the item IDs of every chunk.
+     *
+     * @return the chunks
+     */
+    public List<List<String>> getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Returns whether a chunk has been committed.
+     *
+     * @param index the chunk index
+     * @return true if the chunk is committed
+     */
+    public boolean isCompleted(int index) {
+        return completedChunks.contains(index);
+    }
+
+    /**
+     * Marks a chunk as committed.
+     *
+     * @param index the chunk index
+     */
+    public void markCompleted(int index) {
+        completedChunks.add(index);
+    }
+
+    /**
+     * Returns the number of committed chunks.
+     *
+     * @return the completed chunk count
+     */
+    public int getCompletedCount() {
+        return completedChunks.size();
+    }
+}
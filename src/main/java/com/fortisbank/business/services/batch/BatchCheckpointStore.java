@@ -0,0 +1,92 @@
+package com.fortisbank.business.services.batch;
+
+import com.fortisbank.data.dal_utils.FileManager;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores the checkpoint of each batch job on disk. A checkpoint is written every time a chunk
+ * commits and removed once the run finishes without failed chunks.
+ */
+public class BatchCheckpointStore {
+
+    private static final File file = new File("data/batch_checkpoints.ser");
+    private static BatchCheckpointStore instance;
+
+    private final Map<String, BatchCheckpoint> checkpoints;
+
+    private BatchCheckpointStore() {
+        Map<String, BatchCheckpoint> stored = FileManager.readObjectFromFile(file);
+        this.checkpoints = stored != null ? stored : new HashMap<>();
+    }
+
+    /**
+     * Returns the singleton instance of BatchCheckpointStore.
+     *
+     * @return the singleton instance of BatchCheckpointStore
+     */
+    public static synchronized BatchCheckpointStore getInstance() {
+        if (instance == null) {
+            instance = new BatchCheckpointStore();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the checkpoint of a job.
+     *
+     * @param jobName the name of the job
+     * @return the checkpoint, or null if the job has no run in progress
+     */
+    public synchronized BatchCheckpoint get(String jobName) {
+        return checkpoints.get(jobName);
+    }
+
+    /**
+     * Returns the names of the jobs with a run in progress.
+     *
+     * @return the job names
+     */
+    public synchronized List<String> getJobNames() {
+        return new ArrayList<>(checkpoints.keySet());
+    }
+
+    /**
+     * Saves the checkpoint of a job.
+     *
+     * @param jobName the name of the job
+     * @param checkpoint the checkpoint
+     */
+    public synchronized void save(String jobName, BatchCheckpoint checkpoint) {
+        checkpoints.put(jobName, checkpoint);
+        FileManager.writeObjectToFile(file, checkpoints);
+    }
+
+    /**
+     * Records a committed chunk of a job and persists the checkpoint.
+     *
+     * @param jobName the name of the job
+     * @param chunkIndex the index of the committed chunk
+     */
+    public synchronized void markCompleted(String jobName, int chunkIndex) {
+        BatchCheckpoint checkpoint = checkpoints.get(jobName);
+        if (checkpoint == null) return;
+        checkpoint.markCompleted(chunkIndex);
+        FileManager.writeObjectToFile(file, checkpoints);
+    }
+
+    /**
+     * Removes the checkpoint of a job.
+     *
+     * @param jobName the name of the job
+     */
+    public synchronized void remove(String jobName) {
+        if (checkpoints.remove(jobName) != null) {
+            FileManager.writeObjectToFile(file, checkpoints);
+        }
+    }
+}
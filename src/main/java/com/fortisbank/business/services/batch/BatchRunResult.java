@@ -0,0 +1,129 @@
+package com.fortisbank.business.services.batch;
+
+import java.time.Duration;
+
+/**
+ * Summary of one execution of a chunked batch job.
+ */
+public class BatchRunResult {
+
+    private final String jobName;
+    private final String runKey;
+    private final int totalChunks;
+    private final int committedChunks;
+    private final int failedChunks;
+    private final int resumedChunks;
+    private final Duration duration;
+
+    /**
+     * Constructor initializing the result with specified values.
+     *
+     * @param jobName the name of the job
+     * @param runKey the key of the run
+     * @param totalChunks the number of chunks in the run
+     * @param committedChunks the number of chunks committed by this execution
+     * @param failedChunks the number of chunks that failed and will be retried on the next execution
+     * @param resumedChunks the number of chunks already committed by an earlier, interrupted execution
+     * @param duration how long this execution took
+     */
+    public BatchRunResult(String jobName, String runKey, int totalChunks, int committedChunks,
+                          int failedChunks, int resumedChunks, Duration duration) {
+        this.jobName = jobName;
+        this.runKey = runKey;
+        this.totalChunks = totalChunks;
+        this.committedChunks = committedChunks;
+        this.failedChunks = failedChunks;
+        this.resumedChunks = resumedChunks;
+        this.duration = duration;
+    }
+
+    /**
+     * Returns the name of the job.
+     *
+     * @return the job name
+     */
+    public String getJobName() {
+        return jobName;
+    }
+
+    /**
+     * Returns the key of the run.
+     *
+     * @return the run key
+     */
+    public String getRunKey() {
+        return runKey;
+    }
+
+    /**
+     * Returns the number of chunks in the run.
+     *
+     * @return the total chunk count
+     */
+    public int getTotalChunks() {
+        return totalChunks;
+    }
+
+    /**
+     * Returns the number of chunks committed by this execution.
+     *
+     * @return the committed chunk count
+     */
+    public int getCommittedChunks() {
+        return committedChunks;
+    }
+
+    /**
+     * Returns the number of chunks that failed.
+     *
+     * @return the failed chunk count
+     */
+    public int getFailedChunks() {
+        return failedChunks;
+    }
+
+    /**
+     * Returns the number of chunks committed by an earlier, interrupted execution.
+     *
+     * @return the resumed chunk count
+     */
+    public int getResumedChunks() {
+        return resumedChunks;
+    }
+
+    /**
+     * Returns how long this execution took.
+     *
+     * @return the duration
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Returns whether every chunk of the run has been committed.
+     *
+     * @return true if the run is complete
+     */
+    public boolean isComplete() {
+        return failedChunks == 0;
+    }
+
+    /**
+     * Returns a string representation of the result.
+     *
+     * @return a string representation of the result
+     */
+    @Override
+    public String toString() {
+        return "BatchRunResult{" +
+                "jobName='" + jobName + '\'' +
+                ", runKey='" + runKey + '\'' +
+                ", totalChunks=" + totalChunks +
+                ", committedChunks=" + committedChunks +
+                ", failedChunks=" + failedChunks +
+                ", resumedChunks=" + resumedChunks +
+                ", duration=" + duration +
+                '}';
+    }
+}
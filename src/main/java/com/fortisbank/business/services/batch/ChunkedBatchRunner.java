@@ -0,0 +1,146 @@
+package com.fortisbank.business.services.batch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs a batch job over a list of items split into fixed-size chunks.
+ *
+ * Chunks are processed in parallel on a pool bounded by the number of available processors.
+ * Each chunk is expected to commit its own changes; once it returns, it is recorded in the job's
+ * {@link BatchCheckpoint}. If the application stops part way through, the next execution with the
+ * same run key skips the committed chunks and only processes the rest.
+ */
+public class ChunkedBatchRunner {
+
+    private static final Logger LOGGER = Logger.getLogger(ChunkedBatchRunner.class.getName());
+
+    /**
+     * Processes and commits the items of one chunk.
+     */
+    @FunctionalInterface
+    public interface ChunkProcessor {
+        /**
+         * Processes the items of a chunk. Throwing leaves the chunk uncommitted in the checkpoint.
+         *
+         * @param itemIds the IDs of the items in the chunk
+         */
+        void process(List<String> itemIds);
+    }
+
+    private final String jobName;
+    private final int chunkSize;
+    private final int parallelism;
+    private final BatchCheckpointStore checkpointStore;
+
+    /**
+     * Constructs a runner for the given job, using one worker per available processor.
+     *
+     * @param jobName the unique name of the job, used as the checkpoint key
+     * @param chunkSize the maximum number of items per chunk
+     */
+    public ChunkedBatchRunner(String jobName, int chunkSize) {
+        this(jobName, chunkSize, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a runner for the given job.
+     *
+     * @param jobName the unique name of the job, used as the checkpoint key
+     * @param chunkSize the maximum number of items per chunk
+     * @param parallelism the maximum number of chunks processed at once
+     */
+    public ChunkedBatchRunner(String jobName, int chunkSize, int parallelism) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("Chunk size must be positive.");
+        if (parallelism <= 0) throw new IllegalArgumentException("Parallelism must be positive.");
+        this.jobName = jobName;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.checkpointStore = BatchCheckpointStore.getInstance();
+    }
+
+    /**
+     * Runs the job for the given period, resuming an interrupted run with the same key.
+     *
+     * @param runKey identifies the period the run belongs to
+     * @param itemIds supplies the IDs of the eligible items; only called when a new run starts
+     * @param processor processes and commits one chunk
+     * @return the summary of this execution
+     */
+    public BatchRunResult run(String runKey, Supplier<List<String>> itemIds, ChunkProcessor processor) {
+        long start = System.nanoTime();
+
+        BatchCheckpoint checkpoint = checkpointStore.get(jobName);
+        if (checkpoint == null || !checkpoint.getRunKey().equals(runKey)) {
+            checkpoint = new BatchCheckpoint(runKey, partition(itemIds.get()));
+            checkpointStore.save(jobName, checkpoint);
+        } else {
+            LOGGER.log(Level.INFO, "Resuming {0} run {1}: {2} of {3} chunks already committed.",
+                    new Object[]{jobName, runKey, checkpoint.getCompletedCount(), checkpoint.getChunks().size()});
+        }
+
+        List<List<String>> chunks = checkpoint.getChunks();
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            if (!checkpoint.isCompleted(i)) pending.add(i);
+        }
+        int resumed = chunks.size() - pending.size();
+
+        AtomicInteger committed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        if (!pending.isEmpty()) {
+            ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, pending.size()));
+            try {
+                List<Future<?>> futures = new ArrayList<>(pending.size());
+                for (int index : pending) {
+                    futures.add(pool.submit(() -> {
+                        try {
+                            processor.process(chunks.get(index));
+                            checkpointStore.markCompleted(jobName, index);
+                            committed.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            failed.incrementAndGet();
+                            LOGGER.log(Level.SEVERE, "Chunk {0} of {1} failed: {2}", new Object[]{index, jobName, e.getMessage()});
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Batch job interrupted: " + jobName, e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Batch job failed: " + jobName, e.getCause());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        if (failed.get() == 0) {
+            checkpointStore.remove(jobName);
+        }
+
+        BatchRunResult result = new BatchRunResult(jobName, runKey, chunks.size(), committed.get(), failed.get(),
+                resumed, Duration.ofNanos(System.nanoTime() - start));
+        LOGGER.log(Level.INFO, "Batch job finished: {0}", result);
+        return result;
+    }
+
+    private List<List<String>> partition(List<String> itemIds) {
+        List<List<String>> chunks = new ArrayList<>((itemIds.size() + chunkSize - 1) / chunkSize);
+        for (int i = 0; i < itemIds.size(); i += chunkSize) {
+            chunks.add(new ArrayList<>(itemIds.subList(i, Math.min(i + chunkSize, itemIds.size()))));
+        }
+        return chunks;
+    }
+}
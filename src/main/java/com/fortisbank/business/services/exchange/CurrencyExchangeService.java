@@ -1,4 +1,187 @@
 package com.fortisbank.business.services.exchange;
 
+import com.fortisbank.contracts.models.accounts.Account;
+import com.fortisbank.contracts.models.accounts.CurrencyAccount;
+import com.fortisbank.contracts.models.others.CrossRates;
+import com.fortisbank.contracts.models.others.CurrencyType;
+import com.fortisbank.contracts.models.others.Money;
+import com.fortisbank.contracts.models.others.RateTable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts amounts between the currencies of {@link CurrencyType}.
+ *
+ * Conversions read the {@link CrossRates} that {@link CurrencyType} computes when it publishes a rate
+ * table and swaps in as a whole, so a conversion reads one consistent set of rates without locking and
+ * never computes them. Amounts can also be revalued at the rates that were in effect at a past moment.
+ *
+ * Converted amounts are rounded to the account currency scale with the rounding mode named by the
+ * {@code fortisbank.exchangeRounding} system property, half-even by default. Both can be chosen per call.
+ */
 public class CurrencyExchangeService {
+
+    private static CurrencyExchangeService instance;
+
+    private final CurrencyType currencyType;
+    private final RoundingMode defaultRounding;
+    private volatile CrossRates historicalRates;
+
+    private CurrencyExchangeService() {
+        this.currencyType = CurrencyType.getInstance();
+        this.defaultRounding = RoundingMode.valueOf(System.getProperty("fortisbank.exchangeRounding", RoundingMode.HALF_EVEN.name()));
+        this.historicalRates = currencyType.getCrossRates();
+    }
+
+    /**
+     * Returns the singleton instance of CurrencyExchangeService.
+     *
+     * @return the singleton instance of CurrencyExchangeService
+     */
+    public static synchronized CurrencyExchangeService getInstance() {
+        if (instance == null) {
+            instance = new CurrencyExchangeService();
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the codes of the currencies that can be converted, in the order of {@link CurrencyType}.
+     *
+     * @return the currency codes
+     */
+    public List<String> getCurrencies() {
+        return currencyType.getCrossRates().getCurrencies();
+    }
+
+    /**
+     * Returns whether amounts in a currency can be converted.
+     *
+     * @param currencyCode the currency code
+     * @return true if the currency has a usable exchange rate
+     */
+    public boolean isSupported(String currencyCode) {
+        return currencyType.getCrossRates().isSupported(currencyCode);
+    }
+
+    /**
+     * Returns the currency an account holds its balance in: the currency of a currency account, and the
+     * base currency for all other accounts.
+     *
+     * @param account the account
+     * @return the currency code
+     */
+    public String currencyOf(Account account) {
+        return account instanceof CurrencyAccount currencyAccount ? currencyAccount.getCurrencyCode() : CurrencyType.BASE_CURRENCY;
+    }
+
+    /**
+     * Returns the number of units of one currency that one unit of another currency buys.
+     *
+     * @param fromCurrency the currency converted from
+     * @param toCurrency the currency converted to
+     * @return the exchange rate
+     * @throws IllegalArgumentException if either currency is not supported
+     */
+    public BigDecimal getRate(String fromCurrency, String toCurrency) {
+        return currencyType.getCrossRates().getRate(fromCurrency, toCurrency);
+    }
+
+    /**
+     * Converts an amount, rounding it to the account currency scale with the default rounding mode.
+     *
+     * @param amount the amount in the currency converted from
+     * @param fromCurrency the currency converted from
+     * @param toCurrency the currency converted to
+     * @return the amount in the currency converted to
+     * @throws IllegalArgumentException if either currency is not supported
+     */
+    public BigDecimal convert(BigDecimal amount, String fromCurrency, String toCurrency) {
+        return convert(amount, fromCurrency, toCurrency, Money.DEFAULT_SCALE, defaultRounding);
+    }
+
+    /**
+     * Converts an amount, rounding it to a scale with a rounding mode.
+     *
+     * @param amount the amount in the currency converted from
+     * @param fromCurrency the currency converted from
+     * @param toCurrency the currency converted to
+     * @param scale the number of decimal places of the result
+     * @param rounding the rounding applied to the result
+     * @return the amount in the currency converted to
+     * @throws IllegalArgumentException if either currency is not supported
+     */
+    public BigDecimal convert(BigDecimal amount, String fromCurrency, String toCurrency, int scale, RoundingMode rounding) {
+        return amount.multiply(getRate(fromCurrency, toCurrency)).setScale(scale, rounding);
+    }
+
+    /**
+     * Converts an amount at the rates that were in effect at a past moment, e.g. to revalue an earlier
+     * conversion, rounding it to the account currency scale with the default rounding mode.
+     *
+     * @param amount the amount in the currency converted from
+     * @param fromCurrency the currency converted from
+     * @param toCurrency the currency converted to
+     * @param moment the moment whose rates are used
+     * @return the amount in the currency converted to
+     * @throws IllegalArgumentException if either currency was not supported at that moment
+     */
+    public BigDecimal revalue(BigDecimal amount, String fromCurrency, String toCurrency, Instant moment) {
+        BigDecimal rate = ratesAt(moment).getRate(fromCurrency, toCurrency);
+        return amount.multiply(rate).setScale(Money.DEFAULT_SCALE, defaultRounding);
+    }
+
+    /**
+     * Converts many amounts between the same two currencies at the same rate, rounding each to the
+     * account currency scale with the default rounding mode.
+     *
+     * @param amounts the amounts in the currency converted from
+     * @param fromCurrency the currency converted from
+     * @param toCurrency the currency converted to
+     * @return the amounts in the currency converted to, in the same order
+     * @throws IllegalArgumentException if either currency is not supported
+     */
+    public List<BigDecimal> convertAll(List<BigDecimal> amounts, String fromCurrency, String toCurrency) {
+        return convertAll(amounts, fromCurrency, toCurrency, Money.DEFAULT_SCALE, defaultRounding);
+    }
+
+    /**
+     * Converts many amounts between the same two currencies at the same rate.
+     *
+     * @param amounts the amounts in the currency converted from
+     * @param fromCurrency the currency converted from
+     * @param toCurrency the currency converted to
+     * @param scale the number of decimal places of the results
+     * @param rounding the rounding applied to each result
+     * @return the amounts in the currency converted to, in the same order
+     * @throws IllegalArgumentException if either currency is not supported
+     */
+    public List<BigDecimal> convertAll(List<BigDecimal> amounts, String fromCurrency, String toCurrency, int scale, RoundingMode rounding) {
+        BigDecimal rate = getRate(fromCurrency, toCurrency);
+        List<BigDecimal> converted = new ArrayList<>(amounts.size());
+        for (BigDecimal amount : amounts) {
+            converted.add(amount.multiply(rate).setScale(scale, rounding));
+        }
+        return converted;
+    }
+
+    /**
+     * Returns the cross rates for the rates in effect at a moment. The last historical cross rates are kept,
+     * as revaluations tend to ask for the same moment repeatedly.
+     */
+    private CrossRates ratesAt(Instant moment) {
+        RateTable table = currencyType.getRateTableAt(moment);
+        CrossRates current = currencyType.getCrossRates();
+        if (current.getTable() == table) return current;
+        CrossRates historical = historicalRates;
+        if (historical.getTable() != table) {
+            historical = new CrossRates(table);
+            historicalRates = historical;
+        }
+        return historical;
+    }
 }
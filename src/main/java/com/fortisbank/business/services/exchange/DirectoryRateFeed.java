@@ -0,0 +1,115 @@
+package com.fortisbank.business.services.exchange;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Reads exchange rates from CSV files dropped into a local directory.
+ *
+ * Each file holds one rate per line as {@code CODE,rate}, against the base currency. An optional
+ * {@code effectiveAt,<ISO-8601 instant>} line sets the time the rates apply from; without it the
+ * modification time of the file is used. Blank lines and lines starting with {@code #} are ignored.
+ *
+ * Only files ending in {@code .csv} are read, so a writer should create the file under another name
+ * and rename it once complete. Files are moved to {@code processed/} once published and to
+ * {@code rejected/} if they cannot be parsed or fail validation.
+ */
+public class DirectoryRateFeed implements ExchangeRateFeed {
+
+    private static final Logger LOGGER = Logger.getLogger(DirectoryRateFeed.class.getName());
+
+    private final Path directory;
+
+    /**
+     * Constructs a feed reading the given directory. The directory is created on the first poll if needed.
+     *
+     * @param directory the drop directory
+     */
+    public DirectoryRateFeed(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public String getName() {
+        return "directory";
+    }
+
+    @Override
+    public List<RateUpdate> poll() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> files;
+        try (Stream<Path> entries = Files.list(directory)) {
+            files = entries.filter(Files::isRegularFile)
+                    .filter(file -> file.getFileName().toString().endsWith(".csv"))
+                    .sorted()
+                    .toList();
+        }
+
+        List<RateUpdate> updates = new ArrayList<>(files.size());
+        for (Path file : files) {
+            try {
+                updates.add(parse(file));
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Rejecting unreadable rate file {0}: {1}", new Object[]{file.getFileName(), e.getMessage()});
+                moveTo(file, "rejected");
+            }
+        }
+        return updates;
+    }
+
+    @Override
+    public void acknowledge(RateUpdate update, boolean accepted) {
+        try {
+            moveTo(directory.resolve(update.source()), accepted ? "processed" : "rejected");
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not move rate file {0}: {1}", new Object[]{update.source(), e.getMessage()});
+        }
+    }
+
+    private RateUpdate parse(Path file) throws IOException {
+        Instant effectiveAt = Files.getLastModifiedTime(file).toInstant();
+        Map<String, BigDecimal> rates = new LinkedHashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] fields = line.split(",");
+                if (fields.length != 2) throw new IOException("Line " + lineNumber + ": expected two fields");
+                String key = fields[0].trim();
+                String value = fields[1].trim();
+                try {
+                    if (key.equalsIgnoreCase("effectiveAt")) {
+                        effectiveAt = Instant.parse(value);
+                    } else if (rates.put(key.toUpperCase(), new BigDecimal(value)) != null) {
+                        throw new IOException("Line " + lineNumber + ": duplicate currency " + key);
+                    }
+                } catch (NumberFormatException | DateTimeParseException e) {
+                    throw new IOException("Line " + lineNumber + ": invalid value " + value, e);
+                }
+            }
+        }
+        return new RateUpdate(file.getFileName().toString(), effectiveAt, rates);
+    }
+
+    private void moveTo(Path file, String subdirectory) throws IOException {
+        Path target = directory.resolve(subdirectory);
+        Files.createDirectories(target);
+        Files.move(file, target.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,35 @@
+package com.fortisbank.business.services.exchange;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A source of exchange rates polled by {@link ExchangeRateFeedService}.
+ */
+public interface ExchangeRateFeed {
+
+    /**
+     * Returns the name of the feed, used in logs and as part of the source of the rate tables it publishes.
+     *
+     * @return the name of the feed
+     */
+    String getName();
+
+    /**
+     * Returns the rate updates that arrived since the last poll and were not yet acknowledged.
+     *
+     * @return the new updates, in any order
+     * @throws IOException if the feed cannot be read
+     */
+    List<RateUpdate> poll() throws IOException;
+
+    /**
+     * Called once an update returned by {@link #poll()} has been published or rejected, so the feed does
+     * not return it again.
+     *
+     * @param update the update
+     * @param accepted whether the update was published
+     */
+    default void acknowledge(RateUpdate update, boolean accepted) {
+    }
+}
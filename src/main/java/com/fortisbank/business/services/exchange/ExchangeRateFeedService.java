@@ -0,0 +1,183 @@
+package com.fortisbank.business.services.exchange;
+
+import com.fortisbank.contracts.models.others.CurrencyType;
+import com.fortisbank.contracts.models.others.RateTable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Ingests exchange rates from the registered {@link ExchangeRateFeed}s into {@link CurrencyType}.
+ *
+ * Each update is validated against the rates in effect and merged into them, so a feed may send only the
+ * currencies that changed. The result is published as a new {@link RateTable}, which readers pick up on
+ * their next conversion without ever waiting for the ingestion. The rate history is restored when the service
+ * is created, and from then on every table, including manual changes made through {@link CurrencyType}, is
+ * written to disk by a {@link RateHistoryStore} before it is published. An update is acknowledged to its
+ * feed only once it is on disk, so past conversions can still be revalued after a restart and no update is
+ * lost to a crash.
+ *
+ * By default rates are read from the directory named by the {@code fortisbank.rateDropDir} system
+ * property, {@code data/rates} if unset; see {@link DirectoryRateFeed}.
+ */
+public class ExchangeRateFeedService {
+
+    private static final Logger LOGGER = Logger.getLogger(ExchangeRateFeedService.class.getName());
+    private static final Pattern CURRENCY_CODE = Pattern.compile("[A-Z]{3}");
+    private static final BigDecimal MAX_RATE_CHANGE = new BigDecimal("0.25");
+    private static final Duration MAX_CLOCK_SKEW = Duration.ofMinutes(5);
+
+    private static ExchangeRateFeedService instance;
+
+    private final CurrencyType currencyType;
+    private final List<ExchangeRateFeed> feeds = new CopyOnWriteArrayList<>();
+
+    private ExchangeRateFeedService() {
+        this.currencyType = CurrencyType.getInstance();
+        RateHistoryStore store = new RateHistoryStore(new File("data/exchange_rate_history.ser"),
+                new File("data/exchange_rate_history.journal"));
+        List<RateTable> stored = store.load();
+        currencyType.restore(stored);
+        currencyType.setHistoryWriter(store);
+        if (!stored.isEmpty()) {
+            LOGGER.log(Level.INFO, "Restored exchange rates version {0}", currencyType.getRateTable().getVersion());
+        }
+        feeds.add(new DirectoryRateFeed(Path.of(System.getProperty("fortisbank.rateDropDir", "data/rates"))));
+    }
+
+    /**
+     * Returns the singleton instance of ExchangeRateFeedService, restoring the stored rate history on first use.
+     *
+     * @return the singleton instance of ExchangeRateFeedService
+     */
+    public static synchronized ExchangeRateFeedService getInstance() {
+        if (instance == null) {
+            instance = new ExchangeRateFeedService();
+        }
+        return instance;
+    }
+
+    /**
+     * Registers another feed to poll on every ingestion.
+     *
+     * @param feed the feed
+     */
+    public void addFeed(ExchangeRateFeed feed) {
+        feeds.add(feed);
+    }
+
+    /**
+     * Polls every feed and publishes their valid updates, oldest first. Invalid updates are rejected and
+     * logged; they do not stop the others.
+     *
+     * @return the number of rate tables published
+     * @throws IllegalStateException if a feed could not be read, in which case the updates of the other feeds are
+     *         still published, or if a table could not be written, in which case it and the updates after it
+     *         are left unacknowledged to be read again on the next ingestion
+     */
+    public synchronized int ingest() {
+        List<PolledUpdate> polled = new ArrayList<>();
+        List<String> failedFeeds = new ArrayList<>();
+        for (ExchangeRateFeed feed : feeds) {
+            try {
+                feed.poll().forEach(update -> polled.add(new PolledUpdate(feed, update)));
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Error polling exchange rate feed {0}: {1}", new Object[]{feed.getName(), e.getMessage()});
+                failedFeeds.add(feed.getName());
+            }
+        }
+        polled.sort(Comparator.comparing(p -> p.update().effectiveAt()));
+
+        int published = 0;
+        String writeFailure = null;
+        for (PolledUpdate p : polled) {
+            RateUpdate update = p.update();
+            String source = p.feed().getName() + ":" + update.source();
+            boolean accepted = false;
+            try {
+                RateTable current = currencyType.getRateTable();
+                if (current.getSource().equals(source) && current.getEffectiveAt().equals(update.effectiveAt())) {
+                    // Published before a restart that came ahead of the acknowledgement.
+                    p.feed().acknowledge(update, true);
+                    continue;
+                }
+                validate(update, current);
+                Map<String, BigDecimal> rates = new LinkedHashMap<>(current.getRates());
+                rates.putAll(update.rates());
+                rates.put(CurrencyType.BASE_CURRENCY, BigDecimal.ONE);
+                RateTable table = currencyType.publish(rates, update.effectiveAt(), source);
+                LOGGER.log(Level.INFO, "Published exchange rates version {0} from {1}", new Object[]{table.getVersion(), table.getSource()});
+                accepted = true;
+                published++;
+            } catch (IllegalArgumentException e) {
+                LOGGER.log(Level.WARNING, "Rejected exchange rates {0} from feed {1}: {2}",
+                        new Object[]{update.source(), p.feed().getName(), e.getMessage()});
+            } catch (UncheckedIOException e) {
+                LOGGER.log(Level.SEVERE, "Error writing exchange rates {0} from feed {1}: {2}",
+                        new Object[]{update.source(), p.feed().getName(), e.getMessage()});
+                writeFailure = update.source();
+                break;
+            }
+            p.feed().acknowledge(update, accepted);
+        }
+
+        if (writeFailure != null) {
+            throw new IllegalStateException("Could not write exchange rates " + writeFailure);
+        }
+        if (!failedFeeds.isEmpty()) {
+            throw new IllegalStateException("Could not read exchange rate feeds: " + String.join(", ", failedFeeds));
+        }
+        return published;
+    }
+
+    /**
+     * Checks an update against the rates in effect: known currency codes, positive rates, a base rate of
+     * one, an effective time that is neither older than the current rates nor in the future, and no rate
+     * moving by more than {@link #MAX_RATE_CHANGE} at once.
+     *
+     * @throws IllegalArgumentException describing the first problem found
+     */
+    private void validate(RateUpdate update, RateTable current) {
+        if (update.rates().isEmpty()) throw new IllegalArgumentException("No rates");
+        if (update.effectiveAt().isBefore(current.getEffectiveAt())) {
+            throw new IllegalArgumentException("Older than the current rates, effective at " + current.getEffectiveAt());
+        }
+        if (update.effectiveAt().isAfter(Instant.now().plus(MAX_CLOCK_SKEW))) {
+            throw new IllegalArgumentException("Effective in the future at " + update.effectiveAt());
+        }
+        for (Map.Entry<String, BigDecimal> entry : update.rates().entrySet()) {
+            String code = entry.getKey();
+            BigDecimal rate = entry.getValue();
+            if (!CURRENCY_CODE.matcher(code).matches()) throw new IllegalArgumentException("Invalid currency code " + code);
+            if (rate == null || rate.signum() <= 0) throw new IllegalArgumentException("Invalid rate for " + code + ": " + rate);
+            if (code.equals(CurrencyType.BASE_CURRENCY)) {
+                if (rate.compareTo(BigDecimal.ONE) != 0) throw new IllegalArgumentException("Base currency rate must be 1");
+                continue;
+            }
+            BigDecimal previous = current.getRates().get(code);
+            if (previous != null && rate.subtract(previous).abs().compareTo(previous.multiply(MAX_RATE_CHANGE)) > 0) {
+                throw new IllegalArgumentException("Rate for " + code + " moves from " + previous + " to " + rate);
+            }
+        }
+    }
+
+    /**
+     * An update together with the feed it came from.
+     */
+    private record PolledUpdate(ExchangeRateFeed feed, RateUpdate update) {
+    }
+}
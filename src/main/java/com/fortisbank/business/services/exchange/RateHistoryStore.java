@@ -0,0 +1,149 @@
+package com.fortisbank.business.services.exchange;
+
+import com.fortisbank.contracts.models.others.CurrencyType;
+import com.fortisbank.contracts.models.others.RateTable;
+import com.fortisbank.data.dal_utils.FileManager;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Stores the exchange rate history of {@link CurrencyType}. Each published table is appended to a journal
+ * and synced to disk before it takes effect, instead of rewriting the whole history; the journal is folded
+ * into a snapshot of the history once it holds {@value #COMPACTION_THRESHOLD} tables, and again at startup.
+ */
+public class RateHistoryStore implements CurrencyType.HistoryWriter {
+
+    private static final Logger LOGGER = Logger.getLogger(RateHistoryStore.class.getName());
+    private static final int COMPACTION_THRESHOLD = 100;
+
+    private final File file;
+    private final File journalFile;
+    private FileOutputStream journal;
+    private int journaledTables;
+
+    RateHistoryStore(File file, File journalFile) {
+        this.file = file;
+        this.journalFile = journalFile;
+    }
+
+    /**
+     * Reads the stored history: the snapshot followed by the tables journaled since. A table cut short by a
+     * crash ends the replay. If there was a journal, it is folded into a new snapshot.
+     *
+     * @return the stored rate tables, oldest first; empty if none are stored
+     */
+    public synchronized List<RateTable> load() {
+        List<RateTable> tables = new ArrayList<>(FileManager.<RateTable>readListFromFile(file));
+        if (!journalFile.exists()) return tables;
+
+        int replayed = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)))) {
+            while (true) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    RateTable table = (RateTable) ois.readObject();
+                    // A table journaled just before a compaction may also be in the snapshot.
+                    if (tables.isEmpty() || table.getVersion() > tables.get(tables.size() - 1).getVersion()) {
+                        tables.add(table);
+                    }
+                }
+                replayed++;
+            }
+        } catch (EOFException e) {
+            // End of the journal, or a table that was not completely written.
+        } catch (IOException | ClassNotFoundException e) {
+            LOGGER.log(Level.SEVERE, "Error reading exchange rate journal: {0}", e.getMessage());
+        }
+        LOGGER.log(Level.INFO, "Replayed {0} exchange rate journal entries.", replayed);
+
+        // Start with an empty journal so nothing is appended behind a partly written table.
+        try {
+            compact(tables);
+        } catch (IOException e) {
+            // The journal is kept and replayed again next time.
+            LOGGER.log(Level.WARNING, "Error compacting exchange rate journal: {0}", e.getMessage());
+        }
+        return tables;
+    }
+
+    /**
+     * Appends the newest table of the history to the journal and syncs it to disk, writing the whole history
+     * as a new snapshot once the journal is long enough, or if there is no snapshot yet.
+     *
+     * @param history the rate history, oldest first, ending with the table about to be published
+     * @throws IOException if the table could not be written to the journal
+     */
+    @Override
+    public synchronized void write(List<RateTable> history) throws IOException {
+        appendToJournal(history);
+        if (journaledTables >= COMPACTION_THRESHOLD || !file.exists()) {
+            try {
+                compact(history);
+            } catch (IOException e) {
+                // The table is already in the journal, so only the compaction is postponed.
+                LOGGER.log(Level.WARNING, "Error compacting exchange rate journal: {0}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Appends the newest table of the history to the journal and syncs it to disk. If that fails, the journal
+     * is cut back to where the table started, or replaced by a snapshot of the tables before it, so later
+     * tables are not written behind a partial one.
+     */
+    private void appendToJournal(List<RateTable> history) throws IOException {
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(serialized)) {
+            oos.writeObject(history.get(history.size() - 1));
+        }
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(record);
+        out.writeInt(serialized.size());
+        serialized.writeTo(out);
+
+        if (journal == null) {
+            journalFile.getAbsoluteFile().getParentFile().mkdirs();
+            journal = new FileOutputStream(journalFile, true);
+        }
+        long length = journal.getChannel().size();
+        try {
+            journal.write(record.toByteArray());
+            journal.getFD().sync();
+        } catch (IOException e) {
+            try {
+                journal.getChannel().truncate(length);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+                try {
+                    compact(history.subList(0, history.size() - 1));
+                } catch (IOException compactFailure) {
+                    e.addSuppressed(compactFailure);
+                }
+            }
+            throw e;
+        }
+        journaledTables++;
+    }
+
+    /**
+     * Writes the history as a new snapshot and starts an empty journal.
+     */
+    private void compact(List<RateTable> history) throws IOException {
+        FileManager.writeObjectToFileDurably(file, new ArrayList<>(history));
+        if (journal != null) {
+            try {
+                journal.close();
+            } finally {
+                journal = null;
+            }
+        }
+        Files.deleteIfExists(journalFile.toPath());
+        journaledTables = 0;
+    }
+}
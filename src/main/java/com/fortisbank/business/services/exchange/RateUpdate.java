@@ -0,0 +1,15 @@
+package com.fortisbank.business.services.exchange;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A set of exchange rates received from an {@link ExchangeRateFeed}, not yet validated.
+ *
+ * @param source identifies the update within its feed, e.g. the name of the file it was read from
+ * @param effectiveAt the time from which the rates apply
+ * @param rates the exchange rates against the base currency by currency code; may cover only some currencies
+ */
+public record RateUpdate(String source, Instant effectiveAt, Map<String, BigDecimal> rates) {
+}
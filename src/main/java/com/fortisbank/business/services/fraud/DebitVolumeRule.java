@@ -0,0 +1,48 @@
+package com.fortisbank.business.services.fraud;
+
+import com.fortisbank.contracts.models.others.Money;
+import com.fortisbank.contracts.models.transactions.Transaction;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Fires when the total amount debited from an account within the window exceeds a limit,
+ * catching large outflows split into many smaller transactions.
+ */
+public class DebitVolumeRule implements FraudRule {
+
+    private final Money maxDebits;
+    private final Duration window;
+
+    /**
+     * Constructs a DebitVolumeRule.
+     *
+     * @param maxDebits the total amount that may be debited within the window
+     * @param window the length of the window
+     */
+    public DebitVolumeRule(BigDecimal maxDebits, Duration window) {
+        this.maxDebits = Money.of(maxDebits);
+        this.window = window;
+    }
+
+    @Override
+    public String getName() {
+        return "debit-volume";
+    }
+
+    @Override
+    public Duration getWindow() {
+        return window;
+    }
+
+    @Override
+    public String evaluate(Transaction transaction, String accountNumber, SlidingWindow.Stats stats) {
+        if (!FraudRule.isDebit(transaction, accountNumber)
+                || stats.getDebitMinorUnits() <= maxDebits.getMinorUnits()) {
+            return null;
+        }
+        return String.format("More than $%s was debited from account %s within %d minutes.",
+                maxDebits, accountNumber, window.toMinutes());
+    }
+}
@@ -0,0 +1,93 @@
+package com.fortisbank.business.services.fraud;
+
+import com.fortisbank.contracts.models.transactions.Transaction;
+
+import java.time.Instant;
+
+/**
+ * Alert raised by the {@link FraudDetector} when a rule fires for an account.
+ */
+public class FraudAlert {
+
+    private final String ruleName;
+    private final String accountNumber;
+    private final String message;
+    private final Transaction transaction;
+    private final Instant detectedAt;
+
+    /**
+     * Constructor initializing the alert with specified values.
+     *
+     * @param ruleName the name of the rule that fired
+     * @param accountNumber the account the rule fired for
+     * @param message the description of the suspicious activity
+     * @param transaction the transaction that triggered the rule
+     */
+    public FraudAlert(String ruleName, String accountNumber, String message, Transaction transaction) {
+        this.ruleName = ruleName;
+        this.accountNumber = accountNumber;
+        this.message = message;
+        this.transaction = transaction;
+        this.detectedAt = Instant.now();
+    }
+
+    /**
+     * Returns the name of the rule that fired.
+     *
+     * @return the rule name
+     */
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    /**
+     * Returns the account the rule fired for.
+     *
+     * @return the account number
+     */
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    /**
+     * Returns the description of the suspicious activity.
+     *
+     * @return the message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the transaction that triggered the rule.
+     *
+     * @return the transaction
+     */
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    /**
+     * Returns when the alert was raised.
+     *
+     * @return the detection time
+     */
+    public Instant getDetectedAt() {
+        return detectedAt;
+    }
+
+    /**
+     * Returns a string representation of the alert.
+     *
+     * @return a string representation of the alert
+     */
+    @Override
+    public String toString() {
+        return "FraudAlert{" +
+                "ruleName='" + ruleName + '\'' +
+                ", accountNumber='" + accountNumber + '\'' +
+                ", message='" + message + '\'' +
+                ", detectedAt=" + detectedAt +
+                '}';
+    }
+}
@@ -0,0 +1,142 @@
+package com.fortisbank.business.services.fraud;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fortisbank.contracts.models.others.Money;
+import com.fortisbank.contracts.models.transactions.Transaction;
+import com.fortisbank.data.dal_utils.StorageMode;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Streaming fraud detector fed with every committed transaction.
+ *
+ * For each account it keeps one {@link SlidingWindow} per window length used by the rules, so the
+ * memory per account is fixed. Rules are evaluated in-line as soon as a transaction commits, and the
+ * resulting alerts are handed to the registered listeners. A rule that fired for an account stays
+ * quiet for that account until its window has passed.
+ */
+public class FraudDetector {
+
+    private static final Logger LOGGER = Logger.getLogger(FraudDetector.class.getName());
+    private static final Path CONFIG_PATH = Paths.get("config/fraud_rules.json");
+    private static final Map<StorageMode, FraudDetector> instances = new EnumMap<>(StorageMode.class);
+
+    private final List<FraudRule> rules = new CopyOnWriteArrayList<>();
+    private final List<Consumer<FraudAlert>> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, Map<Duration, SlidingWindow>> windows = new ConcurrentHashMap<>();
+    private final Map<String, Long> lastAlerts = new ConcurrentHashMap<>();
+
+    private FraudDetector() {
+        rules.addAll(loadConfig().createRules());
+    }
+
+    /**
+     * Returns the singleton instance of FraudDetector for the given storage mode.
+     *
+     * @param storageMode the storage mode
+     * @return the singleton instance of FraudDetector
+     */
+    public static synchronized FraudDetector getInstance(StorageMode storageMode) {
+        return instances.computeIfAbsent(storageMode, k -> new FraudDetector());
+    }
+
+    /**
+     * Adds a rule. Activity recorded before the rule was added is only visible to it
+     * if another rule already uses the same window length.
+     *
+     * @param rule the rule to add
+     */
+    public void registerRule(FraudRule rule) {
+        rules.add(rule);
+    }
+
+    /**
+     * Registers a listener that is called for every alert.
+     *
+     * @param listener the listener
+     */
+    public void addAlertListener(Consumer<FraudAlert> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Records a committed transaction and evaluates the rules for the accounts it touches.
+     *
+     * @param transaction the committed transaction
+     * @return the alerts raised by the transaction
+     */
+    public List<FraudAlert> onTransaction(Transaction transaction) {
+        long now = System.currentTimeMillis();
+        long timestamp = transaction.getTransactionDate() != null ? transaction.getTransactionDate().getTime() : now;
+        List<FraudAlert> alerts = new ArrayList<>();
+
+        for (String accountNumber : accountNumbersOf(transaction)) {
+            long debit = FraudRule.isDebit(transaction, accountNumber)
+                    ? Money.of(transaction.getAmount()).getMinorUnits()
+                    : 0;
+            Map<Duration, SlidingWindow> accountWindows = windows.computeIfAbsent(accountNumber, k -> new ConcurrentHashMap<>());
+            for (FraudRule rule : rules) {
+                accountWindows.computeIfAbsent(rule.getWindow(), SlidingWindow::new);
+            }
+            accountWindows.values().forEach(window -> window.record(timestamp, debit, now));
+
+            for (FraudRule rule : rules) {
+                String message = rule.evaluate(transaction, accountNumber, accountWindows.get(rule.getWindow()).snapshot(now));
+                if (message != null && shouldAlert(rule, accountNumber, now)) {
+                    alerts.add(new FraudAlert(rule.getName(), accountNumber, message, transaction));
+                }
+            }
+        }
+
+        for (FraudAlert alert : alerts) {
+            LOGGER.log(Level.WARNING, "Fraud alert: {0}", alert);
+            for (Consumer<FraudAlert> listener : listeners) {
+                try {
+                    listener.accept(alert);
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.SEVERE, "Error handling fraud alert: {0}", e.getMessage());
+                }
+            }
+        }
+        return alerts;
+    }
+
+    private boolean shouldAlert(FraudRule rule, String accountNumber, long now) {
+        String key = accountNumber + ':' + rule.getName();
+        long cooldown = rule.getWindow().toMillis();
+        boolean[] fire = {false};
+        lastAlerts.compute(key, (k, last) -> {
+            if (last != null && now - last < cooldown) return last;
+            fire[0] = true;
+            return now;
+        });
+        return fire[0];
+    }
+
+    private Set<String> accountNumbersOf(Transaction transaction) {
+        Set<String> accountNumbers = new LinkedHashSet<>(2);
+        if (transaction.getSourceAccountNumber() != null) accountNumbers.add(transaction.getSourceAccountNumber());
+        if (transaction.getDestinationAccountNumber() != null) accountNumbers.add(transaction.getDestinationAccountNumber());
+        return accountNumbers;
+    }
+
+    private static FraudRuleConfig loadConfig() {
+        if (!Files.exists(CONFIG_PATH)) return new FraudRuleConfig();
+        try {
+            return new ObjectMapper().readValue(CONFIG_PATH.toFile(), FraudRuleConfig.class);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Failed to load fraud rules from config file, using defaults: {0}", e.getMessage());
+            return new FraudRuleConfig();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.fortisbank.business.services.fraud;
+
+import com.fortisbank.contracts.models.transactions.Transaction;
+import com.fortisbank.contracts.models.transactions.TransactionType;
+
+import java.time.Duration;
+
+/**
+ * A rule evaluated by the {@link FraudDetector} for every committed transaction.
+ * Custom rules can be added with {@link FraudDetector#registerRule(FraudRule)}.
+ */
+public interface FraudRule {
+
+    /**
+     * Returns the unique name of the rule, used to suppress repeated alerts.
+     *
+     * @return the rule name
+     */
+    String getName();
+
+    /**
+     * Returns the length of the sliding window the rule looks at. After a rule fires for an account,
+     * it does not fire again for that account until the same amount of time has passed.
+     *
+     * @return the window length
+     */
+    Duration getWindow();
+
+    /**
+     * Evaluates the rule for one account touched by a transaction. The transaction has already been
+     * recorded in the window.
+     *
+     * @param transaction the committed transaction
+     * @param accountNumber the account being evaluated
+     * @param window the account's activity over {@link #getWindow()}
+     * @return the alert message, or null if the rule does not fire
+     */
+    String evaluate(Transaction transaction, String accountNumber, SlidingWindow.Stats window);
+
+    /**
+     * Returns whether the transaction takes money out of the given account.
+     *
+     * @param transaction the transaction
+     * @param accountNumber the account number
+     * @return true if the transaction debits the account
+     */
+    static boolean isDebit(Transaction transaction, String accountNumber) {
+        return transaction.getTransactionType() != TransactionType.DEPOSIT
+                && accountNumber.equals(transaction.getSourceAccountNumber());
+    }
+}
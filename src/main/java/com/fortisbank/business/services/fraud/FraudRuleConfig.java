@@ -0,0 +1,70 @@
+package com.fortisbank.business.services.fraud;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of the built-in fraud rules, read from {@code config/fraud_rules.json}.
+ * Fields missing from the file keep the defaults below.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class FraudRuleConfig {
+
+    @JsonProperty
+    private boolean velocityEnabled = true;
+
+    @JsonProperty
+    private int velocityMaxTransactions = 10;
+
+    @JsonProperty
+    private long velocityWindowSeconds = 60;
+
+    @JsonProperty
+    private boolean largeTransactionEnabled = true;
+
+    @JsonProperty
+    private BigDecimal largeTransactionThreshold = new BigDecimal("5000");
+
+    @JsonProperty
+    private long largeTransactionCooldownMinutes = 60;
+
+    @JsonProperty
+    private boolean debitVolumeEnabled = true;
+
+    @JsonProperty
+    private BigDecimal debitVolumeMax = new BigDecimal("10000");
+
+    @JsonProperty
+    private long debitVolumeWindowMinutes = 60;
+
+    /**
+     * Default constructor for Jackson.
+     */
+    public FraudRuleConfig() {
+        // Default constructor for Jackson
+    }
+
+    /**
+     * Creates the enabled built-in rules.
+     *
+     * @return the rules
+     */
+    public List<FraudRule> createRules() {
+        List<FraudRule> rules = new ArrayList<>();
+        if (velocityEnabled) {
+            rules.add(new VelocityRule(velocityMaxTransactions, Duration.ofSeconds(velocityWindowSeconds)));
+        }
+        if (largeTransactionEnabled) {
+            rules.add(new LargeTransactionRule(largeTransactionThreshold, Duration.ofMinutes(largeTransactionCooldownMinutes)));
+        }
+        if (debitVolumeEnabled) {
+            rules.add(new DebitVolumeRule(debitVolumeMax, Duration.ofMinutes(debitVolumeWindowMinutes)));
+        }
+        return rules;
+    }
+}
@@ -0,0 +1,49 @@
+package com.fortisbank.business.services.fraud;
+
+import com.fortisbank.contracts.models.transactions.Transaction;
+import com.fortisbank.contracts.models.transactions.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Fires when a single withdrawal or transfer out of an account reaches a threshold.
+ */
+public class LargeTransactionRule implements FraudRule {
+
+    private final BigDecimal threshold;
+    private final Duration window;
+
+    /**
+     * Constructs a LargeTransactionRule.
+     *
+     * @param threshold the smallest amount considered high-value
+     * @param window how long to wait before alerting again for the same account
+     */
+    public LargeTransactionRule(BigDecimal threshold, Duration window) {
+        this.threshold = threshold;
+        this.window = window;
+    }
+
+    @Override
+    public String getName() {
+        return "large-transaction";
+    }
+
+    @Override
+    public Duration getWindow() {
+        return window;
+    }
+
+    @Override
+    public String evaluate(Transaction transaction, String accountNumber, SlidingWindow.Stats stats) {
+        TransactionType type = transaction.getTransactionType();
+        if ((type != TransactionType.WITHDRAWAL && type != TransactionType.TRANSFER)
+                || !FraudRule.isDebit(transaction, accountNumber)
+                || transaction.getAmount().compareTo(threshold) < 0) {
+            return null;
+        }
+        return String.format("A high-value %s of $%s occurred on account %s",
+                type.name().toLowerCase(), transaction.getAmount(), accountNumber);
+    }
+}
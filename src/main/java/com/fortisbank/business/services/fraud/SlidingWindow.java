@@ -0,0 +1,111 @@
+package com.fortisbank.business.services.fraud;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Fixed-memory sliding window of transaction activity for one account.
+ *
+ * The window is split into a fixed number of time buckets kept in a ring. Each bucket holds the
+ * number of transactions and the total debited amount (in minor units) that fell into it; a bucket
+ * is reset when the ring wraps around to it. Memory use therefore does not depend on how many
+ * transactions the account makes, and the totals are exact to one bucket's width.
+ */
+public class SlidingWindow {
+
+    /**
+     * Number of buckets every window is split into.
+     */
+    public static final int BUCKET_COUNT = 60;
+
+    private final long bucketMillis;
+    private final long[] bucketIds;
+    private final int[] counts;
+    private final long[] debitMinorUnits;
+
+    /**
+     * Constructs a SlidingWindow covering the specified length of time.
+     *
+     * @param length the length of the window
+     */
+    public SlidingWindow(Duration length) {
+        this.bucketMillis = Math.max(1, length.toMillis() / BUCKET_COUNT);
+        this.bucketIds = new long[BUCKET_COUNT];
+        this.counts = new int[BUCKET_COUNT];
+        this.debitMinorUnits = new long[BUCKET_COUNT];
+        Arrays.fill(bucketIds, Long.MIN_VALUE);
+    }
+
+    /**
+     * Records a transaction. Transactions older than the window are ignored.
+     *
+     * @param timestampMillis the time of the transaction
+     * @param debitMinorUnits the amount debited from the account, or 0 for a credit
+     * @param nowMillis the current time
+     */
+    public synchronized void record(long timestampMillis, long debitMinorUnits, long nowMillis) {
+        long bucketId = timestampMillis / bucketMillis;
+        if (bucketId <= nowMillis / bucketMillis - BUCKET_COUNT) return;
+
+        int index = (int) Math.floorMod(bucketId, (long) BUCKET_COUNT);
+        if (bucketIds[index] != bucketId) {
+            if (bucketIds[index] > bucketId) return; // the slot already holds a newer bucket
+            bucketIds[index] = bucketId;
+            counts[index] = 0;
+            this.debitMinorUnits[index] = 0;
+        }
+        counts[index]++;
+        this.debitMinorUnits[index] += debitMinorUnits;
+    }
+
+    /**
+     * Returns the totals of the buckets that are still inside the window.
+     *
+     * @param nowMillis the current time
+     * @return the window totals
+     */
+    public synchronized Stats snapshot(long nowMillis) {
+        long current = nowMillis / bucketMillis;
+        long oldest = current - BUCKET_COUNT;
+        int count = 0;
+        long debits = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (bucketIds[i] > oldest && bucketIds[i] <= current) {
+                count += counts[i];
+                debits += debitMinorUnits[i];
+            }
+        }
+        return new Stats(count, debits);
+    }
+
+    /**
+     * Totals of a window at one point in time.
+     */
+    public static class Stats {
+        private final int transactionCount;
+        private final long debitMinorUnits;
+
+        private Stats(int transactionCount, long debitMinorUnits) {
+            this.transactionCount = transactionCount;
+            this.debitMinorUnits = debitMinorUnits;
+        }
+
+        /**
+         * Returns the number of transactions in the window.
+         *
+         * @return the transaction count
+         */
+        public int getTransactionCount() {
+            return transactionCount;
+        }
+
+        /**
+         * Returns the total amount debited in the window, in minor units.
+         *
+         * @return the debited amount
+         */
+        public long getDebitMinorUnits() {
+            return debitMinorUnits;
+        }
+    }
+}
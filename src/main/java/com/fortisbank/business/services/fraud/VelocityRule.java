@@ -0,0 +1,42 @@
+package com.fortisbank.business.services.fraud;
+
+import com.fortisbank.contracts.models.transactions.Transaction;
+
+import java.time.Duration;
+
+/**
+ * Fires when an account makes more than a given number of transactions within the window.
+ */
+public class VelocityRule implements FraudRule {
+
+    private final int maxTransactions;
+    private final Duration window;
+
+    /**
+     * Constructs a VelocityRule.
+     *
+     * @param maxTransactions the number of transactions allowed within the window
+     * @param window the length of the window
+     */
+    public VelocityRule(int maxTransactions, Duration window) {
+        this.maxTransactions = maxTransactions;
+        this.window = window;
+    }
+
+    @Override
+    public String getName() {
+        return "velocity";
+    }
+
+    @Override
+    public Duration getWindow() {
+        return window;
+    }
+
+    @Override
+    public String evaluate(Transaction transaction, String accountNumber, SlidingWindow.Stats stats) {
+        if (stats.getTransactionCount() <= maxTransactions) return null;
+        return String.format("More than %d transactions were made on account %s within %d seconds.",
+                maxTransactions, accountNumber, window.toSeconds());
+    }
+}
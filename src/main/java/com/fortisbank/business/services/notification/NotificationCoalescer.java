@@ -0,0 +1,197 @@
+package com.fortisbank.business.services.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fortisbank.contracts.models.others.NotificationRecord;
+import com.fortisbank.contracts.models.others.NotificationType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Decides which queued notifications the {@link NotificationOutbox} stores now.
+ *
+ * Notifications of the coalesced types are grouped by recipient and type. The first one of a group
+ * is delivered right away if the recipient still has a token in their {@link TokenBucket}, and opens
+ * a window; everything else of that group stays queued until the window ends and is then stored as a
+ * single digest. A recipient without tokens therefore gets one digest per type and window, however
+ * many notifications are sent to them. Other types, including urgent ones such as security alerts,
+ * are always delivered individually and at once, without using a token.
+ */
+public class NotificationCoalescer {
+
+    private static final Logger LOGGER = Logger.getLogger(NotificationCoalescer.class.getName());
+    private static final Path CONFIG_PATH = Paths.get("config/notification_coalescing.json");
+    private static final int DIGEST_MESSAGE_LINES = 5;
+
+    private final NotificationCoalescingConfig config;
+    private final Set<NotificationType> coalescedTypes;
+    private final long windowMillis;
+    private final Map<String, TokenBucket> buckets = new HashMap<>();
+    private final Map<String, Long> openWindows = new HashMap<>();
+
+    /**
+     * Constructs a NotificationCoalescer with the settings from the config file.
+     */
+    public NotificationCoalescer() {
+        this(loadConfig());
+    }
+
+    /**
+     * Constructs a NotificationCoalescer with the given settings.
+     *
+     * @param config the coalescing settings
+     */
+    public NotificationCoalescer(NotificationCoalescingConfig config) {
+        this.config = config;
+        this.coalescedTypes = config.getCoalescedTypes();
+        this.windowMillis = config.getWindow().toMillis();
+    }
+
+    /**
+     * Selects the notifications to store now.
+     *
+     * @param pending the queued notifications, oldest first
+     * @param nowMillis the current time
+     * @param flush whether to store everything, ignoring open windows
+     * @return what to store and which queued notifications it covers
+     */
+    public synchronized Result coalesce(List<NotificationRecord> pending, long nowMillis, boolean flush) {
+        Result result = new Result();
+        Map<String, List<NotificationRecord>> groups = new LinkedHashMap<>();
+        for (NotificationRecord notification : pending) {
+            if (coalescedTypes.contains(notification.getType())) {
+                groups.computeIfAbsent(notification.getRecipientId() + ':' + notification.getType(), k -> new ArrayList<>())
+                        .add(notification);
+            } else {
+                result.deliver(notification, List.of(notification));
+            }
+        }
+
+        for (Map.Entry<String, List<NotificationRecord>> group : groups.entrySet()) {
+            String key = group.getKey();
+            List<NotificationRecord> queued = group.getValue();
+            Long openedAt = openWindows.get(key);
+
+            if (flush) {
+                result.deliver(digest(queued), queued);
+                continue;
+            }
+            if (openedAt != null && nowMillis - openedAt >= windowMillis) {
+                long windowEnd = openedAt + windowMillis;
+                List<NotificationRecord> held = queued.stream().filter(n -> n.getTimestampMillis() < windowEnd).toList();
+                if (!held.isEmpty()) {
+                    result.deliver(digest(held), held);
+                    openWindows.put(key, nowMillis);
+                    continue;
+                }
+                openedAt = null;
+            }
+            if (openedAt == null) {
+                openWindows.put(key, nowMillis);
+                NotificationRecord first = queued.get(0);
+                if (bucketFor(first.getRecipientId(), nowMillis).tryConsume(nowMillis)) {
+                    result.deliver(first, List.of(first));
+                }
+            }
+        }
+
+        openWindows.entrySet().removeIf(e -> nowMillis - e.getValue() >= windowMillis && !groups.containsKey(e.getKey()));
+        buckets.values().removeIf(bucket -> bucket.isFull(nowMillis));
+        return result;
+    }
+
+    private TokenBucket bucketFor(String recipientId, long nowMillis) {
+        return buckets.computeIfAbsent(recipientId,
+                k -> new TokenBucket(config.getBurstCapacity(), config.getRefillPerMinute(), nowMillis));
+    }
+
+    /**
+     * Merges notifications of one recipient and type into a single notification. The digest ID is
+     * derived from the merged IDs, so storing the same digest twice is detected by the repository.
+     */
+    private static NotificationRecord digest(List<NotificationRecord> notifications) {
+        if (notifications.size() == 1) return notifications.get(0);
+
+        NotificationRecord latest = notifications.get(notifications.size() - 1);
+        boolean sameTitle = notifications.stream().allMatch(n -> Objects.equals(n.getTitle(), latest.getTitle()));
+        String title = sameTitle
+                ? latest.getTitle() + " (" + notifications.size() + ")"
+                : notifications.size() + " new notifications";
+
+        StringJoiner message = new StringJoiner("\n");
+        StringJoiner ids = new StringJoiner(",");
+        for (int i = notifications.size() - 1; i >= 0; i--) {
+            NotificationRecord n = notifications.get(i);
+            ids.add(n.getNotificationId());
+            if (notifications.size() - i <= DIGEST_MESSAGE_LINES) {
+                message.add(sameTitle ? n.getMessage() : n.getTitle() + ": " + n.getMessage());
+            }
+        }
+        if (notifications.size() > DIGEST_MESSAGE_LINES) {
+            message.add("... and " + (notifications.size() - DIGEST_MESSAGE_LINES) + " more.");
+        }
+
+        String customerId = notifications.stream().allMatch(n -> Objects.equals(n.getRelatedCustomerId(), latest.getRelatedCustomerId()))
+                ? latest.getRelatedCustomerId() : null;
+        String accountNumber = notifications.stream().allMatch(n -> Objects.equals(n.getRelatedAccountNumber(), latest.getRelatedAccountNumber()))
+                ? latest.getRelatedAccountNumber() : null;
+
+        return new NotificationRecord(
+                UUID.nameUUIDFromBytes(ids.toString().getBytes(StandardCharsets.UTF_8)).toString(),
+                latest.getRecipientId(),
+                latest.getType(),
+                title,
+                message.toString(),
+                latest.getTimestampMillis(),
+                false,
+                customerId,
+                accountNumber);
+    }
+
+    private static NotificationCoalescingConfig loadConfig() {
+        if (!Files.exists(CONFIG_PATH)) return new NotificationCoalescingConfig();
+        try {
+            return new ObjectMapper().readValue(CONFIG_PATH.toFile(), NotificationCoalescingConfig.class);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Failed to load notification coalescing settings, using defaults: {0}", e.getMessage());
+            return new NotificationCoalescingConfig();
+        }
+    }
+
+    /**
+     * The outcome of one coalescing pass.
+     */
+    public static class Result {
+        private final List<NotificationRecord> toStore = new ArrayList<>();
+        private final List<String> coveredIds = new ArrayList<>();
+
+        private void deliver(NotificationRecord stored, List<NotificationRecord> covered) {
+            toStore.add(stored);
+            covered.forEach(n -> coveredIds.add(n.getNotificationId()));
+        }
+
+        /**
+         * Returns the notifications and digests to store.
+         *
+         * @return the notifications to store
+         */
+        public List<NotificationRecord> getToStore() {
+            return toStore;
+        }
+
+        /**
+         * Returns the IDs of the queued notifications covered by {@link #getToStore()}.
+         *
+         * @return the covered notification IDs
+         */
+        public List<String> getCoveredIds() {
+            return coveredIds;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.fortisbank.business.services.notification;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fortisbank.contracts.models.others.NotificationType;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Settings of the notification coalescing stage, read from {@code config/notification_coalescing.json}.
+ * Fields missing from the file keep the defaults below.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class NotificationCoalescingConfig {
+
+    /**
+     * Types that must reach the recipient at once. They are never coalesced or rate limited, even if
+     * the config file lists them.
+     */
+    public static final Set<NotificationType> URGENT_TYPES = EnumSet.of(NotificationType.SECURITY_ALERT, NotificationType.ERROR);
+
+    @JsonProperty
+    private long windowSeconds = 60;
+
+    @JsonProperty
+    private int burstCapacity = 5;
+
+    @JsonProperty
+    private int refillPerMinute = 5;
+
+    @JsonProperty
+    private List<NotificationType> coalescedTypes = List.of(
+            NotificationType.TRANSACTION_RECEIPT,
+            NotificationType.SYSTEM_UPDATE,
+            NotificationType.INFO,
+            NotificationType.WARNING);
+
+    /**
+     * Default constructor for Jackson.
+     */
+    public NotificationCoalescingConfig() {
+        // Default constructor for Jackson
+    }
+
+    /**
+     * Returns how long same-type notifications for one recipient are collected into a digest.
+     *
+     * @return the coalescing window
+     */
+    public Duration getWindow() {
+        return Duration.ofSeconds(windowSeconds);
+    }
+
+    /**
+     * Returns how many notifications a recipient can receive individually in a burst.
+     *
+     * @return the token bucket capacity
+     */
+    public int getBurstCapacity() {
+        return burstCapacity;
+    }
+
+    /**
+     * Returns how many individual notifications per minute a recipient regains.
+     *
+     * @return the token refill rate per minute
+     */
+    public int getRefillPerMinute() {
+        return refillPerMinute;
+    }
+
+    /**
+     * Returns the notification types that may be merged into digests. Other types, such as account
+     * requests that need an action, are always delivered individually, and so are the {@link #URGENT_TYPES}.
+     *
+     * @return the coalesced types
+     */
+    public Set<NotificationType> getCoalescedTypes() {
+        Set<NotificationType> types = coalescedTypes.isEmpty() ? EnumSet.noneOf(NotificationType.class) : EnumSet.copyOf(coalescedTypes);
+        types.removeAll(URGENT_TYPES);
+        return types;
+    }
+}
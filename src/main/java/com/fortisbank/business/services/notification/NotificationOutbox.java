@@ -0,0 +1,292 @@
+package com.fortisbank.business.services.notification;
+
+import com.fortisbank.contracts.exceptions.NotificationRepositoryException;
+import com.fortisbank.contracts.models.others.NotificationRecord;
+import com.fortisbank.data.dal_utils.FileManager;
+import com.fortisbank.data.dal_utils.RepositoryFactory;
+import com.fortisbank.data.dal_utils.StorageMode;
+import com.fortisbank.data.interfaces.INotificationRepository;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Durable queue of notifications waiting to be written to the notification repository.
+ *
+ * Enqueuing only appends the notification to the outbox journal and syncs it, so senders such as the
+ * transaction paths do not wait for the notification store, and a burst of notifications costs one small
+ * write each. Deliveries are journaled the same way, and the journal is folded into a snapshot of the
+ * pending notifications once it has grown or the outbox has drained. A background dispatcher picks up everything queued within a short
+ * delay, passes it through the {@link NotificationCoalescer} and stores the result with one bulk insert.
+ * Notifications held back for a digest stay queued and are looked at again on every retry pass.
+ * Entries stay in the outbox until they are stored; after a restart they are dispatched again, and
+ * notifications already stored are skipped by the repository.
+ */
+public class NotificationOutbox {
+
+    private static final Logger LOGGER = Logger.getLogger(NotificationOutbox.class.getName());
+    private static final Map<StorageMode, NotificationOutbox> instances = new EnumMap<>(StorageMode.class);
+    private static final long DISPATCH_DELAY_MILLIS = 200;
+    private static final long RETRY_INTERVAL_MILLIS = 5000;
+    private static final int COMPACTION_THRESHOLD = 1000;
+    private static final byte JOURNAL_ENQUEUED = 'E';
+    private static final byte JOURNAL_DELIVERED = 'D';
+
+    private final File file;
+    private final File journalFile;
+    private final INotificationRepository notificationRepository;
+    private final NotificationCoalescer coalescer = new NotificationCoalescer();
+    private final Map<String, NotificationRecord> pending = new LinkedHashMap<>();
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean(false);
+    private final ScheduledExecutorService dispatcher;
+    private FileOutputStream journal;
+    private int journaledEntries;
+
+    private NotificationOutbox(StorageMode storageMode) {
+        this(RepositoryFactory.getInstance(storageMode).getNotificationRepository(),
+                new File("data/notification_outbox_" + storageMode.name().toLowerCase() + ".ser"),
+                new File("data/notification_outbox_" + storageMode.name().toLowerCase() + ".journal"),
+                "notification-outbox-" + storageMode.name().toLowerCase());
+    }
+
+    NotificationOutbox(INotificationRepository notificationRepository, File file, File journalFile, String threadName) {
+        this.notificationRepository = notificationRepository;
+        this.file = file;
+        this.journalFile = journalFile;
+        List<NotificationRecord> stored = FileManager.readObjectFromFile(file);
+        if (stored != null) {
+            stored.forEach(entry -> pending.put(entry.getNotificationId(), entry));
+        }
+        replayJournal();
+        if (journalFile.exists()) {
+            // Start with an empty journal so nothing is appended behind an entry cut short by a crash.
+            try {
+                compact();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Error compacting notification outbox: {0}", e.getMessage());
+            }
+        }
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        dispatcher.scheduleWithFixedDelay(() -> dispatch(false), RETRY_INTERVAL_MILLIS, RETRY_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns the singleton instance of NotificationOutbox for the given storage mode.
+     *
+     * @param storageMode the storage mode
+     * @return the singleton instance of NotificationOutbox
+     */
+    public static synchronized NotificationOutbox getInstance(StorageMode storageMode) {
+        return instances.computeIfAbsent(storageMode, NotificationOutbox::new);
+    }
+
+    /**
+     * Queues a notification and returns once it is safely on disk.
+     *
+     * @param notification the notification
+     * @throws RuntimeException if the outbox could not be saved; the notification is then not queued
+     */
+    public void enqueue(NotificationRecord notification) {
+        synchronized (this) {
+            try {
+                appendEnqueued(notification);
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Error saving notification outbox: {0}", e.getMessage());
+                throw new RuntimeException("Failed to enqueue notification", e);
+            }
+            pending.put(notification.getNotificationId(), notification);
+        }
+        if (dispatchScheduled.compareAndSet(false, true)) {
+            dispatcher.schedule(() -> dispatch(false), DISPATCH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns the number of notifications not yet delivered.
+     *
+     * @return the number of pending notifications
+     */
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Delivers what is pending, including notifications held back for digests, and stops the dispatcher.
+     *
+     * @param timeout how long to wait for the final dispatch
+     */
+    public void shutdown(Duration timeout) {
+        dispatcher.execute(() -> dispatch(true));
+        dispatcher.shutdown();
+        try {
+            if (!dispatcher.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOGGER.log(Level.WARNING, "Notification outbox did not drain in time; {0} notifications remain queued.", getPendingCount());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            try {
+                closeJournal();
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Error closing notification outbox journal: {0}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stores the pending notifications that are due with one bulk insert.
+     *
+     * @param flush whether to store notifications held back for digests as well
+     */
+    private void dispatch(boolean flush) {
+        dispatchScheduled.set(false);
+        List<NotificationRecord> batch;
+        synchronized (this) {
+            batch = new ArrayList<>(pending.values());
+        }
+        if (batch.isEmpty()) return;
+
+        NotificationCoalescer.Result due = coalescer.coalesce(batch, System.currentTimeMillis(), flush);
+        if (due.getToStore().isEmpty()) return;
+        try {
+            notificationRepository.insertNotifications(due.getToStore());
+        } catch (NotificationRepositoryException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Error delivering notifications, will retry: {0}", e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            due.getCoveredIds().forEach(pending::remove);
+            try {
+                appendDelivered(due.getCoveredIds());
+                if (pending.isEmpty() || journaledEntries >= COMPACTION_THRESHOLD) compact();
+            } catch (IOException e) {
+                // The delivered entries stay queued on disk and are skipped by the repository if dispatched again.
+                LOGGER.log(Level.WARNING, "Error saving notification outbox: {0}", e.getMessage());
+            }
+        }
+        LOGGER.log(Level.FINE, "Delivered {0} queued notifications as {1}.",
+                new Object[]{due.getCoveredIds().size(), due.getToStore().size()});
+    }
+
+    private void appendEnqueued(NotificationRecord notification) throws IOException {
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(serialized)) {
+            oos.writeObject(notification);
+        }
+        ByteArrayOutputStream entry = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(entry);
+        out.writeByte(JOURNAL_ENQUEUED);
+        out.writeInt(serialized.size());
+        serialized.writeTo(out);
+        append(entry.toByteArray());
+    }
+
+    private void appendDelivered(List<String> notificationIds) throws IOException {
+        ByteArrayOutputStream entry = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(entry);
+        out.writeByte(JOURNAL_DELIVERED);
+        out.writeInt(notificationIds.size());
+        for (String notificationId : notificationIds) {
+            out.writeUTF(notificationId);
+        }
+        append(entry.toByteArray());
+    }
+
+    /**
+     * Appends one entry to the journal and syncs it to disk. If that fails, the journal is cut back to
+     * where the entry started, or replaced by a snapshot, so later entries are not written behind a partial one.
+     */
+    private void append(byte[] entry) throws IOException {
+        if (journal == null) {
+            journalFile.getAbsoluteFile().getParentFile().mkdirs();
+            journal = new FileOutputStream(journalFile, true);
+        }
+        long length = journal.getChannel().size();
+        try {
+            journal.write(entry);
+            journal.getFD().sync();
+        } catch (IOException e) {
+            try {
+                journal.getChannel().truncate(length);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+                try {
+                    compact();
+                } catch (IOException compactFailure) {
+                    e.addSuppressed(compactFailure);
+                }
+            }
+            throw e;
+        }
+        journaledEntries++;
+    }
+
+    /**
+     * Applies the entries journaled since the last snapshot. An entry cut short by a crash ends the replay.
+     */
+    private void replayJournal() {
+        if (!journalFile.exists()) return;
+        int replayed = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)))) {
+            while (true) {
+                byte type = in.readByte();
+                if (type == JOURNAL_ENQUEUED) {
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                        NotificationRecord notification = (NotificationRecord) ois.readObject();
+                        pending.put(notification.getNotificationId(), notification);
+                    }
+                } else if (type == JOURNAL_DELIVERED) {
+                    List<String> delivered = new ArrayList<>();
+                    for (int count = in.readInt(); count > 0; count--) {
+                        delivered.add(in.readUTF());
+                    }
+                    delivered.forEach(pending::remove);
+                } else {
+                    LOGGER.log(Level.WARNING, "Skipping notification outbox journal from unknown entry type {0}.", type);
+                    break;
+                }
+                replayed++;
+            }
+        } catch (EOFException e) {
+            // End of the journal, or an entry that was not completely written.
+        } catch (IOException | ClassNotFoundException e) {
+            LOGGER.log(Level.SEVERE, "Error reading notification outbox journal: {0}", e.getMessage());
+        }
+        LOGGER.log(Level.INFO, "Replayed {0} notification outbox journal entries.", replayed);
+    }
+
+    /**
+     * Writes the pending notifications as a new snapshot and starts an empty journal.
+     */
+    private void compact() throws IOException {
+        FileManager.writeObjectToFileDurably(file, new ArrayList<>(pending.values()));
+        closeJournal();
+        Files.deleteIfExists(journalFile.toPath());
+        journaledEntries = 0;
+    }
+
+    private void closeJournal() throws IOException {
+        if (journal == null) return;
+        try {
+            journal.close();
+        } finally {
+            journal = null;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.fortisbank.business.services.notification;
+
+import com.fortisbank.contracts.models.others.Notification;
+import com.fortisbank.contracts.models.others.NotificationCursor;
+
+import java.util.List;
+
+/**
+ * One page of an inbox, newest first, with the cursor to read the next page.
+ */
+public class NotificationPage {
+
+    private final List<Notification> notifications;
+    private final NotificationCursor nextCursor;
+
+    /**
+     * Constructs a NotificationPage.
+     *
+     * @param notifications the notifications of the page
+     * @param nextCursor the cursor of the next page, or null if this is the last page
+     */
+    public NotificationPage(List<Notification> notifications, NotificationCursor nextCursor) {
+        this.notifications = notifications;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Returns the notifications of the page.
+     *
+     * @return the notifications
+     */
+    public List<Notification> getNotifications() {
+        return notifications;
+    }
+
+    /**
+     * Returns the cursor of the next page.
+     *
+     * @return the next cursor, or null if this is the last page
+     */
+    public NotificationCursor getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * Returns whether more notifications follow this page.
+     *
+     * @return true if there is a next page
+     */
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
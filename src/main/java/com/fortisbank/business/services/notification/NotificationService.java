@@ -2,9 +2,14 @@ package com.fortisbank.business.services.notification;
 
      import com.fortisbank.business.services.users.customer.CustomerService;
      import com.fortisbank.business.services.users.manager.BankManagerService;
+     import com.fortisbank.contracts.exceptions.NotificationRepositoryException;
+     import com.fortisbank.data.dal_utils.RepositoryFactory;
      import com.fortisbank.data.dal_utils.StorageMode;
+     import com.fortisbank.data.interfaces.INotificationRepository;
      import com.fortisbank.contracts.models.accounts.Account;
      import com.fortisbank.contracts.models.others.Notification;
+     import com.fortisbank.contracts.models.others.NotificationCursor;
+     import com.fortisbank.contracts.models.others.NotificationRecord;
      import com.fortisbank.contracts.models.others.NotificationType;
      import com.fortisbank.contracts.models.transactions.Transaction;
      import com.fortisbank.contracts.models.users.BankManager;
@@ -12,10 +17,12 @@ package com.fortisbank.business.services.notification;
      import com.fortisbank.contracts.models.users.User;
 
      import java.util.ArrayList;
+     import java.util.HashMap;
      import java.util.List;
+     import java.util.Map;
+     import java.util.function.Function;
      import java.util.logging.Level;
      import java.util.logging.Logger;
-     import java.util.stream.Collectors;
 
      /**
       * Central service to manage and dispatch notifications to users.
@@ -24,6 +31,12 @@ package com.fortisbank.business.services.notification;
      public class NotificationService {
 
          private static final Logger LOGGER = Logger.getLogger(NotificationService.class.getName());
+
+         /**
+          * Number of notifications read from the repository at a time by the unpaged inbox queries.
+          */
+         public static final int DEFAULT_PAGE_SIZE = 50;
+
          private StorageMode storageMode;
 
          private static NotificationService instance;
@@ -52,19 +65,17 @@ package com.fortisbank.business.services.notification;
 
          // === Notification Dispatching ===
 
+         /**
+          * Sends a notification to the recipient. The notification is stored asynchronously
+          * through the {@link NotificationOutbox}.
+          */
          public void sendNotification(User recipient, NotificationType type, String title, String message) {
              try {
                  if (recipient == null) {
                      throw new IllegalArgumentException("Recipient cannot be null.");
                  }
                  Notification notification = new Notification(type, title, message);
-                 recipient.getInbox().add(notification);
-
-                 if (recipient instanceof Customer) {
-                     CustomerService.getInstance(storageMode).updateCustomer((Customer) recipient);
-                 } else if (recipient instanceof BankManager) {
-                     BankManagerService.getInstance(storageMode).updateBankManager((BankManager) recipient);
-                 }
+                 NotificationOutbox.getInstance(storageMode).enqueue(NotificationRecord.from(recipient.getUserId(), notification));
              } catch (Exception e) {
                  LOGGER.log(Level.SEVERE, "Error sending notification: {0}", e.getMessage());
                  throw new RuntimeException("Failed to send notification", e);
@@ -77,13 +88,7 @@ package com.fortisbank.business.services.notification;
                      throw new IllegalArgumentException("Recipient cannot be null.");
                  }
                  Notification notification = new Notification(type, title, message, customer, account);
-                 recipient.getInbox().add(notification);
-
-                 if (recipient instanceof Customer) {
-                     CustomerService.getInstance(storageMode).updateCustomer((Customer) recipient);
-                 } else if (recipient instanceof BankManager) {
-                     BankManagerService.getInstance(storageMode).updateBankManager((BankManager) recipient);
-                 }
+                 NotificationOutbox.getInstance(storageMode).enqueue(NotificationRecord.from(recipient.getUserId(), notification));
              } catch (Exception e) {
                  LOGGER.log(Level.SEVERE, "Error sending notification with additional details: {0}", e.getMessage());
                  throw new RuntimeException("Failed to send notification with additional details", e);
@@ -146,65 +151,245 @@ package com.fortisbank.business.services.notification;
 
          // === Inbox Helpers ===
 
+         /**
+          * Returns all notifications of the user, newest first. They are read {@link #DEFAULT_PAGE_SIZE} at a time;
+          * use {@link #getNotificationPage} to show a long inbox page by page.
+          */
          public List<Notification> getAllNotifications(User user) {
              try {
-                 if (user == null || user.getInbox() == null) {
+                 if (user == null) {
                      return new ArrayList<>();
                  }
-                 return reverseCopy(user.getInbox());
+                 migrateLegacyInbox(user);
+                 return toNotifications(readAllRecords(user, false));
              } catch (Exception e) {
                  LOGGER.log(Level.SEVERE, "Error retrieving all notifications: {0}", e.getMessage());
                  throw new RuntimeException("Failed to retrieve all notifications", e);
              }
          }
 
+         /**
+          * Returns a page of the user's notifications, newest first.
+          */
+         public List<Notification> getNotificationsPage(User user, int offset, int limit) {
+             try {
+                 if (user == null) {
+                     return new ArrayList<>();
+                 }
+                 migrateLegacyInbox(user);
+                 return toNotifications(notificationRepository().getNotifications(user.getUserId(), offset, limit));
+             } catch (Exception e) {
+                 LOGGER.log(Level.SEVERE, "Error retrieving all notifications: {0}", e.getMessage());
+                 throw new RuntimeException("Failed to retrieve all notifications", e);
+             }
+         }
+
+         /**
+          * Returns all unread notifications of the user, newest first, read {@link #DEFAULT_PAGE_SIZE} at a time.
+          */
          public List<Notification> getUnreadNotifications(User user) {
              try {
-                 if (user == null || user.getInbox() == null) {
+                 if (user == null) {
+                     return new ArrayList<>();
+                 }
+                 migrateLegacyInbox(user);
+                 return toNotifications(readAllRecords(user, true));
+             } catch (Exception e) {
+                 LOGGER.log(Level.SEVERE, "Error retrieving unread notifications: {0}", e.getMessage());
+                 throw new RuntimeException("Failed to retrieve unread notifications", e);
+             }
+         }
+
+         /**
+          * Returns a page of the user's unread notifications, newest first.
+          */
+         public List<Notification> getUnreadNotificationsPage(User user, int offset, int limit) {
+             try {
+                 if (user == null) {
                      return new ArrayList<>();
                  }
-                 return user.getInbox().stream()
-                         .filter(n -> !n.isRead())
-                         .collect(Collectors.toList());
+                 migrateLegacyInbox(user);
+                 return toNotifications(notificationRepository().getUnreadNotifications(user.getUserId(), offset, limit));
              } catch (Exception e) {
                  LOGGER.log(Level.SEVERE, "Error retrieving unread notifications: {0}", e.getMessage());
                  throw new RuntimeException("Failed to retrieve unread notifications", e);
              }
          }
 
+         /**
+          * Returns the page of the user's notifications that follows the cursor, newest first.
+          * Pass a null cursor for the first page and {@link NotificationPage#getNextCursor()} for the next ones.
+          */
+         public NotificationPage getNotificationPage(User user, NotificationCursor cursor, boolean unreadOnly, int limit) {
+             try {
+                 if (user == null) {
+                     return new NotificationPage(new ArrayList<>(), null);
+                 }
+                 if (cursor == null) {
+                     migrateLegacyInbox(user);
+                 }
+                 List<NotificationRecord> records = notificationRepository().getNotificationsAfter(user.getUserId(), cursor, unreadOnly, limit + 1);
+                 boolean hasMore = records.size() > limit;
+                 List<Notification> notifications = toNotifications(hasMore ? records.subList(0, limit) : records);
+                 NotificationCursor next = hasMore ? NotificationCursor.after(notifications.get(notifications.size() - 1)) : null;
+                 return new NotificationPage(notifications, next);
+             } catch (Exception e) {
+                 LOGGER.log(Level.SEVERE, "Error retrieving notification page: {0}", e.getMessage());
+                 throw new RuntimeException("Failed to retrieve notification page", e);
+             }
+         }
+
+         public int getNotificationCount(User user) {
+             try {
+                 if (user == null) {
+                     return 0;
+                 }
+                 migrateLegacyInbox(user);
+                 return notificationRepository().countNotifications(user.getUserId());
+             } catch (Exception e) {
+                 LOGGER.log(Level.SEVERE, "Error counting notifications: {0}", e.getMessage());
+                 throw new RuntimeException("Failed to count notifications", e);
+             }
+         }
+
+         public int getUnreadCount(User user) {
+             try {
+                 if (user == null) {
+                     return 0;
+                 }
+                 migrateLegacyInbox(user);
+                 return notificationRepository().countUnreadNotifications(user.getUserId());
+             } catch (Exception e) {
+                 LOGGER.log(Level.SEVERE, "Error counting unread notifications: {0}", e.getMessage());
+                 throw new RuntimeException("Failed to count unread notifications", e);
+             }
+         }
+
+         public void markAsRead(User user, Notification notification) {
+             try {
+                 if (user == null || notification == null) {
+                     return;
+                 }
+                 notification.markAsRead();
+                 notificationRepository().markAsRead(user.getUserId(), notification.getNotificationId());
+             } catch (Exception e) {
+                 LOGGER.log(Level.SEVERE, "Error marking notification as read: {0}", e.getMessage());
+                 throw new RuntimeException("Failed to mark notification as read", e);
+             }
+         }
+
          public void markAllAsRead(User user) {
              try {
-                 if (user == null || user.getInbox() == null) {
+                 if (user == null) {
                      return;
                  }
-                 user.getInbox().forEach(Notification::markAsRead);
+                 migrateLegacyInbox(user);
+                 notificationRepository().markAllAsRead(user.getUserId());
              } catch (Exception e) {
                  LOGGER.log(Level.SEVERE, "Error marking all notifications as read: {0}", e.getMessage());
                  throw new RuntimeException("Failed to mark all notifications as read", e);
              }
          }
 
+         public void deleteNotification(User user, Notification notification) {
+             try {
+                 if (user == null || notification == null) {
+                     return;
+                 }
+                 notificationRepository().deleteNotification(user.getUserId(), notification.getNotificationId());
+             } catch (Exception e) {
+                 LOGGER.log(Level.SEVERE, "Error deleting notification: {0}", e.getMessage());
+                 throw new RuntimeException("Failed to delete notification", e);
+             }
+         }
+
          public void clearInbox(User user) {
              try {
-                 if (user == null || user.getInbox() == null) {
+                 if (user == null) {
                      return;
                  }
-                 user.getInbox().clear();
+                 migrateLegacyInbox(user);
+                 notificationRepository().deleteAllNotifications(user.getUserId());
              } catch (Exception e) {
                  LOGGER.log(Level.SEVERE, "Error clearing inbox: {0}", e.getMessage());
                  throw new RuntimeException("Failed to clear inbox", e);
              }
          }
 
-         private List<Notification> reverseCopy(List<Notification> list) {
-             try {
-                 List<Notification> reversed = new ArrayList<>(list);
-                 reversed.sort((a, b) -> b.getTimestamp().compareTo(a.getTimestamp()));
-                 return reversed;
-             } catch (Exception e) {
-                 LOGGER.log(Level.SEVERE, "Error reversing notification list: {0}", e.getMessage());
-                 throw new RuntimeException("Failed to reverse notification list", e);
+         /**
+          * Reads every notification of the user by following the cursor until a page comes back short.
+          */
+         private List<NotificationRecord> readAllRecords(User user, boolean unreadOnly) throws NotificationRepositoryException {
+             List<NotificationRecord> records = new ArrayList<>();
+             NotificationCursor cursor = null;
+             while (true) {
+                 List<NotificationRecord> page = notificationRepository().getNotificationsAfter(user.getUserId(), cursor, unreadOnly, DEFAULT_PAGE_SIZE);
+                 records.addAll(page);
+                 if (page.size() < DEFAULT_PAGE_SIZE) {
+                     return records;
+                 }
+                 NotificationRecord last = page.get(page.size() - 1);
+                 cursor = new NotificationCursor(last.getTimestampMillis(), last.getNotificationId());
+             }
+         }
+
+         private INotificationRepository notificationRepository() {
+             return RepositoryFactory.getInstance(storageMode).getNotificationRepository();
+         }
+
+         /**
+          * Moves notifications still held in the user's record (from before the notification store existed)
+          * into the store, then saves the user without them.
+          */
+         private void migrateLegacyInbox(User user) throws NotificationRepositoryException {
+             if (user.getInbox() == null || user.getInbox().isEmpty()) {
+                 return;
+             }
+             List<NotificationRecord> records = new ArrayList<>(user.getInbox().size());
+             for (Notification notification : user.getInbox()) {
+                 records.add(NotificationRecord.from(user.getUserId(), notification));
+             }
+             notificationRepository().insertNotifications(records);
+             user.getInbox().clear();
+
+             if (user instanceof Customer customer) {
+                 CustomerService.getInstance(storageMode).updateCustomer(customer);
+             } else if (user instanceof BankManager manager) {
+                 BankManagerService.getInstance(storageMode).updateBankManager(manager);
+             }
+             LOGGER.log(Level.INFO, "Moved {0} notifications of user {1} to the notification store.",
+                     new Object[]{records.size(), user.getUserId()});
+         }
+
+         /**
+          * Rebuilds notifications, looking up each related customer and account once.
+          */
+         private List<Notification> toNotifications(List<NotificationRecord> records) {
+             var factory = RepositoryFactory.getInstance(storageMode);
+             Map<String, Customer> customers = new HashMap<>();
+             Map<String, Account> accounts = new HashMap<>();
+             Function<String, Customer> customerResolver = id -> customers.computeIfAbsent(id, k -> {
+                 try {
+                     return factory.getCustomerRepository().getCustomerById(k);
+                 } catch (Exception e) {
+                     LOGGER.log(Level.WARNING, "Related customer not found: {0}", k);
+                     return null;
+                 }
+             });
+             Function<String, Account> accountResolver = number -> accounts.computeIfAbsent(number, k -> {
+                 try {
+                     return factory.getAccountRepository().getAccountById(k);
+                 } catch (Exception e) {
+                     LOGGER.log(Level.WARNING, "Related account not found: {0}", k);
+                     return null;
+                 }
+             });
+
+             List<Notification> notifications = new ArrayList<>(records.size());
+             for (NotificationRecord record : records) {
+                 notifications.add(record.toNotification(customerResolver, accountResolver));
              }
+             return notifications;
          }
 
          public void notifyNewMessage(BankManager manager, String fullName) {
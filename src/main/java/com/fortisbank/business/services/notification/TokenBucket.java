@@ -0,0 +1,53 @@
+package com.fortisbank.business.services.notification;
+
+/**
+ * Token bucket limiting how many notifications one recipient receives individually.
+ * The bucket starts full and regains tokens continuously at a fixed rate.
+ */
+public class TokenBucket {
+
+    private final int capacity;
+    private final double tokensPerMilli;
+    private double tokens;
+    private long lastRefillMillis;
+
+    /**
+     * Constructs a full TokenBucket.
+     *
+     * @param capacity the maximum number of tokens
+     * @param refillPerMinute the number of tokens regained per minute
+     * @param nowMillis the current time
+     */
+    public TokenBucket(int capacity, int refillPerMinute, long nowMillis) {
+        this.capacity = capacity;
+        this.tokensPerMilli = refillPerMinute / 60_000.0;
+        this.tokens = capacity;
+        this.lastRefillMillis = nowMillis;
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @param nowMillis the current time
+     * @return true if a token was taken
+     */
+    public synchronized boolean tryConsume(long nowMillis) {
+        if (nowMillis > lastRefillMillis) {
+            tokens = Math.min(capacity, tokens + (nowMillis - lastRefillMillis) * tokensPerMilli);
+            lastRefillMillis = nowMillis;
+        }
+        if (tokens < 1) return false;
+        tokens--;
+        return true;
+    }
+
+    /**
+     * Returns whether the bucket is full at the given time, i.e. it no longer needs to be kept.
+     *
+     * @param nowMillis the current time
+     * @return true if the bucket is full
+     */
+    public synchronized boolean isFull(long nowMillis) {
+        return tokens + Math.max(0, nowMillis - lastRefillMillis) * tokensPerMilli >= capacity;
+    }
+}
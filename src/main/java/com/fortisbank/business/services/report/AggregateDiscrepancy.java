@@ -0,0 +1,61 @@
+package com.fortisbank.business.services.report;
+
+import com.fortisbank.contracts.models.reports.DailyAggregate;
+
+/**
+ * Difference between a stored daily aggregate and the aggregate recomputed from the transactions.
+ */
+public class AggregateDiscrepancy {
+
+    /**
+     * The aggregate read from the aggregate store.
+     */
+    private final DailyAggregate stored;
+
+    /**
+     * The aggregate recomputed from the transaction log.
+     */
+    private final DailyAggregate derived;
+
+    /**
+     * Constructor initializing the discrepancy with specified values.
+     *
+     * @param stored the stored aggregate, empty if none was stored
+     * @param derived the aggregate recomputed from the transaction log, empty if the day has no transactions
+     */
+    public AggregateDiscrepancy(DailyAggregate stored, DailyAggregate derived) {
+        this.stored = stored;
+        this.derived = derived;
+    }
+
+    /**
+     * Returns the stored aggregate.
+     *
+     * @return the stored aggregate
+     */
+    public DailyAggregate getStored() {
+        return stored;
+    }
+
+    /**
+     * Returns the aggregate recomputed from the transaction log.
+     *
+     * @return the derived aggregate
+     */
+    public DailyAggregate getDerived() {
+        return derived;
+    }
+
+    /**
+     * Returns a string representation of the discrepancy.
+     *
+     * @return a string representation of the discrepancy
+     */
+    @Override
+    public String toString() {
+        return "AggregateDiscrepancy{" +
+                "stored=" + stored +
+                ", derived=" + derived +
+                '}';
+    }
+}
@@ -0,0 +1,72 @@
+package com.fortisbank.business.services.report;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the greatest elements offered to it, up to a fixed limit, so a report section can be computed
+ * in one pass over any number of elements without holding them all.
+ *
+ * @param <T> the type of the elements
+ */
+final class BoundedTopList<T> {
+
+    private final int limit;
+    private final Comparator<? super T> order;
+
+    /**
+     * The kept elements, least first, so the least one is evicted when a greater one arrives.
+     */
+    private final PriorityQueue<T> heap;
+
+    /**
+     * Creates an empty list.
+     *
+     * @param limit the maximum number of elements to keep
+     * @param order the order in which the greatest elements are kept
+     */
+    BoundedTopList(int limit, Comparator<? super T> order) {
+        this.limit = limit;
+        this.order = order;
+        this.heap = new PriorityQueue<>(Math.max(1, limit), order);
+    }
+
+    /**
+     * Offers an element, keeping it if it is among the greatest offered so far.
+     *
+     * @param element the element to offer
+     */
+    void offer(T element) {
+        if (limit <= 0) return;
+        if (heap.size() < limit) {
+            heap.add(element);
+        } else if (order.compare(element, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(element);
+        }
+    }
+
+    /**
+     * Offers all elements kept by another list, so lists filled in parallel can be combined.
+     *
+     * @param other the list to combine with this one
+     * @return this list
+     */
+    BoundedTopList<T> combine(BoundedTopList<T> other) {
+        other.heap.forEach(this::offer);
+        return this;
+    }
+
+    /**
+     * Returns the kept elements, greatest first.
+     *
+     * @return the kept elements
+     */
+    List<T> toList() {
+        List<T> elements = new ArrayList<>(heap);
+        elements.sort(order.reversed());
+        return elements;
+    }
+}
@@ -0,0 +1,258 @@
+package com.fortisbank.business.services.report;
+
+import com.fortisbank.contracts.exceptions.AccountRepositoryException;
+import com.fortisbank.contracts.exceptions.DailyAggregateRepositoryException;
+import com.fortisbank.contracts.exceptions.TransactionRepositoryException;
+import com.fortisbank.contracts.models.accounts.Account;
+import com.fortisbank.contracts.models.accounts.AccountType;
+import com.fortisbank.contracts.models.reports.DailyAggregate;
+import com.fortisbank.contracts.models.transactions.Transaction;
+import com.fortisbank.contracts.models.transactions.TransactionType;
+import com.fortisbank.data.dal_utils.RepositoryFactory;
+import com.fortisbank.data.dal_utils.StorageMode;
+import com.fortisbank.data.interfaces.IAccountRepository;
+import com.fortisbank.data.interfaces.IDailyAggregateRepository;
+import com.fortisbank.data.interfaces.ITransactionRepository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Maintains the totals of the ledger per day and account type, so dashboards and reports can read
+ * totals over any range without scanning the transactions.
+ *
+ * The aggregates are advanced as transactions commit. {@link #verify()} compares them with totals
+ * recomputed from the transaction log, and {@link #rebuild()} recomputes all of them from it.
+ * Transactions committed before the aggregates existed are only covered once a rebuild has run, so
+ * the first read rebuilds them if the repository has no record of a rebuild.
+ */
+public class DailyAggregateService {
+
+    private static final Logger LOGGER = Logger.getLogger(DailyAggregateService.class.getName());
+    private static final Map<StorageMode, DailyAggregateService> instances = new EnumMap<>(StorageMode.class);
+
+    private final ITransactionRepository transactionRepository;
+    private final IAccountRepository accountRepository;
+    private final IDailyAggregateRepository aggregateRepository;
+    private volatile boolean backfilled = false;
+
+    private DailyAggregateService(StorageMode storageMode) {
+        var factory = RepositoryFactory.getInstance(storageMode);
+        this.transactionRepository = factory.getTransactionRepository();
+        this.accountRepository = factory.getAccountRepository();
+        this.aggregateRepository = factory.getDailyAggregateRepository();
+    }
+
+    public static synchronized DailyAggregateService getInstance(StorageMode storageMode) {
+        return instances.computeIfAbsent(storageMode, DailyAggregateService::new);
+    }
+
+    /**
+     * Adds committed transactions to the aggregates of their days, in one write.
+     * Must be called after the transactions have been persisted.
+     *
+     * @param transactions the committed transactions
+     */
+    public void recordTransactions(List<Transaction> transactions) {
+        List<DailyAggregate> deltas = aggregate(transactions, (transaction, accountNumber) -> {
+            Account account = accountNumber.equals(transaction.getSourceAccountNumber())
+                    ? transaction.getSourceAccount()
+                    : transaction.getDestinationAccount();
+            return account != null ? account.getAccountType() : null;
+        });
+        try {
+            aggregateRepository.addToAggregates(deltas);
+        } catch (DailyAggregateRepositoryException e) {
+            LOGGER.log(Level.SEVERE, "Error updating daily aggregates: {0}", e.getMessage());
+            throw new RuntimeException("Failed to update daily aggregates", e);
+        }
+    }
+
+    /**
+     * Returns the aggregates of the days within a range.
+     *
+     * @param from the first day of the range, or null for no lower bound
+     * @param to the last day of the range, or null for no upper bound
+     * @return the aggregates by day and account type, ordered by day
+     */
+    public List<DailyAggregate> getAggregates(LocalDate from, LocalDate to) {
+        ensureBackfilled();
+        try {
+            return aggregateRepository.getAggregates(from, to);
+        } catch (DailyAggregateRepositoryException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving daily aggregates: {0}", e.getMessage());
+            throw new RuntimeException("Failed to retrieve daily aggregates", e);
+        }
+    }
+
+    /**
+     * Returns the totals of each account type over a range of days.
+     * The day of each total is the start of the range.
+     *
+     * @param from the first day of the range, or null for no lower bound
+     * @param to the last day of the range, or null for no upper bound
+     * @return the totals by account type; types without transactions in the range are absent
+     */
+    public Map<AccountType, DailyAggregate> getTotalsByAccountType(LocalDate from, LocalDate to) {
+        Map<AccountType, DailyAggregate> totals = new EnumMap<>(AccountType.class);
+        for (DailyAggregate aggregate : getAggregates(from, to)) {
+            totals.merge(aggregate.getAccountType(), DailyAggregate.empty(from, aggregate.getAccountType()).plus(aggregate),
+                    DailyAggregate::plus);
+        }
+        return totals;
+    }
+
+    /**
+     * Returns the totals of all account types over a range of days.
+     *
+     * @param from the first day of the range, or null for no lower bound
+     * @param to the last day of the range, or null for no upper bound
+     * @return the totals, with a null account type
+     */
+    public DailyAggregate getTotals(LocalDate from, LocalDate to) {
+        DailyAggregate totals = DailyAggregate.empty(from, null);
+        for (DailyAggregate aggregate : getAggregates(from, to)) {
+            totals = totals.plus(aggregate);
+        }
+        return totals;
+    }
+
+    /**
+     * Recomputes all aggregates from the transaction log and replaces the stored ones.
+     * Transactions committed while the rebuild runs may be missing from the result, so it should run
+     * when the bank is quiet, e.g. from the nightly verification job.
+     *
+     * @return the number of aggregates written
+     */
+    public int rebuild() {
+        List<DailyAggregate> aggregates = aggregateLedger();
+        try {
+            aggregateRepository.replaceAllAggregates(aggregates);
+        } catch (DailyAggregateRepositoryException e) {
+            LOGGER.log(Level.SEVERE, "Error rebuilding daily aggregates: {0}", e.getMessage());
+            throw new RuntimeException("Failed to rebuild daily aggregates", e);
+        }
+        LOGGER.log(Level.INFO, "Rebuilt {0} daily aggregates from the transaction log.", aggregates.size());
+        backfilled = true;
+        return aggregates.size();
+    }
+
+    /**
+     * Rebuilds the aggregates from the transaction log if they have never been rebuilt, e.g. right after
+     * upgrading from a version without them, so totals include the transactions committed before.
+     */
+    private void ensureBackfilled() {
+        if (backfilled) return;
+        synchronized (this) {
+            if (backfilled) return;
+            boolean rebuilt;
+            try {
+                rebuilt = aggregateRepository.isRebuilt();
+            } catch (DailyAggregateRepositoryException e) {
+                LOGGER.log(Level.SEVERE, "Error reading the daily aggregate rebuild: {0}", e.getMessage());
+                throw new RuntimeException("Failed to read the daily aggregate rebuild", e);
+            }
+            if (!rebuilt) {
+                LOGGER.log(Level.INFO, "Daily aggregates were never built from the transaction log; rebuilding them.");
+                rebuild();
+            }
+            backfilled = true;
+        }
+    }
+
+    /**
+     * Compares the stored aggregates with aggregates recomputed from the transaction log.
+     *
+     * @return the aggregates whose stored and recomputed totals differ
+     */
+    public List<AggregateDiscrepancy> verify() {
+        Map<LocalDate, Map<AccountType, DailyAggregate>> derived = index(aggregateLedger());
+        Map<LocalDate, Map<AccountType, DailyAggregate>> stored = index(getAggregates(null, null));
+
+        Set<LocalDate> days = new TreeSet<>(derived.keySet());
+        days.addAll(stored.keySet());
+        List<AggregateDiscrepancy> discrepancies = new ArrayList<>();
+        for (LocalDate day : days) {
+            for (AccountType type : AccountType.values()) {
+                DailyAggregate s = stored.getOrDefault(day, Map.of()).getOrDefault(type, DailyAggregate.empty(day, type));
+                DailyAggregate d = derived.getOrDefault(day, Map.of()).getOrDefault(type, DailyAggregate.empty(day, type));
+                if (!s.hasSameTotals(d)) discrepancies.add(new AggregateDiscrepancy(s, d));
+            }
+        }
+
+        LOGGER.log(Level.INFO, "Daily aggregate verification checked {0} days, found {1} discrepancies.",
+                new Object[]{days.size(), discrepancies.size()});
+        return discrepancies;
+    }
+
+    private List<DailyAggregate> aggregateLedger() {
+        try {
+            Map<String, AccountType> accountTypes = new HashMap<>();
+            for (Account account : accountRepository.getAllAccounts()) {
+                accountTypes.put(account.getAccountNumber(), account.getAccountType());
+            }
+            return aggregate(transactionRepository.getAllTransactions(), (transaction, accountNumber) -> accountTypes.get(accountNumber));
+        } catch (AccountRepositoryException | TransactionRepositoryException e) {
+            LOGGER.log(Level.SEVERE, "Error aggregating the transaction log: {0}", e.getMessage());
+            throw new RuntimeException("Failed to aggregate the transaction log", e);
+        }
+    }
+
+    /**
+     * Sums the entries of the transactions per day and account type. Entries of accounts whose type
+     * cannot be resolved, e.g. because the account was deleted, are skipped.
+     */
+    private List<DailyAggregate> aggregate(List<Transaction> transactions, AccountTypeResolver typeOf) {
+        Map<LocalDate, Map<AccountType, DailyAggregate>> aggregates = new TreeMap<>();
+        ZoneId zone = ZoneId.systemDefault();
+        for (Transaction transaction : transactions) {
+            LocalDate day = Instant.ofEpochMilli(transaction.getTransactionDate().getTime()).atZone(zone).toLocalDate();
+            TransactionType type = transaction.getTransactionType();
+            BigDecimal amount = transaction.getAmount();
+            String source = transaction.getSourceAccountNumber();
+            String destination = transaction.getDestinationAccountNumber();
+            if (source != null && type != TransactionType.DEPOSIT) {
+                addEntry(aggregates, day, typeOf.resolve(transaction, source), type, false, amount);
+            }
+            if (destination != null && (type == TransactionType.DEPOSIT || type == TransactionType.TRANSFER)) {
+                addEntry(aggregates, day, typeOf.resolve(transaction, destination), type, true, amount);
+            }
+        }
+        List<DailyAggregate> result = new ArrayList<>();
+        aggregates.values().forEach(byType -> result.addAll(byType.values()));
+        return result;
+    }
+
+    private static void addEntry(Map<LocalDate, Map<AccountType, DailyAggregate>> aggregates, LocalDate day,
+                                 AccountType accountType, TransactionType type, boolean incoming, BigDecimal amount) {
+        if (accountType == null) return;
+        BigDecimal zero = BigDecimal.ZERO;
+        DailyAggregate entry = switch (type) {
+            case DEPOSIT -> new DailyAggregate(day, accountType, 1, amount, zero, zero, zero, zero, amount);
+            case WITHDRAWAL -> new DailyAggregate(day, accountType, 1, zero, amount, zero, zero, zero, amount.negate());
+            case TRANSFER -> incoming
+                    ? new DailyAggregate(day, accountType, 1, zero, zero, amount, zero, zero, amount)
+                    : new DailyAggregate(day, accountType, 1, zero, zero, zero, amount, zero, amount.negate());
+            case FEE -> new DailyAggregate(day, accountType, 1, zero, zero, zero, zero, amount, amount.negate());
+        };
+        aggregates.computeIfAbsent(day, d -> new EnumMap<>(AccountType.class)).merge(accountType, entry, DailyAggregate::plus);
+    }
+
+    private static Map<LocalDate, Map<AccountType, DailyAggregate>> index(List<DailyAggregate> aggregates) {
+        Map<LocalDate, Map<AccountType, DailyAggregate>> index = new HashMap<>();
+        for (DailyAggregate aggregate : aggregates) {
+            index.computeIfAbsent(aggregate.getDay(), d -> new EnumMap<>(AccountType.class)).put(aggregate.getAccountType(), aggregate);
+        }
+        return index;
+    }
+
+    @FunctionalInterface
+    private interface AccountTypeResolver {
+        AccountType resolve(Transaction transaction, String accountNumber);
+    }
+}
@@ -0,0 +1,46 @@
+package com.fortisbank.business.services.report;
+
+import com.fortisbank.data.dal_utils.StorageMode;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A counter that increases whenever data shown in reports changes: when transactions commit and when
+ * accounts or customers are created, changed or removed. Results computed at one version are still
+ * valid as long as the version has not moved.
+ *
+ * The counter lives in memory and restarts with the application, so it only orders changes made by this process.
+ */
+public class LedgerVersion {
+
+    private static final Map<StorageMode, LedgerVersion> instances = new EnumMap<>(StorageMode.class);
+
+    private final AtomicLong version = new AtomicLong();
+
+    private LedgerVersion(StorageMode storageMode) {
+    }
+
+    public static synchronized LedgerVersion getInstance(StorageMode storageMode) {
+        return instances.computeIfAbsent(storageMode, LedgerVersion::new);
+    }
+
+    /**
+     * Returns the current version.
+     *
+     * @return the current version
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Moves to the next version. Must be called after the change has been persisted.
+     *
+     * @return the new version
+     */
+    public long advance() {
+        return version.incrementAndGet();
+    }
+}
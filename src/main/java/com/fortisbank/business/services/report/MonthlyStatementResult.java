@@ -0,0 +1,117 @@
+package com.fortisbank.business.services.report;
+
+import com.fortisbank.business.services.batch.BatchRunResult;
+
+import java.time.Duration;
+
+/**
+ * Summary of one execution of the month-end statement run, with its throughput.
+ */
+public class MonthlyStatementResult {
+
+    private final BatchRunResult batch;
+    private final long statementsWritten;
+    private final long transactionsWritten;
+    private final Duration loadDuration;
+
+    /**
+     * Constructor initializing the result with specified values.
+     *
+     * @param batch the summary of the chunked run that wrote the statements
+     * @param statementsWritten the number of statement files written by this execution
+     * @param transactionsWritten the number of transactions in those statements
+     * @param loadDuration how long reading the statement data took, summed over the chunks
+     */
+    public MonthlyStatementResult(BatchRunResult batch, long statementsWritten, long transactionsWritten, Duration loadDuration) {
+        this.batch = batch;
+        this.statementsWritten = statementsWritten;
+        this.transactionsWritten = transactionsWritten;
+        this.loadDuration = loadDuration;
+    }
+
+    /**
+     * Returns the summary of the chunked run that wrote the statements.
+     *
+     * @return the batch run result
+     */
+    public BatchRunResult getBatch() {
+        return batch;
+    }
+
+    /**
+     * Returns the number of statement files written by this execution.
+     *
+     * @return the statement count
+     */
+    public long getStatementsWritten() {
+        return statementsWritten;
+    }
+
+    /**
+     * Returns the number of transactions in the statements written by this execution.
+     *
+     * @return the transaction count
+     */
+    public long getTransactionsWritten() {
+        return transactionsWritten;
+    }
+
+    /**
+     * Returns how long reading the transactions, balances and accounts of the statements took,
+     * summed over the chunks.
+     *
+     * @return the load duration
+     */
+    public Duration getLoadDuration() {
+        return loadDuration;
+    }
+
+    /**
+     * Returns the number of statements written per second while writing.
+     *
+     * @return the statement throughput
+     */
+    public double getStatementsPerSecond() {
+        return perSecond(statementsWritten);
+    }
+
+    /**
+     * Returns the number of transactions written per second while writing.
+     *
+     * @return the transaction throughput
+     */
+    public double getTransactionsPerSecond() {
+        return perSecond(transactionsWritten);
+    }
+
+    /**
+     * Returns whether every statement of the month has been written.
+     *
+     * @return true if no chunk failed
+     */
+    public boolean isComplete() {
+        return batch.isComplete();
+    }
+
+    private double perSecond(long count) {
+        long millis = batch.getDuration().toMillis();
+        return millis == 0 ? count : count * 1000.0 / millis;
+    }
+
+    /**
+     * Returns a string representation of the result.
+     *
+     * @return a string representation of the result
+     */
+    @Override
+    public String toString() {
+        return "MonthlyStatementResult{" +
+                "statementsWritten=" + statementsWritten +
+                ", transactionsWritten=" + transactionsWritten +
+                ", loadDuration=" + loadDuration +
+                ", statementsPerSecond=" + String.format("%.1f", getStatementsPerSecond()) +
+                ", transactionsPerSecond=" + String.format("%.1f", getTransactionsPerSecond()) +
+                ", batch=" + batch +
+                '}';
+    }
+}
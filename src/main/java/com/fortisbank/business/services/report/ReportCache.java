@@ -0,0 +1,213 @@
+package com.fortisbank.business.services.report;
+
+import com.fortisbank.data.dal_utils.StorageMode;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Keeps generated reports so repeated views return without touching storage.
+ *
+ * Reports are keyed by type and parameters. Reports over periods that can still change are stored with
+ * the {@link LedgerVersion} they were generated at and are regenerated once it has moved on. Reports over
+ * closed periods are kept regardless of the version and, when the {@code fortisbank.reportCacheDir}
+ * system property names a directory, also written there so they survive restarts. The few changes that
+ * reach a closed period, such as backdated corrections, month re-closes and customer detail changes,
+ * drop the affected statements with {@link #invalidateStatementsFrom} and {@link #invalidateStatementsOf}.
+ */
+public class ReportCache {
+
+    private static final Logger LOGGER = Logger.getLogger(ReportCache.class.getName());
+    private static final Map<StorageMode, ReportCache> instances = new EnumMap<>(StorageMode.class);
+    private static final int MAX_ENTRIES = 64;
+    private static final long IMMUTABLE = -1;
+
+    /**
+     * The report type of customer statements; their parameters are built by {@link #statementParameters}.
+     */
+    public static final String CUSTOMER_STATEMENT = "customer-statement";
+
+    /**
+     * The report type of bank summaries; their parameters are the first and last day of the period.
+     */
+    public static final String BANK_SUMMARY = "bank-summary";
+
+    private final LedgerVersion ledgerVersion;
+    private final Path spillDirectory;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private ReportCache(StorageMode storageMode) {
+        this.ledgerVersion = LedgerVersion.getInstance(storageMode);
+        String directory = System.getProperty("fortisbank.reportCacheDir");
+        this.spillDirectory = directory != null ? Path.of(directory, storageMode.name().toLowerCase()) : null;
+    }
+
+    public static synchronized ReportCache getInstance(StorageMode storageMode) {
+        return instances.computeIfAbsent(storageMode, ReportCache::new);
+    }
+
+    /**
+     * Returns the cached report for a type and parameters, generating and caching it if there is none
+     * or if it was generated before the data last changed.
+     *
+     * @param reportType the type of the report
+     * @param parameters the parameters of the report, e.g. the customer ID and month
+     * @param immutable whether the report covers a closed period, so it never changes
+     * @param generator generates the report
+     * @return the report
+     * @param <T> the type of the report
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Serializable> T get(String reportType, String parameters, boolean immutable, Supplier<T> generator) {
+        String key = reportType + "|" + parameters;
+        // Read before generating, so a change committed meanwhile leaves the result already outdated
+        long version = immutable ? IMMUTABLE : ledgerVersion.current();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version == version) return (T) entry.report;
+        }
+
+        T report = immutable ? (T) readSpilled(reportType, parameters) : null;
+        if (report == null) {
+            report = generator.get();
+            if (immutable) spill(reportType, parameters, report);
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry(version, report));
+        }
+        return report;
+    }
+
+    /**
+     * Returns the parameters of the statement of a customer for a month.
+     *
+     * @param customerId the ID of the customer
+     * @param month the month of the statement
+     * @return the cache parameters
+     */
+    public static String statementParameters(String customerId, YearMonth month) {
+        return customerId + "@" + month;
+    }
+
+    /**
+     * Drops the statements of a month and of every month after it, whose opening balances follow from it.
+     *
+     * @param month the first month to drop
+     */
+    public void invalidateStatementsFrom(YearMonth month) {
+        invalidate(CUSTOMER_STATEMENT, parameters -> !statementMonth(parameters).isBefore(month));
+    }
+
+    /**
+     * Drops every statement of a customer.
+     *
+     * @param customerId the ID of the customer
+     */
+    public void invalidateStatementsOf(String customerId) {
+        invalidate(CUSTOMER_STATEMENT, parameters -> parameters.startsWith(customerId + "@"));
+    }
+
+    /**
+     * Drops the cached reports of a type whose parameters match, from memory and from the spill directory.
+     *
+     * @param reportType the type of the reports
+     * @param parameters selects the reports to drop by their parameters
+     */
+    public void invalidate(String reportType, Predicate<String> parameters) {
+        String prefix = reportType + "|";
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.startsWith(prefix) && parameters.test(key.substring(prefix.length())));
+        }
+        if (spillDirectory == null || !Files.isDirectory(spillDirectory)) return;
+        String filePrefix = encode(reportType) + "@";
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (!name.startsWith(filePrefix) || !name.endsWith(".ser")) continue;
+                String spilled = URLDecoder.decode(name.substring(filePrefix.length(), name.length() - 4), StandardCharsets.UTF_8);
+                if (parameters.test(spilled)) Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not drop cached {0} reports: {1}", new Object[]{reportType, e.getMessage()});
+        }
+    }
+
+    /**
+     * Removes all reports from memory. Reports written to the spill directory are kept.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private Serializable readSpilled(String reportType, String parameters) {
+        if (spillDirectory == null) return null;
+        Path file = spillFile(reportType, parameters);
+        if (!Files.exists(file)) return null;
+        try (ObjectInputStream in = new ObjectInputStream(Files.newInputStream(file))) {
+            return (Serializable) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            LOGGER.log(Level.WARNING, "Discarding unreadable cached report {0}: {1}", new Object[]{file, e.getMessage()});
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Overwritten when the report is spilled again
+            }
+            return null;
+        }
+    }
+
+    private void spill(String reportType, String parameters, Serializable report) {
+        if (spillDirectory == null) return;
+        Path file = spillFile(reportType, parameters);
+        Path partial = file.resolveSibling(file.getFileName() + ".part");
+        try {
+            Files.createDirectories(spillDirectory);
+            try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(partial))) {
+                out.writeObject(report);
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not write cached report {0}: {1}", new Object[]{file, e.getMessage()});
+        }
+    }
+
+    private Path spillFile(String reportType, String parameters) {
+        // Encoded so invalidate can read the parameters back from the file name
+        return spillDirectory.resolve(encode(reportType) + "@" + encode(parameters) + ".ser");
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static YearMonth statementMonth(String parameters) {
+        return YearMonth.parse(parameters.substring(parameters.lastIndexOf('@') + 1));
+    }
+
+    private record Entry(long version, Serializable report) {
+    }
+}
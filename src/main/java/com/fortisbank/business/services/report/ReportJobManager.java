@@ -0,0 +1,407 @@
+package com.fortisbank.business.services.report;
+
+import com.fortisbank.business.bll_utils.ReportExporter;
+import com.fortisbank.business.services.users.customer.CustomerService;
+import com.fortisbank.contracts.models.reports.BankSummaryReport;
+import com.fortisbank.contracts.models.users.Customer;
+import com.fortisbank.contracts.utils.IdGenerator;
+import com.fortisbank.data.dal_utils.FileManager;
+import com.fortisbank.data.dal_utils.RepositoryFactory;
+import com.fortisbank.data.dal_utils.StorageMode;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs report exports in the background, independently of the screen that submitted them.
+ *
+ * Exports are queued and run on a small pool of low-priority worker threads, so at most
+ * {@link #MAX_CONCURRENT_JOBS} of them read from storage at the same time as the transaction paths.
+ * Listeners receive the status of a job whenever it starts, progresses or finishes. A running export is
+ * cancelled cooperatively: it stops at the next row and removes its incomplete file.
+ *
+ * Jobs are written durably to disk on every state change. Jobs still queued or running when the application
+ * stops are queued again by {@link #resumeInterrupted()} on the next start and rewrite their file
+ * from the beginning.
+ */
+public class ReportJobManager {
+
+    private static final Logger LOGGER = Logger.getLogger(ReportJobManager.class.getName());
+    private static final Map<StorageMode, ReportJobManager> instances = new EnumMap<>(StorageMode.class);
+    private static final int MAX_CONCURRENT_JOBS = 2;
+    private static final int MAX_PENDING_JOBS = 20;
+    private static final int MAX_FINISHED_JOBS = 50;
+
+    private final File file;
+    private final ReportService reportService;
+    private final CustomerService customerService;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, JobRecord> jobs = new LinkedHashMap<>();
+    private final Map<String, Future<?>> futures = new HashMap<>();
+    private final List<Consumer<ReportJobStatus>> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean shuttingDown = false;
+
+    private ReportJobManager(StorageMode storageMode) {
+        this.reportService = new ReportService(RepositoryFactory.getInstance(storageMode));
+        this.customerService = CustomerService.getInstance(storageMode);
+        this.file = new File("data/report_jobs_" + storageMode.name().toLowerCase() + ".ser");
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(MAX_CONCURRENT_JOBS, MAX_CONCURRENT_JOBS, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "report-jobs-" + storageMode.name().toLowerCase() + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        List<JobRecord> stored = FileManager.readObjectFromFile(file);
+        if (stored != null) {
+            stored.forEach(job -> jobs.put(job.jobId, job));
+        }
+    }
+
+    /**
+     * Returns the singleton instance of ReportJobManager for the given storage mode.
+     *
+     * @param storageMode the storage mode
+     * @return the singleton instance of ReportJobManager
+     */
+    public static synchronized ReportJobManager getInstance(StorageMode storageMode) {
+        return instances.computeIfAbsent(storageMode, ReportJobManager::new);
+    }
+
+    /**
+     * Queues the export of the bank summary of a period to a CSV file.
+     *
+     * @param periodStart the first day of the period
+     * @param periodEnd the last day of the period
+     * @param filePath the file path to save the CSV file
+     * @return the status of the queued job
+     * @throws IllegalStateException if too many exports are pending or the manager is shut down
+     */
+    public ReportJobStatus submitBankSummaryExport(LocalDate periodStart, LocalDate periodEnd, String filePath) {
+        return submit(new JobRecord(ReportJobType.BANK_SUMMARY, null, periodStart, periodEnd, filePath,
+                "Bank summary " + periodStart + " to " + periodEnd));
+    }
+
+    /**
+     * Queues the export of the statement of a customer for a period to a CSV file.
+     *
+     * @param customer the customer
+     * @param start the first day of the statement period
+     * @param end the last day of the statement period
+     * @param filePath the file path to save the CSV file
+     * @return the status of the queued job
+     * @throws IllegalStateException if too many exports are pending or the manager is shut down
+     */
+    public ReportJobStatus submitCustomerStatementExport(Customer customer, LocalDate start, LocalDate end, String filePath) {
+        return submit(new JobRecord(ReportJobType.CUSTOMER_STATEMENT, customer.getUserId(), start, end, filePath,
+                "Statement of " + customer.getFullName() + " " + start + " to " + end));
+    }
+
+    /**
+     * Queues the export of the transactions of a date range to a columnar ledger file.
+     *
+     * @param from the first day to export
+     * @param to the last day to export
+     * @param filePath the file path to save the ledger file
+     * @return the status of the queued job
+     * @throws IllegalStateException if too many exports are pending or the manager is shut down
+     */
+    public ReportJobStatus submitLedgerExport(LocalDate from, LocalDate to, String filePath) {
+        return submit(new JobRecord(ReportJobType.TRANSACTION_LEDGER, null, from, to, filePath,
+                "Transaction ledger " + from + " to " + to));
+    }
+
+    /**
+     * Queues again the jobs that were queued or running when the application last stopped.
+     *
+     * @return the number of jobs queued again
+     */
+    public synchronized int resumeInterrupted() {
+        int resumed = 0;
+        for (JobRecord job : jobs.values()) {
+            if (job.state.isFinished() || futures.containsKey(job.jobId)) continue;
+            job.state = ReportJobState.QUEUED;
+            job.startedAt = null;
+            job.rowsWritten = 0;
+            futures.put(job.jobId, executor.submit(() -> run(job)));
+            resumed++;
+        }
+        if (resumed > 0) {
+            persist();
+            LOGGER.log(Level.INFO, "Resumed {0} interrupted report exports.", resumed);
+        }
+        return resumed;
+    }
+
+    /**
+     * Cancels a job. A queued job is cancelled at once; a running job stops at its next row and
+     * removes its incomplete file.
+     *
+     * @param jobId the ID of the job
+     * @return true if the job was queued or running, false if it had already finished
+     * @throws IllegalArgumentException if no job with the ID exists
+     */
+    public boolean cancel(String jobId) {
+        JobRecord job;
+        synchronized (this) {
+            job = jobs.get(jobId);
+            if (job == null) throw new IllegalArgumentException("Unknown report job: " + jobId);
+            if (job.state.isFinished()) return false;
+            job.cancelRequested = true;
+            if (job.state == ReportJobState.RUNNING) return true;
+            Future<?> future = futures.remove(jobId);
+            if (future != null) future.cancel(false);
+            job.state = ReportJobState.CANCELLED;
+            job.finishedAt = Instant.now();
+            persist();
+        }
+        publish(job);
+        return true;
+    }
+
+    /**
+     * Returns the status of all known jobs, oldest first.
+     *
+     * @return the job statuses
+     */
+    public synchronized List<ReportJobStatus> getJobs() {
+        List<ReportJobStatus> statuses = new ArrayList<>(jobs.size());
+        jobs.values().forEach(job -> statuses.add(job.toStatus()));
+        return statuses;
+    }
+
+    /**
+     * Returns the status of a job.
+     *
+     * @param jobId the ID of the job
+     * @return the status, or null if no job with the ID exists
+     */
+    public synchronized ReportJobStatus getJob(String jobId) {
+        JobRecord job = jobs.get(jobId);
+        return job != null ? job.toStatus() : null;
+    }
+
+    /**
+     * Registers a listener that receives the status of a job whenever it changes.
+     * Listeners are called on the worker threads and must not block.
+     *
+     * @param listener the listener
+     */
+    public void addListener(Consumer<ReportJobStatus> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a listener registered with {@link #addListener(Consumer)}.
+     *
+     * @param listener the listener
+     */
+    public void removeListener(Consumer<ReportJobStatus> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Stops the running exports at their next row and waits for the workers to finish. Stopped and
+     * queued jobs stay queued on disk and are resumed by {@link #resumeInterrupted()} on the next start.
+     *
+     * @param timeout how long to wait for the running exports to stop
+     */
+    public void shutdown(Duration timeout) {
+        shuttingDown = true;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOGGER.log(Level.WARNING, "Report exports still running after {0}; interrupting them.", timeout);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            persist();
+        }
+    }
+
+    private ReportJobStatus submit(JobRecord job) {
+        synchronized (this) {
+            if (shuttingDown) throw new IllegalStateException("Report job manager is shut down.");
+            long pending = jobs.values().stream().filter(j -> !j.state.isFinished()).count();
+            if (pending >= MAX_PENDING_JOBS) {
+                throw new IllegalStateException("Too many report exports pending; wait for some to finish.");
+            }
+            jobs.put(job.jobId, job);
+            futures.put(job.jobId, executor.submit(() -> run(job)));
+            persist();
+        }
+        LOGGER.log(Level.INFO, "Queued report export {0}: {1}", new Object[]{job.jobId, job.description});
+        return publish(job);
+    }
+
+    private void run(JobRecord job) {
+        synchronized (this) {
+            if (job.state != ReportJobState.QUEUED || shuttingDown) return;
+            job.state = ReportJobState.RUNNING;
+            job.startedAt = Instant.now();
+            persist();
+        }
+        publish(job);
+
+        ReportExporter.ExportMonitor monitor = new ReportExporter.ExportMonitor() {
+            @Override
+            public void onProgress(long rowsWritten) {
+                job.rowsWritten = rowsWritten;
+                publish(job);
+            }
+
+            @Override
+            public boolean isCancelled() {
+                return job.cancelRequested || shuttingDown || Thread.currentThread().isInterrupted();
+            }
+        };
+
+        ReportJobState outcome;
+        String error = null;
+        try {
+            export(job, monitor);
+            outcome = ReportJobState.COMPLETED;
+        } catch (RuntimeException e) {
+            if (job.cancelRequested) {
+                outcome = ReportJobState.CANCELLED;
+            } else if (shuttingDown) {
+                outcome = ReportJobState.QUEUED;
+            } else {
+                outcome = ReportJobState.FAILED;
+                error = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                LOGGER.log(Level.SEVERE, "Report export {0} failed: {1}", new Object[]{job.jobId, e.getMessage()});
+            }
+        }
+
+        synchronized (this) {
+            job.state = outcome;
+            job.error = error;
+            if (outcome == ReportJobState.QUEUED) {
+                job.startedAt = null;
+                job.rowsWritten = 0;
+            } else {
+                job.finishedAt = Instant.now();
+            }
+            futures.remove(job.jobId);
+            removeOldFinishedJobs();
+            persist();
+        }
+        publish(job);
+        LOGGER.log(Level.INFO, "Report export {0} finished as {1}", new Object[]{job.jobId, outcome});
+    }
+
+    private void export(JobRecord job, ReportExporter.ExportMonitor monitor) {
+        switch (job.type) {
+            case BANK_SUMMARY -> {
+                BankSummaryReport report = reportService.generateBankSummaryReport(job.from, job.to);
+                if (monitor.isCancelled()) throw new CancellationException("Export cancelled before writing");
+                reportService.saveBankSummaryReportToCSV(report, job.filePath);
+            }
+            case CUSTOMER_STATEMENT -> {
+                Customer customer = customerService.getCustomer(job.customerId);
+                if (customer == null) throw new IllegalStateException("Customer not found: " + job.customerId);
+                reportService.exportCustomerStatementToCSV(customer, job.from, job.to, job.filePath, monitor);
+            }
+            case TRANSACTION_LEDGER -> reportService.exportLedgerColumnar(job.from, job.to, job.filePath, monitor);
+        }
+    }
+
+    private ReportJobStatus publish(JobRecord job) {
+        ReportJobStatus status;
+        synchronized (this) {
+            status = job.toStatus();
+        }
+        for (Consumer<ReportJobStatus> listener : listeners) {
+            try {
+                listener.accept(status);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Report job listener failed: {0}", e.getMessage());
+            }
+        }
+        return status;
+    }
+
+    private void removeOldFinishedJobs() {
+        long finished = jobs.values().stream().filter(j -> j.state.isFinished()).count();
+        Iterator<JobRecord> iterator = jobs.values().iterator();
+        while (finished > MAX_FINISHED_JOBS && iterator.hasNext()) {
+            if (iterator.next().state.isFinished()) {
+                iterator.remove();
+                finished--;
+            }
+        }
+    }
+
+    private void persist() {
+        try {
+            FileManager.writeObjectToFileDurably(file, new ArrayList<>(jobs.values()));
+        } catch (IOException e) {
+            // The jobs keep running; only resuming them after a restart depends on the file.
+            LOGGER.log(Level.SEVERE, "Error saving report jobs: {0}", e.getMessage());
+        }
+    }
+
+    /**
+     * The persisted description and state of an export job.
+     */
+    private static class JobRecord implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final String jobId = IdGenerator.generateId();
+        private final ReportJobType type;
+        private final String customerId;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final String filePath;
+        private final String description;
+        private final Instant submittedAt = Instant.now();
+        private ReportJobState state = ReportJobState.QUEUED;
+        private volatile long rowsWritten;
+        private Instant startedAt;
+        private Instant finishedAt;
+        private String error;
+        private transient volatile boolean cancelRequested;
+
+        private JobRecord(ReportJobType type, String customerId, LocalDate from, LocalDate to, String filePath, String description) {
+            this.type = type;
+            this.customerId = customerId;
+            this.from = from;
+            this.to = to;
+            this.filePath = filePath;
+            this.description = description;
+        }
+
+        private ReportJobStatus toStatus() {
+            return new ReportJobStatus(jobId, type, description, filePath, state, rowsWritten,
+                    submittedAt, startedAt, finishedAt, error);
+        }
+    }
+}
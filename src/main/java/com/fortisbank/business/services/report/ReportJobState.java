@@ -0,0 +1,40 @@
+package com.fortisbank.business.services.report;
+
+/**
+ * Enum representing the state of a report export job.
+ */
+public enum ReportJobState {
+    /**
+     * The job waits for a free worker.
+     */
+    QUEUED,
+
+    /**
+     * The job is writing its file.
+     */
+    RUNNING,
+
+    /**
+     * The file was written.
+     */
+    COMPLETED,
+
+    /**
+     * The export threw an exception; no file was kept.
+     */
+    FAILED,
+
+    /**
+     * The job was cancelled before its file was complete.
+     */
+    CANCELLED;
+
+    /**
+     * Returns whether the job has ended and will not change anymore.
+     *
+     * @return true for completed, failed and cancelled jobs
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,154 @@
+package com.fortisbank.business.services.report;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Point-in-time view of a report export job: what it exports, where to, and how far it got.
+ */
+public class ReportJobStatus implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String jobId;
+    private final ReportJobType type;
+    private final String description;
+    private final String filePath;
+    private final ReportJobState state;
+    private final long rowsWritten;
+    private final Instant submittedAt;
+    private final Instant startedAt;
+    private final Instant finishedAt;
+    private final String error;
+
+    /**
+     * Constructor initializing the status with specified values.
+     *
+     * @param jobId the ID of the job
+     * @param type the kind of export
+     * @param description a readable description of what is exported
+     * @param filePath the file the export is written to
+     * @param state the state of the job
+     * @param rowsWritten the number of rows written so far
+     * @param submittedAt when the job was submitted
+     * @param startedAt when the job started running, or null if it has not started
+     * @param finishedAt when the job finished, or null if it has not finished
+     * @param error the error message of a failed job, or null
+     */
+    public ReportJobStatus(String jobId, ReportJobType type, String description, String filePath, ReportJobState state,
+                           long rowsWritten, Instant submittedAt, Instant startedAt, Instant finishedAt, String error) {
+        this.jobId = jobId;
+        this.type = type;
+        this.description = description;
+        this.filePath = filePath;
+        this.state = state;
+        this.rowsWritten = rowsWritten;
+        this.submittedAt = submittedAt;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.error = error;
+    }
+
+    /**
+     * Returns the ID of the job.
+     *
+     * @return the job ID
+     */
+    public String getJobId() {
+        return jobId;
+    }
+
+    /**
+     * Returns the kind of export.
+     *
+     * @return the export type
+     */
+    public ReportJobType getType() {
+        return type;
+    }
+
+    /**
+     * Returns a readable description of what is exported.
+     *
+     * @return the description
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the file the export is written to.
+     *
+     * @return the file path
+     */
+    public String getFilePath() {
+        return filePath;
+    }
+
+    /**
+     * Returns the state of the job.
+     *
+     * @return the state
+     */
+    public ReportJobState getState() {
+        return state;
+    }
+
+    /**
+     * Returns the number of rows written so far.
+     *
+     * @return the number of rows written
+     */
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * Returns when the job was submitted.
+     *
+     * @return the submission time
+     */
+    public Instant getSubmittedAt() {
+        return submittedAt;
+    }
+
+    /**
+     * Returns when the job started running.
+     *
+     * @return the start time, or null if the job has not started
+     */
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Returns when the job finished.
+     *
+     * @return the finish time, or null if the job has not finished
+     */
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    /**
+     * Returns the error message of a failed job.
+     *
+     * @return the error message, or null
+     */
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public String toString() {
+        return "ReportJobStatus{" +
+                "jobId='" + jobId + '\'' +
+                ", type=" + type +
+                ", state=" + state +
+                ", rowsWritten=" + rowsWritten +
+                ", filePath='" + filePath + '\'' +
+                (error != null ? ", error='" + error + '\'' : "") +
+                '}';
+    }
+}
@@ -0,0 +1,21 @@
+package com.fortisbank.business.services.report;
+
+/**
+ * Enum representing the kinds of export a {@link ReportJobManager} can run.
+ */
+public enum ReportJobType {
+    /**
+     * The bank summary of a period, written as CSV.
+     */
+    BANK_SUMMARY,
+
+    /**
+     * The statement of one customer for a period, written as CSV.
+     */
+    CUSTOMER_STATEMENT,
+
+    /**
+     * The transactions of a period, written as a columnar ledger file.
+     */
+    TRANSACTION_LEDGER
+}
@@ -6,19 +6,46 @@ package com.fortisbank.business.services.report;
     import com.fortisbank.data.dal_utils.RepositoryFactory;
     import com.fortisbank.contracts.models.accounts.Account;
     import com.fortisbank.contracts.models.accounts.AccountType;
+    import com.fortisbank.contracts.models.others.Money;
     import com.fortisbank.contracts.collections.AccountList;
     import com.fortisbank.contracts.collections.TransactionList;
     import com.fortisbank.contracts.models.reports.BankSummaryReport;
     import com.fortisbank.contracts.models.reports.CustomerStatementReport;
+    import com.fortisbank.contracts.models.reports.DailyAggregate;
+    import com.fortisbank.contracts.exceptions.TransactionRepositoryException;
     import com.fortisbank.contracts.models.transactions.Transaction;
     import com.fortisbank.contracts.models.users.Customer;
+    import com.fortisbank.business.bll_utils.ColumnarLedgerReader;
+    import com.fortisbank.business.bll_utils.ColumnarLedgerWriter;
     import com.fortisbank.business.bll_utils.ReportExporter;
+    import com.fortisbank.business.services.account.BalanceCheckpointService;
+    import com.fortisbank.business.services.batch.BatchCheckpointStore;
+    import com.fortisbank.business.services.batch.BatchRunResult;
+    import com.fortisbank.business.services.batch.ChunkedBatchRunner;
 
+    import java.io.File;
     import java.io.IOException;
+    import java.io.UncheckedIOException;
     import java.math.BigDecimal;
+    import java.nio.file.Files;
+    import java.nio.file.Path;
+    import java.nio.file.StandardCopyOption;
+    import java.time.Duration;
     import java.time.LocalDate;
     import java.time.YearMonth;
+    import java.time.format.DateTimeParseException;
+    import java.util.ArrayList;
+    import java.util.Comparator;
+    import java.util.HashMap;
+    import java.util.LinkedHashMap;
+    import java.util.List;
     import java.util.Map;
+    import java.util.Set;
+    import java.util.concurrent.CancellationException;
+    import java.util.concurrent.CompletableFuture;
+    import java.util.concurrent.CompletionException;
+    import java.util.concurrent.atomic.AtomicLong;
+    import java.util.function.Predicate;
     import java.util.logging.Level;
     import java.util.logging.Logger;
     import java.util.stream.Collectors;
@@ -29,10 +56,17 @@ package com.fortisbank.business.services.report;
     public class ReportService {
 
         private static final Logger LOGGER = Logger.getLogger(ReportService.class.getName());
+        private static final int STATEMENT_CHUNK_SIZE = 50;
+        private static final int SUMMARY_SECTION_SIZE = 20;
+        private static final Money LOW_BALANCE_THRESHOLD = Money.of(new BigDecimal("50"));
+        private static final int LEDGER_PROGRESS_INTERVAL = 1000;
 
         private final ICustomerRepository customerRepository;
         private final IAccountRepository accountRepository;
         private final ITransactionRepository transactionRepository;
+        private final DailyAggregateService aggregateService;
+        private final BalanceCheckpointService checkpointService;
+        private final ReportCache reportCache;
 
         /**
          * Constructs a ReportService with the given repository factory.
@@ -43,9 +77,26 @@ package com.fortisbank.business.services.report;
             this.customerRepository = factory.getCustomerRepository();
             this.accountRepository = factory.getAccountRepository();
             this.transactionRepository = factory.getTransactionRepository();
+            this.aggregateService = DailyAggregateService.getInstance(factory.getStorageMode());
+            this.checkpointService = BalanceCheckpointService.getInstance(factory.getStorageMode());
+            this.reportCache = ReportCache.getInstance(factory.getStorageMode());
         }
 
+        /**
+         * Returns the statement of a customer for a month. Statements of past months are generated once and
+         * only dropped when a correction reaches their month; the statement of the current month is
+         * regenerated after the data changes.
+         *
+         * @param customer the customer
+         * @param month the month of the statement
+         * @return the customer statement report
+         */
         public CustomerStatementReport generateCustomerStatement(Customer customer, YearMonth month) {
+            return reportCache.get(ReportCache.CUSTOMER_STATEMENT, ReportCache.statementParameters(customer.getUserId(), month),
+                    month.isBefore(YearMonth.now()), () -> loadCustomerStatement(customer, month));
+        }
+
+        private CustomerStatementReport loadCustomerStatement(Customer customer, YearMonth month) {
             try {
                 LocalDate start = month.atDay(1);
                 LocalDate end = month.atEndOfMonth();
@@ -53,77 +104,320 @@ package com.fortisbank.business.services.report;
                 TransactionList transactions = transactionRepository
                         .getTransactionsByCustomerAndDateRange(customer.getUserId(), start, end);
 
-                BigDecimal openingBalance = transactionRepository.getBalanceBeforeDate(customer.getUserId(), start);
-
                 AccountList customerAccounts = accountRepository.getAccountsByCustomerId(customer.getUserId());
 
-                BigDecimal closingBalance = openingBalance;
-
-                for (Transaction t : transactions) {
-                    for (Account acc : customerAccounts) {
-                        BigDecimal signed = t.getSignedAmountFor(acc);
-                        if (signed.compareTo(BigDecimal.ZERO) != 0) {
-                            closingBalance = closingBalance.add(signed);
-                            break;
-                        }
-                    }
-                }
+                BigDecimal openingBalance = checkpointService.getCombinedBalanceBefore(customerAccounts, start);
 
-                return new CustomerStatementReport(customer, transactions, openingBalance, closingBalance, start, end);
+                return buildStatement(customer, transactions, openingBalance, customerAccounts, start, end);
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Error generating customer statement: {0}", e.getMessage());
                 throw new RuntimeException("Failed to generate customer statement", e);
             }
         }
 
+        /**
+         * Writes the statement of every customer for a month to one CSV file per customer.
+         *
+         * The customers are split into chunks that are written in parallel. Each chunk reads only the
+         * transactions, accounts and opening balances of its own customers, so the month's data is never
+         * held in memory at once. A chunk is recorded as soon as its files are written, so calling this
+         * method again for the same month after a failure only writes the remaining statements. Each month
+         * keeps its own checkpoint, so starting the next month does not discard the chunks an earlier month
+         * still has to write; see {@link #getUnfinishedStatementMonths}.
+         *
+         * @param month the month of the statements
+         * @param directory the directory to write the statements to
+         * @return the summary and throughput of the run
+         */
+        public MonthlyStatementResult generateMonthlyStatements(YearMonth month, File directory) {
+            LocalDate start = month.atDay(1);
+            LocalDate end = month.atEndOfMonth();
+            try {
+                Map<String, Customer> customers = new LinkedHashMap<>();
+                for (Customer customer : customerRepository.getAllCustomers()) {
+                    customers.put(customer.getUserId(), customer);
+                }
+                Files.createDirectories(directory.toPath());
+
+                AtomicLong statementsWritten = new AtomicLong();
+                AtomicLong transactionsWritten = new AtomicLong();
+                AtomicLong loadNanos = new AtomicLong();
+                BatchRunResult batch = new ChunkedBatchRunner(statementJobName(directory) + "-" + month, STATEMENT_CHUNK_SIZE).run(
+                        month.toString(),
+                        () -> new ArrayList<>(customers.keySet()),
+                        chunk -> {
+                            long loadStart = System.nanoTime();
+                            // Customers deleted since the interrupted run started are skipped
+                            List<String> customerIds = chunk.stream().filter(customers::containsKey).toList();
+                            Map<String, TransactionList> transactions;
+                            Map<String, AccountList> accounts = new HashMap<>();
+                            try {
+                                transactions = transactionRepository.getTransactionsByCustomersForDateRange(customerIds, start, end);
+                                for (String customerId : customerIds) {
+                                    accounts.put(customerId, accountRepository.getAccountsByCustomerId(customerId));
+                                }
+                            } catch (Exception e) {
+                                throw new RuntimeException("Failed to read the statement data of a chunk", e);
+                            }
+                            Map<String, BigDecimal> openingBalances = checkpointService.getCustomerBalancesBefore(accounts, start);
+                            loadNanos.addAndGet(System.nanoTime() - loadStart);
+
+                            for (String customerId : customerIds) {
+                                List<Transaction> customerTransactions = transactions.getOrDefault(customerId, new TransactionList());
+                                AccountList customerAccounts = accounts.get(customerId);
+                                BigDecimal openingBalance = openingBalances.getOrDefault(customerId, BigDecimal.ZERO);
+                                CustomerStatementReport report = buildStatement(customers.get(customerId), customerTransactions,
+                                        openingBalance, customerAccounts, start, end);
+                                writeStatementFile(report, customerAccounts, new File(directory, month + "-" + customerId + ".csv"));
+                                statementsWritten.incrementAndGet();
+                                transactionsWritten.addAndGet(customerTransactions.size());
+                            }
+                        });
+
+                MonthlyStatementResult result = new MonthlyStatementResult(batch, statementsWritten.get(),
+                        transactionsWritten.get(), Duration.ofNanos(loadNanos.get()));
+                LOGGER.log(Level.INFO, "Monthly statements for {0} finished: {1}", new Object[]{month, result});
+                return result;
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error generating monthly statements: {0}", e.getMessage());
+                throw new RuntimeException("Failed to generate monthly statements for " + month, e);
+            }
+        }
+
+        /**
+         * Returns the months whose statement run into a directory stopped with chunks left to write.
+         *
+         * @param directory the directory the statements are written to
+         * @return the unfinished months, oldest first
+         */
+        public List<YearMonth> getUnfinishedStatementMonths(File directory) {
+            String jobName = statementJobName(directory);
+            List<YearMonth> months = new ArrayList<>();
+            for (String name : BatchCheckpointStore.getInstance().getJobNames()) {
+                if (!name.startsWith(jobName + "-")) continue;
+                try {
+                    months.add(YearMonth.parse(name.substring(jobName.length() + 1)));
+                } catch (DateTimeParseException e) {
+                    // The checkpoint of another directory whose name starts with this one
+                }
+            }
+            months.sort(Comparator.naturalOrder());
+            return months;
+        }
+
+        private static String statementJobName(File directory) {
+            return "monthly-statements-" + directory.getPath();
+        }
+
+        private CustomerStatementReport buildStatement(Customer customer, List<Transaction> transactions, BigDecimal openingBalance,
+                                                       AccountList customerAccounts, LocalDate start, LocalDate end) {
+            Set<String> accountNumbers = customerAccounts.stream()
+                    .map(Account::getAccountNumber)
+                    .collect(Collectors.toSet());
+
+            Money closingBalance = Money.rounded(openingBalance);
+
+            for (Transaction t : transactions) {
+                closingBalance = closingBalance.plus(Money.of(t.getSignedAmountFor(accountNumbers)));
+            }
+
+            return new CustomerStatementReport(customer, transactions, openingBalance, closingBalance.toBigDecimal(), start, end);
+        }
+
+        /**
+         * Writes a statement next to its target and then moves it into place, so a failed run never
+         * leaves a partly written statement behind.
+         */
+        private void writeStatementFile(CustomerStatementReport report, AccountList customerAccounts, File target) {
+            File partial = new File(target.getPath() + ".part");
+            try {
+                ReportExporter.exportCustomerStatementToCSV(report, partial.getPath(), customerAccounts);
+                Files.move(partial.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write statement: " + target.getPath(), e);
+            }
+        }
+
+        /**
+         * Generates a bank summary whose transaction section covers the current month.
+         *
+         * @return the bank summary report
+         */
         public BankSummaryReport generateBankSummaryReport() {
+            YearMonth month = YearMonth.now();
+            return generateBankSummaryReport(month.atDay(1), month.atEndOfMonth());
+        }
+
+        /**
+         * Generates a bank summary. The report holds totals and the first rows of each section only;
+         * the full lists are available through {@link #getLowBalanceAccounts()} and
+         * {@link #forEachTransactionInDateRange(LocalDate, LocalDate, Predicate)}.
+         *
+         * The accounts are totalled in parallel while the transactions of the period are streamed
+         * on another thread, each in a single pass. The report is reused until the data changes.
+         *
+         * @param periodStart the first day of the period covered by the transaction section
+         * @param periodEnd the last day of the period covered by the transaction section
+         * @return the bank summary report
+         */
+        public BankSummaryReport generateBankSummaryReport(LocalDate periodStart, LocalDate periodEnd) {
+            return reportCache.get(ReportCache.BANK_SUMMARY, periodStart + "-" + periodEnd, false,
+                    () -> loadBankSummaryReport(periodStart, periodEnd));
+        }
+
+        private BankSummaryReport loadBankSummaryReport(LocalDate periodStart, LocalDate periodEnd) {
             try {
-                var customers = customerRepository.getAllCustomers();
-                var accounts = accountRepository.getAllAccounts();
-                var transactions = transactionRepository.getAllTransactions();
-
-                Map<String, Long> accountTypeCounts = accounts.stream()
-                        .collect(Collectors.groupingBy(
-                                acc -> acc.getAccountType().name(),
-                                Collectors.counting()
-                        ));
-
-                BigDecimal totalBalance = accounts.stream()
-                        .map(Account::getAvailableBalance)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal totalCreditUsed = accounts.stream()
-                        .filter(acc -> acc.getAccountType() == AccountType.CREDIT)
-                        .map(Account::getCreditLimit)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                BigDecimal totalFees = transactions.stream()
-                        .filter(t -> t.getTransactionType() == com.fortisbank.contracts.models.transactions.TransactionType.FEE)
-                        .map(Transaction::getAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-                AccountList lowBalanceAccounts = new AccountList(
-                        accounts.stream()
-                                .filter(acc -> acc.getAvailableBalance().compareTo(new BigDecimal("50")) < 0)
-                                .collect(Collectors.toList())
-                );
+                CompletableFuture<TransactionTotals> transactionPass =
+                        CompletableFuture.supplyAsync(() -> totalTransactions(periodStart, periodEnd));
+
+                int totalCustomers = customerRepository.countCustomers(null);
+                AccountTotals accounts = accountRepository.getAllAccounts().parallelStream()
+                        .collect(AccountTotals::new, AccountTotals::add, AccountTotals::combine);
+
+                // Read from the daily aggregates instead of scanning the whole ledger
+                BigDecimal totalFees = aggregateService.getTotals(null, null).getFees();
+
+                TransactionTotals transactions = transactionPass.join();
 
                 return new BankSummaryReport(
-                        customers.size(),
-                        accounts.size(),
-                        accountTypeCounts,
-                        totalBalance,
-                        totalCreditUsed,
+                        totalCustomers,
+                        accounts.count,
+                        accounts.typeCounts,
+                        accounts.totalBalance.toBigDecimal(),
+                        accounts.totalCreditUsed.toBigDecimal(),
                         totalFees,
-                        transactions,
-                        lowBalanceAccounts
+                        accounts.lowBalanceCount,
+                        new AccountList(accounts.lowestBalances.toList()),
+                        periodStart,
+                        periodEnd,
+                        transactions.count,
+                        new TransactionList(transactions.largest.toList())
                 );
             } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Error generating bank summary report: {0}", e.getMessage());
-                throw new RuntimeException("Failed to generate bank summary report", e);
+                Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                LOGGER.log(Level.SEVERE, "Error generating bank summary report: {0}", cause.getMessage());
+                throw new RuntimeException("Failed to generate bank summary report", cause);
+            }
+        }
+
+        /**
+         * Returns all accounts whose available balance is below the low balance threshold, lowest first.
+         *
+         * @return the low balance accounts
+         */
+        public AccountList getLowBalanceAccounts() {
+            try {
+                return new AccountList(accountRepository.getAllAccounts().stream()
+                        .filter(acc -> !acc.getBalance().isAtLeast(LOW_BALANCE_THRESHOLD))
+                        .sorted(Comparator.comparing(Account::getAvailableBalance))
+                        .collect(Collectors.toList()));
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error retrieving low balance accounts: {0}", e.getMessage());
+                throw new RuntimeException("Failed to retrieve low balance accounts", e);
             }
         }
 
+        /**
+         * Exports the transactions within a date range to a columnar ledger file for offline analysis,
+         * streaming them from storage oldest first. A failed export leaves no file behind.
+         *
+         * @param from the first day to export
+         * @param to the last day to export
+         * @param filePath the file path to save the ledger file
+         * @return the number of transactions exported
+         */
+        public long exportLedgerColumnar(LocalDate from, LocalDate to, String filePath) {
+            return exportLedgerColumnar(from, to, filePath, rows -> { });
+        }
+
+        /**
+         * Exports the transactions within a date range to a columnar ledger file, reporting the number of
+         * transactions written every thousand rows. The file is read back once written and its rows compared
+         * with the transactions exported. A failed, cancelled or unverified export leaves no file behind.
+         *
+         * @param from the first day to export
+         * @param to the last day to export
+         * @param filePath the file path to save the ledger file
+         * @param monitor receives the progress of the export and tells whether it was cancelled
+         * @return the number of transactions exported
+         * @throws CancellationException if the monitor cancelled the export
+         */
+        public long exportLedgerColumnar(LocalDate from, LocalDate to, String filePath, ReportExporter.ExportMonitor monitor) {
+            Path target = Path.of(filePath);
+            boolean completed = false;
+            try {
+                long rows;
+                long[] checksum = {0};
+                try (ColumnarLedgerWriter writer = new ColumnarLedgerWriter(target)) {
+                    boolean[] cancelled = {false};
+                    transactionRepository.forEachTransactionInDateRange(from, to, t -> {
+                        if (monitor.isCancelled()) {
+                            cancelled[0] = true;
+                            return false;
+                        }
+                        try {
+                            writer.write(t);
+                            checksum[0] = ColumnarLedgerReader.checksum(checksum[0], ColumnarLedgerReader.LedgerRow.of(t));
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        if (writer.getRowCount() % LEDGER_PROGRESS_INTERVAL == 0) monitor.onProgress(writer.getRowCount());
+                        return true;
+                    });
+                    rows = writer.getRowCount();
+                    if (cancelled[0]) throw new CancellationException("Export cancelled after " + rows + " transactions");
+                }
+                verifyLedgerFile(target, rows, checksum[0]);
+                completed = true;
+                monitor.onProgress(rows);
+                LOGGER.log(Level.INFO, "Exported {0} transactions from {1} to {2} to {3}", new Object[]{rows, from, to, filePath});
+                return rows;
+            } catch (CancellationException e) {
+                LOGGER.log(Level.INFO, "Ledger export cancelled: {0}", e.getMessage());
+                throw e;
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error exporting ledger: {0}", e.getMessage());
+                throw new RuntimeException("Failed to export ledger", e);
+            } finally {
+                if (!completed) {
+                    try {
+                        Files.deleteIfExists(target);
+                    } catch (IOException e) {
+                        LOGGER.log(Level.WARNING, "Could not delete incomplete ledger file: {0}", filePath);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Passes all transactions within a date range to an action one at a time, without loading them
+         * all into memory. Stops as soon as the action returns false.
+         *
+         * @param from the first day of the range
+         * @param to the last day of the range
+         * @param action receives each transaction and returns whether to continue
+         */
+        public void forEachTransactionInDateRange(LocalDate from, LocalDate to, Predicate<Transaction> action) {
+            try {
+                transactionRepository.forEachTransactionInDateRange(from, to, action);
+            } catch (TransactionRepositoryException e) {
+                LOGGER.log(Level.SEVERE, "Error reading transactions by date range: {0}", e.getMessage());
+                throw new RuntimeException("Failed to read transactions by date range", e);
+            }
+        }
+
+        /**
+         * Returns the deposits, withdrawals, transfers, fees and balance change of each account type
+         * over a range of days, read from the daily aggregates.
+         *
+         * @param from the first day of the range
+         * @param to the last day of the range
+         * @return the totals by account type; types without transactions in the range are absent
+         */
+        public Map<AccountType, DailyAggregate> getActivityByAccountType(LocalDate from, LocalDate to) {
+            return aggregateService.getTotalsByAccountType(from, to);
+        }
+
         public void saveCustomerStatementReportToCSV(CustomerStatementReport report, String filePath) {
             try {
                 AccountList customerAccounts = accountRepository.getAccountsByCustomerId(report.getCustomer().getUserId());
@@ -137,15 +431,142 @@ package com.fortisbank.business.services.report;
             }
         }
 
+        /**
+         * Exports the statement of a customer for a period to a CSV file, reading its transactions from the
+         * repository while they are written instead of loading them first.
+         *
+         * @param customer the customer for whom the statement is exported
+         * @param start the start date of the statement period
+         * @param end the end date of the statement period
+         * @param filePath the file path to save the CSV file
+         * @param monitor receives the progress of the export and tells whether it was cancelled
+         * @throws CancellationException if the monitor cancelled the export
+         */
+        public void exportCustomerStatementToCSV(Customer customer, LocalDate start, LocalDate end, String filePath,
+                                                 ReportExporter.ExportMonitor monitor) {
+            try {
+                AccountList customerAccounts = accountRepository.getAccountsByCustomerId(customer.getUserId());
+                BigDecimal openingBalance = checkpointService.getCombinedBalanceBefore(customerAccounts, start);
+                ReportExporter.streamCustomerStatementToCSV(customer, start, end, openingBalance, customerAccounts,
+                        action -> transactionRepository.forEachTransactionByCustomerAndDateRange(customer.getUserId(), start, end, action),
+                        filePath, monitor);
+            } catch (CancellationException e) {
+                LOGGER.log(Level.INFO, "Customer statement export cancelled: {0}", e.getMessage());
+                throw e;
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Error exporting customer statement: {0}", e.getMessage());
+                throw new RuntimeException("Failed to export customer statement", e);
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Unexpected error exporting customer statement: {0}", e.getMessage());
+                throw new RuntimeException("Unexpected error exporting customer statement", e);
+            }
+        }
+
+        /**
+         * Exports a bank summary to a CSV file. The file is written next to its target and then moved into
+         * place, so a failed export never leaves a partly written file behind.
+         *
+         * @param report the bank summary report
+         * @param filePath the file path to save the CSV file
+         */
         public void saveBankSummaryReportToCSV(BankSummaryReport report, String filePath) {
+            Path target = Path.of(filePath);
+            Path partial = target.resolveSibling(target.getFileName() + ".part");
             try {
-                ReportExporter.exportBankSummaryToCSV(report, filePath);
+                ReportExporter.exportBankSummaryToCSV(report, partial.toString());
+                Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
             } catch (IOException e) {
+                deletePartialFile(partial);
                 LOGGER.log(Level.SEVERE, "Error exporting bank report: {0}", e.getMessage());
                 throw new RuntimeException("Failed to export bank report", e);
             } catch (Exception e) {
+                deletePartialFile(partial);
                 LOGGER.log(Level.SEVERE, "Unexpected error exporting bank report: {0}", e.getMessage());
                 throw new RuntimeException("Unexpected error exporting bank report", e);
             }
         }
+
+        private static void deletePartialFile(Path partial) {
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Could not delete incomplete export file: {0}", partial);
+            }
+        }
+
+        private TransactionTotals totalTransactions(LocalDate periodStart, LocalDate periodEnd) {
+            TransactionTotals totals = new TransactionTotals();
+            try {
+                transactionRepository.forEachTransactionInDateRange(periodStart, periodEnd, totals);
+            } catch (TransactionRepositoryException e) {
+                throw new CompletionException(e);
+            }
+            return totals;
+        }
+
+        /**
+         * Reads a ledger file back and checks that it holds the rows written, in the same order.
+         */
+        private static void verifyLedgerFile(Path file, long rows, long checksum) throws IOException {
+            try (ColumnarLedgerReader reader = new ColumnarLedgerReader(file)) {
+                if (reader.getRowCount() != rows) {
+                    throw new IOException("Ledger file " + file + " reads back " + reader.getRowCount() + " rows instead of " + rows);
+                }
+                if (reader.checksum() != checksum) {
+                    throw new IOException("Ledger file " + file + " does not read back the transactions written");
+                }
+            }
+        }
+
+        /**
+         * Totals of the accounts of a bank summary, filled in parallel and combined.
+         */
+        private static final class AccountTotals {
+            private final Map<String, Long> typeCounts = new HashMap<>();
+            private final BoundedTopList<Account> lowestBalances =
+                    new BoundedTopList<>(SUMMARY_SECTION_SIZE, Comparator.comparing(Account::getAvailableBalance).reversed());
+            private int count;
+            private Money totalBalance = Money.ZERO;
+            private Money totalCreditUsed = Money.ZERO;
+            private long lowBalanceCount;
+
+            private void add(Account account) {
+                count++;
+                typeCounts.merge(account.getAccountType().name(), 1L, Long::sum);
+                Money balance = account.getBalance();
+                totalBalance = totalBalance.plus(balance);
+                if (account.getAccountType() == AccountType.CREDIT) {
+                    totalCreditUsed = totalCreditUsed.plus(Money.of(account.getCreditLimit()));
+                }
+                if (!balance.isAtLeast(LOW_BALANCE_THRESHOLD)) {
+                    lowBalanceCount++;
+                    lowestBalances.offer(account);
+                }
+            }
+
+            private void combine(AccountTotals other) {
+                count += other.count;
+                other.typeCounts.forEach((type, n) -> typeCounts.merge(type, n, Long::sum));
+                totalBalance = totalBalance.plus(other.totalBalance);
+                totalCreditUsed = totalCreditUsed.plus(other.totalCreditUsed);
+                lowBalanceCount += other.lowBalanceCount;
+                lowestBalances.combine(other.lowestBalances);
+            }
+        }
+
+        /**
+         * Totals of the transactions of a bank summary period, filled while they are streamed.
+         */
+        private static final class TransactionTotals implements Predicate<Transaction> {
+            private final BoundedTopList<Transaction> largest =
+                    new BoundedTopList<>(SUMMARY_SECTION_SIZE, Comparator.comparing(Transaction::getAmount));
+            private long count;
+
+            @Override
+            public boolean test(Transaction transaction) {
+                count++;
+                largest.offer(transaction);
+                return true;
+            }
+        }
     }
\ No newline at end of file
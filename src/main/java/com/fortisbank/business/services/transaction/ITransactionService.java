@@ -1,10 +1,13 @@
 package com.fortisbank.business.services.transaction;
 
 import com.fortisbank.contracts.collections.TransactionList;
+import com.fortisbank.contracts.models.others.PageQuery;
+import com.fortisbank.contracts.models.others.TransactionSortField;
 import com.fortisbank.contracts.models.transactions.Transaction;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Interface for transaction-related operations.
@@ -48,6 +51,24 @@ public interface ITransactionService {
      */
     TransactionList getAllTransactions();
 
+    /**
+     * Retrieves one page of the transactions of an account, filtered and sorted by the repository.
+     *
+     * @param accountId the ID of the account
+     * @param query the filter, sort order and page to retrieve
+     * @return the transactions of the page
+     */
+    TransactionList getTransactionsPage(String accountId, PageQuery<TransactionSortField> query);
+
+    /**
+     * Returns the number of transactions of an account whose description or type contains the filter.
+     *
+     * @param accountId the ID of the account
+     * @param filter the filter, or null to count all transactions of the account
+     * @return the number of matching transactions
+     */
+    int countTransactions(String accountId, String filter);
+
     /**
      * Retrieves transactions for a specific customer within a date range.
      *
@@ -66,4 +87,23 @@ public interface ITransactionService {
      * @return the balance of the customer before the specified date
      */
     BigDecimal getBalanceBeforeDate(String customerID, LocalDate start);
+
+    /**
+     * Executes a transaction at most once per idempotency key. A repeated submission with a key
+     * that already succeeded returns the original result without touching storage.
+     *
+     * @param transaction the transaction to execute
+     * @param idempotencyKey the key identifying this submission
+     * @return the result of the first successful execution for the key
+     */
+    TransactionResult executeTransaction(Transaction transaction, String idempotencyKey);
+
+    /**
+     * Executes a batch of transactions, persisting all account and transaction changes in one write.
+     * A transaction that fails validation is reported and skipped without affecting the others.
+     *
+     * @param transactions the transactions to execute, in order
+     * @return one result per transaction, in the same order
+     */
+    List<TransactionResult> executeTransactions(List<Transaction> transactions);
 }
\ No newline at end of file
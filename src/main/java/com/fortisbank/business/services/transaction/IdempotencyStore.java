@@ -0,0 +1,218 @@
+package com.fortisbank.business.services.transaction;
+
+import com.fortisbank.data.dal_utils.FileManager;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded, time-expiring store of transaction results keyed by idempotency key.
+ * Entries are kept in insertion order so the oldest key is evicted first once the
+ * store is full. Each new entry is appended to a journal and synced to disk before
+ * it is accepted; the journal is folded into a snapshot of the whole store once it
+ * holds as many entries as the store itself, and again at startup.
+ */
+public class IdempotencyStore {
+
+    private static final Logger LOGGER = Logger.getLogger(IdempotencyStore.class.getName());
+    private static final int DEFAULT_MAX_ENTRIES = 1000;
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofHours(24);
+
+    private static IdempotencyStore instance;
+
+    private final File file;
+    private final File journalFile;
+    private final int maxEntries;
+    private final long timeToLiveMillis;
+    private final LinkedHashMap<String, Entry> entries;
+    private FileOutputStream journal;
+    private int journaledEntries;
+
+    IdempotencyStore(File file, File journalFile, int maxEntries, Duration timeToLive) {
+        this.file = file;
+        this.journalFile = journalFile;
+        this.maxEntries = maxEntries;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.entries = new LinkedHashMap<>();
+        LinkedHashMap<String, Entry> stored = FileManager.readObjectFromFile(file);
+        if (stored != null) {
+            stored.forEach(this::remember);
+        }
+        replayJournal();
+        if (journalFile.exists()) {
+            // Start every run with an empty journal so nothing is appended behind a partly written entry.
+            try {
+                compact();
+            } catch (IOException e) {
+                // The journal is kept and replayed again next time.
+                LOGGER.log(Level.WARNING, "Error compacting idempotency journal: {0}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the singleton instance of IdempotencyStore.
+     *
+     * @return the singleton instance of IdempotencyStore
+     */
+    public static synchronized IdempotencyStore getInstance() {
+        if (instance == null) {
+            instance = new IdempotencyStore(new File("data/idempotency_keys.ser"),
+                    new File("data/idempotency_keys.journal"), DEFAULT_MAX_ENTRIES, DEFAULT_TIME_TO_LIVE);
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the result recorded for the given key, if it has not expired.
+     * Lookups never touch the disk.
+     *
+     * @param key the idempotency key
+     * @return the recorded result, or null if none is recorded
+     */
+    public synchronized TransactionResult get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) return null;
+        if (entry.isExpired(System.currentTimeMillis())) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.result;
+    }
+
+    /**
+     * Records the result for the given key. The entry is on disk when this method returns;
+     * if it cannot be written it is not recorded at all.
+     *
+     * @param key the idempotency key
+     * @param result the result to record
+     * @throws IOException if the entry could not be written to the journal
+     */
+    public synchronized void put(String key, TransactionResult result) throws IOException {
+        Entry entry = new Entry(result, System.currentTimeMillis() + timeToLiveMillis);
+        appendToJournal(key, entry);
+        remember(key, entry);
+        if (journaledEntries >= maxEntries) {
+            try {
+                compact();
+            } catch (IOException e) {
+                // The entry is already in the journal, so only the compaction is postponed.
+                LOGGER.log(Level.WARNING, "Error compacting idempotency journal: {0}", e.getMessage());
+            }
+        }
+    }
+
+    private void remember(String key, Entry entry) {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(e -> e.isExpired(now));
+        if (entry.isExpired(now)) return;
+        entries.remove(key);
+        entries.put(key, entry);
+        while (entries.size() > maxEntries) {
+            entries.remove(entries.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Appends one entry to the journal and syncs it to disk. If that fails, the journal is cut back to
+     * where the entry started, or replaced by a snapshot, so later entries are not written behind a partial one.
+     */
+    private void appendToJournal(String key, Entry entry) throws IOException {
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(serialized)) {
+            oos.writeObject(entry);
+        }
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(record);
+        out.writeUTF(key);
+        out.writeInt(serialized.size());
+        serialized.writeTo(out);
+
+        if (journal == null) {
+            journalFile.getAbsoluteFile().getParentFile().mkdirs();
+            journal = new FileOutputStream(journalFile, true);
+        }
+        long length = journal.getChannel().size();
+        try {
+            journal.write(record.toByteArray());
+            journal.getFD().sync();
+        } catch (IOException e) {
+            try {
+                journal.getChannel().truncate(length);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+                try {
+                    compact();
+                } catch (IOException compactFailure) {
+                    e.addSuppressed(compactFailure);
+                }
+            }
+            throw e;
+        }
+        journaledEntries++;
+    }
+
+    /**
+     * Applies the entries journaled since the last snapshot. An entry cut short by a crash ends the replay.
+     */
+    private void replayJournal() {
+        if (!journalFile.exists()) return;
+        int replayed = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)))) {
+            while (true) {
+                String key = in.readUTF();
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    remember(key, (Entry) ois.readObject());
+                }
+                replayed++;
+            }
+        } catch (EOFException e) {
+            // End of the journal, or an entry that was not completely written.
+        } catch (IOException | ClassNotFoundException e) {
+            LOGGER.log(Level.SEVERE, "Error reading idempotency journal: {0}", e.getMessage());
+        }
+        LOGGER.log(Level.INFO, "Replayed {0} idempotency journal entries.", replayed);
+    }
+
+    /**
+     * Writes the whole store as a new snapshot and starts an empty journal.
+     */
+    private void compact() throws IOException {
+        FileManager.writeObjectToFileDurably(file, new LinkedHashMap<>(entries));
+        if (journal != null) {
+            try {
+                journal.close();
+            } finally {
+                journal = null;
+            }
+        }
+        Files.deleteIfExists(journalFile.toPath());
+        journaledEntries = 0;
+    }
+
+    /**
+     * A recorded result together with its expiry time.
+     */
+    private static class Entry implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final TransactionResult result;
+        private final long expiresAt;
+
+        private Entry(TransactionResult result, long expiresAt) {
+            this.result = result;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
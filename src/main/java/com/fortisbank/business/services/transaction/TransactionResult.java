@@ -0,0 +1,97 @@
+package com.fortisbank.business.services.transaction;
+
+import com.fortisbank.contracts.models.transactions.Transaction;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Outcome of executing a single transaction, either on its own or as part of a batch.
+ */
+public class TransactionResult implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The transaction this result refers to.
+     */
+    private final Transaction transaction;
+
+    /**
+     * Indicates whether the transaction was applied and persisted.
+     */
+    private final boolean successful;
+
+    /**
+     * The reason the transaction failed, or null if it succeeded.
+     */
+    private final String errorMessage;
+
+    private TransactionResult(Transaction transaction, boolean successful, String errorMessage) {
+        this.transaction = transaction;
+        this.successful = successful;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Creates a result for a transaction that was applied successfully.
+     *
+     * @param transaction the transaction
+     * @return a successful result
+     */
+    public static TransactionResult success(Transaction transaction) {
+        return new TransactionResult(transaction, true, null);
+    }
+
+    /**
+     * Creates a result for a transaction that could not be applied.
+     *
+     * @param transaction the transaction
+     * @param errorMessage the reason for the failure
+     * @return a failed result
+     */
+    public static TransactionResult failure(Transaction transaction, String errorMessage) {
+        return new TransactionResult(transaction, false, errorMessage);
+    }
+
+    /**
+     * Returns the transaction this result refers to.
+     *
+     * @return the transaction
+     */
+    public Transaction getTransaction() {
+        return transaction;
+    }
+
+    /**
+     * Returns whether the transaction was applied and persisted.
+     *
+     * @return true if the transaction succeeded, false otherwise
+     */
+    public boolean isSuccessful() {
+        return successful;
+    }
+
+    /**
+     * Returns the reason the transaction failed.
+     *
+     * @return the error message, or null if the transaction succeeded
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * Returns a string representation of the result.
+     *
+     * @return a string representation of the result
+     */
+    @Override
+    public String toString() {
+        return "TransactionResult{" +
+                "transactionNumber='" + (transaction != null ? transaction.getTransactionNumber() : "N/A") + '\'' +
+                ", successful=" + successful +
+                ", errorMessage='" + errorMessage + '\'' +
+                '}';
+    }
+}
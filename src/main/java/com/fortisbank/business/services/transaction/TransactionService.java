@@ -1,21 +1,45 @@
 package com.fortisbank.business.services.transaction;
 
+import com.fortisbank.business.services.account.AccountActivityTracker;
 import com.fortisbank.business.services.account.AccountService;
+import com.fortisbank.business.services.account.BalanceCheckpointService;
+import com.fortisbank.business.services.account.BalanceProjectionService;
+import com.fortisbank.business.services.batch.BatchRunResult;
+import com.fortisbank.business.services.batch.ChunkedBatchRunner;
+import com.fortisbank.business.services.exchange.CurrencyExchangeService;
+import com.fortisbank.business.services.fraud.FraudAlert;
+import com.fortisbank.business.services.fraud.FraudDetector;
 import com.fortisbank.business.services.notification.NotificationService;
+import com.fortisbank.business.services.report.DailyAggregateService;
+import com.fortisbank.business.services.report.LedgerVersion;
+import com.fortisbank.business.services.report.ReportCache;
 import com.fortisbank.contracts.exceptions.InvalidTransactionException;
 import com.fortisbank.contracts.exceptions.TransactionRepositoryException;
 import com.fortisbank.contracts.models.accounts.*;
+import com.fortisbank.contracts.collections.AccountList;
 import com.fortisbank.contracts.collections.TransactionList;
+import com.fortisbank.contracts.models.others.Money;
 import com.fortisbank.contracts.models.others.NotificationType;
+import com.fortisbank.contracts.models.others.PageQuery;
+import com.fortisbank.contracts.models.others.TransactionSortField;
 import com.fortisbank.contracts.models.transactions.*;
+import com.fortisbank.contracts.utils.IdGenerator;
 import com.fortisbank.contracts.utils.ValidationUtils;
 import com.fortisbank.data.dal_utils.RepositoryFactory;
 import com.fortisbank.data.dal_utils.StorageMode;
 import com.fortisbank.data.interfaces.ITransactionRepository;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 /**
@@ -23,12 +47,26 @@ import java.util.stream.Collectors;
  */
 public class TransactionService implements ITransactionService {
 
+    private static final Logger LOGGER = Logger.getLogger(TransactionService.class.getName());
     private static final Map<StorageMode, TransactionService> instances = new EnumMap<>(StorageMode.class);
+    private static final int INTEREST_CHUNK_SIZE = 100;
+    private static final String CREDIT_INTEREST_DESCRIPTION = "Monthly interest applied.";
+    private static final String SAVINGS_INTEREST_DESCRIPTION = "Annual interest applied";
 
     private final ITransactionRepository transactionRepository;
     private final AccountService accountService;
     private final NotificationService notificationService;
     private final StorageMode storageMode;
+    private final IdempotencyStore idempotencyStore;
+    private final BalanceProjectionService balanceProjectionService;
+    private final FraudDetector fraudDetector;
+    private final AccountActivityTracker activityTracker;
+    private final DailyAggregateService dailyAggregateService;
+    private final BalanceCheckpointService balanceCheckpointService;
+    private final LedgerVersion ledgerVersion;
+    private final ReportCache reportCache;
+    private final CurrencyExchangeService exchangeService;
+    private final Map<String, KeyLock> inFlightKeys = new ConcurrentHashMap<>();
 
     private TransactionService(StorageMode storageMode) {
         this.storageMode = storageMode;
@@ -36,6 +74,16 @@ public class TransactionService implements ITransactionService {
         var factory = RepositoryFactory.getInstance(storageMode);
         this.transactionRepository = factory.getTransactionRepository();
         this.accountService = AccountService.getInstance(storageMode);
+        this.idempotencyStore = IdempotencyStore.getInstance();
+        this.balanceProjectionService = BalanceProjectionService.getInstance(storageMode);
+        this.fraudDetector = FraudDetector.getInstance(storageMode);
+        this.fraudDetector.addAlertListener(this::notifyFraudAlert);
+        this.activityTracker = AccountActivityTracker.getInstance(storageMode);
+        this.dailyAggregateService = DailyAggregateService.getInstance(storageMode);
+        this.balanceCheckpointService = BalanceCheckpointService.getInstance(storageMode);
+        this.ledgerVersion = LedgerVersion.getInstance(storageMode);
+        this.reportCache = ReportCache.getInstance(storageMode);
+        this.exchangeService = CurrencyExchangeService.getInstance();
     }
 
     public static synchronized TransactionService getInstance(StorageMode storageMode) {
@@ -87,6 +135,25 @@ public class TransactionService implements ITransactionService {
         }
     }
 
+    @Override
+    public TransactionList getTransactionsPage(String accountId, PageQuery<TransactionSortField> query) {
+        validateNotNull(query, "Page query");
+        try {
+            return transactionRepository.getTransactionsPage(accountId, query);
+        } catch (TransactionRepositoryException e) {
+            throw new ServiceException("Failed to retrieve page of transactions for account: " + accountId, e);
+        }
+    }
+
+    @Override
+    public int countTransactions(String accountId, String filter) {
+        try {
+            return transactionRepository.countTransactions(accountId, PageQuery.normalizeFilter(filter));
+        } catch (TransactionRepositoryException e) {
+            throw new ServiceException("Failed to count transactions for account: " + accountId, e);
+        }
+    }
+
     @Override
     public TransactionList getTransactionsByCustomerAndDateRange(String customerID, LocalDate start, LocalDate end) {
         try {
@@ -99,8 +166,8 @@ public class TransactionService implements ITransactionService {
     @Override
     public BigDecimal getBalanceBeforeDate(String customerID, LocalDate start) {
         try {
-            return transactionRepository.getBalanceBeforeDate(customerID, start);
-        } catch (TransactionRepositoryException e) {
+            return balanceCheckpointService.getCustomerBalanceBefore(customerID, start);
+        } catch (RuntimeException e) {
             throw new ServiceException("Failed to retrieve balance for customer: " + customerID + " before date: " + start, e);
         }
     }
@@ -111,9 +178,14 @@ public class TransactionService implements ITransactionService {
 
         Account source = transaction.getSourceAccount();
         Account destination = transaction.getDestinationAccount();
-        BigDecimal amount = transaction.getAmount();
+        Money amount = Money.of(transaction.getAmount());
         TransactionType type = transaction.getTransactionType();
 
+        if (type == TransactionType.TRANSFER && isCrossCurrency(source, destination)) {
+            executeCurrencyTransfer(transaction);
+            return;
+        }
+
         switch (type) {
             case DEPOSIT -> {
                 validateNotNull(destination, "Destination account");
@@ -123,8 +195,7 @@ public class TransactionService implements ITransactionService {
             }
             case WITHDRAWAL -> {
                 validateNotNull(source, "Source account");
-                validateCreditLimit(source, amount);
-                validateSufficientFunds(source, amount);
+                validateFunds(source, amount);
                 adjustBalance(source, amount.negate());
                 source.addTransaction(transaction);
                 applyTransactionFeeIfRequired(source);
@@ -133,8 +204,7 @@ public class TransactionService implements ITransactionService {
             case TRANSFER -> {
                 validateNotNull(source, "Source account");
                 validateNotNull(destination, "Destination account");
-                validateCreditLimit(source, amount);
-                validateSufficientFunds(source, amount);
+                validateFunds(source, amount);
                 adjustBalance(source, amount.negate());
                 adjustBalance(destination, amount);
                 source.addTransaction(transaction);
@@ -145,7 +215,7 @@ public class TransactionService implements ITransactionService {
             }
             case FEE -> {
                 validateNotNull(source, "Source account");
-                validateSufficientFunds(source, amount);
+                validateFunds(source, amount);
                 adjustBalance(source, amount.negate());
                 source.addTransaction(transaction);
                 accountService.updateAccount(source);
@@ -158,21 +228,150 @@ public class TransactionService implements ITransactionService {
         } catch (TransactionRepositoryException e) {
             throw new RuntimeException(e);
         }
+        onCommitted(transaction);
+    }
+
+    @Override
+    public TransactionResult executeTransaction(Transaction transaction, String idempotencyKey) {
+        ValidationUtils.validateString(idempotencyKey, "Idempotency key");
+
+        // The lock stays in the map while any caller holds or waits for it, so every caller with the same
+        // key runs the check-execute-record sequence on the same lock, one after the other.
+        KeyLock lock = inFlightKeys.compute(idempotencyKey, (k, existing) -> {
+            KeyLock keyLock = existing != null ? existing : new KeyLock();
+            keyLock.holders++;
+            return keyLock;
+        });
+        try {
+            synchronized (lock) {
+                TransactionResult previous = idempotencyStore.get(idempotencyKey);
+                if (previous != null) {
+                    LOGGER.log(Level.INFO, "Duplicate submission ignored for idempotency key: {0}", idempotencyKey);
+                    return previous;
+                }
+                executeTransaction(transaction);
+                // Only successes are recorded so a corrected retry of a rejected submission can still go through.
+                TransactionResult result = TransactionResult.success(transaction);
+                try {
+                    idempotencyStore.put(idempotencyKey, result);
+                } catch (IOException e) {
+                    // The transaction is committed, but a retry would not be recognised, so it must not be acknowledged.
+                    LOGGER.log(Level.SEVERE, "Error recording idempotency key: {0}", idempotencyKey);
+                    throw new ServiceException("Transaction " + transaction.getTransactionNumber()
+                            + " was committed but its idempotency key could not be recorded", e);
+                }
+                return result;
+            }
+        } finally {
+            inFlightKeys.computeIfPresent(idempotencyKey, (k, keyLock) -> --keyLock.holders == 0 ? null : keyLock);
+        }
+    }
+
+    @Override
+    public List<TransactionResult> executeTransactions(List<Transaction> transactions) {
+        ValidationUtils.validateNotNull(transactions, "Transactions");
+
+        List<TransactionResult> results = new ArrayList<>(transactions.size());
+        Map<String, Account> accounts = new HashMap<>();
+        Map<String, BigDecimal> originalBalances = new LinkedHashMap<>();
+        // Working balances are kept in minor units and only written back to the accounts before persisting.
+        Map<String, Money> balances = new HashMap<>();
+        Map<String, Long> monthlyDebitCounts = new HashMap<>();
+        TransactionList pending = new TransactionList();
+
+        for (Transaction transaction : transactions) {
+            try {
+                ValidationUtils.validateNotNull(transaction, "Transaction");
+                ValidationUtils.validateAmount(transaction.getAmount());
+
+                // All items touching the same account must see each other's balance changes.
+                Account source = resolveBatchAccount(transaction.getSourceAccount(), accounts);
+                Account destination = resolveBatchAccount(transaction.getDestinationAccount(), accounts);
+                Money amount = Money.of(transaction.getAmount());
+                TransactionType type = transaction.getTransactionType();
+                Money fee = null;
+
+                switch (type) {
+                    case DEPOSIT -> validateNotNull(destination, "Destination account");
+                    case WITHDRAWAL, TRANSFER -> {
+                        validateNotNull(source, "Source account");
+                        if (type == TransactionType.TRANSFER) {
+                            validateNotNull(destination, "Destination account");
+                            if (isCrossCurrency(source, destination)) {
+                                throw new InvalidTransactionException("Transfers between currencies cannot be batched.");
+                            }
+                        }
+                        validateFunds(source, balanceOf(source, balances), amount);
+                        fee = batchTransactionFeeFor(source, monthlyDebitCounts);
+                        if (fee != null) validateFunds(source, balanceOf(source, balances), amount.plus(fee));
+                    }
+                    case FEE -> {
+                        validateNotNull(source, "Source account");
+                        validateFunds(source, balanceOf(source, balances), amount);
+                    }
+                    default -> throw new InvalidTransactionException("Unsupported transaction type.");
+                }
+
+                if (source != null && type != TransactionType.DEPOSIT) {
+                    originalBalances.putIfAbsent(source.getAccountNumber(), source.getAvailableBalance());
+                    balances.put(source.getAccountNumber(), balanceOf(source, balances).minus(amount));
+                    source.addTransaction(transaction);
+                    transaction.setSourceAccount(source);
+                }
+                if (destination != null && (type == TransactionType.DEPOSIT || type == TransactionType.TRANSFER)) {
+                    originalBalances.putIfAbsent(destination.getAccountNumber(), destination.getAvailableBalance());
+                    balances.put(destination.getAccountNumber(), balanceOf(destination, balances).plus(amount));
+                    destination.addTransaction(transaction);
+                    transaction.setDestinationAccount(destination);
+                }
+                pending.add(transaction);
+
+                if (type == TransactionType.WITHDRAWAL || type == TransactionType.TRANSFER) {
+                    monthlyDebitCounts.merge(source.getAccountNumber(), 1L, Long::sum);
+                }
+                if (fee != null) {
+                    Transaction feeTx = TransactionFactory.createTransaction(TransactionType.FEE,
+                            "Transaction fee after " + CheckingAccount.FREE_TRANSACTION_LIMIT + " free transactions.",
+                            new Date(), fee.toBigDecimal(), source, null);
+                    balances.put(source.getAccountNumber(), balanceOf(source, balances).minus(fee));
+                    source.addTransaction(feeTx);
+                    pending.add(feeTx);
+                }
+                results.add(TransactionResult.success(transaction));
+            } catch (RuntimeException e) {
+                results.add(TransactionResult.failure(transaction, e.getMessage()));
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return results;
+        }
+
+        AccountList changedAccounts = originalBalances.keySet().stream()
+                .map(accounts::get)
+                .collect(Collectors.toCollection(AccountList::new));
+        changedAccounts.forEach(account -> account.setBalance(balances.get(account.getAccountNumber())));
+        try {
+            accountService.updateAccounts(changedAccounts);
+            transactionRepository.insertTransactions(pending);
+            onCommitted(pending);
+        } catch (TransactionRepositoryException | RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Error persisting transaction batch: {0}", e.getMessage());
+            rollbackBatch(changedAccounts, originalBalances, pending);
+            String message = "Failed to persist transaction batch: " + e.getMessage();
+            results.replaceAll(r -> r.isSuccessful() ? TransactionResult.failure(r.getTransaction(), message) : r);
+        }
+        return results;
     }
 
     public void applyInterestToCreditAccount(CreditAccount account) {
         BigDecimal rate = account.getInterestRate();
         if (rate == null || rate.compareTo(BigDecimal.ZERO) <= 0) return;
 
-        BigDecimal interest = account.getAvailableBalance().multiply(rate);
-        if (interest.compareTo(BigDecimal.ZERO) > 0) {
-            applyFee(account, interest, "Monthly interest applied.");
-            notificationService.sendNotification(
-                    account.getCustomer(), NotificationType.INFO,
-                    "Monthly Interest Charged",
-                    String.format("An interest charge of $%.2f has been applied to your credit account (%s).",
-                            interest, account.getAccountNumber()),
-                    account.getCustomer(), account);
+        Money interest = interestFor(account.getBalance(), rate);
+        if (interest.signum() > 0) {
+            applyFee(account, interest, CREDIT_INTEREST_DESCRIPTION);
+            notifyCreditInterest(account, interest);
         }
     }
 
@@ -180,10 +379,10 @@ public class TransactionService implements ITransactionService {
         BigDecimal rate = account.getAnnualInterestRate();
         if (rate == null || rate.compareTo(BigDecimal.ZERO) <= 0) return;
 
-        BigDecimal interest = account.getAvailableBalance().multiply(rate);
-        if (interest.compareTo(BigDecimal.ZERO) > 0) {
+        Money interest = interestFor(account.getBalance(), rate);
+        if (interest.signum() > 0) {
             Transaction tx = TransactionFactory.createTransaction(
-                    TransactionType.DEPOSIT, "Annual interest applied", new Date(), interest, null, account);
+                    TransactionType.DEPOSIT, SAVINGS_INTEREST_DESCRIPTION, new Date(), interest.toBigDecimal(), null, account);
 
             adjustBalance(account, interest);
             account.addTransaction(tx);
@@ -192,13 +391,9 @@ public class TransactionService implements ITransactionService {
             } catch (TransactionRepositoryException e) {
                 throw new RuntimeException(e);
             }
+            onCommitted(tx);
             accountService.updateAccount(account);
-            notificationService.sendNotification(
-                    account.getCustomer(), NotificationType.INFO,
-                    "Annual Interest Credited",
-                    String.format("An interest of $%.2f has been credited to your savings account (%s).",
-                            interest, account.getAccountNumber()),
-                    account.getCustomer(), account);
+            notifySavingsInterest(account, interest);
         }
     }
 
@@ -225,97 +420,110 @@ public class TransactionService implements ITransactionService {
         }
     }
 
-    public void applyMonthlyInterestToAllCreditAccounts() {
-        var customerRepo = RepositoryFactory.getInstance(storageMode).getCustomerRepository();
-        for (var customer : customerRepo.getAllCustomers()) {
-            for (var account : accountService.getAccountsByCustomerId(customer.getUserId())) {
-                if (account instanceof CreditAccount creditAccount && creditAccount.isEligibleForInterestCalculation()) {
-                    applyInterestToCreditAccount(creditAccount);
-                    creditAccount.setLastInterestApplied(LocalDate.now());
-                    accountService.updateAccount(creditAccount);
-                }
-            }
-        }
+    /**
+     * Charges monthly interest on every eligible credit account.
+     * Accounts are processed in parallel chunks, each committed with one batched write,
+     * and an interrupted run resumes from the last committed chunk of the month.
+     *
+     * @return the summary of the run
+     */
+    public BatchRunResult applyMonthlyInterestToAllCreditAccounts() {
+        Map<String, Account> accounts = loadAccountsByNumber();
+        return new ChunkedBatchRunner("credit-interest-" + storageMode, INTEREST_CHUNK_SIZE).run(
+                YearMonth.now().toString(),
+                () -> eligibleAccountNumbers(accounts, a -> a instanceof CreditAccount c && c.isEligibleForInterestCalculation()),
+                chunk -> applyInterestChunk(chunk, accounts));
     }
 
-    public void applyAnnualInterestToAllSavingsAccounts() {
-        var customerRepo = RepositoryFactory.getInstance(storageMode).getCustomerRepository();
-        for (var customer : customerRepo.getAllCustomers()) {
-            for (var account : accountService.getAccountsByCustomerId(customer.getUserId())) {
-                if (account instanceof SavingsAccount savingsAccount && savingsAccount.isEligibleForInterestCalculation()) {
-                    applyAnnualInterestToSavingsAccount(savingsAccount);
-                    savingsAccount.setLastInterestApplied(LocalDate.now());
-                    accountService.updateAccount(savingsAccount);
-                }
-            }
-        }
+    /**
+     * Credits annual interest to every eligible savings account.
+     * Accounts are processed in parallel chunks, each committed with one batched write,
+     * and an interrupted run resumes from the last committed chunk of the year.
+     *
+     * @return the summary of the run
+     */
+    public BatchRunResult applyAnnualInterestToAllSavingsAccounts() {
+        Map<String, Account> accounts = loadAccountsByNumber();
+        return new ChunkedBatchRunner("savings-interest-" + storageMode, INTEREST_CHUNK_SIZE).run(
+                String.valueOf(Year.now().getValue()),
+                () -> eligibleAccountNumbers(accounts, a -> a instanceof SavingsAccount s && s.isEligibleForInterestCalculation()),
+                chunk -> applyInterestChunk(chunk, accounts));
     }
 
-    public void scanForSuspiciousActivity() {
-        var customerRepo = RepositoryFactory.getInstance(storageMode).getCustomerRepository();
-        BigDecimal suspiciousAmount = new BigDecimal("5000");
-
-        for (var customer : customerRepo.getAllCustomers()) {
-            for (var account : accountService.getAccountsByCustomerId(customer.getUserId())) {
-                TransactionList transactions;
-                try {
-                    transactions = transactionRepository.getTransactionsByAccount(account.getAccountNumber());
-                } catch (TransactionRepositoryException e) {
-                    throw new ServiceException("Failed to retrieve transactions for account: " + account.getAccountNumber(), e);
-                }
-
-                for (Transaction tx : transactions) {
-                    if ((tx.getTransactionType() == TransactionType.WITHDRAWAL ||
-                            tx.getTransactionType() == TransactionType.TRANSFER)
-                            && tx.getAmount().compareTo(suspiciousAmount) >= 0) {
-
-                        notificationService.sendNotification(
-                                customer, NotificationType.SECURITY_ALERT,
-                                "Unusual Transaction Detected",
-                                String.format("A high-value %s of $%s occurred on account %s",
-                                        tx.getTransactionType().name().toLowerCase(), tx.getAmount(), account.getAccountNumber()),
-                                customer, account);
-                        break;
-                    }
-                }
+    private void validateNotNull(Object obj, String fieldName) {
+        if (obj == null) throw new InvalidTransactionException(fieldName + " cannot be null.");
+    }
 
-                long recentCount = transactions.stream()
-                        .filter(t -> t.getTransactionDate().after(new Date(System.currentTimeMillis() - 60000)))
-                        .count();
-
-                if (recentCount > 10) {
-                    notificationService.sendNotification(
-                            customer, NotificationType.SECURITY_ALERT,
-                            "Suspicious Activity",
-                            String.format("More than 10 transactions were made on account %s within a minute.",
-                                    account.getAccountNumber()),
-                            customer, account);
-                }
-            }
-        }
+    private void validateFunds(Account account, Money amount) {
+        validateFunds(account, account.getBalance(), amount);
     }
 
-    private void validateNotNull(Object obj, String fieldName) {
-        if (obj == null) throw new InvalidTransactionException(fieldName + " cannot be null.");
+    private boolean isCrossCurrency(Account source, Account destination) {
+        return source != null && destination != null
+                && !exchangeService.currencyOf(source).equals(exchangeService.currencyOf(destination));
     }
 
-    private void validateSufficientFunds(Account account, BigDecimal amount) {
-        if (!account.hasSufficientFunds(amount)) {
-            throw new InvalidTransactionException("Insufficient funds in account: " + account.getAccountNumber());
+    /**
+     * Transfers between accounts held in different currencies. The source is debited the amount in its own
+     * currency and the destination credited the amount converted at the current rate. The two sides are
+     * recorded as a withdrawal and a deposit, each in the currency of its account, sharing one reference so
+     * they can be paired again. The legs, and the transaction fee if one is due, are stored together; if
+     * storing them fails, both balances are restored as for a failed batch.
+     */
+    private void executeCurrencyTransfer(Transaction transaction) {
+        Account source = transaction.getSourceAccount();
+        Account destination = transaction.getDestinationAccount();
+        Money amount = Money.of(transaction.getAmount());
+        String fromCurrency = exchangeService.currencyOf(source);
+        String toCurrency = exchangeService.currencyOf(destination);
+        Money converted = Money.rounded(exchangeService.convert(amount.toBigDecimal(), fromCurrency, toCurrency));
+        if (converted.signum() <= 0) {
+            throw new InvalidTransactionException("Amount is too small to convert from " + fromCurrency + " to " + toCurrency + ".");
         }
-    }
 
-    private void validateCreditLimit(Account account, BigDecimal withdrawalAmount) {
-        if (account instanceof CreditAccount creditAccount) {
-            BigDecimal totalAvailable = creditAccount.getAvailableBalance().add(creditAccount.getCreditLimit());
-            if (totalAvailable.compareTo(withdrawalAmount) < 0) {
-                throw new InvalidTransactionException("Withdrawal exceeds credit limit.");
-            }
+        Money fee = batchTransactionFeeFor(source, new HashMap<>());
+        validateFunds(source, fee != null ? amount.plus(fee) : amount);
+
+        String description = transaction.getDescription() + " (" + amount + " " + fromCurrency + " = " + converted + " " + toCurrency + ")";
+        String reference = IdGenerator.generateId();
+        TransactionList legs = new TransactionList();
+        legs.add(TransactionFactory.createTransaction(TransactionType.WITHDRAWAL, description,
+                transaction.getTransactionDate(), amount.toBigDecimal(), source, null));
+        legs.add(TransactionFactory.createTransaction(TransactionType.DEPOSIT, description,
+                transaction.getTransactionDate(), converted.toBigDecimal(), null, destination));
+        legs.forEach(leg -> leg.setReference(reference));
+        transaction.setReference(reference);
+
+        AccountList changedAccounts = new AccountList(List.of(source, destination));
+        Map<String, BigDecimal> originalBalances = new HashMap<>();
+        changedAccounts.forEach(account -> originalBalances.put(account.getAccountNumber(), account.getAvailableBalance()));
+
+        adjustBalance(source, amount.negate());
+        adjustBalance(destination, converted);
+        source.addTransaction(legs.get(0));
+        destination.addTransaction(legs.get(1));
+        if (fee != null) {
+            Transaction feeTx = TransactionFactory.createTransaction(TransactionType.FEE,
+                    "Transaction fee after " + CheckingAccount.FREE_TRANSACTION_LIMIT + " free transactions.",
+                    new Date(), fee.toBigDecimal(), source, null);
+            adjustBalance(source, fee.negate());
+            source.addTransaction(feeTx);
+            legs.add(feeTx);
         }
+
+        try {
+            accountService.updateAccounts(changedAccounts);
+            transactionRepository.insertTransactions(legs);
+        } catch (TransactionRepositoryException | RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Error persisting currency transfer {0}: {1}", new Object[]{reference, e.getMessage()});
+            rollbackBatch(changedAccounts, originalBalances, legs);
+            throw new ServiceException("Failed to persist currency transfer " + reference, e);
+        }
+        onCommitted(legs);
     }
 
-    private void adjustBalance(Account account, BigDecimal delta) {
-        account.setAvailableBalance(account.getAvailableBalance().add(delta));
+    private void adjustBalance(Account account, Money delta) {
+        account.setBalance(account.getBalance().plus(delta));
     }
 
     private void applyTransactionFeeIfRequired(Account account) {
@@ -328,7 +536,7 @@ public class TransactionService implements ITransactionService {
                     .size();
 
             if (count >= CheckingAccount.FREE_TRANSACTION_LIMIT) {
-                applyFee(account, CheckingAccount.TRANSACTION_FEE,
+                applyFee(account, Money.of(CheckingAccount.TRANSACTION_FEE),
                         "Transaction fee after " + CheckingAccount.FREE_TRANSACTION_LIMIT + " free transactions.");
             }
         } catch (TransactionRepositoryException e) {
@@ -336,11 +544,220 @@ public class TransactionService implements ITransactionService {
         }
     }
 
-    private void applyFee(Account account, BigDecimal feeAmount, String description) {
-        validateSufficientFunds(account, feeAmount);
+    private Map<String, Account> loadAccountsByNumber() {
+        return accountService.getAllAccounts().stream()
+                .collect(Collectors.toMap(Account::getAccountNumber, a -> a, (a, b) -> a));
+    }
+
+    private List<String> eligibleAccountNumbers(Map<String, Account> accounts, Predicate<Account> eligible) {
+        return accounts.values().stream()
+                .filter(eligible)
+                .map(Account::getAccountNumber)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Applies interest to the accounts of one chunk and commits them together.
+     * Accounts that are no longer eligible, e.g. because a resumed chunk was partly applied, are skipped.
+     */
+    private void applyInterestChunk(List<String> accountNumbers, Map<String, Account> accounts) {
+        AccountList changedAccounts = new AccountList();
+        TransactionList interestTransactions = new TransactionList();
+        Map<Account, Money> applied = new LinkedHashMap<>();
+        Map<String, BigDecimal> originalBalances = new HashMap<>();
+        Map<InterestBearingAccount, LocalDate> originalInterestDates = new LinkedHashMap<>();
+
+        for (String accountNumber : accountNumbers) {
+            Account account = accounts.get(accountNumber);
+            if (account instanceof InterestBearingAccount interestBearing && interestBearing.isEligibleForInterestCalculation()) {
+                originalBalances.put(accountNumber, account.getAvailableBalance());
+                originalInterestDates.put(interestBearing, interestBearing.getLastInterestApplied());
+            }
+            if (account instanceof CreditAccount credit && credit.isEligibleForInterestCalculation()) {
+                Money interest = interestFor(credit.getBalance(), credit.getInterestRate());
+                if (interest.signum() > 0) {
+                    if (!credit.getBalance().isAtLeast(interest)) {
+                        LOGGER.log(Level.WARNING, "Skipping interest for account {0}: insufficient funds.", accountNumber);
+                        continue;
+                    }
+                    Transaction tx = TransactionFactory.createTransaction(
+                            TransactionType.FEE, CREDIT_INTEREST_DESCRIPTION, new Date(), interest.toBigDecimal(), credit, null);
+                    adjustBalance(credit, interest.negate());
+                    credit.addTransaction(tx);
+                    interestTransactions.add(tx);
+                    applied.put(credit, interest);
+                }
+                credit.setLastInterestApplied(LocalDate.now());
+                changedAccounts.add(credit);
+            } else if (account instanceof SavingsAccount savings && savings.isEligibleForInterestCalculation()) {
+                Money interest = interestFor(savings.getBalance(), savings.getAnnualInterestRate());
+                if (interest.signum() > 0) {
+                    Transaction tx = TransactionFactory.createTransaction(
+                            TransactionType.DEPOSIT, SAVINGS_INTEREST_DESCRIPTION, new Date(), interest.toBigDecimal(), null, savings);
+                    adjustBalance(savings, interest);
+                    savings.addTransaction(tx);
+                    interestTransactions.add(tx);
+                    applied.put(savings, interest);
+                }
+                savings.setLastInterestApplied(LocalDate.now());
+                changedAccounts.add(savings);
+            }
+        }
+
+        if (changedAccounts.isEmpty()) return;
+        try {
+            accountService.updateAccounts(changedAccounts);
+            transactionRepository.insertTransactions(interestTransactions);
+        } catch (TransactionRepositoryException | RuntimeException e) {
+            // The interest dates are restored with the balances, so the retried chunk applies the interest again.
+            LOGGER.log(Level.SEVERE, "Error committing interest chunk: {0}", e.getMessage());
+            originalInterestDates.forEach(InterestBearingAccount::setLastInterestApplied);
+            rollbackBatch(changedAccounts, originalBalances, interestTransactions);
+            throw new ServiceException("Failed to commit interest chunk", e);
+        }
+        onCommitted(interestTransactions);
+        applied.forEach((account, interest) -> {
+            if (account instanceof CreditAccount) notifyCreditInterest(account, interest);
+            else notifySavingsInterest(account, interest);
+        });
+    }
+
+    private Money interestFor(Money balance, BigDecimal rate) {
+        if (rate == null || rate.signum() <= 0) return Money.ZERO;
+        return balance.multiply(rate);
+    }
+
+    private void notifyCreditInterest(Account account, Money interest) {
+        notificationService.sendNotification(
+                account.getCustomer(), NotificationType.INFO,
+                "Monthly Interest Charged",
+                String.format("An interest charge of $%.2f has been applied to your credit account (%s).",
+                        interest.toBigDecimal(), account.getAccountNumber()),
+                account.getCustomer(), account);
+    }
+
+    private void notifySavingsInterest(Account account, Money interest) {
+        notificationService.sendNotification(
+                account.getCustomer(), NotificationType.INFO,
+                "Annual Interest Credited",
+                String.format("An interest of $%.2f has been credited to your savings account (%s).",
+                        interest.toBigDecimal(), account.getAccountNumber()),
+                account.getCustomer(), account);
+    }
+
+    /**
+     * Propagates a persisted transaction to the components that track the ledger incrementally.
+     */
+    private void onCommitted(Transaction transaction) {
+        onCommitted(List.of(transaction));
+    }
+
+    /**
+     * Propagates persisted transactions to the components that track the ledger incrementally.
+     * The daily aggregates of a batch are updated with a single write.
+     */
+    private void onCommitted(List<Transaction> transactions) {
+        try {
+            dailyAggregateService.recordTransactions(transactions);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Error updating daily aggregates: {0}", e.getMessage());
+        }
+        ledgerVersion.advance();
+        invalidateClosedStatements(transactions);
+        for (Transaction transaction : transactions) {
+            try {
+                balanceProjectionService.recordTransaction(transaction);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Error updating balance projection: {0}", e.getMessage());
+            }
+            activityTracker.recordActivity(transaction);
+            try {
+                fraudDetector.onTransaction(transaction);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Error running fraud detection: {0}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drops the cached statements a backdated transaction changes: those of its month and of every later month.
+     */
+    private void invalidateClosedStatements(List<Transaction> transactions) {
+        YearMonth current = YearMonth.now();
+        transactions.stream()
+                .map(t -> YearMonth.from(t.getTransactionDate().toInstant().atZone(ZoneId.systemDefault())))
+                .filter(month -> month.isBefore(current))
+                .min(Comparator.naturalOrder())
+                .ifPresent(reportCache::invalidateStatementsFrom);
+    }
+
+    private void notifyFraudAlert(FraudAlert alert) {
+        Transaction tx = alert.getTransaction();
+        Account account = alert.getAccountNumber().equals(tx.getSourceAccountNumber())
+                ? tx.getSourceAccount()
+                : tx.getDestinationAccount();
+        if (account == null || account.getCustomer() == null) return;
+        String title = alert.getRuleName().equals("large-transaction") ? "Unusual Transaction Detected" : "Suspicious Activity";
+        notificationService.sendNotification(
+                account.getCustomer(), NotificationType.SECURITY_ALERT, title, alert.getMessage(),
+                account.getCustomer(), account);
+    }
+
+    private Account resolveBatchAccount(Account account, Map<String, Account> accounts) {
+        if (account == null) return null;
+        return accounts.computeIfAbsent(account.getAccountNumber(), k -> account);
+    }
+
+    private Money balanceOf(Account account, Map<String, Money> balances) {
+        return balances.computeIfAbsent(account.getAccountNumber(), k -> account.getBalance());
+    }
+
+    private void validateFunds(Account account, Money balance, Money amount) {
+        if (account instanceof CreditAccount creditAccount
+                && !balance.plus(Money.of(creditAccount.getCreditLimit())).isAtLeast(amount)) {
+            throw new InvalidTransactionException("Withdrawal exceeds credit limit.");
+        }
+        if (!balance.isAtLeast(amount)) {
+            throw new InvalidTransactionException("Insufficient funds in account: " + account.getAccountNumber());
+        }
+    }
+
+    private Money batchTransactionFeeFor(Account account, Map<String, Long> monthlyDebitCounts) {
+        if (account.getAccountType() != AccountType.CHECKING) return null;
+
+        long count = monthlyDebitCounts.computeIfAbsent(account.getAccountNumber(), accountNumber -> {
+            try {
+                return (long) transactionRepository.getTransactionsByAccount(accountNumber)
+                        .filterByMonth(LocalDate.now())
+                        .filterByTypes(TransactionType.WITHDRAWAL, TransactionType.TRANSFER)
+                        .size();
+            } catch (TransactionRepositoryException e) {
+                throw new ServiceException("Failed to apply transaction fee", e);
+            }
+        });
+        return count >= CheckingAccount.FREE_TRANSACTION_LIMIT ? Money.of(CheckingAccount.TRANSACTION_FEE) : null;
+    }
+
+    private void rollbackBatch(AccountList changedAccounts, Map<String, BigDecimal> originalBalances, TransactionList pending) {
+        for (Account account : changedAccounts) {
+            account.setAvailableBalance(originalBalances.get(account.getAccountNumber()));
+            if (account.getTransactions() != null) {
+                account.getTransactions().removeAll(pending);
+            }
+        }
+        try {
+            accountService.updateAccounts(changedAccounts);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Error restoring balances after failed batch: {0}", e.getMessage());
+        }
+    }
+
+    private void applyFee(Account account, Money feeAmount, String description) {
+        validateFunds(account, feeAmount);
 
         Transaction feeTx = TransactionFactory.createTransaction(
-                TransactionType.FEE, description, new Date(), feeAmount, account, null);
+                TransactionType.FEE, description, new Date(), feeAmount.toBigDecimal(), account, null);
 
         adjustBalance(account, feeAmount.negate());
         account.addTransaction(feeTx);
@@ -349,6 +766,15 @@ public class TransactionService implements ITransactionService {
         } catch (TransactionRepositoryException e) {
             throw new ServiceException("Failed to insert transaction fee", e);
         }
+        onCommitted(feeTx);
         accountService.updateAccount(account);
     }
+
+    /**
+     * The lock of an idempotency key and the number of callers holding or waiting for it. The count is
+     * only changed inside {@code inFlightKeys.compute}, which runs atomically per key.
+     */
+    private static class KeyLock {
+        private int holders;
+    }
 }
@@ -1,11 +1,15 @@
 package com.fortisbank.business.services.users.customer;
 
  import com.fortisbank.business.services.account.AccountService;
+ import com.fortisbank.business.services.report.LedgerVersion;
+ import com.fortisbank.business.services.report.ReportCache;
  import com.fortisbank.data.interfaces.ICustomerRepository;
  import com.fortisbank.data.dal_utils.RepositoryFactory;
  import com.fortisbank.data.dal_utils.StorageMode;
  import com.fortisbank.contracts.collections.AccountList;
  import com.fortisbank.contracts.collections.CustomerList;
+ import com.fortisbank.contracts.models.others.CustomerSortField;
+ import com.fortisbank.contracts.models.others.PageQuery;
  import com.fortisbank.contracts.models.users.Customer;
  import com.fortisbank.business.bll_utils.SecurityUtils;
 
@@ -21,11 +25,15 @@ package com.fortisbank.business.services.users.customer;
 
      private final ICustomerRepository customerRepository;
      private final AccountService accountService;
+     private final LedgerVersion ledgerVersion;
+     private final ReportCache reportCache;
 
      private CustomerService(StorageMode storageMode) {
          RepositoryFactory repoFactory = RepositoryFactory.getInstance(storageMode);
          this.customerRepository = repoFactory.getCustomerRepository();
          this.accountService = AccountService.getInstance(storageMode);
+         this.ledgerVersion = LedgerVersion.getInstance(storageMode);
+         this.reportCache = ReportCache.getInstance(storageMode);
      }
 
      public static synchronized CustomerService getInstance(StorageMode storageMode) {
@@ -37,6 +45,7 @@ package com.fortisbank.business.services.users.customer;
          validateNotNull(customer, "Customer");
          try {
              customerRepository.insertCustomer(customer);
+             ledgerVersion.advance();
              LOGGER.log(Level.INFO, "Customer created successfully: {0}", customer.getUserId());
          } catch (Exception e) {
              LOGGER.log(Level.SEVERE, "Error creating customer: {0}", e.getMessage());
@@ -49,6 +58,9 @@ package com.fortisbank.business.services.users.customer;
          validateNotNull(customer, "Customer");
          try {
              customerRepository.updateCustomer(customer);
+             ledgerVersion.advance();
+             // Statements of past months show the customer's details too
+             reportCache.invalidateStatementsOf(customer.getUserId());
              LOGGER.log(Level.INFO, "Customer updated successfully: {0}", customer.getUserId());
          } catch (Exception e) {
              LOGGER.log(Level.SEVERE, "Error updating customer: {0}", e.getMessage());
@@ -61,6 +73,7 @@ package com.fortisbank.business.services.users.customer;
          validateNotNull(id, "Customer ID");
          try {
              customerRepository.deleteCustomer(id);
+             ledgerVersion.advance();
              LOGGER.log(Level.INFO, "Customer deleted successfully: {0}", id);
          } catch (Exception e) {
              LOGGER.log(Level.SEVERE, "Error deleting customer with ID: {0}", e.getMessage());
@@ -103,6 +116,27 @@ package com.fortisbank.business.services.users.customer;
          }
      }
 
+     @Override
+     public CustomerList getCustomersPage(PageQuery<CustomerSortField> query) {
+         validateNotNull(query, "Page query");
+         try {
+             return customerRepository.getCustomersPage(query);
+         } catch (Exception e) {
+             LOGGER.log(Level.SEVERE, "Error retrieving page of customers: {0}", e.getMessage());
+             throw new RuntimeException("Failed to retrieve page of customers", e);
+         }
+     }
+
+     @Override
+     public int countCustomers(String filter) {
+         try {
+             return customerRepository.countCustomers(PageQuery.normalizeFilter(filter));
+         } catch (Exception e) {
+             LOGGER.log(Level.SEVERE, "Error counting customers: {0}", e.getMessage());
+             throw new RuntimeException("Failed to count customers", e);
+         }
+     }
+
      public boolean emailExists(String email) {
          validateNotNull(email, "Email");
          try {
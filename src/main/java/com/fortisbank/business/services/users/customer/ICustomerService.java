@@ -1,6 +1,8 @@
 package com.fortisbank.business.services.users.customer;
 
 import com.fortisbank.contracts.collections.CustomerList;
+import com.fortisbank.contracts.models.others.CustomerSortField;
+import com.fortisbank.contracts.models.others.PageQuery;
 import com.fortisbank.contracts.models.users.Customer;
 
 /**
@@ -43,4 +45,21 @@ public interface ICustomerService {
      * @return the list of all customers
      */
     CustomerList getAllCustomers();
+
+    /**
+     * Retrieves one page of customers, filtered and sorted by the repository.
+     * The accounts of the returned customers are not loaded.
+     *
+     * @param query the filter, sort order and page to retrieve
+     * @return the customers of the page
+     */
+    CustomerList getCustomersPage(PageQuery<CustomerSortField> query);
+
+    /**
+     * Returns the number of customers whose name or email contains the filter.
+     *
+     * @param filter the filter, or null to count all customers
+     * @return the number of matching customers
+     */
+    int countCustomers(String filter);
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.fortisbank.contracts.exceptions;
+
+/**
+ * Custom exception for balance checkpoint repository errors.
+ */
+public class BalanceCheckpointRepositoryException extends Exception {
+
+    /**
+     * Constructs a new BalanceCheckpointRepositoryException with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public BalanceCheckpointRepositoryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.fortisbank.contracts.exceptions;
+
+/**
+ * Custom exception for balance snapshot repository errors.
+ */
+public class BalanceSnapshotRepositoryException extends Exception {
+
+    /**
+     * Constructs a new BalanceSnapshotRepositoryException with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public BalanceSnapshotRepositoryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.fortisbank.contracts.exceptions;
+
+/**
+ * Custom exception for daily aggregate repository errors.
+ */
+public class DailyAggregateRepositoryException extends Exception {
+
+    /**
+     * Constructs a new DailyAggregateRepositoryException with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public DailyAggregateRepositoryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package com.fortisbank.contracts.exceptions;
+
+/**
+ * Custom exception for notification repository errors.
+ */
+public class NotificationRepositoryException extends Exception {
+
+    /**
+     * Constructs a new NotificationRepositoryException with the specified detail message and cause.
+     *
+     * @param message the detail message
+     * @param cause   the cause of the exception
+     */
+    public NotificationRepositoryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
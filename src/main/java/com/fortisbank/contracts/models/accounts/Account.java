@@ -1,10 +1,13 @@
 package com.fortisbank.contracts.models.accounts;
 
 import com.fortisbank.contracts.collections.TransactionList;
+import com.fortisbank.contracts.models.others.Money;
 import com.fortisbank.contracts.models.transactions.Transaction;
 import com.fortisbank.contracts.models.users.Customer;
 import com.fortisbank.contracts.utils.IdGenerator;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serial;
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -43,6 +46,12 @@ public abstract class Account implements Serializable {
      */
     protected BigDecimal availableBalance;
 
+    /**
+     * Available balance in minor units, kept while the balance is changed on the posting path.
+     * When set, {@link #availableBalance} is only brought up to date once it is read.
+     */
+    private transient Money balance;
+
     /**
      * List of transactions associated with the account.
      * Marked as transient to prevent serialization.
@@ -143,9 +152,26 @@ public abstract class Account implements Serializable {
      * @return the available balance
      */
     public BigDecimal getAvailableBalance() {
+        if (availableBalance == null && balance != null) {
+            availableBalance = balance.toBigDecimal();
+        }
         return availableBalance;
     }
 
+    /**
+     * Returns the available balance as minor units for arithmetic on the posting path.
+     * Balances stored with more than two decimals before amounts were kept in minor units are
+     * rounded half-even when they are read; the rounded value is stored with the next posting.
+     *
+     * @return the available balance
+     */
+    public Money getBalance() {
+        if (balance == null) {
+            balance = Money.rounded(availableBalance);
+        }
+        return balance;
+    }
+
     /**
      * Returns the list of transactions associated with the account.
      *
@@ -173,6 +199,17 @@ public abstract class Account implements Serializable {
      */
     public void setAvailableBalance(BigDecimal availableBalance) {
         this.availableBalance = availableBalance;
+        this.balance = null;
+    }
+
+    /**
+     * Sets the available balance from minor units without converting it back to a decimal until it is read.
+     *
+     * @param balance the available balance to set
+     */
+    public void setBalance(Money balance) {
+        this.balance = balance;
+        this.availableBalance = null;
     }
 
     /**
@@ -193,7 +230,7 @@ public abstract class Account implements Serializable {
      * @return true if the account has sufficient funds, false otherwise
      */
     public boolean hasSufficientFunds(BigDecimal amount) {
-        return availableBalance.compareTo(amount) >= 0;
+        return getAvailableBalance().compareTo(amount) >= 0;
     }
 
     /**
@@ -226,7 +263,7 @@ public abstract class Account implements Serializable {
                 ", customer=" + (customer != null ? customer.getFullName() : "N/A") +
                 ", accountType=" + accountType +
                 ", openedDate=" + openedDate +
-                ", availableBalance=" + availableBalance +
+                ", availableBalance=" + getAvailableBalance() +
                 ", transactionList=" + transactions +
                 ", isActive=" + isActive +
                 '}';
@@ -269,4 +306,13 @@ public abstract class Account implements Serializable {
     public int hashCode() {
         return accountNumber != null ? accountNumber.hashCode() : 0;
     }
-}
\ No newline at end of file
+
+    /**
+     * Brings the decimal balance up to date before the account is written.
+     */
+    @Serial
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        getAvailableBalance();
+        out.defaultWriteObject();
+    }
+}
@@ -0,0 +1,85 @@
+package com.fortisbank.contracts.models.accounts;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Class representing the balance of an account at the close of a month.
+ * The balance is the signed sum of every transaction of the account before the checkpoint date,
+ * so balances at later dates only need the transactions since the checkpoint.
+ */
+public class BalanceCheckpoint implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of the account.
+     */
+    private final String accountNumber;
+
+    /**
+     * The first day after the closed month; the balance covers all transactions before this day.
+     */
+    private final LocalDate asOf;
+
+    /**
+     * The balance of the account before the checkpoint date.
+     */
+    private final BigDecimal balance;
+
+    /**
+     * Constructor initializing the checkpoint with specified values.
+     *
+     * @param accountNumber the number of the account
+     * @param asOf the first day after the closed month
+     * @param balance the balance of the account before that day
+     */
+    public BalanceCheckpoint(String accountNumber, LocalDate asOf, BigDecimal balance) {
+        this.accountNumber = accountNumber;
+        this.asOf = asOf;
+        this.balance = balance;
+    }
+
+    /**
+     * Returns the number of the account.
+     *
+     * @return the account number
+     */
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    /**
+     * Returns the first day after the closed month.
+     *
+     * @return the checkpoint date
+     */
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    /**
+     * Returns the balance of the account before the checkpoint date.
+     *
+     * @return the balance
+     */
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    /**
+     * Returns a string representation of the checkpoint.
+     *
+     * @return a string representation of the checkpoint
+     */
+    @Override
+    public String toString() {
+        return "BalanceCheckpoint{" +
+                "accountNumber='" + accountNumber + '\'' +
+                ", asOf=" + asOf +
+                ", balance=" + balance +
+                '}';
+    }
+}
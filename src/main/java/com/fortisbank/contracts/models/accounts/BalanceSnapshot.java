@@ -0,0 +1,203 @@
+package com.fortisbank.contracts.models.accounts;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Date;
+
+/**
+ * Point-in-time balance of an account, derived by folding every transaction dated before
+ * {@code coveredBefore} on top of its opening balance.
+ *
+ * The boundary is a whole day because that is the precision the transaction store keeps, so the
+ * transactions still to fold are exactly those dated on or after it, whatever order they were stored in.
+ * The snapshot also carries the running balance including those later transactions, so the current
+ * balance can be read without folding them again.
+ */
+public class BalanceSnapshot implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The account the snapshot belongs to.
+     */
+    private final String accountNumber;
+
+    /**
+     * The balance after folding the transactions dated before {@link #coveredBefore}.
+     */
+    private final BigDecimal balance;
+
+    /**
+     * The number of the account's transactions folded into the balance.
+     */
+    private final long eventCount;
+
+    /**
+     * The first day not folded into the balance, or null if only the opening balance is included.
+     */
+    private final LocalDate coveredBefore;
+
+    /**
+     * The date when the snapshot was taken.
+     */
+    private final Date takenAt;
+
+    /**
+     * The balance including the transactions dated from {@link #coveredBefore} on, or null if it was not recorded.
+     */
+    private final BigDecimal projectedBalance;
+
+    /**
+     * The number of transactions included in {@link #projectedBalance} but not in {@link #balance}.
+     */
+    private final int tailSize;
+
+    /**
+     * Constructor initializing the snapshot with specified values.
+     *
+     * @param accountNumber the account number
+     * @param balance the folded balance
+     * @param eventCount the number of transactions folded into the balance
+     * @param coveredBefore the first day not folded into the balance, or null for an opening balance
+     */
+    public BalanceSnapshot(String accountNumber, BigDecimal balance, long eventCount, LocalDate coveredBefore) {
+        this(accountNumber, balance, eventCount, coveredBefore, null, 0);
+    }
+
+    /**
+     * Constructor initializing the snapshot together with the running balance.
+     *
+     * @param accountNumber the account number
+     * @param balance the folded balance
+     * @param eventCount the number of transactions folded into the balance
+     * @param coveredBefore the first day not folded into the balance, or null for an opening balance
+     * @param projectedBalance the balance including the later transactions, or null if not recorded
+     * @param tailSize the number of later transactions included in the projected balance
+     */
+    public BalanceSnapshot(String accountNumber, BigDecimal balance, long eventCount, LocalDate coveredBefore,
+                           BigDecimal projectedBalance, int tailSize) {
+        this.accountNumber = accountNumber;
+        this.balance = balance;
+        this.eventCount = eventCount;
+        this.coveredBefore = coveredBefore;
+        this.takenAt = new Date();
+        this.projectedBalance = projectedBalance;
+        this.tailSize = tailSize;
+    }
+
+    /**
+     * Returns the account number.
+     *
+     * @return the account number
+     */
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    /**
+     * Returns the folded balance.
+     *
+     * @return the balance
+     */
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    /**
+     * Returns the number of transactions folded into the balance.
+     *
+     * @return the event count
+     */
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Returns the first day not folded into the balance.
+     *
+     * @return the boundary day, or null if only the opening balance is included
+     */
+    public LocalDate getCoveredBefore() {
+        return coveredBefore;
+    }
+
+    /**
+     * Returns whether a transaction dated on the given day is already folded into the balance.
+     *
+     * @param day the day of the transaction
+     * @return true if the day is before the boundary
+     */
+    public boolean covers(LocalDate day) {
+        return coveredBefore != null && day.isBefore(coveredBefore);
+    }
+
+    /**
+     * Returns the date when the snapshot was taken.
+     *
+     * @return the snapshot date
+     */
+    public Date getTakenAt() {
+        return takenAt;
+    }
+
+    /**
+     * Returns the balance including the transactions dated from the boundary on.
+     *
+     * @return the projected balance, or null if it was not recorded
+     */
+    public BigDecimal getProjectedBalance() {
+        return projectedBalance;
+    }
+
+    /**
+     * Returns the number of transactions included in the projected balance but not in the folded balance.
+     *
+     * @return the tail size
+     */
+    public int getTailSize() {
+        return tailSize;
+    }
+
+    /**
+     * Returns a copy of this snapshot carrying the given running balance.
+     *
+     * @param projectedBalance the balance including the transactions dated from the boundary on
+     * @param tailSize the number of those transactions
+     * @return the snapshot with the running balance
+     */
+    public BalanceSnapshot withProjection(BigDecimal projectedBalance, int tailSize) {
+        return new BalanceSnapshot(accountNumber, balance, eventCount, coveredBefore, projectedBalance, tailSize);
+    }
+
+    /**
+     * Returns a new snapshot with one more transaction folded in, keeping the same boundary.
+     * Used for a transaction stored after the snapshot was taken but dated before its boundary.
+     *
+     * @param delta the signed amount of the transaction
+     * @return the advanced snapshot
+     */
+    public BalanceSnapshot advance(BigDecimal delta) {
+        return new BalanceSnapshot(accountNumber, balance.add(delta), eventCount + 1, coveredBefore,
+                projectedBalance != null ? projectedBalance.add(delta) : null, tailSize);
+    }
+
+    /**
+     * Returns a string representation of the snapshot.
+     *
+     * @return a string representation of the snapshot
+     */
+    @Override
+    public String toString() {
+        return "BalanceSnapshot{" +
+                "accountNumber='" + accountNumber + '\'' +
+                ", balance=" + balance +
+                ", eventCount=" + eventCount +
+                ", coveredBefore=" + coveredBefore +
+                ", takenAt=" + takenAt +
+                ", projectedBalance=" + projectedBalance +
+                ", tailSize=" + tailSize +
+                '}';
+    }
+}
@@ -0,0 +1,97 @@
+package com.fortisbank.contracts.models.others;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rate between every pair of currencies of one {@link RateTable}, computed once when the table is
+ * published. {@code rates[from][to]} converts from one currency to another, indexed by the position of each
+ * currency in the table. Currencies without a positive rate cannot be converted and are left out.
+ */
+public final class CrossRates {
+    private static final MathContext RATE_PRECISION = MathContext.DECIMAL128;
+
+    private final RateTable table;
+    private final List<String> currencies;
+    private final Map<String, Integer> index;
+    private final BigDecimal[][] rates;
+
+    /**
+     * Computes the cross rates of a rate table.
+     *
+     * @param table the rate table
+     */
+    public CrossRates(RateTable table) {
+        List<String> codes = new ArrayList<>(table.getRates().size());
+        List<BigDecimal> baseRates = new ArrayList<>(table.getRates().size());
+        table.getRates().forEach((code, rate) -> {
+            if (rate != null && rate.signum() > 0) {
+                codes.add(code);
+                baseRates.add(rate);
+            }
+        });
+
+        int size = codes.size();
+        this.index = new HashMap<>(size * 2);
+        this.rates = new BigDecimal[size][size];
+        for (int from = 0; from < size; from++) {
+            index.put(codes.get(from), from);
+            for (int to = 0; to < size; to++) {
+                rates[from][to] = from == to ? BigDecimal.ONE : baseRates.get(to).divide(baseRates.get(from), RATE_PRECISION);
+            }
+        }
+        this.table = table;
+        this.currencies = Collections.unmodifiableList(codes);
+    }
+
+    /**
+     * Returns the rate table the cross rates were computed from.
+     *
+     * @return the rate table
+     */
+    public RateTable getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the codes of the currencies that can be converted, in the order of the rate table.
+     *
+     * @return an unmodifiable list of the currency codes
+     */
+    public List<String> getCurrencies() {
+        return currencies;
+    }
+
+    /**
+     * Returns whether amounts in a currency can be converted.
+     *
+     * @param currencyCode the currency code
+     * @return true if the currency has a usable rate
+     */
+    public boolean isSupported(String currencyCode) {
+        return currencyCode != null && index.containsKey(currencyCode.toUpperCase());
+    }
+
+    /**
+     * Returns the number of units of one currency that one unit of another currency buys.
+     *
+     * @param fromCurrency the currency converted from
+     * @param toCurrency the currency converted to
+     * @return the exchange rate
+     * @throws IllegalArgumentException if either currency is not supported
+     */
+    public BigDecimal getRate(String fromCurrency, String toCurrency) {
+        return rates[indexOf(fromCurrency)][indexOf(toCurrency)];
+    }
+
+    private int indexOf(String currencyCode) {
+        Integer position = currencyCode != null ? index.get(currencyCode.toUpperCase()) : null;
+        if (position == null) throw new IllegalArgumentException("Unsupported currency: " + currencyCode);
+        return position;
+    }
+}
@@ -1,22 +1,45 @@
 package com.fortisbank.contracts.models.others;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Singleton class representing currency types and their exchange rates.
+ *
+ * The rates are held in an immutable {@link RateTable} that is replaced as a whole on every change, so
+ * readers never lock and always see a complete set of rates. The last {@value #MAX_HISTORY} tables published
+ * are kept in a history ordered by the time they took effect, so amounts can be revalued at the rates of a
+ * past moment. If a {@link HistoryWriter} is set, every table is written with it before it is published,
+ * whether it comes from a feed or from a manual change.
+ * The {@link CrossRates} of each table are computed when it is published and swapped in together with
+ * it, so conversions never compute them.
  */
 public class CurrencyType {
-    private static CurrencyType instance;
-    private final Map<String, BigDecimal> exchangeRates;
+    /**
+     * The currency all exchange rates are expressed against.
+     */
+    public static final String BASE_CURRENCY = "USD";
+
+    private static final int MAX_HISTORY = 1000;
+    private static final CurrencyType instance = new CurrencyType();
+
+    private volatile CrossRates current;
+    private volatile List<RateTable> history;
+    private HistoryWriter historyWriter;
 
     /**
      * Private constructor to initialize the exchange rates map with default values.
      */
     private CurrencyType() {
-        exchangeRates = new HashMap<>();
+        Map<String, BigDecimal> exchangeRates = new LinkedHashMap<>();
 
         // Initialize with some default exchange rates (Base Currency: USD)
         exchangeRates.put("USD", BigDecimal.ONE);
@@ -24,17 +47,16 @@ public class CurrencyType {
         exchangeRates.put("CAD", new BigDecimal("1.35"));
         exchangeRates.put("GBP", new BigDecimal("0.78"));
         exchangeRates.put("JPY", new BigDecimal("150.25"));
+        this.current = new CrossRates(new RateTable(1, Instant.EPOCH, "defaults", exchangeRates));
+        this.history = List.of(current.getTable());
     }
 
     /**
-     * Returns the singleton instance of CurrencyType.
+     * Returns the singleton instance of CurrencyType. The instance is created eagerly, so this never locks.
      *
      * @return the singleton instance
      */
     public static CurrencyType getInstance() {
-        if (instance == null) {
-            instance = new CurrencyType();
-        }
         return instance;
     }
 
@@ -45,7 +67,7 @@ public class CurrencyType {
      * @return the exchange rate
      */
     public BigDecimal getExchangeRate(String currencyCode) {
-        return exchangeRates.getOrDefault(currencyCode.toUpperCase(), BigDecimal.ZERO);
+        return current.getTable().getRates().getOrDefault(currencyCode.toUpperCase(), BigDecimal.ZERO);
     }
 
     /**
@@ -54,10 +76,11 @@ public class CurrencyType {
      * @param currencyCode the currency code
      * @param newRate the new exchange rate
      * @throws IllegalArgumentException if the currency code is not found
+     * @throws UncheckedIOException if the new rates could not be written; they are then not published
      */
-    public void updateExchangeRate(String currencyCode, BigDecimal newRate) {
-        if (exchangeRates.containsKey(currencyCode.toUpperCase())) {
-            exchangeRates.put(currencyCode.toUpperCase(), newRate);
+    public synchronized void updateExchangeRate(String currencyCode, BigDecimal newRate) {
+        if (current.getTable().getRates().containsKey(currencyCode.toUpperCase())) {
+            replaceRates(rates -> rates.put(currencyCode.toUpperCase(), newRate));
         } else {
             throw new IllegalArgumentException("Currency not found: " + currencyCode);
         }
@@ -68,26 +91,155 @@ public class CurrencyType {
      *
      * @param currencyCode the currency code
      * @param rate the exchange rate
+     * @throws UncheckedIOException if the new rates could not be written; they are then not published
      */
-    public void addCurrency(String currencyCode, BigDecimal rate) {
-        exchangeRates.put(currencyCode.toUpperCase(), rate);
+    public synchronized void addCurrency(String currencyCode, BigDecimal rate) {
+        replaceRates(rates -> rates.put(currencyCode.toUpperCase(), rate));
     }
 
     /**
      * Removes the specified currency from the exchange rates map.
      *
      * @param currencyCode the currency code
+     * @throws UncheckedIOException if the new rates could not be written; they are then not published
      */
-    public void removeCurrency(String currencyCode) {
-        exchangeRates.remove(currencyCode.toUpperCase());
+    public synchronized void removeCurrency(String currencyCode) {
+        replaceRates(rates -> rates.remove(currencyCode.toUpperCase()));
     }
 
     /**
-     * Returns an unmodifiable map of all exchange rates.
+     * Returns an unmodifiable map of all exchange rates, the rates of {@link #getRateTable()}.
      *
      * @return the map of all exchange rates
      */
     public Map<String, BigDecimal> getAllExchangeRates() {
-        return Collections.unmodifiableMap(exchangeRates);
+        return current.getTable().getRates();
+    }
+
+    /**
+     * Returns the rate table in effect. A table never changes; publishing rates replaces it.
+     *
+     * @return the current rate table
+     */
+    public RateTable getRateTable() {
+        return current.getTable();
+    }
+
+    /**
+     * Returns the cross rates of the rate table in effect, computed when the table was published.
+     *
+     * @return the current cross rates
+     */
+    public CrossRates getCrossRates() {
+        return current;
+    }
+
+    /**
+     * Returns the rate table that was in effect at a moment.
+     *
+     * @param moment the moment
+     * @return the last table that took effect at or before the moment, or the oldest table if the moment precedes them all
+     */
+    public RateTable getRateTableAt(Instant moment) {
+        List<RateTable> tables = history;
+        int low = 0;
+        int high = tables.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (tables.get(mid).getEffectiveAt().isAfter(moment)) {
+                high = mid - 1;
+            } else {
+                low = mid;
+            }
+        }
+        return tables.get(low);
+    }
+
+    /**
+     * Returns the last {@value #MAX_HISTORY} rate tables published, oldest first.
+     *
+     * @return an unmodifiable list of the rate tables
+     */
+    public List<RateTable> getRateHistory() {
+        return history;
+    }
+
+    /**
+     * Publishes a complete set of rates as the next rate table.
+     *
+     * @param rates the exchange rates by currency code
+     * @param effectiveAt the time from which the rates apply
+     * @param source where the rates came from
+     * @return the published table
+     * @throws IllegalArgumentException if the rates would take effect before the current table
+     * @throws UncheckedIOException if the history writer failed; the table is then not published
+     */
+    public synchronized RateTable publish(Map<String, BigDecimal> rates, Instant effectiveAt, String source) {
+        RateTable latest = current.getTable();
+        if (effectiveAt.isBefore(latest.getEffectiveAt())) {
+            throw new IllegalArgumentException("Rates effective at " + effectiveAt + " are older than the current rates, effective at "
+                    + latest.getEffectiveAt());
+        }
+        RateTable table = new RateTable(latest.getVersion() + 1, effectiveAt, source, rates);
+        CrossRates crossRates = new CrossRates(table);
+        List<RateTable> previous = history;
+        List<RateTable> tables = new ArrayList<>(Math.min(previous.size() + 1, MAX_HISTORY));
+        tables.addAll(previous.subList(Math.max(0, previous.size() + 1 - MAX_HISTORY), previous.size()));
+        tables.add(table);
+        List<RateTable> published = Collections.unmodifiableList(tables);
+        if (historyWriter != null) {
+            try {
+                historyWriter.write(published);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not write exchange rates version " + table.getVersion(), e);
+            }
+        }
+        history = published;
+        current = crossRates;
+        return table;
+    }
+
+    /**
+     * Replaces the history with tables stored by a previous run and makes the newest of them current.
+     * Only the newest {@value #MAX_HISTORY} tables are kept. Does nothing if the list is empty.
+     *
+     * @param tables the stored rate tables, oldest first
+     */
+    public synchronized void restore(List<RateTable> tables) {
+        if (tables.isEmpty()) return;
+        CrossRates crossRates = new CrossRates(tables.get(tables.size() - 1));
+        history = List.copyOf(tables.subList(Math.max(0, tables.size() - MAX_HISTORY), tables.size()));
+        current = crossRates;
+    }
+
+    /**
+     * Sets the writer every rate table is written with before it is published, or none if null.
+     *
+     * @param historyWriter the history writer
+     */
+    public synchronized void setHistoryWriter(HistoryWriter historyWriter) {
+        this.historyWriter = historyWriter;
+    }
+
+    private void replaceRates(Consumer<Map<String, BigDecimal>> change) {
+        RateTable latest = current.getTable();
+        Map<String, BigDecimal> rates = new LinkedHashMap<>(latest.getRates());
+        change.accept(rates);
+        Instant now = Instant.now();
+        publish(rates, now.isBefore(latest.getEffectiveAt()) ? latest.getEffectiveAt() : now, "manual");
+    }
+
+    /**
+     * Writes the rate history to storage that survives a restart.
+     */
+    @FunctionalInterface
+    public interface HistoryWriter {
+        /**
+         * Writes the history a table is about to be published with.
+         *
+         * @param history the rate history, oldest first, ending with the table about to be published
+         * @throws IOException if the history could not be written
+         */
+        void write(List<RateTable> history) throws IOException;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package com.fortisbank.contracts.models.others;
+
+/**
+ * Fields a paged customer listing can be sorted by.
+ */
+public enum CustomerSortField {
+    /**
+     * Sort by last name, then first name.
+     */
+    NAME,
+
+    /**
+     * Sort by email address.
+     */
+    EMAIL
+}
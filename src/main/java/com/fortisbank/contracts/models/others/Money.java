@@ -0,0 +1,243 @@
+package com.fortisbank.contracts.models.others;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Immutable monetary amount held as a count of minor units (e.g. cents) in a {@code long}.
+ *
+ * Used for arithmetic on the ledger hot path, where adding and comparing amounts should not
+ * allocate a new {@link BigDecimal} per operation. Amounts are converted from and to
+ * {@link BigDecimal} only when they are read from or written back to accounts and transactions.
+ * Addition and subtraction fail with an {@link ArithmeticException} on overflow instead of wrapping.
+ * Values are never rounded silently on the way in: only {@link #multiply(BigDecimal)} rounds, and
+ * computed values with more decimals go through {@link #rounded(BigDecimal)}.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of decimal places used for all account currencies.
+     */
+    public static final int DEFAULT_SCALE = 2;
+
+    /**
+     * Zero in the default scale.
+     */
+    public static final Money ZERO = new Money(0L, DEFAULT_SCALE);
+
+    /**
+     * Rounding used whenever a computed value has to be brought back to the currency scale.
+     */
+    private static final RoundingMode ROUNDING = RoundingMode.HALF_EVEN;
+
+    /**
+     * The amount expressed in minor units.
+     */
+    private final long minorUnits;
+
+    /**
+     * The number of decimal places of the currency.
+     */
+    private final int scale;
+
+    private Money(long minorUnits, int scale) {
+        this.minorUnits = minorUnits;
+        this.scale = scale;
+    }
+
+    /**
+     * Creates an amount from a decimal value in the default scale.
+     *
+     * @param amount the decimal amount
+     * @return the amount in minor units
+     * @throws IllegalArgumentException if the amount has more than {@link #DEFAULT_SCALE} decimal places
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_SCALE);
+    }
+
+    /**
+     * Creates an amount from a decimal value in the given scale.
+     *
+     * @param amount the decimal amount
+     * @param scale the number of decimal places of the currency
+     * @return the amount in minor units
+     * @throws IllegalArgumentException if the amount has more decimal places than the scale
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public static Money of(BigDecimal amount, int scale) {
+        if (amount.scale() > scale && amount.stripTrailingZeros().scale() > scale) {
+            throw new IllegalArgumentException("Amount " + amount.toPlainString() + " has more than " + scale + " decimal places");
+        }
+        return new Money(amount.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact(), scale);
+    }
+
+    /**
+     * Creates an amount from a computed decimal value, e.g. a conversion, rounding it half-even to the default scale.
+     *
+     * @param amount the decimal amount
+     * @return the rounded amount in minor units
+     * @throws ArithmeticException if the amount does not fit in a long
+     */
+    public static Money rounded(BigDecimal amount) {
+        return new Money(amount.setScale(DEFAULT_SCALE, ROUNDING).unscaledValue().longValueExact(), DEFAULT_SCALE);
+    }
+
+    /**
+     * Creates an amount from a count of minor units.
+     *
+     * @param minorUnits the amount in minor units
+     * @param scale the number of decimal places of the currency
+     * @return the amount
+     */
+    public static Money ofMinor(long minorUnits, int scale) {
+        return new Money(minorUnits, scale);
+    }
+
+    /**
+     * Returns the sum of this amount and another.
+     *
+     * @param other the amount to add
+     * @return the sum
+     * @throws ArithmeticException if the result overflows
+     */
+    public Money plus(Money other) {
+        requireSameScale(other);
+        return other.minorUnits == 0 ? this : new Money(Math.addExact(minorUnits, other.minorUnits), scale);
+    }
+
+    /**
+     * Returns the difference between this amount and another.
+     *
+     * @param other the amount to subtract
+     * @return the difference
+     * @throws ArithmeticException if the result overflows
+     */
+    public Money minus(Money other) {
+        requireSameScale(other);
+        return other.minorUnits == 0 ? this : new Money(Math.subtractExact(minorUnits, other.minorUnits), scale);
+    }
+
+    /**
+     * Returns this amount multiplied by a rate, rounded half-even to the currency scale.
+     * Used for interest so that repeated postings do not drift in one direction.
+     *
+     * @param rate the rate to apply
+     * @return the rounded product
+     * @throws ArithmeticException if the result does not fit in a long
+     */
+    public Money multiply(BigDecimal rate) {
+        return new Money(toBigDecimal().multiply(rate).setScale(scale, ROUNDING).unscaledValue().longValueExact(), scale);
+    }
+
+    /**
+     * Returns the amount with its sign reversed.
+     *
+     * @return the negated amount
+     */
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), scale);
+    }
+
+    /**
+     * Returns the sign of the amount.
+     *
+     * @return -1, 0 or 1 as the amount is negative, zero or positive
+     */
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    /**
+     * Returns whether this amount is greater than or equal to another.
+     *
+     * @param other the amount to compare with
+     * @return true if this amount is at least the other
+     */
+    public boolean isAtLeast(Money other) {
+        return compareTo(other) >= 0;
+    }
+
+    /**
+     * Returns the amount expressed in minor units.
+     *
+     * @return the minor units
+     */
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    /**
+     * Returns the number of decimal places of the currency.
+     *
+     * @return the scale
+     */
+    public int getScale() {
+        return scale;
+    }
+
+    /**
+     * Converts the amount back to a decimal value for storage or display.
+     *
+     * @return the decimal amount
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    /**
+     * Compares this amount with another of the same scale.
+     *
+     * @param other the amount to compare with
+     * @return a negative integer, zero, or a positive integer as this amount is less than, equal to, or greater than the other
+     */
+    @Override
+    public int compareTo(Money other) {
+        requireSameScale(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    /**
+     * Checks if this amount is equal to another object.
+     *
+     * @param obj the object to compare
+     * @return true if both amounts have the same scale and minor units
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof Money other)) return false;
+        return minorUnits == other.minorUnits && scale == other.scale;
+    }
+
+    /**
+     * Returns the hash code of the amount.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + scale;
+    }
+
+    /**
+     * Returns the decimal representation of the amount.
+     *
+     * @return the amount as a plain decimal string
+     */
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    private void requireSameScale(Money other) {
+        if (scale != other.scale) {
+            throw new IllegalArgumentException("Cannot combine amounts with scales " + scale + " and " + other.scale);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.fortisbank.contracts.models.users.Customer;
 
 import java.io.Serializable;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * Class representing a notification.
@@ -12,6 +13,11 @@ import java.util.Date;
 public class Notification implements Serializable {
     private static final long serialVersionUID = 1L;
 
+    /**
+     * The unique ID of the notification.
+     */
+    private String notificationId;
+
     /**
      * The type of the notification.
      */
@@ -55,6 +61,7 @@ public class Notification implements Serializable {
      * @param message the message of the notification
      */
     public Notification(NotificationType type, String title, String message) {
+        this.notificationId = UUID.randomUUID().toString();
         this.type = type;
         this.title = title;
         this.message = message;
@@ -79,8 +86,41 @@ public class Notification implements Serializable {
         this.read = false;
     }
 
+    /**
+     * Constructor restoring a stored notification.
+     *
+     * @param notificationId the unique ID of the notification
+     * @param type the type of the notification
+     * @param title the title of the notification
+     * @param message the message of the notification
+     * @param timestamp the timestamp when the notification was created
+     * @param read whether the notification has been read
+     * @param customer the customer related to the notification
+     * @param account the account related to the notification
+     */
+    Notification(String notificationId, NotificationType type, String title, String message, Date timestamp,
+                 boolean read, Customer customer, Account account) {
+        this.notificationId = notificationId;
+        this.type = type;
+        this.title = title;
+        this.message = message;
+        this.timestamp = timestamp;
+        this.read = read;
+        this.relatedCustomer = customer;
+        this.relatedAccount = account;
+    }
+
     // --- Getters ---
 
+    /**
+     * Returns the unique ID of the notification.
+     *
+     * @return the notification ID, or null for notifications created before IDs were introduced
+     */
+    public String getNotificationId() {
+        return notificationId;
+    }
+
     /**
      * Returns the type of the notification.
      *
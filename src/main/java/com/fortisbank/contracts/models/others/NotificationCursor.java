@@ -0,0 +1,69 @@
+package com.fortisbank.contracts.models.others;
+
+/**
+ * Position in an inbox listed newest first. A page read with a cursor starts right after
+ * the notification the cursor was taken from, so pages stay stable while new notifications arrive.
+ */
+public class NotificationCursor {
+
+    /**
+     * The creation time of the last notification of the previous page, in epoch milliseconds.
+     */
+    private final long timestampMillis;
+
+    /**
+     * The ID of the last notification of the previous page.
+     */
+    private final String notificationId;
+
+    /**
+     * Constructor initializing the cursor with specified values.
+     *
+     * @param timestampMillis the creation time of the last notification read
+     * @param notificationId the ID of the last notification read
+     */
+    public NotificationCursor(long timestampMillis, String notificationId) {
+        this.timestampMillis = timestampMillis;
+        this.notificationId = notificationId;
+    }
+
+    /**
+     * Creates a cursor positioned after the given notification.
+     *
+     * @param notification the last notification read
+     * @return the cursor
+     */
+    public static NotificationCursor after(Notification notification) {
+        return new NotificationCursor(notification.getTimestamp().getTime(), notification.getNotificationId());
+    }
+
+    /**
+     * Compares the cursor position with a notification in oldest-first order.
+     *
+     * @param otherMillis the creation time of the notification
+     * @param otherId the ID of the notification
+     * @return a negative value, zero or a positive value as the cursor is older than, at, or newer than the notification
+     */
+    public int compareTo(long otherMillis, String otherId) {
+        int byTime = Long.compare(timestampMillis, otherMillis);
+        return byTime != 0 ? byTime : notificationId.compareTo(otherId);
+    }
+
+    /**
+     * Returns the creation time of the last notification read.
+     *
+     * @return the creation time in epoch milliseconds
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * Returns the ID of the last notification read.
+     *
+     * @return the notification ID
+     */
+    public String getNotificationId() {
+        return notificationId;
+    }
+}
@@ -0,0 +1,227 @@
+package com.fortisbank.contracts.models.others;
+
+import com.fortisbank.contracts.models.accounts.Account;
+import com.fortisbank.contracts.models.users.Customer;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Storage representation of a notification.
+ *
+ * A record belongs to one recipient and references the related customer and account by ID, so
+ * stored notifications do not pin (or serialize) those objects. A {@link Notification} is rebuilt
+ * with {@link #toNotification(Function, Function)}.
+ */
+public class NotificationRecord implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The unique ID of the notification.
+     */
+    private final String notificationId;
+
+    /**
+     * The ID of the user the notification is addressed to.
+     */
+    private final String recipientId;
+
+    /**
+     * The type of the notification.
+     */
+    private final NotificationType type;
+
+    /**
+     * The title of the notification.
+     */
+    private final String title;
+
+    /**
+     * The message of the notification.
+     */
+    private final String message;
+
+    /**
+     * The creation time in milliseconds since the epoch.
+     */
+    private final long timestampMillis;
+
+    /**
+     * Indicates whether the notification has been read.
+     */
+    private boolean read;
+
+    /**
+     * The ID of the related customer, or null if there is none.
+     */
+    private final String relatedCustomerId;
+
+    /**
+     * The number of the related account, or null if there is none.
+     */
+    private final String relatedAccountNumber;
+
+    /**
+     * Constructor initializing the record with specified values.
+     *
+     * @param notificationId the unique ID of the notification
+     * @param recipientId the ID of the recipient
+     * @param type the type of the notification
+     * @param title the title of the notification
+     * @param message the message of the notification
+     * @param timestampMillis the creation time in epoch milliseconds
+     * @param read whether the notification has been read
+     * @param relatedCustomerId the ID of the related customer, or null
+     * @param relatedAccountNumber the number of the related account, or null
+     */
+    public NotificationRecord(String notificationId, String recipientId, NotificationType type, String title,
+                              String message, long timestampMillis, boolean read,
+                              String relatedCustomerId, String relatedAccountNumber) {
+        this.notificationId = notificationId;
+        this.recipientId = recipientId;
+        this.type = type;
+        this.title = title;
+        this.message = message;
+        this.timestampMillis = timestampMillis;
+        this.read = read;
+        this.relatedCustomerId = relatedCustomerId;
+        this.relatedAccountNumber = relatedAccountNumber;
+    }
+
+    /**
+     * Creates the storage representation of a notification addressed to the given recipient.
+     * Notifications created before IDs were introduced get a new ID.
+     *
+     * @param recipientId the ID of the recipient
+     * @param notification the notification
+     * @return the record
+     */
+    public static NotificationRecord from(String recipientId, Notification notification) {
+        Customer customer = notification.getRelatedCustomer();
+        Account account = notification.getRelatedAccount();
+        String notificationId = notification.getNotificationId() != null
+                ? notification.getNotificationId()
+                : UUID.randomUUID().toString();
+        return new NotificationRecord(
+                notificationId,
+                recipientId,
+                notification.getType(),
+                notification.getTitle(),
+                notification.getMessage(),
+                notification.getTimestamp() != null ? notification.getTimestamp().getTime() : System.currentTimeMillis(),
+                notification.isRead(),
+                customer != null ? customer.getUserId() : null,
+                account != null ? account.getAccountNumber() : null);
+    }
+
+    /**
+     * Rebuilds the notification, looking up its related customer and account.
+     *
+     * @param customerResolver looks up a customer by ID
+     * @param accountResolver looks up an account by number
+     * @return the notification
+     */
+    public Notification toNotification(Function<String, Customer> customerResolver, Function<String, Account> accountResolver) {
+        return new Notification(
+                notificationId,
+                type,
+                title,
+                message,
+                new Date(timestampMillis),
+                read,
+                relatedCustomerId != null ? customerResolver.apply(relatedCustomerId) : null,
+                relatedAccountNumber != null ? accountResolver.apply(relatedAccountNumber) : null);
+    }
+
+    /**
+     * Returns the unique ID of the notification.
+     *
+     * @return the notification ID
+     */
+    public String getNotificationId() {
+        return notificationId;
+    }
+
+    /**
+     * Returns the ID of the recipient.
+     *
+     * @return the recipient ID
+     */
+    public String getRecipientId() {
+        return recipientId;
+    }
+
+    /**
+     * Returns the type of the notification.
+     *
+     * @return the notification type
+     */
+    public NotificationType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the title of the notification.
+     *
+     * @return the notification title
+     */
+    public String getTitle() {
+        return title;
+    }
+
+    /**
+     * Returns the message of the notification.
+     *
+     * @return the notification message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Returns the creation time in milliseconds since the epoch.
+     *
+     * @return the creation time in epoch milliseconds
+     */
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+
+    /**
+     * Returns whether the notification has been read.
+     *
+     * @return true if the notification has been read, false otherwise
+     */
+    public boolean isRead() {
+        return read;
+    }
+
+    /**
+     * Marks the notification as read.
+     */
+    public void markAsRead() {
+        this.read = true;
+    }
+
+    /**
+     * Returns the ID of the related customer.
+     *
+     * @return the related customer ID, or null
+     */
+    public String getRelatedCustomerId() {
+        return relatedCustomerId;
+    }
+
+    /**
+     * Returns the number of the related account.
+     *
+     * @return the related account number, or null
+     */
+    public String getRelatedAccountNumber() {
+        return relatedAccountNumber;
+    }
+}
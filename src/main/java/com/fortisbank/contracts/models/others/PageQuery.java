@@ -0,0 +1,153 @@
+package com.fortisbank.contracts.models.others;
+
+import java.util.Locale;
+
+/**
+ * One page of a sorted and filtered listing, as requested by a paged view.
+ * The filter and sort order are applied by the repository, so only the requested page is read into memory.
+ *
+ * @param <S> the fields the listing can be sorted by
+ */
+public class PageQuery<S extends Enum<S>> {
+
+    /**
+     * Text the listed items must contain, or null to list everything.
+     */
+    private final String filter;
+
+    /**
+     * The field to sort by.
+     */
+    private final S sortField;
+
+    /**
+     * Whether to sort in ascending order.
+     */
+    private final boolean ascending;
+
+    /**
+     * The number of items to skip.
+     */
+    private final int offset;
+
+    /**
+     * The maximum number of items to return.
+     */
+    private final int limit;
+
+    /**
+     * Constructor initializing the query with specified values.
+     *
+     * @param filter text the items must contain, or null or blank for no filter
+     * @param sortField the field to sort by
+     * @param ascending whether to sort in ascending order
+     * @param offset the number of items to skip
+     * @param limit the maximum number of items to return
+     */
+    public PageQuery(String filter, S sortField, boolean ascending, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException("Offset and limit cannot be negative");
+        }
+        this.filter = normalizeFilter(filter);
+        this.sortField = sortField;
+        this.ascending = ascending;
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    /**
+     * Returns the filter in lower case, or null if there is none.
+     *
+     * @return the filter
+     */
+    public String getFilter() {
+        return filter;
+    }
+
+    /**
+     * Returns whether the given text contains the filter, ignoring case. Always true without a filter.
+     *
+     * @param text the text to test, may be null
+     * @return true if the text matches the filter
+     */
+    public boolean matches(String text) {
+        return matches(filter, text);
+    }
+
+    /**
+     * Returns the filter as a SQL LIKE pattern, with the LIKE wildcards of the filter escaped by '\'.
+     *
+     * @return the pattern, or null if there is no filter
+     */
+    public String getLikePattern() {
+        return likePattern(filter);
+    }
+
+    /**
+     * Trims a filter and converts it to lower case.
+     *
+     * @param filter the filter as entered, may be null
+     * @return the normalized filter, or null if it is null or blank
+     */
+    public static String normalizeFilter(String filter) {
+        return filter == null || filter.isBlank() ? null : filter.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns whether the given text contains a normalized filter, ignoring case. Always true without a filter.
+     *
+     * @param filter the normalized filter, or null
+     * @param text the text to test, may be null
+     * @return true if the text matches the filter
+     */
+    public static boolean matches(String filter, String text) {
+        return filter == null || (text != null && text.toLowerCase(Locale.ROOT).contains(filter));
+    }
+
+    /**
+     * Returns a normalized filter as a SQL LIKE pattern, with the LIKE wildcards of the filter escaped by '\'.
+     *
+     * @param filter the normalized filter, or null
+     * @return the pattern, or null if there is no filter
+     */
+    public static String likePattern(String filter) {
+        if (filter == null) return null;
+        return "%" + filter.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    /**
+     * Returns the field to sort by.
+     *
+     * @return the sort field
+     */
+    public S getSortField() {
+        return sortField;
+    }
+
+    /**
+     * Returns whether the listing is sorted in ascending order.
+     *
+     * @return true if ascending
+     */
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * Returns the number of items to skip.
+     *
+     * @return the offset
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns the maximum number of items to return.
+     *
+     * @return the limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+}
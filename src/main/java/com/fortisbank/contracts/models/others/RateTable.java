@@ -0,0 +1,84 @@
+package com.fortisbank.contracts.models.others;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable set of exchange rates against {@link CurrencyType#BASE_CURRENCY}, as published at one time.
+ * Every publication gets the next version number, so two tables can be told apart without comparing rates.
+ */
+public final class RateTable implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final long version;
+    private final Instant effectiveAt;
+    private final String source;
+    private final Map<String, BigDecimal> rates;
+
+    /**
+     * Constructor initializing a rate table with specified values.
+     *
+     * @param version the version of the table
+     * @param effectiveAt the time from which the rates apply
+     * @param source where the rates came from, e.g. the name of a feed file
+     * @param rates the exchange rates by currency code; copied
+     */
+    public RateTable(long version, Instant effectiveAt, String source, Map<String, BigDecimal> rates) {
+        this.version = version;
+        this.effectiveAt = effectiveAt;
+        this.source = source;
+        this.rates = Collections.unmodifiableMap(new LinkedHashMap<>(rates));
+    }
+
+    /**
+     * Returns the version of the table.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the time from which the rates apply.
+     *
+     * @return the effective time
+     */
+    public Instant getEffectiveAt() {
+        return effectiveAt;
+    }
+
+    /**
+     * Returns where the rates came from.
+     *
+     * @return the source
+     */
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the exchange rates by currency code.
+     *
+     * @return an unmodifiable map of the rates
+     */
+    public Map<String, BigDecimal> getRates() {
+        return rates;
+    }
+
+    @Override
+    public String toString() {
+        return "RateTable{" +
+                "version=" + version +
+                ", effectiveAt=" + effectiveAt +
+                ", source='" + source + '\'' +
+                ", rates=" + rates +
+                '}';
+    }
+}
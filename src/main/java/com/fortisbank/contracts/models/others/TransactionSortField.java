@@ -0,0 +1,26 @@
+package com.fortisbank.contracts.models.others;
+
+/**
+ * Fields a paged transaction listing can be sorted by.
+ */
+public enum TransactionSortField {
+    /**
+     * Sort by transaction date.
+     */
+    DATE,
+
+    /**
+     * Sort by transaction type.
+     */
+    TYPE,
+
+    /**
+     * Sort by description.
+     */
+    DESCRIPTION,
+
+    /**
+     * Sort by amount.
+     */
+    AMOUNT
+}
@@ -4,10 +4,14 @@ import com.fortisbank.contracts.collections.AccountList;
 import com.fortisbank.contracts.collections.TransactionList;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Map;
 
 /**
  * Class representing a bank summary report.
+ *
+ * The report only carries totals and small bounded sections, so it never holds the ledger in memory.
+ * The full list behind a section is queried on demand through the report service.
  */
 public class BankSummaryReport extends Report {
 
@@ -42,15 +46,35 @@ public class BankSummaryReport extends Report {
     private final BigDecimal totalFeesCollected;
 
     /**
-     * A list of all transactions.
+     * The number of accounts with low balances.
      */
-    private final TransactionList allTransactions;
+    private final long lowBalanceAccountCount;
 
     /**
-     * A list of accounts with low balances.
+     * The accounts with the lowest balances among the low balance accounts, lowest first.
      */
     private final AccountList lowBalanceAccounts;
 
+    /**
+     * The first day of the period covered by the transaction section.
+     */
+    private final LocalDate periodStart;
+
+    /**
+     * The last day of the period covered by the transaction section.
+     */
+    private final LocalDate periodEnd;
+
+    /**
+     * The number of transactions within the period.
+     */
+    private final long periodTransactionCount;
+
+    /**
+     * The largest transactions within the period, largest first.
+     */
+    private final TransactionList largestTransactions;
+
     /**
      * Constructor initializing the bank summary report with specified values.
      *
@@ -60,8 +84,12 @@ public class BankSummaryReport extends Report {
      * @param totalBalance the total balance across all accounts
      * @param totalCreditUsed the total credit used across all accounts
      * @param totalFeesCollected the total fees collected
-     * @param allTransactions a list of all transactions
-     * @param lowBalanceAccounts a list of accounts with low balances
+     * @param lowBalanceAccountCount the number of accounts with low balances
+     * @param lowBalanceAccounts the accounts with the lowest balances among the low balance accounts
+     * @param periodStart the first day of the period covered by the transaction section
+     * @param periodEnd the last day of the period covered by the transaction section
+     * @param periodTransactionCount the number of transactions within the period
+     * @param largestTransactions the largest transactions within the period
      */
     public BankSummaryReport(
             int totalCustomers,
@@ -70,8 +98,12 @@ public class BankSummaryReport extends Report {
             BigDecimal totalBalance,
             BigDecimal totalCreditUsed,
             BigDecimal totalFeesCollected,
-            TransactionList allTransactions,
-            AccountList lowBalanceAccounts
+            long lowBalanceAccountCount,
+            AccountList lowBalanceAccounts,
+            LocalDate periodStart,
+            LocalDate periodEnd,
+            long periodTransactionCount,
+            TransactionList largestTransactions
     ) {
         super("Bank Summary");
         this.totalCustomers = totalCustomers;
@@ -80,8 +112,12 @@ public class BankSummaryReport extends Report {
         this.totalBalance = totalBalance;
         this.totalCreditUsed = totalCreditUsed;
         this.totalFeesCollected = totalFeesCollected;
-        this.allTransactions = allTransactions;
+        this.lowBalanceAccountCount = lowBalanceAccountCount;
         this.lowBalanceAccounts = lowBalanceAccounts;
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.periodTransactionCount = periodTransactionCount;
+        this.largestTransactions = largestTransactions;
     }
 
     /**
@@ -154,21 +190,59 @@ public class BankSummaryReport extends Report {
     }
 
     /**
-     * Returns a list of all transactions.
+     * Returns the number of accounts with low balances.
      *
-     * @return a list of all transactions
+     * @return the number of accounts with low balances
      */
-    public TransactionList getAllTransactions() {
-        return allTransactions;
+    public long getLowBalanceAccountCount() {
+        return lowBalanceAccountCount;
     }
 
     /**
-     * Returns a list of accounts with low balances.
+     * Returns the accounts with the lowest balances among the low balance accounts, lowest first.
+     * The list is bounded, so it may hold fewer accounts than {@link #getLowBalanceAccountCount()}.
      *
-     * @return a list of accounts with low balances
+     * @return the accounts with the lowest balances
      */
     public AccountList getLowBalanceAccounts() {
         return lowBalanceAccounts;
     }
 
+    /**
+     * Returns the first day of the period covered by the transaction section.
+     *
+     * @return the first day of the period
+     */
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    /**
+     * Returns the last day of the period covered by the transaction section.
+     *
+     * @return the last day of the period
+     */
+    public LocalDate getPeriodEnd() {
+        return periodEnd;
+    }
+
+    /**
+     * Returns the number of transactions within the period.
+     *
+     * @return the number of transactions within the period
+     */
+    public long getPeriodTransactionCount() {
+        return periodTransactionCount;
+    }
+
+    /**
+     * Returns the largest transactions within the period, largest first.
+     * The list is bounded, so it may hold fewer transactions than {@link #getPeriodTransactionCount()}.
+     *
+     * @return the largest transactions within the period
+     */
+    public TransactionList getLargestTransactions() {
+        return largestTransactions;
+    }
+
 }
\ No newline at end of file
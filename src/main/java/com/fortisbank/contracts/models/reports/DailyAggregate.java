@@ -0,0 +1,248 @@
+package com.fortisbank.contracts.models.reports;
+
+import com.fortisbank.contracts.models.accounts.AccountType;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Totals of the transactions of one day on the accounts of one type.
+ *
+ * A transaction contributes to the aggregate of each account it involves, so a transfer between
+ * two accounts of the same type is counted twice: once as outgoing and once as incoming.
+ */
+public class DailyAggregate implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The day of the transactions.
+     */
+    private final LocalDate day;
+
+    /**
+     * The type of the accounts, or null for totals over all account types.
+     */
+    private final AccountType accountType;
+
+    /**
+     * The number of account entries, i.e. transactions counted once per involved account.
+     */
+    private final long entryCount;
+
+    /**
+     * The total of the deposits.
+     */
+    private final BigDecimal deposits;
+
+    /**
+     * The total of the withdrawals.
+     */
+    private final BigDecimal withdrawals;
+
+    /**
+     * The total of the transfers into the accounts.
+     */
+    private final BigDecimal transfersIn;
+
+    /**
+     * The total of the transfers out of the accounts.
+     */
+    private final BigDecimal transfersOut;
+
+    /**
+     * The total of the fees, including interest charged on credit accounts.
+     */
+    private final BigDecimal fees;
+
+    /**
+     * The net change of the balances of the accounts.
+     */
+    private final BigDecimal balanceChange;
+
+    /**
+     * Constructor initializing the aggregate with specified values.
+     *
+     * @param day the day of the transactions
+     * @param accountType the type of the accounts, or null for all account types
+     * @param entryCount the number of account entries
+     * @param deposits the total of the deposits
+     * @param withdrawals the total of the withdrawals
+     * @param transfersIn the total of the incoming transfers
+     * @param transfersOut the total of the outgoing transfers
+     * @param fees the total of the fees
+     * @param balanceChange the net change of the balances
+     */
+    public DailyAggregate(LocalDate day, AccountType accountType, long entryCount, BigDecimal deposits,
+                          BigDecimal withdrawals, BigDecimal transfersIn, BigDecimal transfersOut,
+                          BigDecimal fees, BigDecimal balanceChange) {
+        this.day = day;
+        this.accountType = accountType;
+        this.entryCount = entryCount;
+        this.deposits = deposits;
+        this.withdrawals = withdrawals;
+        this.transfersIn = transfersIn;
+        this.transfersOut = transfersOut;
+        this.fees = fees;
+        this.balanceChange = balanceChange;
+    }
+
+    /**
+     * Returns an aggregate without any entries.
+     *
+     * @param day the day
+     * @param accountType the type of the accounts, or null for all account types
+     * @return the empty aggregate
+     */
+    public static DailyAggregate empty(LocalDate day, AccountType accountType) {
+        return new DailyAggregate(day, accountType, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO,
+                BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+
+    /**
+     * Returns the day of the transactions.
+     *
+     * @return the day
+     */
+    public LocalDate getDay() {
+        return day;
+    }
+
+    /**
+     * Returns the type of the accounts.
+     *
+     * @return the account type, or null for totals over all account types
+     */
+    public AccountType getAccountType() {
+        return accountType;
+    }
+
+    /**
+     * Returns the number of account entries.
+     *
+     * @return the entry count
+     */
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Returns the total of the deposits.
+     *
+     * @return the deposits
+     */
+    public BigDecimal getDeposits() {
+        return deposits;
+    }
+
+    /**
+     * Returns the total of the withdrawals.
+     *
+     * @return the withdrawals
+     */
+    public BigDecimal getWithdrawals() {
+        return withdrawals;
+    }
+
+    /**
+     * Returns the total of the incoming transfers.
+     *
+     * @return the incoming transfers
+     */
+    public BigDecimal getTransfersIn() {
+        return transfersIn;
+    }
+
+    /**
+     * Returns the total of the outgoing transfers.
+     *
+     * @return the outgoing transfers
+     */
+    public BigDecimal getTransfersOut() {
+        return transfersOut;
+    }
+
+    /**
+     * Returns the total of the fees.
+     *
+     * @return the fees
+     */
+    public BigDecimal getFees() {
+        return fees;
+    }
+
+    /**
+     * Returns the net change of the balances.
+     *
+     * @return the balance change
+     */
+    public BigDecimal getBalanceChange() {
+        return balanceChange;
+    }
+
+    /**
+     * Returns whether this aggregate is for the same day and account type as another one.
+     *
+     * @param other the other aggregate
+     * @return true if both have the same day and account type
+     */
+    public boolean hasSameKey(DailyAggregate other) {
+        return Objects.equals(day, other.day) && accountType == other.accountType;
+    }
+
+    /**
+     * Returns the sum of this aggregate and another one, keeping the day and account type of this one.
+     *
+     * @param other the aggregate to add
+     * @return the sum
+     */
+    public DailyAggregate plus(DailyAggregate other) {
+        return new DailyAggregate(day, accountType,
+                entryCount + other.entryCount,
+                deposits.add(other.deposits),
+                withdrawals.add(other.withdrawals),
+                transfersIn.add(other.transfersIn),
+                transfersOut.add(other.transfersOut),
+                fees.add(other.fees),
+                balanceChange.add(other.balanceChange));
+    }
+
+    /**
+     * Returns whether all totals of this aggregate equal those of another one, ignoring the scale of the amounts.
+     *
+     * @param other the other aggregate
+     * @return true if the totals are equal
+     */
+    public boolean hasSameTotals(DailyAggregate other) {
+        return entryCount == other.entryCount
+                && deposits.compareTo(other.deposits) == 0
+                && withdrawals.compareTo(other.withdrawals) == 0
+                && transfersIn.compareTo(other.transfersIn) == 0
+                && transfersOut.compareTo(other.transfersOut) == 0
+                && fees.compareTo(other.fees) == 0
+                && balanceChange.compareTo(other.balanceChange) == 0;
+    }
+
+    /**
+     * Returns a string representation of the aggregate.
+     *
+     * @return a string representation of the aggregate
+     */
+    @Override
+    public String toString() {
+        return "DailyAggregate{" +
+                "day=" + day +
+                ", accountType=" + accountType +
+                ", entryCount=" + entryCount +
+                ", deposits=" + deposits +
+                ", withdrawals=" + withdrawals +
+                ", transfersIn=" + transfersIn +
+                ", transfersOut=" + transfersOut +
+                ", fees=" + fees +
+                ", balanceChange=" + balanceChange +
+                '}';
+    }
+}
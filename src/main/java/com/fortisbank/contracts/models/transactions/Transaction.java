@@ -3,10 +3,14 @@ package com.fortisbank.contracts.models.transactions;
 import com.fortisbank.contracts.models.accounts.Account;
 import com.fortisbank.contracts.utils.IdGenerator;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serial;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.Date;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Abstract class representing a generic transaction.
@@ -40,15 +44,38 @@ public abstract class Transaction implements Serializable {
      */
     protected BigDecimal amount;
 
+    /**
+     * Number of the source account of the transaction.
+     */
+    protected String sourceAccountNumber;
+
+    /**
+     * Number of the destination account of the transaction.
+     */
+    protected String destinationAccountNumber;
+
+    /**
+     * Reference shared by the transactions recorded for one operation, e.g. the two legs of a currency
+     * transfer, or null if the transaction stands alone.
+     */
+    protected String reference;
+
     /**
      * Source account of the transaction.
+     * Marked as transient so a serialized transaction does not carry the account and its customer.
      */
-    protected Account sourceAccount;
+    protected transient Account sourceAccount;
 
     /**
      * Destination account of the transaction.
+     * Marked as transient so a serialized transaction does not carry the account and its customer.
      */
-    protected Account destinationAccount;
+    protected transient Account destinationAccount;
+
+    /**
+     * Looks up accounts that are only known by number, or null if the accounts were given directly.
+     */
+    private transient Function<String, Account> accountResolver;
 
     /**
      * Constructor initializing the transaction with specified values.
@@ -71,8 +98,8 @@ public abstract class Transaction implements Serializable {
         this.transactionDate = transactionDate;
         this.transactionType = transactionType;
         this.amount = amount;
-        this.sourceAccount = sourceAccount;
-        this.destinationAccount = destinationAccount;
+        setSourceAccount(sourceAccount);
+        setDestinationAccount(destinationAccount);
     }
 
     /**
@@ -126,6 +153,9 @@ public abstract class Transaction implements Serializable {
      * @return the source account
      */
     public Account getSourceAccount() {
+        if (sourceAccount == null && sourceAccountNumber != null && accountResolver != null) {
+            sourceAccount = accountResolver.apply(sourceAccountNumber);
+        }
         return sourceAccount;
     }
 
@@ -135,9 +165,49 @@ public abstract class Transaction implements Serializable {
      * @return the destination account
      */
     public Account getDestinationAccount() {
+        if (destinationAccount == null && destinationAccountNumber != null && accountResolver != null) {
+            destinationAccount = accountResolver.apply(destinationAccountNumber);
+        }
         return destinationAccount;
     }
 
+    /**
+     * Returns the number of the source account without loading the account.
+     *
+     * @return the source account number, or null
+     */
+    public String getSourceAccountNumber() {
+        return sourceAccountNumber;
+    }
+
+    /**
+     * Returns the number of the destination account without loading the account.
+     *
+     * @return the destination account number, or null
+     */
+    public String getDestinationAccountNumber() {
+        return destinationAccountNumber;
+    }
+
+    /**
+     * Returns the reference shared with the other transactions recorded for the same operation.
+     *
+     * @return the reference, or null
+     */
+    public String getReference() {
+        return reference;
+    }
+
+    /**
+     * Returns whether the given account is the source or destination of the transaction.
+     *
+     * @param accountNumber the account number
+     * @return true if the transaction involves the account
+     */
+    public boolean involves(String accountNumber) {
+        return accountNumber.equals(sourceAccountNumber) || accountNumber.equals(destinationAccountNumber);
+    }
+
     /**
      * Sets the unique identifier for the transaction.
      *
@@ -147,6 +217,15 @@ public abstract class Transaction implements Serializable {
         this.transactionNumber = transactionNumber;
     }
 
+    /**
+     * Sets the reference shared with the other transactions recorded for the same operation.
+     *
+     * @param reference the reference, or null
+     */
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
     /**
      * Sets the description of the transaction.
      *
@@ -190,6 +269,7 @@ public abstract class Transaction implements Serializable {
      */
     public void setSourceAccount(Account sourceAccount) {
         this.sourceAccount = sourceAccount;
+        this.sourceAccountNumber = sourceAccount != null ? sourceAccount.getAccountNumber() : null;
     }
 
     /**
@@ -199,6 +279,22 @@ public abstract class Transaction implements Serializable {
      */
     public void setDestinationAccount(Account destinationAccount) {
         this.destinationAccount = destinationAccount;
+        this.destinationAccountNumber = destinationAccount != null ? destinationAccount.getAccountNumber() : null;
+    }
+
+    /**
+     * Points the transaction at accounts known only by number. They are resolved on first access.
+     *
+     * @param sourceAccountNumber the source account number, or null
+     * @param destinationAccountNumber the destination account number, or null
+     * @param accountResolver looks up an account by its number
+     */
+    void bindAccounts(String sourceAccountNumber, String destinationAccountNumber, Function<String, Account> accountResolver) {
+        this.sourceAccount = null;
+        this.destinationAccount = null;
+        this.sourceAccountNumber = sourceAccountNumber;
+        this.destinationAccountNumber = destinationAccountNumber;
+        this.accountResolver = accountResolver;
     }
 
     /**
@@ -214,8 +310,9 @@ public abstract class Transaction implements Serializable {
                 ", transactionDate=" + transactionDate +
                 ", transactionType=" + transactionType +
                 ", amount=" + amount +
-                ", sourceAccount=" + (sourceAccount != null ? sourceAccount.getAccountNumber() : "N/A") +
-                ", destinationAccount=" + (destinationAccount != null ? destinationAccount.getAccountNumber() : "N/A") +
+                ", sourceAccount=" + (sourceAccountNumber != null ? sourceAccountNumber : "N/A") +
+                ", destinationAccount=" + (destinationAccountNumber != null ? destinationAccountNumber : "N/A") +
+                (reference != null ? ", reference='" + reference + '\'' : "") +
                 '}';
     }
 
@@ -226,20 +323,76 @@ public abstract class Transaction implements Serializable {
      * @return the signed amount
      */
     public BigDecimal getSignedAmountFor(Account contextAccount) {
-        switch (transactionType) {
+        return getSignedAmountFor(contextAccount != null ? contextAccount.getAccountNumber() : null);
+    }
+
+    /**
+     * Returns the signed amount for the given context account, without loading any account.
+     *
+     * @param accountNumber the number of the context account
+     * @return the signed amount
+     */
+    public BigDecimal getSignedAmountFor(String accountNumber) {
+        return signedAmount(transactionType, amount, sourceAccountNumber, destinationAccountNumber, accountNumber);
+    }
+
+    /**
+     * Returns the change the transaction makes to the combined balance of the given accounts: each side
+     * it involves is signed as seen from that side, so a transfer between two of the accounts nets to zero.
+     * The account numbers are looked up in the set, so this takes the same time for any number of accounts.
+     *
+     * @param accountNumbers the numbers of the context accounts, e.g. all accounts of a customer
+     * @return the signed amount, or zero if the set is empty
+     */
+    public BigDecimal getSignedAmountFor(Set<String> accountNumbers) {
+        if (accountNumbers.isEmpty()) return BigDecimal.ZERO;
+        boolean fromSource = sourceAccountNumber != null && accountNumbers.contains(sourceAccountNumber);
+        boolean toDestination = destinationAccountNumber != null && accountNumbers.contains(destinationAccountNumber);
+        if (fromSource && toDestination) {
+            return getSignedAmountFor(sourceAccountNumber).add(getSignedAmountFor(destinationAccountNumber));
+        }
+        if (fromSource) return getSignedAmountFor(sourceAccountNumber);
+        if (toDestination) return getSignedAmountFor(destinationAccountNumber);
+        return getSignedAmountFor((String) null);
+    }
+
+    static BigDecimal signedAmount(TransactionType type, BigDecimal amount, String sourceAccountNumber,
+                                   String destinationAccountNumber, String accountNumber) {
+        switch (type) {
             case DEPOSIT:
                 return amount;
             case WITHDRAWAL:
             case FEE:
                 return amount.negate();
             case TRANSFER:
-                if (sourceAccount != null && sourceAccount.equals(contextAccount)) {
+                if (sourceAccountNumber != null && sourceAccountNumber.equals(accountNumber)) {
                     return amount.negate();
-                } else if (destinationAccount != null && destinationAccount.equals(contextAccount)) {
+                } else if (destinationAccountNumber != null && destinationAccountNumber.equals(accountNumber)) {
                     return amount;
                 }
                 break;
         }
         return BigDecimal.ZERO;
     }
+
+    /**
+     * Restores the transaction, taking the account numbers from the whole accounts
+     * stored by files written before accounts were referenced by number.
+     */
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        ObjectInputStream.GetField fields = in.readFields();
+        transactionNumber = (String) fields.get("transactionNumber", null);
+        description = (String) fields.get("description", null);
+        transactionDate = (Date) fields.get("transactionDate", null);
+        transactionType = (TransactionType) fields.get("transactionType", null);
+        amount = (BigDecimal) fields.get("amount", null);
+        sourceAccountNumber = (String) fields.get("sourceAccountNumber", null);
+        destinationAccountNumber = (String) fields.get("destinationAccountNumber", null);
+        reference = (String) fields.get("reference", null);
+        if (fields.getObjectStreamClass().getField("sourceAccount") != null) {
+            setSourceAccount((Account) fields.get("sourceAccount", null));
+            setDestinationAccount((Account) fields.get("destinationAccount", null));
+        }
+    }
 }
\ No newline at end of file
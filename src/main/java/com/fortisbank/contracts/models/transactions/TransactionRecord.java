@@ -0,0 +1,250 @@
+package com.fortisbank.contracts.models.transactions;
+
+import com.fortisbank.contracts.models.accounts.Account;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.function.Function;
+
+/**
+ * Storage representation of a transaction.
+ *
+ * Accounts are referenced by number and the date is kept as epoch milliseconds, so a stored
+ * record does not pin (or serialize) the accounts, their customer and the customer's inbox.
+ * A {@link Transaction} is rebuilt with {@link #toTransaction(Function)}, and its accounts are
+ * only looked up when a caller asks for them.
+ */
+public class TransactionRecord implements Serializable {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Unique identifier for the transaction.
+     */
+    private final String transactionNumber;
+
+    /**
+     * Description of the transaction.
+     */
+    private final String description;
+
+    /**
+     * Date of the transaction in milliseconds since the epoch.
+     */
+    private final long transactionDateMillis;
+
+    /**
+     * Type of the transaction.
+     */
+    private final TransactionType transactionType;
+
+    /**
+     * Amount involved in the transaction.
+     */
+    private final BigDecimal amount;
+
+    /**
+     * Number of the source account, or null if there is none.
+     */
+    private final String sourceAccountNumber;
+
+    /**
+     * Number of the destination account, or null if there is none.
+     */
+    private final String destinationAccountNumber;
+
+    /**
+     * ID of the customer owning the source account, or null if there is none.
+     */
+    private final String sourceCustomerId;
+
+    /**
+     * Reference shared with the other transactions of the same operation, or null.
+     * Records stored before the field existed read back as null.
+     */
+    private final String reference;
+
+    /**
+     * Constructor initializing the record with specified values.
+     *
+     * @param transactionNumber the unique identifier for the transaction
+     * @param description the description of the transaction
+     * @param transactionDateMillis the date of the transaction in epoch milliseconds
+     * @param transactionType the type of the transaction
+     * @param amount the amount involved in the transaction
+     * @param sourceAccountNumber the source account number, or null
+     * @param destinationAccountNumber the destination account number, or null
+     * @param sourceCustomerId the ID of the customer owning the source account, or null
+     * @param reference the reference shared with the other transactions of the same operation, or null
+     */
+    public TransactionRecord(String transactionNumber, String description, long transactionDateMillis,
+                             TransactionType transactionType, BigDecimal amount,
+                             String sourceAccountNumber, String destinationAccountNumber, String sourceCustomerId,
+                             String reference) {
+        this.transactionNumber = transactionNumber;
+        this.description = description;
+        this.transactionDateMillis = transactionDateMillis;
+        this.transactionType = transactionType;
+        this.amount = amount;
+        this.sourceAccountNumber = sourceAccountNumber;
+        this.destinationAccountNumber = destinationAccountNumber;
+        this.sourceCustomerId = sourceCustomerId;
+        this.reference = reference;
+    }
+
+    /**
+     * Creates the storage representation of a transaction.
+     *
+     * @param transaction the transaction
+     * @return the record
+     */
+    public static TransactionRecord from(Transaction transaction) {
+        Account source = transaction.getSourceAccount();
+        String customerId = source != null && source.getCustomer() != null ? source.getCustomer().getUserId() : null;
+        return new TransactionRecord(
+                transaction.getTransactionNumber(),
+                transaction.getDescription(),
+                transaction.getTransactionDate().getTime(),
+                transaction.getTransactionType(),
+                transaction.getAmount(),
+                transaction.getSourceAccountNumber(),
+                transaction.getDestinationAccountNumber(),
+                customerId,
+                transaction.getReference());
+    }
+
+    /**
+     * Rebuilds the transaction. Its accounts are resolved by number on first access.
+     *
+     * @param accountResolver looks up an account by its number
+     * @return the transaction
+     */
+    public Transaction toTransaction(Function<String, Account> accountResolver) {
+        Transaction transaction = TransactionFactory.createTransaction(
+                transactionType, description, new Date(transactionDateMillis), amount, null, null);
+        transaction.setTransactionNumber(transactionNumber);
+        transaction.setReference(reference);
+        transaction.bindAccounts(sourceAccountNumber, destinationAccountNumber, accountResolver);
+        return transaction;
+    }
+
+    /**
+     * Returns whether the given account is the source or destination of the transaction.
+     *
+     * @param accountNumber the account number
+     * @return true if the transaction involves the account
+     */
+    public boolean involves(String accountNumber) {
+        return accountNumber.equals(sourceAccountNumber) || accountNumber.equals(destinationAccountNumber);
+    }
+
+    /**
+     * Returns the signed amount for the given context account.
+     *
+     * @param accountNumber the number of the context account
+     * @return the signed amount
+     */
+    public BigDecimal getSignedAmountFor(String accountNumber) {
+        return Transaction.signedAmount(transactionType, amount, sourceAccountNumber, destinationAccountNumber, accountNumber);
+    }
+
+    /**
+     * Returns the unique identifier for the transaction.
+     *
+     * @return the transaction number
+     */
+    public String getTransactionNumber() {
+        return transactionNumber;
+    }
+
+    /**
+     * Returns the description of the transaction.
+     *
+     * @return the description
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the date of the transaction in milliseconds since the epoch.
+     *
+     * @return the transaction date in epoch milliseconds
+     */
+    public long getTransactionDateMillis() {
+        return transactionDateMillis;
+    }
+
+    /**
+     * Returns the type of the transaction.
+     *
+     * @return the transaction type
+     */
+    public TransactionType getTransactionType() {
+        return transactionType;
+    }
+
+    /**
+     * Returns the amount involved in the transaction.
+     *
+     * @return the amount
+     */
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    /**
+     * Returns the number of the source account.
+     *
+     * @return the source account number, or null
+     */
+    public String getSourceAccountNumber() {
+        return sourceAccountNumber;
+    }
+
+    /**
+     * Returns the number of the destination account.
+     *
+     * @return the destination account number, or null
+     */
+    public String getDestinationAccountNumber() {
+        return destinationAccountNumber;
+    }
+
+    /**
+     * Returns the ID of the customer owning the source account.
+     *
+     * @return the customer ID, or null
+     */
+    public String getSourceCustomerId() {
+        return sourceCustomerId;
+    }
+
+    /**
+     * Returns the reference shared with the other transactions of the same operation.
+     *
+     * @return the reference, or null
+     */
+    public String getReference() {
+        return reference;
+    }
+
+    /**
+     * Returns a string representation of the record.
+     *
+     * @return a string representation of the record
+     */
+    @Override
+    public String toString() {
+        return "TransactionRecord{" +
+                "transactionNumber='" + transactionNumber + '\'' +
+                ", transactionDateMillis=" + transactionDateMillis +
+                ", transactionType=" + transactionType +
+                ", amount=" + amount +
+                ", sourceAccountNumber='" + sourceAccountNumber + '\'' +
+                ", destinationAccountNumber='" + destinationAccountNumber + '\'' +
+                '}';
+    }
+}
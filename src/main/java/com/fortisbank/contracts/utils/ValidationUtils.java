@@ -1,6 +1,7 @@
 package com.fortisbank.contracts.utils;
 
 import com.fortisbank.contracts.exceptions.InvalidTransactionException;
+import com.fortisbank.contracts.models.others.Money;
 
 import javax.swing.*;
 import javax.swing.text.AbstractDocument;
@@ -36,15 +37,18 @@ public class ValidationUtils {
     // -------------------- General Validations --------------------
 
     /**
-     * Validates that the given amount is positive.
+     * Validates that the given amount is positive and has no more than {@link Money#DEFAULT_SCALE} decimal places.
      *
      * @param amount the amount to validate
-     * @throws InvalidTransactionException if the amount is null or not positive
+     * @throws InvalidTransactionException if the amount is null, not positive or has too many decimal places
      */
     public static void validateAmount(BigDecimal amount) {
         if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) {
             throw new InvalidTransactionException("The transaction amount must be positive.");
         }
+        if (amount.stripTrailingZeros().scale() > Money.DEFAULT_SCALE) {
+            throw new InvalidTransactionException("The transaction amount cannot have more than " + Money.DEFAULT_SCALE + " decimal places.");
+        }
     }
 
     /**
@@ -1,6 +1,8 @@
 package com.fortisbank.data.dal_utils;
 
      import java.io.*;
+     import java.nio.file.Files;
+     import java.nio.file.StandardCopyOption;
      import java.util.ArrayList;
      import java.util.List;
      import java.util.logging.Level;
@@ -94,4 +96,27 @@ package com.fortisbank.data.dal_utils;
                  LOGGER.log(Level.SEVERE, e.getMessage(), e);
              }
          }
+
+         /**
+          * Writes a single object to a file so that the file holds either the old or the new object, even if the
+          * process dies while writing. The object is written to a temporary file next to the target, synced to
+          * disk and then renamed over the target. Unlike the other write methods, failures are thrown.
+          *
+          * @param file the file to write to
+          * @param object the object to write
+          * @param <T> the type of the object
+          * @throws IOException if the object could not be written
+          */
+         public static <T> void writeObjectToFileDurably(File file, T object) throws IOException {
+             File directory = file.getAbsoluteFile().getParentFile();
+             directory.mkdirs();
+             File temp = new File(directory, file.getName() + ".tmp");
+             try (FileOutputStream fos = new FileOutputStream(temp);
+                  ObjectOutputStream oos = new ObjectOutputStream(new BufferedOutputStream(fos))) {
+                 oos.writeObject(object);
+                 oos.flush();
+                 fos.getFD().sync();
+             }
+             Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+         }
      }
\ No newline at end of file
@@ -1,16 +1,28 @@
 package com.fortisbank.data.dal_utils;
 
 import com.fortisbank.data.database.AccountRepository;
+import com.fortisbank.data.database.BalanceCheckpointRepository;
+import com.fortisbank.data.database.BalanceSnapshotRepository;
 import com.fortisbank.data.database.BankManagerRepository;
 import com.fortisbank.data.database.CustomerRepository;
+import com.fortisbank.data.database.DailyAggregateRepository;
+import com.fortisbank.data.database.NotificationRepository;
 import com.fortisbank.data.database.TransactionRepository;
 import com.fortisbank.data.file.AccountRepositoryFile;
+import com.fortisbank.data.file.BalanceCheckpointRepositoryFile;
+import com.fortisbank.data.file.BalanceSnapshotRepositoryFile;
 import com.fortisbank.data.file.BankManagerRepositoryFile;
 import com.fortisbank.data.file.CustomerRepositoryFile;
+import com.fortisbank.data.file.DailyAggregateRepositoryFile;
+import com.fortisbank.data.file.NotificationRepositoryFile;
 import com.fortisbank.data.file.TransactionRepositoryFile;
 import com.fortisbank.data.interfaces.IAccountRepository;
+import com.fortisbank.data.interfaces.IBalanceCheckpointRepository;
+import com.fortisbank.data.interfaces.IBalanceSnapshotRepository;
 import com.fortisbank.data.interfaces.IBankManagerRepository;
 import com.fortisbank.data.interfaces.ICustomerRepository;
+import com.fortisbank.data.interfaces.IDailyAggregateRepository;
+import com.fortisbank.data.interfaces.INotificationRepository;
 import com.fortisbank.data.interfaces.ITransactionRepository;
 
 import java.util.EnumMap;
@@ -59,6 +71,15 @@ public class RepositoryFactory {
         return instances.computeIfAbsent(mode, RepositoryFactory::new);
     }
 
+    /**
+     * Returns the storage mode of this factory.
+     *
+     * @return the storage mode
+     */
+    public StorageMode getStorageMode() {
+        return mode;
+    }
+
     /**
      * Returns the appropriate customer repository instance based on the current storage mode.
      *
@@ -106,4 +127,52 @@ public class RepositoryFactory {
             case DATABASE -> BankManagerRepository.getInstance();
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the appropriate balance snapshot repository instance based on the current storage mode.
+     *
+     * @return the balance snapshot repository instance
+     */
+    public IBalanceSnapshotRepository getBalanceSnapshotRepository() {
+        return switch (mode) {
+            case FILE -> BalanceSnapshotRepositoryFile.getInstance();
+            case DATABASE -> BalanceSnapshotRepository.getInstance();
+        };
+    }
+
+    /**
+     * Returns the appropriate notification repository instance based on the current storage mode.
+     *
+     * @return the notification repository instance
+     */
+    public INotificationRepository getNotificationRepository() {
+        return switch (mode) {
+            case FILE -> NotificationRepositoryFile.getInstance();
+            case DATABASE -> NotificationRepository.getInstance();
+        };
+    }
+
+    /**
+     * Returns the appropriate daily aggregate repository instance based on the current storage mode.
+     *
+     * @return the daily aggregate repository instance
+     */
+    public IDailyAggregateRepository getDailyAggregateRepository() {
+        return switch (mode) {
+            case FILE -> DailyAggregateRepositoryFile.getInstance();
+            case DATABASE -> DailyAggregateRepository.getInstance();
+        };
+    }
+
+    /**
+     * Returns the appropriate balance checkpoint repository instance based on the current storage mode.
+     *
+     * @return the balance checkpoint repository instance
+     */
+    public IBalanceCheckpointRepository getBalanceCheckpointRepository() {
+        return switch (mode) {
+            case FILE -> BalanceCheckpointRepositoryFile.getInstance();
+            case DATABASE -> BalanceCheckpointRepository.getInstance();
+        };
+    }
+}
@@ -86,6 +86,19 @@ package com.fortisbank.data.database;
              });
          }
 
+         @Override
+         public void updateAccounts(AccountList accounts) throws AccountRepositoryException {
+             String query = "UPDATE accounts SET CustomerID = ?, AccountType = ?, OpenedDate = ?, AvailableBalance = ?, isActive = ? WHERE AccountID = ?";
+             executeBatch(query, accounts, (stmt, account) -> {
+                 stmt.setString(1, account.getCustomer().getUserId());
+                 stmt.setString(2, account.getAccountType().name());
+                 stmt.setDate(3, new java.sql.Date(account.getOpenedDate().getTime()));
+                 stmt.setBigDecimal(4, account.getAvailableBalance());
+                 stmt.setBoolean(5, account.isActive());
+                 stmt.setString(6, account.getAccountNumber());
+             });
+         }
+
          @Override
          public void deleteAccount(String accountId) throws AccountRepositoryException {
              String query = "DELETE FROM accounts WHERE AccountID = ?";
@@ -152,6 +165,35 @@ package com.fortisbank.data.database;
              }
          }
 
+         private void executeBatch(String query, AccountList accounts, BatchPreparer preparer) throws AccountRepositoryException {
+             try (Connection conn = dbConnection.getConnection();
+                  PreparedStatement stmt = conn.prepareStatement(query)) {
+                 boolean autoCommit = conn.getAutoCommit();
+                 conn.setAutoCommit(false);
+                 try {
+                     for (Account account : accounts) {
+                         preparer.prepare(stmt, account);
+                         stmt.addBatch();
+                     }
+                     stmt.executeBatch();
+                     conn.commit();
+                 } catch (SQLException e) {
+                     conn.rollback();
+                     throw e;
+                 } finally {
+                     conn.setAutoCommit(autoCommit);
+                 }
+             } catch (SQLException | DatabaseConnectionException e) {
+                 LOGGER.log(Level.SEVERE, "Error executing batch: {0}", e.getMessage());
+                 throw new AccountRepositoryException("Error executing batch: " + query, e);
+             }
+         }
+
+         @FunctionalInterface
+         private interface BatchPreparer {
+             void prepare(PreparedStatement stmt, Account account) throws SQLException;
+         }
+
          @FunctionalInterface
          private interface QueryPreparer {
              void prepare(PreparedStatement stmt) throws SQLException;
@@ -0,0 +1,105 @@
+package com.fortisbank.data.database;
+
+import com.fortisbank.contracts.exceptions.BalanceCheckpointRepositoryException;
+import com.fortisbank.contracts.exceptions.DatabaseConnectionException;
+import com.fortisbank.contracts.models.accounts.BalanceCheckpoint;
+import com.fortisbank.data.interfaces.IBalanceCheckpointRepository;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Repository class for managing balance checkpoints in the database.
+ * Implements the IBalanceCheckpointRepository interface.
+ */
+public class BalanceCheckpointRepository implements IBalanceCheckpointRepository {
+    private static final Logger LOGGER = Logger.getLogger(BalanceCheckpointRepository.class.getName());
+    private static BalanceCheckpointRepository instance;
+
+    private static final String LATEST_CHECKPOINTS =
+            "SELECT c.AccountNumber, c.AsOf, c.Balance FROM balance_checkpoints c " +
+            "WHERE c.AsOf = (SELECT MAX(m.AsOf) FROM balance_checkpoints m " +
+            "WHERE m.AccountNumber = c.AccountNumber AND m.AsOf <= ?)";
+
+    private static final String SAVE_CHECKPOINT =
+            "MERGE INTO balance_checkpoints c USING (SELECT ? AS AccountNumber, ? AS AsOf, ? AS Balance FROM dual) src " +
+            "ON (c.AccountNumber = src.AccountNumber AND c.AsOf = src.AsOf) " +
+            "WHEN MATCHED THEN UPDATE SET c.Balance = src.Balance " +
+            "WHEN NOT MATCHED THEN INSERT (AccountNumber, AsOf, Balance) VALUES (src.AccountNumber, src.AsOf, src.Balance)";
+
+    private final DatabaseConnection dbConnection;
+
+    private BalanceCheckpointRepository() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    public static synchronized BalanceCheckpointRepository getInstance() {
+        if (instance == null) {
+            instance = new BalanceCheckpointRepository();
+        }
+        return instance;
+    }
+
+    /**
+     * Reads the latest checkpoint of every account and keeps the requested ones, which avoids
+     * binding an unbounded list of account numbers; there is only one row per account.
+     */
+    @Override
+    public Map<String, BalanceCheckpoint> getLatestCheckpoints(Collection<String> accountNumbers, LocalDate onOrBefore) throws BalanceCheckpointRepositoryException {
+        Set<String> wanted = new HashSet<>(accountNumbers);
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(LATEST_CHECKPOINTS)) {
+            stmt.setDate(1, Date.valueOf(onOrBefore));
+            Map<String, BalanceCheckpoint> latest = new HashMap<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    String accountNumber = rs.getString("AccountNumber");
+                    if (!wanted.contains(accountNumber)) continue;
+                    latest.put(accountNumber, new BalanceCheckpoint(
+                            accountNumber,
+                            rs.getDate("AsOf").toLocalDate(),
+                            rs.getBigDecimal("Balance")));
+                }
+            }
+            return latest;
+        } catch (SQLException | DatabaseConnectionException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving balance checkpoints: {0}", e.getMessage());
+            throw new BalanceCheckpointRepositoryException("Error retrieving balance checkpoints on or before " + onOrBefore, e);
+        }
+    }
+
+    @Override
+    public void saveCheckpoints(List<BalanceCheckpoint> checkpoints) throws BalanceCheckpointRepositoryException {
+        if (checkpoints.isEmpty()) return;
+        try (Connection conn = dbConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(SAVE_CHECKPOINT)) {
+                for (BalanceCheckpoint checkpoint : checkpoints) {
+                    stmt.setString(1, checkpoint.getAccountNumber());
+                    stmt.setDate(2, Date.valueOf(checkpoint.getAsOf()));
+                    stmt.setBigDecimal(3, checkpoint.getBalance());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException | DatabaseConnectionException e) {
+            LOGGER.log(Level.SEVERE, "Error saving balance checkpoints: {0}", e.getMessage());
+            throw new BalanceCheckpointRepositoryException("Error saving balance checkpoints", e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.fortisbank.data.database;
+
+import com.fortisbank.contracts.exceptions.BalanceSnapshotRepositoryException;
+import com.fortisbank.contracts.exceptions.DatabaseConnectionException;
+import com.fortisbank.contracts.models.accounts.BalanceSnapshot;
+import com.fortisbank.data.interfaces.IBalanceSnapshotRepository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Repository class for managing balance snapshots in the database.
+ * Implements the IBalanceSnapshotRepository interface.
+ */
+public class BalanceSnapshotRepository implements IBalanceSnapshotRepository {
+    private static final Logger LOGGER = Logger.getLogger(BalanceSnapshotRepository.class.getName());
+    private static BalanceSnapshotRepository instance;
+
+    private final DatabaseConnection dbConnection;
+
+    private BalanceSnapshotRepository() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    public static synchronized BalanceSnapshotRepository getInstance() {
+        if (instance == null) {
+            instance = new BalanceSnapshotRepository();
+        }
+        return instance;
+    }
+
+    @Override
+    public BalanceSnapshot getSnapshot(String accountNumber) throws BalanceSnapshotRepositoryException {
+        String query = "SELECT * FROM balance_snapshots WHERE AccountNumber = ?";
+        List<BalanceSnapshot> snapshots = executeQuery(query, stmt -> stmt.setString(1, accountNumber));
+        return snapshots.isEmpty() ? null : snapshots.get(0);
+    }
+
+    @Override
+    public List<BalanceSnapshot> getAllSnapshots() throws BalanceSnapshotRepositoryException {
+        return executeQuery("SELECT * FROM balance_snapshots", stmt -> {});
+    }
+
+    @Override
+    public void saveSnapshot(BalanceSnapshot snapshot) throws BalanceSnapshotRepositoryException {
+        String query = "MERGE INTO balance_snapshots s USING (SELECT ? AS AccountNumber FROM dual) src " +
+                "ON (s.AccountNumber = src.AccountNumber) " +
+                "WHEN MATCHED THEN UPDATE SET s.Balance = ?, s.EventCount = ?, s.CoveredBefore = ?, s.TakenAt = ?, " +
+                "s.ProjectedBalance = ?, s.TailSize = ? " +
+                "WHEN NOT MATCHED THEN INSERT (AccountNumber, Balance, EventCount, CoveredBefore, TakenAt, ProjectedBalance, TailSize) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            java.sql.Timestamp takenAt = new java.sql.Timestamp(snapshot.getTakenAt().getTime());
+            java.sql.Date coveredBefore = snapshot.getCoveredBefore() != null ? java.sql.Date.valueOf(snapshot.getCoveredBefore()) : null;
+            stmt.setString(1, snapshot.getAccountNumber());
+            stmt.setBigDecimal(2, snapshot.getBalance());
+            stmt.setLong(3, snapshot.getEventCount());
+            stmt.setDate(4, coveredBefore);
+            stmt.setTimestamp(5, takenAt);
+            stmt.setBigDecimal(6, snapshot.getProjectedBalance());
+            stmt.setInt(7, snapshot.getTailSize());
+            stmt.setString(8, snapshot.getAccountNumber());
+            stmt.setBigDecimal(9, snapshot.getBalance());
+            stmt.setLong(10, snapshot.getEventCount());
+            stmt.setDate(11, coveredBefore);
+            stmt.setTimestamp(12, takenAt);
+            stmt.setBigDecimal(13, snapshot.getProjectedBalance());
+            stmt.setInt(14, snapshot.getTailSize());
+            stmt.executeUpdate();
+        } catch (SQLException | DatabaseConnectionException e) {
+            LOGGER.log(Level.SEVERE, "Error saving balance snapshot: {0}", e.getMessage());
+            throw new BalanceSnapshotRepositoryException("Error saving balance snapshot for account: " + snapshot.getAccountNumber(), e);
+        }
+    }
+
+    private List<BalanceSnapshot> executeQuery(String query, QueryPreparer preparer) throws BalanceSnapshotRepositoryException {
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            preparer.prepare(stmt);
+            List<BalanceSnapshot> snapshots = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    java.sql.Date coveredBefore = rs.getDate("CoveredBefore");
+                    snapshots.add(new BalanceSnapshot(
+                            rs.getString("AccountNumber"),
+                            rs.getBigDecimal("Balance"),
+                            rs.getLong("EventCount"),
+                            coveredBefore != null ? coveredBefore.toLocalDate() : null,
+                            rs.getBigDecimal("ProjectedBalance"),
+                            rs.getInt("TailSize")));
+                }
+            }
+            return snapshots;
+        } catch (SQLException | DatabaseConnectionException e) {
+            LOGGER.log(Level.SEVERE, "Error executing query: {0}", e.getMessage());
+            throw new BalanceSnapshotRepositoryException("Error executing query: " + query, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface QueryPreparer {
+        void prepare(PreparedStatement stmt) throws SQLException;
+    }
+}
@@ -4,6 +4,8 @@ package com.fortisbank.data.database;
      import com.fortisbank.contracts.exceptions.CustomerRepositoryException;
      import com.fortisbank.contracts.exceptions.DatabaseConnectionException;
      import com.fortisbank.contracts.collections.CustomerList;
+     import com.fortisbank.contracts.models.others.CustomerSortField;
+     import com.fortisbank.contracts.models.others.PageQuery;
      import com.fortisbank.contracts.models.users.Customer;
      import org.jetbrains.annotations.NotNull;
 
@@ -22,6 +24,8 @@ package com.fortisbank.data.database;
          private static final Logger LOGGER = Logger.getLogger(CustomerRepository.class.getName());
          private final DatabaseConnection dbConnection;
          private static CustomerRepository instance;
+         private static final String FILTER_CLAUSE =
+                 " WHERE LOWER(FirstName || ' ' || LastName) LIKE ? ESCAPE '\\' OR LOWER(Email) LIKE ? ESCAPE '\\'";
 
          private CustomerRepository() {
              this.dbConnection = DatabaseConnection.getInstance();
@@ -74,6 +78,59 @@ package com.fortisbank.data.database;
              return customers;
          }
 
+         @Override
+         public CustomerList getCustomersPage(PageQuery<CustomerSortField> query) throws CustomerRepositoryException {
+             var customers = new CustomerList();
+             String direction = query.isAscending() ? " ASC" : " DESC";
+             String orderBy = switch (query.getSortField()) {
+                 case NAME -> "LOWER(LastName)" + direction + ", LOWER(FirstName)" + direction;
+                 case EMAIL -> "LOWER(Email)" + direction;
+             };
+             String sql = "SELECT * FROM customers" + (query.getFilter() != null ? FILTER_CLAUSE : "") +
+                     " ORDER BY " + orderBy + ", CustomerID" + direction + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+
+             try (Connection conn = dbConnection.getConnection();
+                  PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                 int i = 1;
+                 if (query.getFilter() != null) {
+                     stmt.setString(i++, query.getLikePattern());
+                     stmt.setString(i++, query.getLikePattern());
+                 }
+                 stmt.setInt(i++, query.getOffset());
+                 stmt.setInt(i, query.getLimit());
+                 try (ResultSet rs = stmt.executeQuery()) {
+                     while (rs.next()) {
+                         customers.add(mapResultSetToCustomer(rs));
+                     }
+                 }
+             } catch (SQLException | DatabaseConnectionException e) {
+                 LOGGER.log(Level.SEVERE, "Error retrieving page of customers: {0}", e.getMessage());
+                 throw new CustomerRepositoryException("Error retrieving page of customers", e);
+             }
+             return customers;
+         }
+
+         @Override
+         public int countCustomers(String filter) throws CustomerRepositoryException {
+             String sql = "SELECT COUNT(*) FROM customers" + (filter != null ? FILTER_CLAUSE : "");
+
+             try (Connection conn = dbConnection.getConnection();
+                  PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                 if (filter != null) {
+                     stmt.setString(1, PageQuery.likePattern(filter));
+                     stmt.setString(2, PageQuery.likePattern(filter));
+                 }
+                 try (ResultSet rs = stmt.executeQuery()) {
+                     return rs.next() ? rs.getInt(1) : 0;
+                 }
+             } catch (SQLException | DatabaseConnectionException e) {
+                 LOGGER.log(Level.SEVERE, "Error counting customers: {0}", e.getMessage());
+                 throw new CustomerRepositoryException("Error counting customers", e);
+             }
+         }
+
          @Override
          public void insertCustomer(Customer customer) throws CustomerRepositoryException {
              String query = "INSERT INTO customers (CustomerID, FirstName, LastName, Email, PhoneNumber, PINHash) VALUES (?, ?, ?, ?, ?, ?)";
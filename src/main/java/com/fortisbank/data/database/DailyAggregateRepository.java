@@ -0,0 +1,164 @@
+package com.fortisbank.data.database;
+
+import com.fortisbank.contracts.exceptions.DailyAggregateRepositoryException;
+import com.fortisbank.contracts.exceptions.DatabaseConnectionException;
+import com.fortisbank.contracts.models.accounts.AccountType;
+import com.fortisbank.contracts.models.reports.DailyAggregate;
+import com.fortisbank.data.interfaces.IDailyAggregateRepository;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Repository class for managing daily aggregates in the database.
+ * Implements the IDailyAggregateRepository interface.
+ *
+ * Amounts are added to the stored rows by the database, so concurrent commits never overwrite each other.
+ */
+public class DailyAggregateRepository implements IDailyAggregateRepository {
+    private static final Logger LOGGER = Logger.getLogger(DailyAggregateRepository.class.getName());
+    private static DailyAggregateRepository instance;
+
+    private static final String ADD_TO_AGGREGATE =
+            "MERGE INTO daily_aggregates d USING (SELECT ? AS AggregateDay, ? AS AccountType, ? AS EntryCount, " +
+            "? AS Deposits, ? AS Withdrawals, ? AS TransfersIn, ? AS TransfersOut, ? AS Fees, ? AS BalanceChange FROM dual) src " +
+            "ON (d.AggregateDay = src.AggregateDay AND d.AccountType = src.AccountType) " +
+            "WHEN MATCHED THEN UPDATE SET d.EntryCount = d.EntryCount + src.EntryCount, d.Deposits = d.Deposits + src.Deposits, " +
+            "d.Withdrawals = d.Withdrawals + src.Withdrawals, d.TransfersIn = d.TransfersIn + src.TransfersIn, " +
+            "d.TransfersOut = d.TransfersOut + src.TransfersOut, d.Fees = d.Fees + src.Fees, " +
+            "d.BalanceChange = d.BalanceChange + src.BalanceChange " +
+            "WHEN NOT MATCHED THEN INSERT (AggregateDay, AccountType, EntryCount, Deposits, Withdrawals, TransfersIn, " +
+            "TransfersOut, Fees, BalanceChange) VALUES (src.AggregateDay, src.AccountType, src.EntryCount, src.Deposits, " +
+            "src.Withdrawals, src.TransfersIn, src.TransfersOut, src.Fees, src.BalanceChange)";
+
+    private static final String INSERT_AGGREGATE =
+            "INSERT INTO daily_aggregates (AggregateDay, AccountType, EntryCount, Deposits, Withdrawals, TransfersIn, " +
+            "TransfersOut, Fees, BalanceChange) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final DatabaseConnection dbConnection;
+
+    private DailyAggregateRepository() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    public static synchronized DailyAggregateRepository getInstance() {
+        if (instance == null) {
+            instance = new DailyAggregateRepository();
+        }
+        return instance;
+    }
+
+    @Override
+    public List<DailyAggregate> getAggregates(LocalDate from, LocalDate to) throws DailyAggregateRepositoryException {
+        StringBuilder query = new StringBuilder("SELECT * FROM daily_aggregates WHERE 1 = 1");
+        if (from != null) query.append(" AND AggregateDay >= ?");
+        if (to != null) query.append(" AND AggregateDay <= ?");
+        query.append(" ORDER BY AggregateDay, AccountType");
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query.toString())) {
+            int i = 1;
+            if (from != null) stmt.setDate(i++, Date.valueOf(from));
+            if (to != null) stmt.setDate(i, Date.valueOf(to));
+            List<DailyAggregate> aggregates = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    aggregates.add(new DailyAggregate(
+                            rs.getDate("AggregateDay").toLocalDate(),
+                            AccountType.valueOf(rs.getString("AccountType")),
+                            rs.getLong("EntryCount"),
+                            rs.getBigDecimal("Deposits"),
+                            rs.getBigDecimal("Withdrawals"),
+                            rs.getBigDecimal("TransfersIn"),
+                            rs.getBigDecimal("TransfersOut"),
+                            rs.getBigDecimal("Fees"),
+                            rs.getBigDecimal("BalanceChange")));
+                }
+            }
+            return aggregates;
+        } catch (SQLException | DatabaseConnectionException e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving daily aggregates: {0}", e.getMessage());
+            throw new DailyAggregateRepositoryException("Error retrieving daily aggregates from " + from + " to " + to, e);
+        }
+    }
+
+    @Override
+    public void addToAggregates(List<DailyAggregate> deltas) throws DailyAggregateRepositoryException {
+        if (deltas.isEmpty()) return;
+        executeInTransaction(conn -> executeBatch(conn, ADD_TO_AGGREGATE, deltas), "Error saving daily aggregates");
+    }
+
+    @Override
+    public void replaceAllAggregates(List<DailyAggregate> aggregates) throws DailyAggregateRepositoryException {
+        executeInTransaction(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM daily_aggregates")) {
+                stmt.executeUpdate();
+            }
+            executeBatch(conn, INSERT_AGGREGATE, aggregates);
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM daily_aggregate_rebuilds")) {
+                stmt.executeUpdate();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("INSERT INTO daily_aggregate_rebuilds (RebuiltAt) VALUES (?)")) {
+                stmt.setTimestamp(1, new Timestamp(System.currentTimeMillis()));
+                stmt.executeUpdate();
+            }
+        }, "Error replacing daily aggregates");
+    }
+
+    @Override
+    public boolean isRebuilt() throws DailyAggregateRepositoryException {
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT COUNT(*) FROM daily_aggregate_rebuilds");
+             ResultSet rs = stmt.executeQuery()) {
+            return rs.next() && rs.getInt(1) > 0;
+        } catch (SQLException | DatabaseConnectionException e) {
+            LOGGER.log(Level.SEVERE, "Error reading the daily aggregate rebuild: {0}", e.getMessage());
+            throw new DailyAggregateRepositoryException("Error reading the daily aggregate rebuild", e);
+        }
+    }
+
+    private void executeBatch(Connection conn, String query, List<DailyAggregate> aggregates) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(query)) {
+            for (DailyAggregate a : aggregates) {
+                stmt.setDate(1, Date.valueOf(a.getDay()));
+                stmt.setString(2, a.getAccountType().name());
+                stmt.setLong(3, a.getEntryCount());
+                stmt.setBigDecimal(4, a.getDeposits());
+                stmt.setBigDecimal(5, a.getWithdrawals());
+                stmt.setBigDecimal(6, a.getTransfersIn());
+                stmt.setBigDecimal(7, a.getTransfersOut());
+                stmt.setBigDecimal(8, a.getFees());
+                stmt.setBigDecimal(9, a.getBalanceChange());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    private void executeInTransaction(TransactionWork work, String errorMessage) throws DailyAggregateRepositoryException {
+        try (Connection conn = dbConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                work.execute(conn);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException | DatabaseConnectionException e) {
+            LOGGER.log(Level.SEVERE, "{0}: {1}", new Object[]{errorMessage, e.getMessage()});
+            throw new DailyAggregateRepositoryException(errorMessage, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface TransactionWork {
+        void execute(Connection conn) throws SQLException;
+    }
+}
@@ -0,0 +1,273 @@
+package com.fortisbank.data.database;
+
+import com.fortisbank.contracts.exceptions.DatabaseConnectionException;
+import com.fortisbank.contracts.exceptions.NotificationRepositoryException;
+import com.fortisbank.contracts.models.others.NotificationCursor;
+import com.fortisbank.contracts.models.others.NotificationRecord;
+import com.fortisbank.contracts.models.others.NotificationType;
+import com.fortisbank.data.interfaces.INotificationRepository;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Repository class for managing notifications in the database.
+ * Implements the INotificationRepository interface.
+ *
+ * Notifications are read through the (RecipientID, CreatedAt) index. The total and unread count of
+ * every recipient are kept in the notification_counters table, which is updated in the same
+ * transaction as the notifications.
+ */
+public class NotificationRepository implements INotificationRepository {
+    private static final Logger LOGGER = Logger.getLogger(NotificationRepository.class.getName());
+    private static NotificationRepository instance;
+
+    private static final String REFRESH_COUNTERS =
+            "MERGE INTO notification_counters c USING (" +
+            "SELECT ? AS RecipientID, COUNT(*) AS TotalCount, NVL(SUM(CASE WHEN IsRead = 0 THEN 1 ELSE 0 END), 0) AS UnreadCount " +
+            "FROM notifications WHERE RecipientID = ?) src ON (c.RecipientID = src.RecipientID) " +
+            "WHEN MATCHED THEN UPDATE SET c.TotalCount = src.TotalCount, c.UnreadCount = src.UnreadCount " +
+            "WHEN NOT MATCHED THEN INSERT (RecipientID, TotalCount, UnreadCount) VALUES (src.RecipientID, src.TotalCount, src.UnreadCount)";
+
+    private final DatabaseConnection dbConnection;
+
+    private NotificationRepository() {
+        this.dbConnection = DatabaseConnection.getInstance();
+    }
+
+    public static synchronized NotificationRepository getInstance() {
+        if (instance == null) {
+            instance = new NotificationRepository();
+        }
+        return instance;
+    }
+
+    @Override
+    public void insertNotifications(List<NotificationRecord> notifications) throws NotificationRepositoryException {
+        if (notifications.isEmpty()) return;
+        String query = "INSERT INTO notifications (NotificationID, RecipientID, NotificationType, Title, Message, CreatedAt, " +
+                "IsRead, RelatedCustomerID, RelatedAccountID) " +
+                "SELECT ?, ?, ?, ?, ?, ?, ?, ?, ? FROM dual " +
+                "WHERE NOT EXISTS (SELECT 1 FROM notifications WHERE NotificationID = ?)";
+        executeInTransaction(conn -> {
+            Set<String> recipients = new LinkedHashSet<>();
+            try (PreparedStatement stmt = conn.prepareStatement(query)) {
+                for (NotificationRecord n : notifications) {
+                    stmt.setString(1, n.getNotificationId());
+                    stmt.setString(2, n.getRecipientId());
+                    stmt.setString(3, n.getType().name());
+                    stmt.setString(4, n.getTitle());
+                    stmt.setString(5, n.getMessage());
+                    stmt.setTimestamp(6, new Timestamp(n.getTimestampMillis()));
+                    stmt.setBoolean(7, n.isRead());
+                    stmt.setString(8, n.getRelatedCustomerId());
+                    stmt.setString(9, n.getRelatedAccountNumber());
+                    stmt.setString(10, n.getNotificationId());
+                    stmt.addBatch();
+                    recipients.add(n.getRecipientId());
+                }
+                stmt.executeBatch();
+            }
+            for (String recipientId : recipients) {
+                refreshCounters(conn, recipientId);
+            }
+        }, "Error inserting notifications");
+    }
+
+    @Override
+    public List<NotificationRecord> getNotifications(String recipientId, int offset, int limit) throws NotificationRepositoryException {
+        String query = "SELECT * FROM notifications WHERE RecipientID = ? " +
+                "ORDER BY CreatedAt DESC, NotificationID DESC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+        return executeQuery(query, stmt -> {
+            stmt.setString(1, recipientId);
+            stmt.setInt(2, offset);
+            stmt.setInt(3, limit);
+        });
+    }
+
+    @Override
+    public List<NotificationRecord> getUnreadNotifications(String recipientId, int offset, int limit) throws NotificationRepositoryException {
+        String query = "SELECT * FROM notifications WHERE RecipientID = ? AND IsRead = 0 " +
+                "ORDER BY CreatedAt DESC, NotificationID DESC OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+        return executeQuery(query, stmt -> {
+            stmt.setString(1, recipientId);
+            stmt.setInt(2, offset);
+            stmt.setInt(3, limit);
+        });
+    }
+
+    @Override
+    public List<NotificationRecord> getNotificationsAfter(String recipientId, NotificationCursor cursor, boolean unreadOnly, int limit) throws NotificationRepositoryException {
+        StringBuilder query = new StringBuilder("SELECT * FROM notifications WHERE RecipientID = ?");
+        if (unreadOnly) query.append(" AND IsRead = 0");
+        if (cursor != null) query.append(" AND (CreatedAt < ? OR (CreatedAt = ? AND NotificationID < ?))");
+        query.append(" ORDER BY CreatedAt DESC, NotificationID DESC FETCH FIRST ? ROWS ONLY");
+        return executeQuery(query.toString(), stmt -> {
+            int i = 1;
+            stmt.setString(i++, recipientId);
+            if (cursor != null) {
+                Timestamp at = new Timestamp(cursor.getTimestampMillis());
+                stmt.setTimestamp(i++, at);
+                stmt.setTimestamp(i++, at);
+                stmt.setString(i++, cursor.getNotificationId());
+            }
+            stmt.setInt(i, limit);
+        });
+    }
+
+    @Override
+    public int countNotifications(String recipientId) throws NotificationRepositoryException {
+        return readCounter("TotalCount", recipientId);
+    }
+
+    @Override
+    public int countUnreadNotifications(String recipientId) throws NotificationRepositoryException {
+        return readCounter("UnreadCount", recipientId);
+    }
+
+    @Override
+    public void markAsRead(String recipientId, String notificationId) throws NotificationRepositoryException {
+        executeInTransaction(conn -> {
+            int updated;
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "UPDATE notifications SET IsRead = 1 WHERE RecipientID = ? AND NotificationID = ? AND IsRead = 0")) {
+                stmt.setString(1, recipientId);
+                stmt.setString(2, notificationId);
+                updated = stmt.executeUpdate();
+            }
+            if (updated > 0) {
+                try (PreparedStatement stmt = conn.prepareStatement(
+                        "UPDATE notification_counters SET UnreadCount = UnreadCount - ? WHERE RecipientID = ?")) {
+                    stmt.setInt(1, updated);
+                    stmt.setString(2, recipientId);
+                    stmt.executeUpdate();
+                }
+            }
+        }, "Error marking notification as read: " + notificationId);
+    }
+
+    @Override
+    public void markAllAsRead(String recipientId) throws NotificationRepositoryException {
+        executeInTransaction(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "UPDATE notifications SET IsRead = 1 WHERE RecipientID = ? AND IsRead = 0")) {
+                stmt.setString(1, recipientId);
+                stmt.executeUpdate();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "UPDATE notification_counters SET UnreadCount = 0 WHERE RecipientID = ?")) {
+                stmt.setString(1, recipientId);
+                stmt.executeUpdate();
+            }
+        }, "Error marking all notifications as read for recipient: " + recipientId);
+    }
+
+    @Override
+    public void deleteNotification(String recipientId, String notificationId) throws NotificationRepositoryException {
+        executeInTransaction(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "DELETE FROM notifications WHERE RecipientID = ? AND NotificationID = ?")) {
+                stmt.setString(1, recipientId);
+                stmt.setString(2, notificationId);
+                stmt.executeUpdate();
+            }
+            refreshCounters(conn, recipientId);
+        }, "Error deleting notification: " + notificationId);
+    }
+
+    @Override
+    public void deleteAllNotifications(String recipientId) throws NotificationRepositoryException {
+        executeInTransaction(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM notifications WHERE RecipientID = ?")) {
+                stmt.setString(1, recipientId);
+                stmt.executeUpdate();
+            }
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM notification_counters WHERE RecipientID = ?")) {
+                stmt.setString(1, recipientId);
+                stmt.executeUpdate();
+            }
+        }, "Error deleting notifications for recipient: " + recipientId);
+    }
+
+    private void refreshCounters(Connection conn, String recipientId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(REFRESH_COUNTERS)) {
+            stmt.setString(1, recipientId);
+            stmt.setString(2, recipientId);
+            stmt.executeUpdate();
+        }
+    }
+
+    private int readCounter(String column, String recipientId) throws NotificationRepositoryException {
+        String query = "SELECT " + column + " FROM notification_counters WHERE RecipientID = ?";
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            stmt.setString(1, recipientId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException | DatabaseConnectionException e) {
+            LOGGER.log(Level.SEVERE, "Error reading notification counter: {0}", e.getMessage());
+            throw new NotificationRepositoryException("Error reading notification counter for recipient: " + recipientId, e);
+        }
+    }
+
+    private List<NotificationRecord> executeQuery(String query, QueryPreparer preparer) throws NotificationRepositoryException {
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            preparer.prepare(stmt);
+            List<NotificationRecord> notifications = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    notifications.add(new NotificationRecord(
+                            rs.getString("NotificationID"),
+                            rs.getString("RecipientID"),
+                            NotificationType.valueOf(rs.getString("NotificationType")),
+                            rs.getString("Title"),
+                            rs.getString("Message"),
+                            rs.getTimestamp("CreatedAt").getTime(),
+                            rs.getBoolean("IsRead"),
+                            rs.getString("RelatedCustomerID"),
+                            rs.getString("RelatedAccountID")));
+                }
+            }
+            return notifications;
+        } catch (SQLException | DatabaseConnectionException e) {
+            LOGGER.log(Level.SEVERE, "Error executing query: {0}", e.getMessage());
+            throw new NotificationRepositoryException("Error executing query: " + query, e);
+        }
+    }
+
+    private void executeInTransaction(TransactionWork work, String errorMessage) throws NotificationRepositoryException {
+        try (Connection conn = dbConnection.getConnection()) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                work.execute(conn);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException | DatabaseConnectionException e) {
+            LOGGER.log(Level.SEVERE, "{0}: {1}", new Object[]{errorMessage, e.getMessage()});
+            throw new NotificationRepositoryException(errorMessage, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface QueryPreparer {
+        void prepare(PreparedStatement stmt) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface TransactionWork {
+        void execute(Connection conn) throws SQLException;
+    }
+}
@@ -6,14 +6,26 @@ import com.fortisbank.contracts.exceptions.DatabaseConnectionException;
 import com.fortisbank.contracts.exceptions.TransactionRepositoryException;
 import com.fortisbank.contracts.models.accounts.Account;
 import com.fortisbank.contracts.collections.TransactionList;
+import com.fortisbank.contracts.models.others.PageQuery;
+import com.fortisbank.contracts.models.others.TransactionSortField;
 import com.fortisbank.contracts.models.transactions.Transaction;
-import com.fortisbank.contracts.models.transactions.TransactionFactory;
+import com.fortisbank.contracts.models.transactions.TransactionRecord;
 import com.fortisbank.contracts.models.transactions.TransactionType;
 import com.fortisbank.contracts.utils.IdGenerator;
 
 import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -24,6 +36,14 @@ import java.util.logging.Logger;
 public class TransactionRepository implements ITransactionRepository {
     private static final Logger LOGGER = Logger.getLogger(TransactionRepository.class.getName());
     private static TransactionRepository instance;
+    private static final String ACCOUNT_FILTER_CLAUSE = " WHERE (SourceAccount = ? OR DestinationAccount = ?)";
+    private static final int CURSOR_FETCH_SIZE = 500;
+    private static final int MAX_IN_LIST_SIZE = 1000;
+    private static final String CUSTOMER_FILTER_CLAUSE =
+            " WHERE (t.SourceAccount IN (SELECT AccountNumber FROM accounts WHERE CustomerID = ?)" +
+            " OR t.DestinationAccount IN (SELECT AccountNumber FROM accounts WHERE CustomerID = ?))";
+    private static final String TEXT_FILTER_CLAUSE =
+            " AND (LOWER(Description) LIKE ? ESCAPE '\\' OR LOWER(TransactionType) LIKE ? ESCAPE '\\')";
 
     private final DatabaseConnection dbConnection;
     private final AccountRepository accountRepository;
@@ -47,7 +67,8 @@ public class TransactionRepository implements ITransactionRepository {
     @Override
     public Transaction getTransactionByNumber(String transactionNumber) throws TransactionRepositoryException {
         String query = "SELECT * FROM transactions WHERE TransactionNumber = ?";
-        return executeQuery(query, stmt -> stmt.setString(1, transactionNumber), this::mapResultSetToTransaction);
+        return executeQuery(query, stmt -> stmt.setString(1, transactionNumber),
+                rs -> rs.next() ? mapResultSetToTransaction(rs, accountResolver()) : null);
     }
 
     @Override
@@ -59,16 +80,51 @@ public class TransactionRepository implements ITransactionRepository {
         });
     }
 
+    @Override
+    public TransactionList getTransactionsByAccountSince(String accountId, LocalDate from) throws TransactionRepositoryException {
+        if (from == null) return getTransactionsByAccount(accountId);
+        String query = "SELECT * FROM transactions WHERE (SourceAccount = ? OR DestinationAccount = ?) AND TransactionDate >= ?";
+        return executeQueryList(query, stmt -> {
+            stmt.setString(1, accountId);
+            stmt.setString(2, accountId);
+            stmt.setDate(3, Date.valueOf(from));
+        });
+    }
+
     @Override
     public TransactionList getAllTransactions() throws TransactionRepositoryException {
         String query = "SELECT * FROM transactions";
         return executeQueryList(query, stmt -> {});
     }
 
+    @Override
+    public TransactionList getTransactionsPage(String accountId, PageQuery<TransactionSortField> query) throws TransactionRepositoryException {
+        String direction = query.isAscending() ? " ASC" : " DESC";
+        String column = switch (query.getSortField()) {
+            case DATE -> "TransactionDate";
+            case TYPE -> "TransactionType";
+            case DESCRIPTION -> "LOWER(Description)";
+            case AMOUNT -> "Amount";
+        };
+        String sql = "SELECT * FROM transactions" + ACCOUNT_FILTER_CLAUSE + (query.getFilter() != null ? TEXT_FILTER_CLAUSE : "") +
+                " ORDER BY " + column + direction + ", TransactionNumber" + direction + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+        return executeQueryList(sql, stmt -> {
+            int i = prepareFilter(stmt, accountId, query.getFilter());
+            stmt.setInt(i++, query.getOffset());
+            stmt.setInt(i, query.getLimit());
+        });
+    }
+
+    @Override
+    public int countTransactions(String accountId, String filter) throws TransactionRepositoryException {
+        String sql = "SELECT COUNT(*) FROM transactions" + ACCOUNT_FILTER_CLAUSE + (filter != null ? TEXT_FILTER_CLAUSE : "");
+        return executeQuery(sql, stmt -> prepareFilter(stmt, accountId, filter), rs -> rs.next() ? rs.getInt(1) : 0);
+    }
+
     @Override
     public void insertTransaction(Transaction transaction) throws TransactionRepositoryException {
-        String query = "INSERT INTO transactions (TransactionNumber, Description, TransactionDate, TransactionType, Amount, SourceAccount, DestinationAccount) " +
-                "VALUES (?, ?, ?, ?, ?, ?, ?)";
+        String query = "INSERT INTO transactions (TransactionNumber, Description, TransactionDate, TransactionType, Amount, SourceAccount, DestinationAccount, Reference) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
         executeUpdate(query, stmt -> {
             String transactionId = (transaction.getTransactionNumber() != null) ? transaction.getTransactionNumber() : IdGenerator.generateId();
             stmt.setString(1, transactionId);
@@ -76,8 +132,26 @@ public class TransactionRepository implements ITransactionRepository {
             stmt.setDate(3, new java.sql.Date(transaction.getTransactionDate().getTime()));
             stmt.setString(4, transaction.getTransactionType().name());
             stmt.setBigDecimal(5, transaction.getAmount());
-            stmt.setString(6, transaction.getSourceAccount().getAccountNumber());
-            stmt.setString(7, (transaction.getDestinationAccount() != null) ? transaction.getDestinationAccount().getAccountNumber() : null);
+            stmt.setString(6, transaction.getSourceAccountNumber());
+            stmt.setString(7, transaction.getDestinationAccountNumber());
+            stmt.setString(8, transaction.getReference());
+        });
+    }
+
+    @Override
+    public void insertTransactions(TransactionList transactions) throws TransactionRepositoryException {
+        String query = "INSERT INTO transactions (TransactionNumber, Description, TransactionDate, TransactionType, Amount, SourceAccount, DestinationAccount, Reference) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+        executeBatch(query, transactions, (stmt, transaction) -> {
+            String transactionId = (transaction.getTransactionNumber() != null) ? transaction.getTransactionNumber() : IdGenerator.generateId();
+            stmt.setString(1, transactionId);
+            stmt.setString(2, transaction.getDescription());
+            stmt.setDate(3, new java.sql.Date(transaction.getTransactionDate().getTime()));
+            stmt.setString(4, transaction.getTransactionType().name());
+            stmt.setBigDecimal(5, transaction.getAmount());
+            stmt.setString(6, transaction.getSourceAccountNumber());
+            stmt.setString(7, transaction.getDestinationAccountNumber());
+            stmt.setString(8, transaction.getReference());
         });
     }
 
@@ -89,58 +163,171 @@ public class TransactionRepository implements ITransactionRepository {
 
     @Override
     public TransactionList getTransactionsByCustomerAndDateRange(String customerID, LocalDate start, LocalDate end) throws TransactionRepositoryException {
-        String query = "SELECT t.* FROM transactions t " +
-                "JOIN accounts a ON t.SourceAccount = a.AccountNumber " +
-                "WHERE a.CustomerID = ? AND t.TransactionDate BETWEEN ? AND ?";
+        String query = "SELECT t.* FROM transactions t" + CUSTOMER_FILTER_CLAUSE + " AND t.TransactionDate BETWEEN ? AND ?";
         return executeQueryList(query, stmt -> {
             stmt.setString(1, customerID);
-            stmt.setDate(2, Date.valueOf(start));
-            stmt.setDate(3, Date.valueOf(end));
+            stmt.setString(2, customerID);
+            stmt.setDate(3, Date.valueOf(start));
+            stmt.setDate(4, Date.valueOf(end));
         });
     }
 
     @Override
-    public BigDecimal getBalanceBeforeDate(String customerID, LocalDate start) throws TransactionRepositoryException {
-        String query = "SELECT SUM(t.Amount) FROM transactions t " +
-                "JOIN accounts a ON t.SourceAccount = a.AccountNumber " +
-                "WHERE a.CustomerID = ? AND t.TransactionDate < ?";
-        return executeQuery(query, stmt -> {
+    public void forEachTransactionByCustomerAndDateRange(String customerID, LocalDate start, LocalDate end, Predicate<Transaction> action) throws TransactionRepositoryException {
+        String query = "SELECT t.* FROM transactions t" + CUSTOMER_FILTER_CLAUSE + " AND t.TransactionDate BETWEEN ? AND ? " +
+                "ORDER BY t.TransactionDate, t.TransactionNumber";
+        Function<String, Account> resolver = accountResolver();
+        executeQuery(query, stmt -> {
+            stmt.setFetchSize(CURSOR_FETCH_SIZE);
             stmt.setString(1, customerID);
-            stmt.setDate(2, Date.valueOf(start));
-        }, rs -> rs.next() ? rs.getBigDecimal(1) : BigDecimal.ZERO);
+            stmt.setString(2, customerID);
+            stmt.setDate(3, Date.valueOf(start));
+            stmt.setDate(4, Date.valueOf(end));
+        }, rs -> {
+            while (rs.next() && action.test(mapResultSetToTransaction(rs, resolver))) {
+                // The action consumes each row before the next one is read
+            }
+            return null;
+        });
     }
 
-    private Transaction mapResultSetToTransaction(ResultSet rs) throws SQLException {
-        Account sourceAccount = null;
-        try {
-            sourceAccount = accountRepository.getAccountById(rs.getString("SourceAccount"));
-        } catch (AccountRepositoryException e) {
-            throw new RuntimeException(e);
+    @Override
+    public void forEachTransactionInDateRange(LocalDate start, LocalDate end, Predicate<Transaction> action) throws TransactionRepositoryException {
+        String query = "SELECT * FROM transactions WHERE TransactionDate BETWEEN ? AND ? " +
+                "ORDER BY TransactionDate, TransactionNumber";
+        Function<String, Account> resolver = accountResolver();
+        executeQuery(query, stmt -> {
+            stmt.setFetchSize(CURSOR_FETCH_SIZE);
+            stmt.setDate(1, Date.valueOf(start));
+            stmt.setDate(2, Date.valueOf(end));
+        }, rs -> {
+            while (rs.next() && action.test(mapResultSetToTransaction(rs, resolver))) {
+                // The action consumes each row before the next one is read
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Map<String, TransactionList> getTransactionsByCustomersForDateRange(Collection<String> customerIds, LocalDate start, LocalDate end) throws TransactionRepositoryException {
+        List<String> ids = new ArrayList<>(customerIds);
+        Function<String, Account> resolver = accountResolver();
+        Map<String, TransactionList> byCustomer = new LinkedHashMap<>();
+        for (int i = 0; i < ids.size(); i += MAX_IN_LIST_SIZE) {
+            List<String> chunk = ids.subList(i, Math.min(i + MAX_IN_LIST_SIZE, ids.size()));
+            // DISTINCT keeps a transfer between two accounts of the same customer to one row for that customer.
+            String query = "SELECT DISTINCT t.*, a.CustomerID AS OwnerCustomerID FROM transactions t " +
+                    "JOIN accounts a ON a.AccountNumber IN (t.SourceAccount, t.DestinationAccount) " +
+                    "WHERE a.CustomerID IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ") " +
+                    "AND t.TransactionDate BETWEEN ? AND ? " +
+                    "ORDER BY OwnerCustomerID, t.TransactionDate, t.TransactionNumber";
+            executeQuery(query, stmt -> {
+                stmt.setFetchSize(CURSOR_FETCH_SIZE);
+                int index = 1;
+                for (String id : chunk) {
+                    stmt.setString(index++, id);
+                }
+                stmt.setDate(index++, Date.valueOf(start));
+                stmt.setDate(index, Date.valueOf(end));
+            }, rs -> {
+                while (rs.next()) {
+                    byCustomer.computeIfAbsent(rs.getString("OwnerCustomerID"), id -> new TransactionList())
+                            .add(mapResultSetToTransaction(rs, resolver));
+                }
+                return null;
+            });
+        }
+        return byCustomer;
+    }
+
+    @Override
+    public Map<String, BigDecimal> getNetChangesByAccount(Collection<String> accountNumbers, LocalDate from, LocalDate before) throws TransactionRepositoryException {
+        List<String> numbers = new ArrayList<>(accountNumbers);
+        Map<String, BigDecimal> changes = new HashMap<>();
+        for (int i = 0; i < numbers.size(); i += MAX_IN_LIST_SIZE) {
+            List<String> chunk = numbers.subList(i, Math.min(i + MAX_IN_LIST_SIZE, numbers.size()));
+            String accounts = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            String dateClause = (from != null ? " AND TransactionDate >= ?" : "") + " AND TransactionDate < ?";
+            String query = "SELECT AccountNumber, SUM(Delta) FROM (" +
+                    "SELECT SourceAccount AS AccountNumber, -Amount AS Delta FROM transactions " +
+                    "WHERE SourceAccount IN (" + accounts + ") " +
+                    "AND UPPER(TransactionType) IN ('WITHDRAWAL', 'FEE', 'TRANSFER')" + dateClause +
+                    " UNION ALL " +
+                    "SELECT DestinationAccount AS AccountNumber, Amount AS Delta FROM transactions " +
+                    "WHERE DestinationAccount IN (" + accounts + ") " +
+                    "AND UPPER(TransactionType) IN ('DEPOSIT', 'TRANSFER')" + dateClause +
+                    ") GROUP BY AccountNumber";
+            executeQuery(query, stmt -> {
+                int index = 1;
+                for (int side = 0; side < 2; side++) {
+                    for (String number : chunk) {
+                        stmt.setString(index++, number);
+                    }
+                    if (from != null) stmt.setDate(index++, Date.valueOf(from));
+                    stmt.setDate(index++, Date.valueOf(before));
+                }
+            }, rs -> {
+                while (rs.next()) {
+                    changes.put(rs.getString(1), rs.getBigDecimal(2));
+                }
+                return null;
+            });
         }
-        Account destinationAccount = null;
-        try {
-            destinationAccount = rs.getString("DestinationAccount") != null
-                    ? accountRepository.getAccountById(rs.getString("DestinationAccount"))
-                    : null;
-        } catch (AccountRepositoryException e) {
-            throw new RuntimeException(e);
+        return changes;
+    }
+
+    /**
+     * Binds the account and text filter of a page query and returns the index of the next parameter.
+     */
+    private static int prepareFilter(PreparedStatement stmt, String accountId, String filter) throws SQLException {
+        int i = 1;
+        stmt.setString(i++, accountId);
+        stmt.setString(i++, accountId);
+        if (filter != null) {
+            stmt.setString(i++, PageQuery.likePattern(filter));
+            stmt.setString(i++, PageQuery.likePattern(filter));
         }
+        return i;
+    }
+
+    /**
+     * Maps a row to a transaction whose accounts are only loaded when they are accessed.
+     */
+    private Transaction mapResultSetToTransaction(ResultSet rs, Function<String, Account> resolver) throws SQLException {
         TransactionType transactionType = TransactionType.valueOf(rs.getString("TransactionType").toUpperCase());
-        return (Transaction) TransactionFactory.createTransaction(
-                transactionType,
+        return new TransactionRecord(
+                rs.getString("TransactionNumber"),
                 rs.getString("Description"),
-                rs.getDate("TransactionDate"),
+                rs.getDate("TransactionDate").getTime(),
+                transactionType,
                 rs.getBigDecimal("Amount"),
-                sourceAccount,
-                destinationAccount
-        );
+                rs.getString("SourceAccount"),
+                rs.getString("DestinationAccount"),
+                null,
+                rs.getString("Reference")
+        ).toTransaction(resolver);
+    }
+
+    /**
+     * Returns a resolver that queries each account at most once for the transactions of one query.
+     */
+    private Function<String, Account> accountResolver() {
+        Map<String, Account> resolved = new ConcurrentHashMap<>();
+        return accountNumber -> resolved.computeIfAbsent(accountNumber, number -> {
+            try {
+                return accountRepository.getAccountById(number);
+            } catch (AccountRepositoryException e) {
+                throw new RuntimeException(e);
+            }
+        });
     }
 
     private TransactionList executeQueryList(String query, QueryPreparer preparer) throws TransactionRepositoryException {
         var transactions = new TransactionList();
+        Function<String, Account> resolver = accountResolver();
         executeQuery(query, preparer, rs -> {
             while (rs.next()) {
-                transactions.add(mapResultSetToTransaction(rs));
+                transactions.add(mapResultSetToTransaction(rs, resolver));
             }
             return null;
         });
@@ -171,6 +358,35 @@ public class TransactionRepository implements ITransactionRepository {
         }
     }
 
+    private void executeBatch(String query, TransactionList transactions, BatchPreparer preparer) throws TransactionRepositoryException {
+        try (Connection conn = dbConnection.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(query)) {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                for (Transaction transaction : transactions) {
+                    preparer.prepare(stmt, transaction);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException | DatabaseConnectionException e) {
+            LOGGER.log(Level.SEVERE, "Error executing batch: {0}", e.getMessage());
+            throw new TransactionRepositoryException("Error executing batch: " + query, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface BatchPreparer {
+        void prepare(PreparedStatement stmt, Transaction transaction) throws SQLException;
+    }
+
     @FunctionalInterface
     private interface QueryPreparer {
         void prepare(PreparedStatement stmt) throws SQLException;
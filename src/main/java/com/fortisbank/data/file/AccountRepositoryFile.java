@@ -6,7 +6,9 @@ package com.fortisbank.data.file;
         import com.fortisbank.contracts.collections.AccountList;
 
         import java.io.File;
+        import java.util.HashMap;
         import java.util.List;
+        import java.util.Map;
         import java.util.logging.Level;
         import java.util.logging.Logger;
 
@@ -81,6 +83,15 @@ package com.fortisbank.data.file;
                 }, "Error updating account");
             }
 
+            @Override
+            public void updateAccounts(AccountList updatedAccounts) throws AccountRepositoryException {
+                executeUpdate(accounts -> {
+                    Map<String, Account> byNumber = new HashMap<>();
+                    updatedAccounts.forEach(a -> byNumber.put(a.getAccountNumber(), a));
+                    accounts.replaceAll(a -> byNumber.getOrDefault(a.getAccountNumber(), a));
+                }, "Error updating accounts");
+            }
+
             @Override
             public void deleteAccount(String accountId) throws AccountRepositoryException {
                 executeUpdate(accounts -> accounts.removeIf(a -> a.getAccountNumber().equals(accountId)), "Error deleting account with ID: " + accountId);
@@ -96,7 +107,7 @@ package com.fortisbank.data.file;
                 }
             }
 
-            private void executeUpdate(UpdateFunction<List<Account>> function, String errorMessage) throws AccountRepositoryException {
+            private synchronized void executeUpdate(UpdateFunction<List<Account>> function, String errorMessage) throws AccountRepositoryException {
                 try {
                     List<Account> accounts = readAll();
                     function.apply(accounts);
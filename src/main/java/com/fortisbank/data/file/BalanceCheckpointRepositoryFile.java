@@ -0,0 +1,78 @@
+package com.fortisbank.data.file;
+
+import com.fortisbank.contracts.exceptions.BalanceCheckpointRepositoryException;
+import com.fortisbank.contracts.models.accounts.BalanceCheckpoint;
+import com.fortisbank.data.interfaces.IBalanceCheckpointRepository;
+
+import java.io.File;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Repository class for managing balance checkpoints stored in a file.
+ * Extends the FileRepository class and implements the IBalanceCheckpointRepository interface.
+ */
+public class BalanceCheckpointRepositoryFile extends FileRepository<BalanceCheckpoint> implements IBalanceCheckpointRepository {
+    private static final Logger LOGGER = Logger.getLogger(BalanceCheckpointRepositoryFile.class.getName());
+    private static final File file = new File("data/balance_checkpoints.ser");
+    private static BalanceCheckpointRepositoryFile instance;
+
+    private BalanceCheckpointRepositoryFile() {
+        super(file);
+    }
+
+    public static synchronized BalanceCheckpointRepositoryFile getInstance() {
+        if (instance == null) {
+            instance = new BalanceCheckpointRepositoryFile();
+        }
+        return instance;
+    }
+
+    @Override
+    public Map<String, BalanceCheckpoint> getLatestCheckpoints(Collection<String> accountNumbers, LocalDate onOrBefore) throws BalanceCheckpointRepositoryException {
+        Set<String> wanted = new HashSet<>(accountNumbers);
+        try {
+            Map<String, BalanceCheckpoint> latest = new HashMap<>();
+            for (BalanceCheckpoint checkpoint : readAll()) {
+                if (!wanted.contains(checkpoint.getAccountNumber()) || checkpoint.getAsOf().isAfter(onOrBefore)) continue;
+                latest.merge(checkpoint.getAccountNumber(), checkpoint,
+                        (a, b) -> a.getAsOf().isAfter(b.getAsOf()) ? a : b);
+            }
+            return latest;
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving balance checkpoints: {0}", e.getMessage());
+            throw new BalanceCheckpointRepositoryException("Error retrieving balance checkpoints on or before " + onOrBefore, e);
+        }
+    }
+
+    @Override
+    public synchronized void saveCheckpoints(List<BalanceCheckpoint> checkpoints) throws BalanceCheckpointRepositoryException {
+        try {
+            Set<String> replaced = new HashSet<>();
+            for (BalanceCheckpoint checkpoint : checkpoints) {
+                replaced.add(key(checkpoint));
+            }
+            List<BalanceCheckpoint> all = new ArrayList<>();
+            for (BalanceCheckpoint checkpoint : readAll()) {
+                if (!replaced.contains(key(checkpoint))) all.add(checkpoint);
+            }
+            all.addAll(checkpoints);
+            writeAll(all);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error saving balance checkpoints: {0}", e.getMessage());
+            throw new BalanceCheckpointRepositoryException("Error saving balance checkpoints", e);
+        }
+    }
+
+    private static String key(BalanceCheckpoint checkpoint) {
+        return checkpoint.getAccountNumber() + "@" + checkpoint.getAsOf();
+    }
+}
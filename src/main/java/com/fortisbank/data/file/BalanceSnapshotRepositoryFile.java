@@ -0,0 +1,67 @@
+package com.fortisbank.data.file;
+
+import com.fortisbank.contracts.exceptions.BalanceSnapshotRepositoryException;
+import com.fortisbank.contracts.models.accounts.BalanceSnapshot;
+import com.fortisbank.data.interfaces.IBalanceSnapshotRepository;
+
+import java.io.File;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Repository class for managing balance snapshots stored in a file.
+ * Extends the FileRepository class and implements the IBalanceSnapshotRepository interface.
+ */
+public class BalanceSnapshotRepositoryFile extends FileRepository<BalanceSnapshot> implements IBalanceSnapshotRepository {
+    private static final Logger LOGGER = Logger.getLogger(BalanceSnapshotRepositoryFile.class.getName());
+    private static final File file = new File("data/balance_snapshots.ser");
+    private static BalanceSnapshotRepositoryFile instance;
+
+    private BalanceSnapshotRepositoryFile() {
+        super(file);
+    }
+
+    public static synchronized BalanceSnapshotRepositoryFile getInstance() {
+        if (instance == null) {
+            instance = new BalanceSnapshotRepositoryFile();
+        }
+        return instance;
+    }
+
+    @Override
+    public BalanceSnapshot getSnapshot(String accountNumber) throws BalanceSnapshotRepositoryException {
+        try {
+            return readAll().stream()
+                    .filter(s -> s.getAccountNumber().equals(accountNumber))
+                    .findFirst()
+                    .orElse(null);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving balance snapshot: {0}", e.getMessage());
+            throw new BalanceSnapshotRepositoryException("Error retrieving balance snapshot for account: " + accountNumber, e);
+        }
+    }
+
+    @Override
+    public List<BalanceSnapshot> getAllSnapshots() throws BalanceSnapshotRepositoryException {
+        try {
+            return readAll();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving balance snapshots: {0}", e.getMessage());
+            throw new BalanceSnapshotRepositoryException("Error retrieving balance snapshots", e);
+        }
+    }
+
+    @Override
+    public synchronized void saveSnapshot(BalanceSnapshot snapshot) throws BalanceSnapshotRepositoryException {
+        try {
+            List<BalanceSnapshot> snapshots = readAll();
+            snapshots.removeIf(s -> s.getAccountNumber().equals(snapshot.getAccountNumber()));
+            snapshots.add(snapshot);
+            writeAll(snapshots);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error saving balance snapshot: {0}", e.getMessage());
+            throw new BalanceSnapshotRepositoryException("Error saving balance snapshot for account: " + snapshot.getAccountNumber(), e);
+        }
+    }
+}
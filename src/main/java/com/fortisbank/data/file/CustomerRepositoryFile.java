@@ -3,10 +3,15 @@ package com.fortisbank.data.file;
      import com.fortisbank.data.interfaces.ICustomerRepository;
      import com.fortisbank.contracts.exceptions.CustomerRepositoryException;
      import com.fortisbank.contracts.collections.CustomerList;
+     import com.fortisbank.contracts.models.others.CustomerSortField;
+     import com.fortisbank.contracts.models.others.PageQuery;
      import com.fortisbank.contracts.models.users.Customer;
 
      import java.io.File;
+     import java.util.Comparator;
      import java.util.List;
+     import java.util.Locale;
+     import java.util.stream.Collectors;
 
      /**
       * Repository class for managing customer data stored in a file.
@@ -135,4 +140,52 @@ package com.fortisbank.data.file;
                  throw new CustomerRepositoryException("Error retrieving all customers", e);
              }
          }
+
+         /**
+          * Retrieves one page of the matching customers from the file, in the requested order.
+          *
+          * @param query the filter, sort order and page to retrieve
+          * @return the customers of the page
+          * @throws CustomerRepositoryException if an error occurs while retrieving the customers
+          */
+         @Override
+         public CustomerList getCustomersPage(PageQuery<CustomerSortField> query) throws CustomerRepositoryException {
+             try {
+                 Comparator<Customer> order = comparatorFor(query.getSortField()).thenComparing(Customer::getUserId);
+                 return readAll().stream()
+                         .filter(c -> query.matches(c.getFullName()) || query.matches(c.getEmail()))
+                         .sorted(query.isAscending() ? order : order.reversed())
+                         .skip(query.getOffset())
+                         .limit(query.getLimit())
+                         .collect(Collectors.toCollection(CustomerList::new));
+             } catch (Exception e) {
+                 throw new CustomerRepositoryException("Error retrieving page of customers", e);
+             }
+         }
+
+         /**
+          * Counts the matching customers in the file.
+          *
+          * @param filter the filter in lower case, or null to count all customers
+          * @return the number of matching customers
+          * @throws CustomerRepositoryException if an error occurs while counting the customers
+          */
+         @Override
+         public int countCustomers(String filter) throws CustomerRepositoryException {
+             try {
+                 return (int) readAll().stream()
+                         .filter(c -> PageQuery.matches(filter, c.getFullName()) || PageQuery.matches(filter, c.getEmail()))
+                         .count();
+             } catch (Exception e) {
+                 throw new CustomerRepositoryException("Error counting customers", e);
+             }
+         }
+
+         private static Comparator<Customer> comparatorFor(CustomerSortField field) {
+             return switch (field) {
+                 case NAME -> Comparator.comparing((Customer c) -> c.getLastName().toLowerCase(Locale.ROOT))
+                         .thenComparing(c -> c.getFirstName().toLowerCase(Locale.ROOT));
+                 case EMAIL -> Comparator.comparing(c -> c.getEmail().toLowerCase(Locale.ROOT));
+             };
+         }
      }
\ No newline at end of file
@@ -0,0 +1,217 @@
+package com.fortisbank.data.file;
+
+import com.fortisbank.contracts.exceptions.DailyAggregateRepositoryException;
+import com.fortisbank.contracts.models.reports.DailyAggregate;
+import com.fortisbank.data.dal_utils.FileManager;
+import com.fortisbank.data.interfaces.IDailyAggregateRepository;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Repository class for managing daily aggregates stored in a file.
+ * Extends the FileRepository class and implements the IDailyAggregateRepository interface.
+ *
+ * The aggregates are held in memory. The amounts added by each commit are appended to a journal and
+ * synced to disk, instead of rewriting every aggregate; the journal is folded into the aggregates file
+ * once it holds {@value #COMPACTION_THRESHOLD} commits, and again at startup. A rebuild writes the
+ * aggregates file and then a marker next to it, which {@link #isRebuilt()} reports.
+ */
+public class DailyAggregateRepositoryFile extends FileRepository<DailyAggregate> implements IDailyAggregateRepository {
+    private static final Logger LOGGER = Logger.getLogger(DailyAggregateRepositoryFile.class.getName());
+    private static final int COMPACTION_THRESHOLD = 500;
+    private static DailyAggregateRepositoryFile instance;
+
+    private final File journalFile;
+    private final File rebuiltMarker;
+    private List<DailyAggregate> aggregates;
+    private FileOutputStream journal;
+    private int journaledCommits;
+
+    DailyAggregateRepositoryFile(File file, File journalFile, File rebuiltMarker) {
+        super(file);
+        this.journalFile = journalFile;
+        this.rebuiltMarker = rebuiltMarker;
+    }
+
+    public static synchronized DailyAggregateRepositoryFile getInstance() {
+        if (instance == null) {
+            instance = new DailyAggregateRepositoryFile(new File("data/daily_aggregates.ser"),
+                    new File("data/daily_aggregates.journal"), new File("data/daily_aggregates.rebuilt"));
+        }
+        return instance;
+    }
+
+    @Override
+    public synchronized List<DailyAggregate> getAggregates(LocalDate from, LocalDate to) throws DailyAggregateRepositoryException {
+        try {
+            return loaded().stream()
+                    .filter(a -> (from == null || !a.getDay().isBefore(from)) && (to == null || !a.getDay().isAfter(to)))
+                    .sorted(Comparator.comparing(DailyAggregate::getDay))
+                    .collect(Collectors.toList());
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving daily aggregates: {0}", e.getMessage());
+            throw new DailyAggregateRepositoryException("Error retrieving daily aggregates from " + from + " to " + to, e);
+        }
+    }
+
+    @Override
+    public synchronized void addToAggregates(List<DailyAggregate> deltas) throws DailyAggregateRepositoryException {
+        if (deltas.isEmpty()) return;
+        try {
+            List<DailyAggregate> current = loaded();
+            appendToJournal(deltas);
+            apply(current, deltas);
+            if (journaledCommits >= COMPACTION_THRESHOLD) {
+                try {
+                    compact();
+                } catch (IOException e) {
+                    // The amounts are already in the journal, so only the compaction is postponed.
+                    LOGGER.log(Level.WARNING, "Error compacting daily aggregate journal: {0}", e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error saving daily aggregates: {0}", e.getMessage());
+            throw new DailyAggregateRepositoryException("Error saving daily aggregates", e);
+        }
+    }
+
+    @Override
+    public synchronized void replaceAllAggregates(List<DailyAggregate> aggregates) throws DailyAggregateRepositoryException {
+        try {
+            this.aggregates = new ArrayList<>(aggregates);
+            compact();
+            if (rebuiltMarker.getParentFile() != null) rebuiltMarker.getParentFile().mkdirs();
+            rebuiltMarker.createNewFile();
+        } catch (Exception e) {
+            // Read the files again rather than keep aggregates that may not have been written.
+            this.aggregates = null;
+            LOGGER.log(Level.SEVERE, "Error replacing daily aggregates: {0}", e.getMessage());
+            throw new DailyAggregateRepositoryException("Error replacing daily aggregates", e);
+        }
+    }
+
+    @Override
+    public boolean isRebuilt() {
+        return rebuiltMarker.exists();
+    }
+
+    /**
+     * Returns the aggregates in memory, reading the aggregates file and replaying the journal the first time.
+     */
+    private List<DailyAggregate> loaded() throws IOException {
+        if (aggregates == null) {
+            aggregates = new ArrayList<>(readAll());
+            replayJournal();
+            if (journalFile.exists()) {
+                // Start with an empty journal so nothing is appended behind a partly written commit.
+                compact();
+            }
+        }
+        return aggregates;
+    }
+
+    private static void apply(List<DailyAggregate> aggregates, List<DailyAggregate> deltas) {
+        for (DailyAggregate delta : deltas) {
+            int index = indexOf(aggregates, delta);
+            if (index < 0) {
+                aggregates.add(delta);
+            } else {
+                aggregates.set(index, aggregates.get(index).plus(delta));
+            }
+        }
+    }
+
+    /**
+     * Appends the amounts of one commit to the journal and syncs it to disk. If that fails, the journal is
+     * cut back to where the commit started, so later commits are not written behind a partial one.
+     */
+    private void appendToJournal(List<DailyAggregate> deltas) throws IOException {
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(serialized)) {
+            oos.writeObject(new ArrayList<>(deltas));
+        }
+        ByteArrayOutputStream record = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(record);
+        out.writeInt(serialized.size());
+        serialized.writeTo(out);
+
+        if (journal == null) {
+            journalFile.getAbsoluteFile().getParentFile().mkdirs();
+            journal = new FileOutputStream(journalFile, true);
+        }
+        long length = journal.getChannel().size();
+        try {
+            journal.write(record.toByteArray());
+            journal.getFD().sync();
+        } catch (IOException e) {
+            try {
+                journal.getChannel().truncate(length);
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+                try {
+                    compact();
+                } catch (IOException compactFailure) {
+                    e.addSuppressed(compactFailure);
+                }
+            }
+            throw e;
+        }
+        journaledCommits++;
+    }
+
+    /**
+     * Applies the commits journaled since the aggregates file was written. A commit cut short by a crash
+     * ends the replay.
+     */
+    @SuppressWarnings("unchecked")
+    private void replayJournal() {
+        if (!journalFile.exists()) return;
+        int replayed = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(journalFile)))) {
+            while (true) {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    apply(aggregates, (List<DailyAggregate>) ois.readObject());
+                }
+                replayed++;
+            }
+        } catch (EOFException e) {
+            // End of the journal, or a commit that was not completely written.
+        } catch (IOException | ClassNotFoundException e) {
+            LOGGER.log(Level.SEVERE, "Error reading daily aggregate journal: {0}", e.getMessage());
+        }
+        LOGGER.log(Level.INFO, "Replayed {0} daily aggregate journal entries.", replayed);
+    }
+
+    /**
+     * Writes all aggregates to the aggregates file and starts an empty journal.
+     */
+    private void compact() throws IOException {
+        FileManager.writeObjectToFileDurably(file, new ArrayList<>(aggregates));
+        if (journal != null) {
+            try {
+                journal.close();
+            } finally {
+                journal = null;
+            }
+        }
+        Files.deleteIfExists(journalFile.toPath());
+        journaledCommits = 0;
+    }
+
+    private static int indexOf(List<DailyAggregate> aggregates, DailyAggregate key) {
+        for (int i = aggregates.size() - 1; i >= 0; i--) {
+            if (aggregates.get(i).hasSameKey(key)) return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,310 @@
+package com.fortisbank.data.file;
+
+import com.fortisbank.contracts.exceptions.NotificationRepositoryException;
+import com.fortisbank.contracts.models.others.NotificationCursor;
+import com.fortisbank.contracts.models.others.NotificationRecord;
+import com.fortisbank.data.dal_utils.FileManager;
+import com.fortisbank.data.interfaces.INotificationRepository;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.*;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Repository class for managing notifications stored in files.
+ *
+ * Each recipient has its own file holding their notifications in the order they were created, so
+ * reading or changing one inbox does not touch the others. The most recently used inboxes are kept
+ * in memory, so paging through an inbox reads its file once. The total and unread count of every
+ * recipient are kept in a separate counters file and answered without reading any inbox. Inboxes and
+ * counters are written durably, inbox first; counters left behind by a crash in between are corrected
+ * from the inbox the next time it is read. Cached inboxes are never changed in place: every change
+ * writes a new list, and callers only ever see unmodifiable lists.
+ *
+ * Paging is only partial in this mode. An inbox file holds one serialized list, which cannot be read
+ * in part. The first query for a recipient therefore loads their whole inbox, and the page is then
+ * sliced from memory. What stays bounded is the data of other recipients, which is never read, and
+ * the number of notifications returned and resolved by the caller. Use the database repository for
+ * inboxes too large to hold in memory.
+ */
+public class NotificationRepositoryFile implements INotificationRepository {
+    private static final Logger LOGGER = Logger.getLogger(NotificationRepositoryFile.class.getName());
+    private static final File directory = new File("data/notifications");
+    private static final File countersFile = new File(directory, "counters.ser");
+    private static final int CACHED_INBOXES = 8;
+    private static final Comparator<NotificationRecord> CREATION_ORDER =
+            Comparator.comparingLong(NotificationRecord::getTimestampMillis).thenComparing(NotificationRecord::getNotificationId);
+    private static NotificationRepositoryFile instance;
+
+    private final Map<String, Counters> counters;
+    private final Map<String, List<NotificationRecord>> cachedInboxes = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<NotificationRecord>> eldest) {
+            return size() > CACHED_INBOXES;
+        }
+    };
+
+    private NotificationRepositoryFile() {
+        Map<String, Counters> stored = FileManager.readObjectFromFile(countersFile);
+        this.counters = stored != null ? stored : new HashMap<>();
+    }
+
+    public static synchronized NotificationRepositoryFile getInstance() {
+        if (instance == null) {
+            instance = new NotificationRepositoryFile();
+        }
+        return instance;
+    }
+
+    @Override
+    public synchronized void insertNotifications(List<NotificationRecord> notifications) throws NotificationRepositoryException {
+        try {
+            Map<String, List<NotificationRecord>> byRecipient = notifications.stream()
+                    .collect(Collectors.groupingBy(NotificationRecord::getRecipientId, LinkedHashMap::new, Collectors.toList()));
+            for (Map.Entry<String, List<NotificationRecord>> entry : byRecipient.entrySet()) {
+                List<NotificationRecord> inbox = new ArrayList<>(readInbox(entry.getKey()));
+                Set<String> present = inbox.stream().map(NotificationRecord::getNotificationId).collect(Collectors.toSet());
+                boolean changed = false;
+                for (NotificationRecord notification : entry.getValue()) {
+                    if (present.add(notification.getNotificationId())) {
+                        inbox.add(notification);
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    inbox.sort(CREATION_ORDER);
+                    writeInbox(entry.getKey(), inbox);
+                }
+            }
+            writeCounters();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error inserting notifications: {0}", e.getMessage());
+            throw new NotificationRepositoryException("Error inserting notifications", e);
+        }
+    }
+
+    @Override
+    public synchronized List<NotificationRecord> getNotifications(String recipientId, int offset, int limit) throws NotificationRepositoryException {
+        try {
+            return Collections.unmodifiableList(page(readInbox(recipientId), offset, limit));
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving notifications: {0}", e.getMessage());
+            throw new NotificationRepositoryException("Error retrieving notifications for recipient: " + recipientId, e);
+        }
+    }
+
+    @Override
+    public synchronized List<NotificationRecord> getUnreadNotifications(String recipientId, int offset, int limit) throws NotificationRepositoryException {
+        if (countUnreadNotifications(recipientId) == 0) return Collections.emptyList();
+        try {
+            List<NotificationRecord> unread = new ArrayList<>(readInbox(recipientId));
+            unread.removeIf(NotificationRecord::isRead);
+            return Collections.unmodifiableList(page(unread, offset, limit));
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving unread notifications: {0}", e.getMessage());
+            throw new NotificationRepositoryException("Error retrieving unread notifications for recipient: " + recipientId, e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The recipient's whole inbox is loaded, or taken from the cache. The cursor is then found by
+     * binary search, and only the notifications of the page are copied out.
+     */
+    @Override
+    public synchronized List<NotificationRecord> getNotificationsAfter(String recipientId, NotificationCursor cursor, boolean unreadOnly, int limit) throws NotificationRepositoryException {
+        if (unreadOnly && countUnreadNotifications(recipientId) == 0) return Collections.emptyList();
+        try {
+            List<NotificationRecord> inbox = readInbox(recipientId);
+            int start = cursor == null ? inbox.size() : positionOf(inbox, cursor);
+            List<NotificationRecord> page = new ArrayList<>(Math.min(limit, start));
+            for (int i = start - 1; i >= 0 && page.size() < limit; i--) {
+                NotificationRecord notification = inbox.get(i);
+                if (!unreadOnly || !notification.isRead()) page.add(notification);
+            }
+            return Collections.unmodifiableList(page);
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error retrieving notifications: {0}", e.getMessage());
+            throw new NotificationRepositoryException("Error retrieving notifications for recipient: " + recipientId, e);
+        }
+    }
+
+    @Override
+    public synchronized int countNotifications(String recipientId) {
+        Counters c = counters.get(recipientId);
+        return c != null ? c.total : 0;
+    }
+
+    @Override
+    public synchronized int countUnreadNotifications(String recipientId) {
+        Counters c = counters.get(recipientId);
+        return c != null ? c.unread : 0;
+    }
+
+    @Override
+    public synchronized void markAsRead(String recipientId, String notificationId) throws NotificationRepositoryException {
+        try {
+            List<NotificationRecord> inbox = new ArrayList<>(readInbox(recipientId));
+            for (int i = 0; i < inbox.size(); i++) {
+                NotificationRecord notification = inbox.get(i);
+                if (notification.getNotificationId().equals(notificationId) && !notification.isRead()) {
+                    inbox.set(i, asRead(notification));
+                    writeInbox(recipientId, inbox);
+                    writeCounters();
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error marking notification as read: {0}", e.getMessage());
+            throw new NotificationRepositoryException("Error marking notification as read: " + notificationId, e);
+        }
+    }
+
+    @Override
+    public synchronized void markAllAsRead(String recipientId) throws NotificationRepositoryException {
+        if (countUnreadNotifications(recipientId) == 0) return;
+        try {
+            List<NotificationRecord> inbox = new ArrayList<>(readInbox(recipientId));
+            inbox.replaceAll(n -> n.isRead() ? n : asRead(n));
+            writeInbox(recipientId, inbox);
+            writeCounters();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error marking all notifications as read: {0}", e.getMessage());
+            throw new NotificationRepositoryException("Error marking all notifications as read for recipient: " + recipientId, e);
+        }
+    }
+
+    @Override
+    public synchronized void deleteNotification(String recipientId, String notificationId) throws NotificationRepositoryException {
+        try {
+            List<NotificationRecord> inbox = new ArrayList<>(readInbox(recipientId));
+            if (inbox.removeIf(n -> n.getNotificationId().equals(notificationId))) {
+                writeInbox(recipientId, inbox);
+                writeCounters();
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error deleting notification: {0}", e.getMessage());
+            throw new NotificationRepositoryException("Error deleting notification: " + notificationId, e);
+        }
+    }
+
+    @Override
+    public synchronized void deleteAllNotifications(String recipientId) throws NotificationRepositoryException {
+        try {
+            File inboxFile = inboxFile(recipientId);
+            if (inboxFile.exists() && !inboxFile.delete()) {
+                throw new IllegalStateException("Could not delete " + inboxFile.getAbsolutePath());
+            }
+            counters.remove(recipientId);
+            cachedInboxes.remove(recipientId);
+            writeCounters();
+        } catch (Exception e) {
+            LOGGER.log(Level.SEVERE, "Error deleting notifications: {0}", e.getMessage());
+            throw new NotificationRepositoryException("Error deleting notifications for recipient: " + recipientId, e);
+        }
+    }
+
+    /**
+     * Returns a recipient's inbox in creation order as an unmodifiable list. An inbox loaded from its
+     * file also corrects the recipient's counters, which may lag behind it after a crash.
+     */
+    private List<NotificationRecord> readInbox(String recipientId) {
+        List<NotificationRecord> cached = cachedInboxes.get(recipientId);
+        if (cached != null) return cached;
+        File inboxFile = inboxFile(recipientId);
+        if (!counters.containsKey(recipientId) && !inboxFile.exists()) return Collections.emptyList();
+        List<NotificationRecord> inbox = FileManager.readListFromFile(inboxFile);
+        inbox.sort(CREATION_ORDER);
+        Counters stored = counters.get(recipientId);
+        Counters actual = cache(recipientId, inbox);
+        if (stored == null || stored.total != actual.total || stored.unread != actual.unread) {
+            try {
+                writeCounters();
+            } catch (IOException e) {
+                // The counters are corrected in memory and written again with the next change.
+                LOGGER.log(Level.WARNING, "Error writing notification counters: {0}", e.getMessage());
+            }
+        }
+        return cachedInboxes.get(recipientId);
+    }
+
+    /**
+     * Writes a recipient's inbox durably and refreshes their counters in memory.
+     */
+    private void writeInbox(String recipientId, List<NotificationRecord> inbox) throws IOException {
+        FileManager.writeObjectToFileDurably(inboxFile(recipientId), new ArrayList<>(inbox));
+        cache(recipientId, inbox);
+    }
+
+    private Counters cache(String recipientId, List<NotificationRecord> inbox) {
+        cachedInboxes.put(recipientId, Collections.unmodifiableList(new ArrayList<>(inbox)));
+        int unread = (int) inbox.stream().filter(n -> !n.isRead()).count();
+        Counters updated = new Counters(inbox.size(), unread);
+        counters.put(recipientId, updated);
+        return updated;
+    }
+
+    private void writeCounters() throws IOException {
+        FileManager.writeObjectToFileDurably(countersFile, new HashMap<>(counters));
+    }
+
+    private static NotificationRecord asRead(NotificationRecord n) {
+        return new NotificationRecord(n.getNotificationId(), n.getRecipientId(), n.getType(), n.getTitle(), n.getMessage(),
+                n.getTimestampMillis(), true, n.getRelatedCustomerId(), n.getRelatedAccountNumber());
+    }
+
+    /**
+     * Returns the index of the first notification at or after the cursor in an inbox kept in creation order.
+     */
+    private static int positionOf(List<NotificationRecord> inbox, NotificationCursor cursor) {
+        int low = 0;
+        int high = inbox.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            NotificationRecord notification = inbox.get(mid);
+            if (cursor.compareTo(notification.getTimestampMillis(), notification.getNotificationId()) > 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the given page of a list kept oldest first, newest first.
+     */
+    private static List<NotificationRecord> page(List<NotificationRecord> oldestFirst, int offset, int limit) {
+        List<NotificationRecord> page = new ArrayList<>(Math.max(0, Math.min(limit, oldestFirst.size() - offset)));
+        for (int i = oldestFirst.size() - 1 - offset; i >= 0 && page.size() < limit; i--) {
+            page.add(oldestFirst.get(i));
+        }
+        return page;
+    }
+
+    private static File inboxFile(String recipientId) {
+        return new File(directory, "inbox_" + recipientId.replaceAll("[^A-Za-z0-9_-]", "_") + ".ser");
+    }
+
+    /**
+     * Number of notifications and unread notifications of one recipient.
+     */
+    private static class Counters implements Serializable {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final int total;
+        private final int unread;
+
+        private Counters(int total, int unread) {
+            this.total = total;
+            this.unread = unread;
+        }
+    }
+}
@@ -1,30 +1,56 @@
 package com.fortisbank.data.file;
 
+    import com.fortisbank.data.dal_utils.FileManager;
     import com.fortisbank.data.interfaces.ITransactionRepository;
+    import com.fortisbank.contracts.exceptions.AccountRepositoryException;
     import com.fortisbank.contracts.exceptions.TransactionRepositoryException;
     import com.fortisbank.contracts.models.accounts.Account;
     import com.fortisbank.contracts.collections.TransactionList;
+    import com.fortisbank.contracts.models.others.PageQuery;
+    import com.fortisbank.contracts.models.others.TransactionSortField;
     import com.fortisbank.contracts.models.transactions.Transaction;
+    import com.fortisbank.contracts.models.transactions.TransactionRecord;
 
     import java.io.File;
     import java.math.BigDecimal;
+    import java.time.Instant;
     import java.time.LocalDate;
     import java.time.ZoneId;
+    import java.util.Collection;
+    import java.util.Comparator;
+    import java.util.HashMap;
+    import java.util.HashSet;
+    import java.util.LinkedHashMap;
+    import java.util.LinkedHashSet;
     import java.util.List;
+    import java.util.Map;
+    import java.util.Set;
+    import java.util.concurrent.ConcurrentHashMap;
+    import java.util.function.Function;
+    import java.util.function.Predicate;
     import java.util.logging.Level;
     import java.util.logging.Logger;
+    import java.util.stream.Collectors;
 
     /**
      * Repository class for managing transactions in a file.
      * Implements the ITransactionRepository interface.
+     *
+     * Transactions are stored as {@link TransactionRecord}s, which reference accounts by number.
+     * The accounts of a returned transaction are read from the account file only when they are accessed.
      */
-    public class TransactionRepositoryFile extends FileRepository<Transaction> implements ITransactionRepository {
+    public class TransactionRepositoryFile extends FileRepository<TransactionRecord> implements ITransactionRepository {
         private static final Logger LOGGER = Logger.getLogger(TransactionRepositoryFile.class.getName());
-        private static final File file = new File("data/transactions.ser");
+        private static final File file = new File("data/transaction_records.ser");
+        private static final File legacyFile = new File("data/transactions.ser"); // Whole Transaction objects, read once for migration
         private static TransactionRepositoryFile instance;
 
+        private final AccountRepositoryFile accountRepository;
+
         private TransactionRepositoryFile() {
             super(file);
+            this.accountRepository = AccountRepositoryFile.getInstance();
+            migrateLegacyFile();
         }
 
         public static synchronized TransactionRepositoryFile getInstance() {
@@ -38,8 +64,9 @@ package com.fortisbank.data.file;
         public Transaction getTransactionByNumber(String transactionNumber) throws TransactionRepositoryException {
             try {
                 return readAllTransactions().stream()
-                        .filter(t -> t.getTransactionNumber().equals(transactionNumber))
+                        .filter(r -> r.getTransactionNumber().equals(transactionNumber))
                         .findFirst()
+                        .map(r -> r.toTransaction(accountResolver()))
                         .orElse(null);
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Error retrieving transaction by number: {0}", e.getMessage());
@@ -50,14 +77,18 @@ package com.fortisbank.data.file;
         @Override
         public TransactionList getTransactionsByAccount(String accountId) throws TransactionRepositoryException {
             try {
-                return readAllTransactions().stream()
-                        .filter(t -> {
-                            Account sourceAccount = t.getSourceAccount();
-                            return (sourceAccount != null && sourceAccount.getAccountNumber().equals(accountId))
-                                    || (t.getDestinationAccount() != null
-                                    && t.getDestinationAccount().getAccountNumber().equals(accountId));
-                        })
-                        .collect(TransactionList::new, TransactionList::add, TransactionList::addAll);
+                return findTransactions(r -> r.involves(accountId));
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error retrieving transactions by account: {0}", e.getMessage());
+                throw new TransactionRepositoryException("Error retrieving transactions by account: " + accountId, e);
+            }
+        }
+
+        @Override
+        public TransactionList getTransactionsByAccountSince(String accountId, LocalDate from) throws TransactionRepositoryException {
+            long since = from != null ? from.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli() : Long.MIN_VALUE;
+            try {
+                return findTransactions(r -> r.involves(accountId) && r.getTransactionDateMillis() >= since);
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Error retrieving transactions by account: {0}", e.getMessage());
                 throw new TransactionRepositoryException("Error retrieving transactions by account: " + accountId, e);
@@ -67,7 +98,7 @@ package com.fortisbank.data.file;
         @Override
         public TransactionList getAllTransactions() throws TransactionRepositoryException {
             try {
-                return new TransactionList(readAllTransactions());
+                return findTransactions(r -> true);
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Error retrieving all transactions: {0}", e.getMessage());
                 throw new TransactionRepositoryException("Error retrieving all transactions", e);
@@ -75,10 +106,40 @@ package com.fortisbank.data.file;
         }
 
         @Override
-        public void insertTransaction(Transaction transaction) throws TransactionRepositoryException {
+        public TransactionList getTransactionsPage(String accountId, PageQuery<TransactionSortField> query) throws TransactionRepositoryException {
+            try {
+                Comparator<TransactionRecord> order = comparatorFor(query.getSortField()).thenComparing(TransactionRecord::getTransactionNumber);
+                Function<String, Account> resolver = accountResolver();
+                return readAllTransactions().stream()
+                        .filter(r -> r.involves(accountId) && matches(r, query.getFilter()))
+                        .sorted(query.isAscending() ? order : order.reversed())
+                        .skip(query.getOffset())
+                        .limit(query.getLimit())
+                        .map(r -> r.toTransaction(resolver))
+                        .collect(Collectors.toCollection(TransactionList::new));
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error retrieving page of transactions: {0}", e.getMessage());
+                throw new TransactionRepositoryException("Error retrieving page of transactions for account: " + accountId, e);
+            }
+        }
+
+        @Override
+        public int countTransactions(String accountId, String filter) throws TransactionRepositoryException {
+            try {
+                return (int) readAllTransactions().stream()
+                        .filter(r -> r.involves(accountId) && matches(r, filter))
+                        .count();
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error counting transactions: {0}", e.getMessage());
+                throw new TransactionRepositoryException("Error counting transactions for account: " + accountId, e);
+            }
+        }
+
+        @Override
+        public synchronized void insertTransaction(Transaction transaction) throws TransactionRepositoryException {
             try {
                 var transactions = readAllTransactions();
-                transactions.add(transaction);
+                transactions.add(TransactionRecord.from(transaction));
                 writeAllTransactions(transactions);
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Error inserting transaction: {0}", e.getMessage());
@@ -87,7 +148,19 @@ package com.fortisbank.data.file;
         }
 
         @Override
-        public void deleteTransaction(String transactionNumber) throws TransactionRepositoryException {
+        public synchronized void insertTransactions(TransactionList newTransactions) throws TransactionRepositoryException {
+            try {
+                var transactions = readAllTransactions();
+                newTransactions.forEach(t -> transactions.add(TransactionRecord.from(t)));
+                writeAllTransactions(transactions);
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error inserting transactions: {0}", e.getMessage());
+                throw new TransactionRepositoryException("Error inserting transactions", e);
+            }
+        }
+
+        @Override
+        public synchronized void deleteTransaction(String transactionNumber) throws TransactionRepositoryException {
             try {
                 var transactions = readAllTransactions();
                 transactions.removeIf(t -> t.getTransactionNumber().equals(transactionNumber));
@@ -102,18 +175,14 @@ package com.fortisbank.data.file;
         public TransactionList getTransactionsByCustomerAndDateRange(String customerID, LocalDate start, LocalDate end) throws TransactionRepositoryException {
             ZoneId zone = ZoneId.systemDefault();
             try {
-                return readAllTransactions().stream()
-                        .filter(t -> {
-                            Account sourceAccount = t.getSourceAccount();
-                            if (sourceAccount == null) {
-                                return false;
-                            }
-                            String transactionCustomerID = sourceAccount.getCustomer().getUserId();
-                            LocalDate transactionDate = t.getTransactionDate().toInstant().atZone(zone).toLocalDate();
-                            return transactionCustomerID.equals(customerID) &&
-                                    (!transactionDate.isBefore(start) && !transactionDate.isAfter(end));
-                        })
-                        .collect(TransactionList::new, TransactionList::add, TransactionList::addAll);
+                Set<String> accountNumbers = accountNumbersOf(customerID);
+                return findTransactions(r -> {
+                    if (!involvesAny(r, accountNumbers)) {
+                        return false;
+                    }
+                    LocalDate transactionDate = Instant.ofEpochMilli(r.getTransactionDateMillis()).atZone(zone).toLocalDate();
+                    return !transactionDate.isBefore(start) && !transactionDate.isAfter(end);
+                });
             } catch (Exception e) {
                 LOGGER.log(Level.SEVERE, "Error retrieving transactions by customer and date range: {0}", e.getMessage());
                 throw new TransactionRepositoryException("Error retrieving transactions by customer and date range", e);
@@ -121,24 +190,169 @@ package com.fortisbank.data.file;
         }
 
         @Override
-        public BigDecimal getBalanceBeforeDate(String customerID, LocalDate start) throws TransactionRepositoryException {
+        public void forEachTransactionByCustomerAndDateRange(String customerID, LocalDate start, LocalDate end, Predicate<Transaction> action) throws TransactionRepositoryException {
             ZoneId zone = ZoneId.systemDefault();
+            long from = start.atStartOfDay(zone).toInstant().toEpochMilli();
+            long until = end.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
             try {
-                return readAllTransactions().stream()
-                        .filter(t -> {
-                            String transactionCustomerID = t.getSourceAccount().getCustomer().getUserId();
-                            LocalDate transactionDate = t.getTransactionDate().toInstant().atZone(zone).toLocalDate();
-                            return transactionCustomerID.equals(customerID) && transactionDate.isBefore(start);
-                        })
-                        .map(Transaction::getAmount)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
+                Set<String> accountNumbers = accountNumbersOf(customerID);
+                Function<String, Account> resolver = accountResolver();
+                for (TransactionRecord r : readAllTransactions().stream()
+                        .filter(r -> involvesAny(r, accountNumbers)
+                                && r.getTransactionDateMillis() >= from && r.getTransactionDateMillis() < until)
+                        .sorted(Comparator.comparingLong(TransactionRecord::getTransactionDateMillis)
+                                .thenComparing(TransactionRecord::getTransactionNumber))
+                        .toList()) {
+                    if (!action.test(r.toTransaction(resolver))) break;
+                }
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error reading transactions by customer and date range: {0}", e.getMessage());
+                throw new TransactionRepositoryException("Error reading transactions by customer and date range", e);
+            }
+        }
+
+        @Override
+        public void forEachTransactionInDateRange(LocalDate start, LocalDate end, Predicate<Transaction> action) throws TransactionRepositoryException {
+            ZoneId zone = ZoneId.systemDefault();
+            long from = start.atStartOfDay(zone).toInstant().toEpochMilli();
+            long until = end.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            try {
+                Function<String, Account> resolver = accountResolver();
+                for (TransactionRecord r : readAllTransactions().stream()
+                        .filter(r -> r.getTransactionDateMillis() >= from && r.getTransactionDateMillis() < until)
+                        .sorted(Comparator.comparingLong(TransactionRecord::getTransactionDateMillis)
+                                .thenComparing(TransactionRecord::getTransactionNumber))
+                        .toList()) {
+                    if (!action.test(r.toTransaction(resolver))) break;
+                }
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error reading transactions by date range: {0}", e.getMessage());
+                throw new TransactionRepositoryException("Error reading transactions by date range", e);
+            }
+        }
+
+        @Override
+        public Map<String, TransactionList> getTransactionsByCustomersForDateRange(Collection<String> customerIds, LocalDate start, LocalDate end) throws TransactionRepositoryException {
+            ZoneId zone = ZoneId.systemDefault();
+            long from = start.atStartOfDay(zone).toInstant().toEpochMilli();
+            long until = end.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+            try {
+                Set<String> wanted = new HashSet<>(customerIds);
+                Map<String, String> owners = new HashMap<>();
+                for (Account account : accountRepository.getAllAccounts()) {
+                    if (account.getCustomer() != null && wanted.contains(account.getCustomer().getUserId())) {
+                        owners.put(account.getAccountNumber(), account.getCustomer().getUserId());
+                    }
+                }
+                Function<String, Account> resolver = accountResolver();
+                Map<String, TransactionList> byCustomer = new LinkedHashMap<>();
+                readAllTransactions().stream()
+                        .filter(r -> r.getTransactionDateMillis() >= from && r.getTransactionDateMillis() < until)
+                        .sorted(Comparator.comparingLong(TransactionRecord::getTransactionDateMillis)
+                                .thenComparing(TransactionRecord::getTransactionNumber))
+                        .forEach(r -> {
+                            // A transfer between two accounts of the same customer is listed once for that customer.
+                            Set<String> owningCustomers = new LinkedHashSet<>(2);
+                            if (r.getSourceAccountNumber() != null) owningCustomers.add(owners.get(r.getSourceAccountNumber()));
+                            if (r.getDestinationAccountNumber() != null) owningCustomers.add(owners.get(r.getDestinationAccountNumber()));
+                            owningCustomers.remove(null);
+                            if (owningCustomers.isEmpty()) return;
+                            Transaction transaction = r.toTransaction(resolver);
+                            owningCustomers.forEach(id -> byCustomer.computeIfAbsent(id, k -> new TransactionList()).add(transaction));
+                        });
+                return byCustomer;
             } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Error retrieving balance before date: {0}", e.getMessage());
-                throw new TransactionRepositoryException("Error retrieving balance before date", e);
+                LOGGER.log(Level.SEVERE, "Error retrieving transactions by customer for date range: {0}", e.getMessage());
+                throw new TransactionRepositoryException("Error retrieving transactions by customer for date range", e);
             }
         }
 
-        private List<Transaction> readAllTransactions() throws TransactionRepositoryException {
+        /**
+         * {@inheritDoc}
+         *
+         * The records are kept as one serialized list, so the whole file is still read; only the records
+         * inside the range are summed.
+         */
+        @Override
+        public Map<String, BigDecimal> getNetChangesByAccount(Collection<String> accountNumbers, LocalDate from, LocalDate before) throws TransactionRepositoryException {
+            ZoneId zone = ZoneId.systemDefault();
+            long since = from != null ? from.atStartOfDay(zone).toInstant().toEpochMilli() : Long.MIN_VALUE;
+            long until = before.atStartOfDay(zone).toInstant().toEpochMilli();
+            Set<String> wanted = new HashSet<>(accountNumbers);
+            try {
+                Map<String, BigDecimal> changes = new HashMap<>();
+                for (TransactionRecord r : readAllTransactions()) {
+                    if (r.getTransactionDateMillis() < since || r.getTransactionDateMillis() >= until) continue;
+                    addNetChange(changes, wanted, r, r.getSourceAccountNumber());
+                    addNetChange(changes, wanted, r, r.getDestinationAccountNumber());
+                }
+                return changes;
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error retrieving net changes by account: {0}", e.getMessage());
+                throw new TransactionRepositoryException("Error retrieving net changes by account", e);
+            }
+        }
+
+        private static void addNetChange(Map<String, BigDecimal> changes, Set<String> wanted, TransactionRecord record, String accountNumber) {
+            if (accountNumber == null || !wanted.contains(accountNumber)) return;
+            changes.merge(accountNumber, record.getSignedAmountFor(accountNumber), BigDecimal::add);
+        }
+
+        private Set<String> accountNumbersOf(String customerID) throws AccountRepositoryException {
+            return accountRepository.getAccountsByCustomerId(customerID).stream()
+                    .map(Account::getAccountNumber)
+                    .collect(Collectors.toSet());
+        }
+
+        private static boolean involvesAny(TransactionRecord record, Set<String> accountNumbers) {
+            return (record.getSourceAccountNumber() != null && accountNumbers.contains(record.getSourceAccountNumber()))
+                    || (record.getDestinationAccountNumber() != null && accountNumbers.contains(record.getDestinationAccountNumber()));
+        }
+
+        private static boolean matches(TransactionRecord record, String filter) {
+            return PageQuery.matches(filter, record.getDescription()) || PageQuery.matches(filter, record.getTransactionType().name());
+        }
+
+        private static Comparator<TransactionRecord> comparatorFor(TransactionSortField field) {
+            return switch (field) {
+                case DATE -> Comparator.comparingLong(TransactionRecord::getTransactionDateMillis);
+                case TYPE -> Comparator.comparing(r -> r.getTransactionType().name());
+                case DESCRIPTION -> Comparator.comparing(r -> r.getDescription() == null ? "" : r.getDescription(), String.CASE_INSENSITIVE_ORDER);
+                case AMOUNT -> Comparator.comparing(TransactionRecord::getAmount);
+            };
+        }
+
+        private TransactionList findTransactions(Predicate<TransactionRecord> filter) throws TransactionRepositoryException {
+            Function<String, Account> resolver = accountResolver();
+            return readAllTransactions().stream()
+                    .filter(filter)
+                    .map(r -> r.toTransaction(resolver))
+                    .collect(Collectors.toCollection(TransactionList::new));
+        }
+
+        /**
+         * Returns a resolver that reads each account at most once for the transactions of one query.
+         */
+        private Function<String, Account> accountResolver() {
+            Map<String, Account> resolved = new ConcurrentHashMap<>();
+            return accountNumber -> resolved.computeIfAbsent(accountNumber, number -> {
+                try {
+                    return accountRepository.getAccountById(number);
+                } catch (AccountRepositoryException e) {
+                    LOGGER.log(Level.SEVERE, "Error resolving account of transaction: {0}", e.getMessage());
+                    throw new RuntimeException("Failed to resolve account: " + number, e);
+                }
+            });
+        }
+
+        private void migrateLegacyFile() {
+            if (file.exists() || !legacyFile.exists()) return;
+            List<Transaction> legacy = FileManager.readListFromFile(legacyFile);
+            writeAll(legacy.stream().map(TransactionRecord::from).collect(Collectors.toList()));
+            LOGGER.log(Level.INFO, "Migrated {0} transactions to {1}", new Object[]{legacy.size(), file.getPath()});
+        }
+
+        private List<TransactionRecord> readAllTransactions() throws TransactionRepositoryException {
             try {
                 return readAll();
             } catch (Exception e) {
@@ -147,7 +361,7 @@ package com.fortisbank.data.file;
             }
         }
 
-        private void writeAllTransactions(List<Transaction> transactions) throws TransactionRepositoryException {
+        private void writeAllTransactions(List<TransactionRecord> transactions) throws TransactionRepositoryException {
             try {
                 writeAll(transactions);
             } catch (Exception e) {
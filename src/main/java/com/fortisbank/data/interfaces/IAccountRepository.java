@@ -52,6 +52,14 @@ package com.fortisbank.data.interfaces;
           */
          void updateAccount(Account account) throws AccountRepositoryException;
 
+         /**
+          * Updates several existing accounts in a single write.
+          *
+          * @param accounts the accounts to update
+          * @throws AccountRepositoryException if an error occurs while updating the accounts
+          */
+         void updateAccounts(AccountList accounts) throws AccountRepositoryException;
+
          /**
           * Deletes an account by its ID.
           *
@@ -0,0 +1,34 @@
+package com.fortisbank.data.interfaces;
+
+import com.fortisbank.contracts.exceptions.BalanceCheckpointRepositoryException;
+import com.fortisbank.contracts.models.accounts.BalanceCheckpoint;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface for balance checkpoint repository operations.
+ * Keeps one checkpoint per account and checkpoint date.
+ */
+public interface IBalanceCheckpointRepository {
+
+    /**
+     * Retrieves the latest checkpoint of each account dated on or before a given day.
+     *
+     * @param accountNumbers the numbers of the accounts
+     * @param onOrBefore the latest checkpoint date to consider
+     * @return the latest checkpoints by account number; accounts without such a checkpoint are absent
+     * @throws BalanceCheckpointRepositoryException if an error occurs while retrieving the checkpoints
+     */
+    Map<String, BalanceCheckpoint> getLatestCheckpoints(Collection<String> accountNumbers, LocalDate onOrBefore) throws BalanceCheckpointRepositoryException;
+
+    /**
+     * Saves checkpoints in one write, replacing those with the same account and checkpoint date.
+     *
+     * @param checkpoints the checkpoints to save
+     * @throws BalanceCheckpointRepositoryException if an error occurs while saving the checkpoints
+     */
+    void saveCheckpoints(List<BalanceCheckpoint> checkpoints) throws BalanceCheckpointRepositoryException;
+}
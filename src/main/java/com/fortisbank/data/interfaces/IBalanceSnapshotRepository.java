@@ -0,0 +1,38 @@
+package com.fortisbank.data.interfaces;
+
+import com.fortisbank.contracts.exceptions.BalanceSnapshotRepositoryException;
+import com.fortisbank.contracts.models.accounts.BalanceSnapshot;
+
+import java.util.List;
+
+/**
+ * Interface for balance snapshot repository operations.
+ * Keeps the latest snapshot per account.
+ */
+public interface IBalanceSnapshotRepository {
+
+    /**
+     * Retrieves the latest snapshot for an account.
+     *
+     * @param accountNumber the account number
+     * @return the latest snapshot, or null if none exists
+     * @throws BalanceSnapshotRepositoryException if an error occurs while retrieving the snapshot
+     */
+    BalanceSnapshot getSnapshot(String accountNumber) throws BalanceSnapshotRepositoryException;
+
+    /**
+     * Retrieves the latest snapshot of every account.
+     *
+     * @return the latest snapshots
+     * @throws BalanceSnapshotRepositoryException if an error occurs while retrieving the snapshots
+     */
+    List<BalanceSnapshot> getAllSnapshots() throws BalanceSnapshotRepositoryException;
+
+    /**
+     * Saves a snapshot, replacing any previous snapshot of the same account.
+     *
+     * @param snapshot the snapshot to save
+     * @throws BalanceSnapshotRepositoryException if an error occurs while saving the snapshot
+     */
+    void saveSnapshot(BalanceSnapshot snapshot) throws BalanceSnapshotRepositoryException;
+}
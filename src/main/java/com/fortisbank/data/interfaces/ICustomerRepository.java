@@ -2,6 +2,8 @@ package com.fortisbank.data.interfaces;
 
      import com.fortisbank.contracts.exceptions.CustomerRepositoryException;
      import com.fortisbank.contracts.collections.CustomerList;
+     import com.fortisbank.contracts.models.others.CustomerSortField;
+     import com.fortisbank.contracts.models.others.PageQuery;
      import com.fortisbank.contracts.models.users.Customer;
 
      /**
@@ -27,6 +29,25 @@ package com.fortisbank.data.interfaces;
           */
          CustomerList getAllCustomers() throws CustomerRepositoryException;
 
+         /**
+          * Retrieves one page of customers whose name or email contains the query filter, in the query sort order.
+          * The accounts of the returned customers are not loaded.
+          *
+          * @param query the filter, sort order and page to retrieve
+          * @return the customers of the page
+          * @throws CustomerRepositoryException if an error occurs while retrieving the customers
+          */
+         CustomerList getCustomersPage(PageQuery<CustomerSortField> query) throws CustomerRepositoryException;
+
+         /**
+          * Returns the number of customers whose name or email contains the filter.
+          *
+          * @param filter the filter in lower case, or null to count all customers
+          * @return the number of matching customers
+          * @throws CustomerRepositoryException if an error occurs while counting the customers
+          */
+         int countCustomers(String filter) throws CustomerRepositoryException;
+
          /**
           * Inserts a new customer.
           *
@@ -0,0 +1,50 @@
+package com.fortisbank.data.interfaces;
+
+import com.fortisbank.contracts.exceptions.DailyAggregateRepositoryException;
+import com.fortisbank.contracts.models.reports.DailyAggregate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Interface for daily aggregate repository operations.
+ * Keeps one aggregate per day and account type.
+ */
+public interface IDailyAggregateRepository {
+
+    /**
+     * Retrieves the aggregates of the days within a range, ordered by day.
+     *
+     * @param from the first day of the range, or null for no lower bound
+     * @param to the last day of the range, or null for no upper bound
+     * @return the aggregates within the range
+     * @throws DailyAggregateRepositoryException if an error occurs while retrieving the aggregates
+     */
+    List<DailyAggregate> getAggregates(LocalDate from, LocalDate to) throws DailyAggregateRepositoryException;
+
+    /**
+     * Adds amounts to the stored aggregates with the same day and account type, creating those that do not exist.
+     * All amounts are added in one write.
+     *
+     * @param deltas the amounts to add
+     * @throws DailyAggregateRepositoryException if an error occurs while saving the aggregates
+     */
+    void addToAggregates(List<DailyAggregate> deltas) throws DailyAggregateRepositoryException;
+
+    /**
+     * Replaces all stored aggregates with aggregates rebuilt from the transaction log, and records
+     * together with them that they have been rebuilt.
+     *
+     * @param aggregates the new aggregates
+     * @throws DailyAggregateRepositoryException if an error occurs while saving the aggregates
+     */
+    void replaceAllAggregates(List<DailyAggregate> aggregates) throws DailyAggregateRepositoryException;
+
+    /**
+     * Returns whether the stored aggregates have ever been rebuilt from the transaction log.
+     *
+     * @return true if {@link #replaceAllAggregates(List)} has completed at least once
+     * @throws DailyAggregateRepositoryException if an error occurs while reading the aggregates
+     */
+    boolean isRebuilt() throws DailyAggregateRepositoryException;
+}
@@ -0,0 +1,108 @@
+package com.fortisbank.data.interfaces;
+
+import com.fortisbank.contracts.exceptions.NotificationRepositoryException;
+import com.fortisbank.contracts.models.others.NotificationCursor;
+import com.fortisbank.contracts.models.others.NotificationRecord;
+
+import java.util.List;
+
+/**
+ * Interface for notification repository operations.
+ * Notifications are stored per recipient and returned newest first.
+ */
+public interface INotificationRepository {
+
+    /**
+     * Stores notifications. Notifications whose ID is already stored are skipped.
+     *
+     * @param notifications the notifications to store
+     * @throws NotificationRepositoryException if an error occurs while storing the notifications
+     */
+    void insertNotifications(List<NotificationRecord> notifications) throws NotificationRepositoryException;
+
+    /**
+     * Retrieves a page of a recipient's notifications, newest first.
+     *
+     * @param recipientId the ID of the recipient
+     * @param offset the number of notifications to skip
+     * @param limit the maximum number of notifications to return
+     * @return the notifications
+     * @throws NotificationRepositoryException if an error occurs while retrieving the notifications
+     */
+    List<NotificationRecord> getNotifications(String recipientId, int offset, int limit) throws NotificationRepositoryException;
+
+    /**
+     * Retrieves a page of a recipient's unread notifications, newest first.
+     *
+     * @param recipientId the ID of the recipient
+     * @param offset the number of unread notifications to skip
+     * @param limit the maximum number of notifications to return
+     * @return the unread notifications
+     * @throws NotificationRepositoryException if an error occurs while retrieving the notifications
+     */
+    List<NotificationRecord> getUnreadNotifications(String recipientId, int offset, int limit) throws NotificationRepositoryException;
+
+    /**
+     * Retrieves the page of a recipient's notifications that follows the cursor, newest first.
+     *
+     * @param recipientId the ID of the recipient
+     * @param cursor the position after which to start, or null for the first page
+     * @param unreadOnly whether to return unread notifications only
+     * @param limit the maximum number of notifications to return
+     * @return the notifications
+     * @throws NotificationRepositoryException if an error occurs while retrieving the notifications
+     */
+    List<NotificationRecord> getNotificationsAfter(String recipientId, NotificationCursor cursor, boolean unreadOnly, int limit) throws NotificationRepositoryException;
+
+    /**
+     * Returns the number of notifications a recipient has.
+     *
+     * @param recipientId the ID of the recipient
+     * @return the number of notifications
+     * @throws NotificationRepositoryException if an error occurs while reading the counter
+     */
+    int countNotifications(String recipientId) throws NotificationRepositoryException;
+
+    /**
+     * Returns the number of unread notifications a recipient has.
+     *
+     * @param recipientId the ID of the recipient
+     * @return the number of unread notifications
+     * @throws NotificationRepositoryException if an error occurs while reading the counter
+     */
+    int countUnreadNotifications(String recipientId) throws NotificationRepositoryException;
+
+    /**
+     * Marks one notification as read.
+     *
+     * @param recipientId the ID of the recipient
+     * @param notificationId the ID of the notification
+     * @throws NotificationRepositoryException if an error occurs while updating the notification
+     */
+    void markAsRead(String recipientId, String notificationId) throws NotificationRepositoryException;
+
+    /**
+     * Marks all of a recipient's notifications as read.
+     *
+     * @param recipientId the ID of the recipient
+     * @throws NotificationRepositoryException if an error occurs while updating the notifications
+     */
+    void markAllAsRead(String recipientId) throws NotificationRepositoryException;
+
+    /**
+     * Deletes one notification.
+     *
+     * @param recipientId the ID of the recipient
+     * @param notificationId the ID of the notification
+     * @throws NotificationRepositoryException if an error occurs while deleting the notification
+     */
+    void deleteNotification(String recipientId, String notificationId) throws NotificationRepositoryException;
+
+    /**
+     * Deletes all of a recipient's notifications.
+     *
+     * @param recipientId the ID of the recipient
+     * @throws NotificationRepositoryException if an error occurs while deleting the notifications
+     */
+    void deleteAllNotifications(String recipientId) throws NotificationRepositoryException;
+}
@@ -2,10 +2,15 @@ package com.fortisbank.data.interfaces;
 
 import com.fortisbank.contracts.exceptions.TransactionRepositoryException;
 import com.fortisbank.contracts.collections.TransactionList;
+import com.fortisbank.contracts.models.others.PageQuery;
+import com.fortisbank.contracts.models.others.TransactionSortField;
 import com.fortisbank.contracts.models.transactions.Transaction;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * Interface for transaction repository operations.
@@ -29,6 +34,15 @@ public interface ITransactionRepository {
      */
     TransactionList getTransactionsByAccount(String accountId) throws TransactionRepositoryException;
 
+    /**
+     * Retrieves the transactions of an account dated on or after a day.
+     *
+     * @param accountId the ID of the account whose transactions to retrieve
+     * @param from the first day to include, or null to retrieve all transactions of the account
+     * @return the matching transactions
+     */
+    TransactionList getTransactionsByAccountSince(String accountId, LocalDate from) throws TransactionRepositoryException;
+
     /**
      * Retrieves all transactions.
      *
@@ -36,6 +50,25 @@ public interface ITransactionRepository {
      */
     TransactionList getAllTransactions() throws TransactionRepositoryException;
 
+    /**
+     * Retrieves one page of the transactions of an account whose description or type contains the
+     * query filter, in the query sort order.
+     *
+     * @param accountId the ID of the account whose transactions to retrieve
+     * @param query the filter, sort order and page to retrieve
+     * @return the transactions of the page
+     */
+    TransactionList getTransactionsPage(String accountId, PageQuery<TransactionSortField> query) throws TransactionRepositoryException;
+
+    /**
+     * Returns the number of transactions of an account whose description or type contains the filter.
+     *
+     * @param accountId the ID of the account
+     * @param filter the filter in lower case, or null to count all transactions of the account
+     * @return the number of matching transactions
+     */
+    int countTransactions(String accountId, String filter) throws TransactionRepositoryException;
+
     /**
      * Inserts a new transaction.
      *
@@ -43,6 +76,13 @@ public interface ITransactionRepository {
      */
     void insertTransaction(Transaction transaction) throws TransactionRepositoryException;
 
+    /**
+     * Inserts several transactions in a single write.
+     *
+     * @param transactions the transactions to insert
+     */
+    void insertTransactions(TransactionList transactions) throws TransactionRepositoryException;
+
     /**
      * Deletes a transaction by its number.
      *
@@ -51,7 +91,8 @@ public interface ITransactionRepository {
     void deleteTransaction(String transactionNumber) throws TransactionRepositoryException;
 
     /**
-     * Retrieves transactions for a specific customer within a date range.
+     * Retrieves transactions for a specific customer within a date range: those whose source or
+     * destination account belongs to the customer.
      *
      * @param customerID the ID of the customer whose transactions to retrieve
      * @param start the start date of the date range
@@ -61,11 +102,48 @@ public interface ITransactionRepository {
     TransactionList getTransactionsByCustomerAndDateRange(String customerID, LocalDate start, LocalDate end) throws TransactionRepositoryException;
 
     /**
-     * Retrieves the balance for a specific customer before a given date.
+     * Passes the transactions of a customer within a date range to an action one at a time, oldest first,
+     * without loading them all into memory. Stops as soon as the action returns false. As with
+     * {@link #getTransactionsByCustomerAndDateRange}, a transaction belongs to the customer owning its
+     * source or destination account.
+     *
+     * @param customerID the ID of the customer whose transactions to read
+     * @param start the start date of the date range
+     * @param end the end date of the date range
+     * @param action receives each transaction and returns whether to continue
+     */
+    void forEachTransactionByCustomerAndDateRange(String customerID, LocalDate start, LocalDate end, Predicate<Transaction> action) throws TransactionRepositoryException;
+
+    /**
+     * Passes all transactions within a date range to an action one at a time, oldest first,
+     * without loading them all into memory. Stops as soon as the action returns false.
+     *
+     * @param start the start date of the date range
+     * @param end the end date of the date range
+     * @param action receives each transaction and returns whether to continue
+     */
+    void forEachTransactionInDateRange(LocalDate start, LocalDate end, Predicate<Transaction> action) throws TransactionRepositoryException;
+
+    /**
+     * Retrieves the transactions of several customers within a date range in one read, grouped by the ID
+     * of the customer owning their source or destination account. A transfer between two of the customers
+     * is listed under both. Each customer's transactions are in date order.
+     *
+     * @param customerIds the IDs of the customers to read
+     * @param start the start date of the date range
+     * @param end the end date of the date range
+     * @return the transactions within the date range by customer ID; customers without transactions are absent
+     */
+    Map<String, TransactionList> getTransactionsByCustomersForDateRange(Collection<String> customerIds, LocalDate start, LocalDate end) throws TransactionRepositoryException;
+
+    /**
+     * Retrieves the net change of the balance of each account over a date range in one read: deposits and
+     * incoming transfers add to the balance, withdrawals, fees and outgoing transfers subtract from it.
      *
-     * @param customerID the ID of the customer whose balance to retrieve
-     * @param start the date before which to calculate the balance
-     * @return the balance for the specified customer before the given date
+     * @param accountNumbers the numbers of the accounts
+     * @param from the first day of the range, or null to start from the first transaction
+     * @param before the day after the range
+     * @return the net changes by account number; accounts without transactions in the range are absent
      */
-    BigDecimal getBalanceBeforeDate(String customerID, LocalDate start) throws TransactionRepositoryException;
+    Map<String, BigDecimal> getNetChangesByAccount(Collection<String> accountNumbers, LocalDate from, LocalDate before) throws TransactionRepositoryException;
 }
\ No newline at end of file
@@ -1,11 +1,15 @@
 package com.fortisbank.ui;
 
+import com.fortisbank.business.services.account.AccountActivityTracker;
 import com.fortisbank.business.services.automation.AutomationService;
+import com.fortisbank.business.services.notification.NotificationOutbox;
+import com.fortisbank.business.services.report.ReportJobManager;
 import com.fortisbank.business.services.users.customer.RegisterService;
 import com.fortisbank.data.dal_utils.StorageMode;
 import com.fortisbank.ui.frames.mainFrames.LoginFrame;
 
 import javax.swing.*;
+import java.time.Duration;
 
 public class Main {
 
@@ -29,6 +33,15 @@ public class Main {
                 new LoginFrame(storageMode).setVisible(true);
                 // Start background tasks
                 AutomationService.startAllDaemonTasks(storageMode);
+                // Restart report exports that were still queued or running when the application last stopped
+                ReportJobManager.getInstance(storageMode).resumeInterrupted();
+                // Let running jobs finish, save the account activity and let queued notifications reach the inboxes before the JVM exits
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    AutomationService.stopAllDaemonTasks(Duration.ofSeconds(30));
+                    AccountActivityTracker.getInstance(storageMode).flush();
+                    NotificationOutbox.getInstance(storageMode).shutdown(Duration.ofSeconds(10));
+                    ReportJobManager.getInstance(storageMode).shutdown(Duration.ofSeconds(10));
+                }));
 
             }
         });
@@ -4,9 +4,9 @@ import com.fortisbank.business.services.account.AccountService;
 import com.fortisbank.business.services.transaction.TransactionService;
 import com.fortisbank.data.dal_utils.StorageMode;
 import com.fortisbank.contracts.models.accounts.Account;
-import com.fortisbank.contracts.collections.TransactionList;
 import com.fortisbank.business.services.session.SessionManager;
 import com.fortisbank.ui.frames.subFrames.MonthlyStatementFrame;
+import com.fortisbank.ui.ui_utils.BackgroundLoader;
 import com.fortisbank.ui.ui_utils.StyleUtils;
 
 import javax.swing.*;
@@ -25,6 +25,7 @@ public class AccountInfo extends JPanel {
     private JComboBox<Integer> yearCombo;
     private final TransactionService transactionService;
     private final StorageMode storageMode;
+    private final BackgroundLoader statementLoader = new BackgroundLoader(this);
 
     /**
      * Constructs an AccountInfo panel for the given account and storage mode.
@@ -136,6 +137,7 @@ public class AccountInfo extends JPanel {
 
     /**
      * Generates a monthly statement for the selected month and year.
+     * The transactions are loaded in the background and the statement opens once they have arrived.
      *
      * @param account the account to generate the statement for
      */
@@ -148,8 +150,9 @@ public class AccountInfo extends JPanel {
             LocalDate startDate = LocalDate.of(selectedYear, Integer.parseInt(selectedMonth), 1);
             LocalDate endDate = startDate.withDayOfMonth(startDate.lengthOfMonth());
 
-            TransactionList filtered = transactionService.getTransactionsByCustomerAndDateRange(userId, startDate, endDate);
-            new MonthlyStatementFrame(account, filtered, selectedMonth, selectedYear);
+            statementLoader.load(() -> transactionService.getTransactionsByCustomerAndDateRange(userId, startDate, endDate),
+                    filtered -> new MonthlyStatementFrame(account, filtered, selectedMonth, selectedYear),
+                    e -> StyleUtils.showStyledErrorDialog(this, "Failed to generate statement: " + e.getMessage()));
         } catch (Exception e) {
             StyleUtils.showStyledErrorDialog(this, "Failed to generate statement: " + e.getMessage());
         }
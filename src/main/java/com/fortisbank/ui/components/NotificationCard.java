@@ -1,6 +1,7 @@
 package com.fortisbank.ui.components;
 
      import com.fortisbank.business.services.account.AccountLoanRequestService;
+     import com.fortisbank.business.services.notification.NotificationService;
      import com.fortisbank.data.dal_utils.StorageMode;
      import com.fortisbank.contracts.models.accounts.Account;
      import com.fortisbank.contracts.models.others.Notification;
@@ -23,6 +24,9 @@ package com.fortisbank.ui.components;
 
          private static final Logger LOGGER = Logger.getLogger(NotificationCard.class.getName());
 
+         private final NotificationService notificationService;
+         private final Runnable onChange;
+
          /**
           * Constructs a NotificationCard for the given notification and storage mode.
           *
@@ -30,6 +34,19 @@ package com.fortisbank.ui.components;
           * @param storageMode the storage mode to use for services
           */
          public NotificationCard(Notification notification, StorageMode storageMode) {
+             this(notification, storageMode, null);
+         }
+
+         /**
+          * Constructs a NotificationCard that reports changes made through its actions.
+          *
+          * @param notification the notification to display
+          * @param storageMode the storage mode to use for services
+          * @param onChange called after the notification was read, deleted or acted upon
+          */
+         public NotificationCard(Notification notification, StorageMode storageMode, Runnable onChange) {
+             this.notificationService = NotificationService.getInstance(storageMode);
+             this.onChange = onChange;
              try {
                  setLayout(new BorderLayout());
                  StyleUtils.styleFormPanel(this);
@@ -37,7 +54,7 @@ package com.fortisbank.ui.components;
                  JLabel title = new JLabel("[" + notification.getType().name() + "] " + notification.getTitle());
                  StyleUtils.styleLabel(title);
 
-                 JLabel body = new JLabel("<html><p style='width: 300px;'>" + notification.getMessage() + "</p></html>");
+                 JLabel body = new JLabel("<html><p style='width: 300px;'>" + notification.getMessage().replace("\n", "<br>") + "</p></html>");
                  StyleUtils.styleLabel(body);
 
                  JLabel timestamp = new JLabel(notification.getTimestamp().toString());
@@ -83,7 +100,7 @@ package com.fortisbank.ui.components;
                      if (notification.isRead()) {
                          JLabel statusLabel = new JLabel();
                          statusLabel.setFont(new Font("Segoe UI", Font.BOLD, 12));
-                         if (account.isActive()) {
+                         if (account != null && account.isActive()) {
                              statusLabel.setText("✔ Accepted on: " + notification.getTimestamp());
                              statusLabel.setForeground(new Color(0, 128, 0)); // Green
                          } else {
@@ -111,9 +128,9 @@ package com.fortisbank.ui.components;
                  acceptBtn.addActionListener(e -> {
                      try {
                          service.acceptAccountRequest(customer, account);
-                         notification.markAsRead();
+                         notificationService.markAsRead(SessionManager.getCurrentUser(), notification);
                          StyleUtils.showStyledSuccessDialog(this, "Account opened successfully.");
-                         SwingUtilities.invokeLater(() -> ((JComponent) this.getParent()).revalidate());
+                         SwingUtilities.invokeLater(this::notifyChanged);
                      } catch (Exception ex) {
                          LOGGER.log(Level.SEVERE, "Error accepting account request: {0}", ex.getMessage());
                          StyleUtils.showStyledErrorDialog(this, "Failed to accept account request: " + ex.getMessage());
@@ -125,9 +142,9 @@ package com.fortisbank.ui.components;
                          String reason = JOptionPane.showInputDialog(this, "Reason for rejection:");
                          if (reason != null && !reason.isBlank()) {
                              service.rejectAccountRequest(customer, reason, account);
-                             notification.markAsRead();
+                             notificationService.markAsRead(SessionManager.getCurrentUser(), notification);
                              StyleUtils.showStyledSuccessDialog(this, "Account request rejected.");
-                             SwingUtilities.invokeLater(() -> ((JComponent) this.getParent()).revalidate());
+                             SwingUtilities.invokeLater(this::notifyChanged);
                          }
                      } catch (Exception ex) {
                          LOGGER.log(Level.SEVERE, "Error rejecting account request: {0}", ex.getMessage());
@@ -145,8 +162,8 @@ package com.fortisbank.ui.components;
 
          private void markNotificationAsRead(Notification notification) {
              try {
-                 notification.markAsRead();
-                 SwingUtilities.invokeLater(() -> ((JComponent) this.getParent()).revalidate());
+                 notificationService.markAsRead(SessionManager.getCurrentUser(), notification);
+                 SwingUtilities.invokeLater(this::notifyChanged);
              } catch (Exception e) {
                  LOGGER.log(Level.SEVERE, "Error marking notification as read: {0}", e.getMessage());
                  StyleUtils.showStyledErrorDialog(this, "Failed to mark notification as read: " + e.getMessage());
@@ -155,11 +172,19 @@ package com.fortisbank.ui.components;
 
          private void deleteNotification(Notification notification) {
              try {
-                 SessionManager.getCurrentUser().getInbox().remove(notification);
-                 SwingUtilities.invokeLater(() -> ((JComponent) this.getParent()).revalidate());
+                 notificationService.deleteNotification(SessionManager.getCurrentUser(), notification);
+                 SwingUtilities.invokeLater(this::notifyChanged);
              } catch (Exception e) {
                  LOGGER.log(Level.SEVERE, "Error deleting notification: {0}", e.getMessage());
                  StyleUtils.showStyledErrorDialog(this, "Failed to delete notification: " + e.getMessage());
              }
          }
+
+         private void notifyChanged() {
+             if (onChange != null) {
+                 onChange.run();
+             } else if (getParent() instanceof JComponent parent) {
+                 parent.revalidate();
+             }
+         }
      }
\ No newline at end of file
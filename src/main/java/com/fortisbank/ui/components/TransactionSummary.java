@@ -5,6 +5,7 @@ import com.fortisbank.data.dal_utils.StorageMode;
 import com.fortisbank.contracts.models.accounts.Account;
 import com.fortisbank.contracts.collections.TransactionList;
 import com.fortisbank.contracts.models.transactions.Transaction;
+import com.fortisbank.ui.ui_utils.BackgroundLoader;
 import com.fortisbank.ui.ui_utils.StyleUtils;
 
 import javax.swing.*;
@@ -13,7 +14,7 @@ import java.util.logging.Logger;
 
 /**
  * The TransactionSummary class is a JPanel component that displays a summary
- * of recent transactions for a given account.
+ * of recent transactions for a given account. The transactions are loaded in the background.
  */
 public class TransactionSummary extends JPanel {
 
@@ -22,6 +23,7 @@ public class TransactionSummary extends JPanel {
     private TransactionService transactionService;
     private StorageMode storageMode;
     private TransactionList transactionList;
+    private final BackgroundLoader loader = new BackgroundLoader(this);
 
     /**
      * Constructs a TransactionSummary panel for the given account and storage mode.
@@ -33,7 +35,6 @@ public class TransactionSummary extends JPanel {
         try {
             this.storageMode = storageMode;
             this.transactionService = TransactionService.getInstance(storageMode);
-            this.transactionList = transactionService.getRecentTransactionsByAccount(account);
 
             setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
             setOpaque(false);
@@ -43,22 +44,44 @@ public class TransactionSummary extends JPanel {
             add(title);
             add(Box.createVerticalStrut(5));
 
-            if (transactionList.isEmpty()) {
-                JLabel none = new JLabel("No recent transactions.");
-                StyleUtils.styleLabel(none);
-                add(none);
-            } else {
-                for (Transaction tx : transactionList) {
-                    JLabel txLabel = new JLabel("• [" + tx.getTransactionDate() + "] " +
-                            tx.getTransactionType() + " — $" + String.format("%.2f", tx.getAmount()));
-                    StyleUtils.styleLabel(txLabel);
-                    add(txLabel);
-                    add(Box.createVerticalStrut(4));
-                }
-            }
+            JLabel placeholder = BackgroundLoader.createPlaceholder("Loading transactions...");
+            add(placeholder);
+
+            loader.load(() -> transactionService.getRecentTransactionsByAccount(account), transactions -> {
+                remove(placeholder);
+                showTransactions(transactions);
+            }, e -> {
+                placeholder.setText("Recent transactions are unavailable.");
+                LOGGER.log(Level.SEVERE, "Error loading transaction summary: {0}", e.getMessage());
+                StyleUtils.showStyledErrorDialog(this, "Failed to load transaction summary: " + e.getMessage());
+            });
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error initializing TransactionSummary: {0}", e.getMessage());
             StyleUtils.showStyledErrorDialog(this, "Failed to load transaction summary: " + e.getMessage());
         }
     }
+
+    /**
+     * Displays the loaded transactions.
+     *
+     * @param transactions the recent transactions of the account
+     */
+    private void showTransactions(TransactionList transactions) {
+        this.transactionList = transactions;
+        if (transactionList.isEmpty()) {
+            JLabel none = new JLabel("No recent transactions.");
+            StyleUtils.styleLabel(none);
+            add(none);
+        } else {
+            for (Transaction tx : transactionList) {
+                JLabel txLabel = new JLabel("• [" + tx.getTransactionDate() + "] " +
+                        tx.getTransactionType() + " — $" + String.format("%.2f", tx.getAmount()));
+                StyleUtils.styleLabel(txLabel);
+                add(txLabel);
+                add(Box.createVerticalStrut(4));
+            }
+        }
+        revalidate();
+        repaint();
+    }
 }
\ No newline at end of file
@@ -8,6 +8,7 @@ package com.fortisbank.ui.forms;
      import com.fortisbank.contracts.models.users.BankManager;
      import com.fortisbank.contracts.models.users.Customer;
      import com.fortisbank.business.services.session.SessionManager;
+     import com.fortisbank.ui.ui_utils.BackgroundLoader;
      import com.fortisbank.ui.ui_utils.StyleUtils;
      import com.fortisbank.contracts.utils.IdGenerator;
 
@@ -15,7 +16,6 @@ package com.fortisbank.ui.forms;
      import java.awt.*;
      import java.math.BigDecimal;
      import java.util.Date;
-     import java.util.List;
      import java.util.logging.Level;
      import java.util.logging.Logger;
 
@@ -35,6 +35,7 @@ package com.fortisbank.ui.forms;
          private final JLabel interestRateLabel = new JLabel();
          private final JTextField creditLimitField = new JTextField();
          private final JTextField currencyCodeField = new JTextField();
+         private final BackgroundLoader managerLoader = new BackgroundLoader(this);
 
          private final StorageMode storageMode;
 
@@ -101,8 +102,14 @@ package com.fortisbank.ui.forms;
 
          private void populateManagerDropdown() {
              try {
-                 List<BankManager> managers = BankManagerService.getInstance(storageMode).getAllManagers();
-                 for (BankManager manager : managers) managerSelector.addItem(manager);
+                 managerSelector.setEnabled(false);
+                 managerLoader.load(() -> BankManagerService.getInstance(storageMode).getAllManagers(), managers -> {
+                     for (BankManager manager : managers) managerSelector.addItem(manager);
+                     managerSelector.setEnabled(true);
+                 }, e -> {
+                     LOGGER.log(Level.SEVERE, "Error loading managers: {0}", e.getMessage());
+                     StyleUtils.showStyledErrorDialog(this, "Failed to load managers: " + e.getMessage());
+                 });
 
                  managerSelector.setRenderer(new DefaultListCellRenderer() {
                      @Override
@@ -63,7 +63,7 @@ package com.fortisbank.ui.forms;
                          targetAccount
                  );
 
-                 TransactionService.getInstance(storageMode).executeTransaction(tx);
+                 TransactionService.getInstance(storageMode).executeTransaction(tx, idempotencyKey);
                  StyleUtils.showStyledSuccessDialog(this, "Deposit successful.");
                  return true;
              } catch (NumberFormatException e) {
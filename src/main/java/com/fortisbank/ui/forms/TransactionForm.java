@@ -1,5 +1,6 @@
 package com.fortisbank.ui.forms;
 
+    import com.fortisbank.contracts.utils.IdGenerator;
     import com.fortisbank.data.dal_utils.StorageMode;
     import com.fortisbank.ui.ui_utils.StyleUtils;
 
@@ -23,6 +24,12 @@ package com.fortisbank.ui.forms;
         protected final JTextField descriptionField = new JTextField();
         protected StorageMode storageMode;
 
+        /**
+         * Key sent with every submission from this form, so a double-click or retry
+         * is recognised by the transaction service and not posted twice.
+         */
+        protected final String idempotencyKey = IdGenerator.generateId();
+
         /**
          * Constructs a TransactionForm with the specified title and storage mode.
          *
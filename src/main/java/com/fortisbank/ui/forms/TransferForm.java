@@ -4,12 +4,12 @@ package com.fortisbank.ui.forms;
      import com.fortisbank.business.services.transaction.TransactionService;
      import com.fortisbank.data.dal_utils.StorageMode;
      import com.fortisbank.contracts.models.accounts.Account;
-     import com.fortisbank.contracts.collections.CustomerList;
      import com.fortisbank.contracts.models.transactions.Transaction;
      import com.fortisbank.contracts.models.transactions.TransactionFactory;
      import com.fortisbank.contracts.models.transactions.TransactionType;
      import com.fortisbank.contracts.models.users.Customer;
      import com.fortisbank.business.services.session.SessionManager;
+     import com.fortisbank.ui.ui_utils.BackgroundLoader;
      import com.fortisbank.ui.ui_utils.StyleUtils;
 
      import javax.swing.*;
@@ -36,6 +36,7 @@ package com.fortisbank.ui.forms;
          private final JPanel dynamicRecipientPanel = new JPanel();
          private final JTextField amountField = new JTextField();
          private final JTextField descriptionField = new JTextField();
+         private final BackgroundLoader customerLoader = new BackgroundLoader(this);
 
          public TransferForm(Account sourceAccount, StorageMode storageMode) {
              super("Transfer Funds", storageMode);
@@ -65,13 +66,22 @@ package com.fortisbank.ui.forms;
              StyleUtils.styleRadioButton(otherTransferBtn);
          }
 
+         /**
+          * Sets up the customer dropdown. The customers are loaded in the background; the dropdown stays
+          * disabled until they have arrived.
+          */
          private void setupCustomerDropdown() {
              try {
-                 CustomerList customers = CustomerService.getInstance(storageMode).getAllCustomers();
-
-                 for (Customer customer : customers) {
-                     customerSelector.addItem(customer);
-                 }
+                 customerSelector.setEnabled(false);
+                 customerLoader.load(() -> CustomerService.getInstance(storageMode).getAllCustomers(), customers -> {
+                     for (Customer customer : customers) {
+                         customerSelector.addItem(customer);
+                     }
+                     customerSelector.setEnabled(true);
+                 }, e -> {
+                     LOGGER.log(Level.SEVERE, "Error loading customers: {0}", e.getMessage());
+                     StyleUtils.showStyledErrorDialog(this, "Failed to load customers: " + e.getMessage());
+                 });
                  StyleUtils.styleDropdown(customerSelector);
 
                  customerSelector.setRenderer(new DefaultListCellRenderer() {
@@ -223,7 +233,7 @@ package com.fortisbank.ui.forms;
                          destination
                  );
 
-                 TransactionService.getInstance(storageMode).executeTransaction(tx);
+                 TransactionService.getInstance(storageMode).executeTransaction(tx, idempotencyKey);
                  StyleUtils.showStyledSuccessDialog(this, "Transfer successful.");
                  return true;
              } catch (Exception e) {
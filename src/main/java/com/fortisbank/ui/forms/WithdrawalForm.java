@@ -59,7 +59,7 @@ package com.fortisbank.ui.forms;
                          sourceAccount
                  );
 
-                 TransactionService.getInstance(storageMode).executeTransaction(tx);
+                 TransactionService.getInstance(storageMode).executeTransaction(tx, idempotencyKey);
                  StyleUtils.showStyledSuccessDialog(this, "Withdrawal successful.");
                  return true;
              } catch (NumberFormatException e) {
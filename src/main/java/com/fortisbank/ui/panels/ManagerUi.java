@@ -1,6 +1,5 @@
 package com.fortisbank.ui.panels;
 
-    import com.fortisbank.business.services.users.customer.CustomerService;
     import com.fortisbank.data.dal_utils.StorageMode;
     import com.fortisbank.ui.components.NavigationBar;
     import com.fortisbank.ui.panels.commons.*;
@@ -26,8 +25,7 @@ package com.fortisbank.ui.panels;
         protected void setupNavigationActions() {
             navPanel.setButtonAction("Inbox", () -> showContent(new InboxPanel(storageMode)));
             navPanel.setButtonAction("Users", () -> showContent(new UserManagementPanel(storageMode)));
-            navPanel.setButtonAction("Reports", () -> showContent(new ReportsPanel(storageMode,
-                    CustomerService.getInstance(storageMode).getAllCustomers())));
+            navPanel.setButtonAction("Reports", () -> showContent(new ReportsPanel(storageMode)));
             navPanel.setButtonAction("Interest Rates", () -> showContent(new InterestRateManager()));
             navPanel.setButtonAction("Settings", () -> showContent(new SettingPanel()));
         }
@@ -4,29 +4,41 @@ package com.fortisbank.ui.panels.commons;
      import com.fortisbank.business.services.notification.NotificationService;
      import com.fortisbank.data.dal_utils.StorageMode;
      import com.fortisbank.contracts.models.others.Notification;
+     import com.fortisbank.contracts.models.others.NotificationCursor;
      import com.fortisbank.business.services.session.SessionManager;
      import com.fortisbank.ui.components.NotificationCard;
+     import com.fortisbank.ui.ui_utils.BackgroundLoader;
      import com.fortisbank.ui.ui_utils.StyleUtils;
 
      import javax.swing.*;
      import java.awt.*;
-     import java.util.List;
      import java.util.logging.Level;
      import java.util.logging.Logger;
 
      /**
       * The InboxPanel class represents the inbox panel of the Fortis Bank application.
       * It extends JPanel and provides a user interface to display and manage notifications.
+      *
+      * Notifications are listed in a JList, which only renders the visible rows, and are loaded one
+      * page at a time as the user scrolls towards the end of the list. The selected notification is
+      * shown below the list with its actions. Pages are loaded in the background.
       */
      public class InboxPanel extends JPanel {
 
          private static final Logger LOGGER = Logger.getLogger(InboxPanel.class.getName());
+         private static final int PAGE_SIZE = 50;
+         private static final int ROW_HEIGHT = 44;
 
          private final NotificationService notificationService;
          private final AccountLoanRequestService accountLoanService;
-         private final JPanel messageListPanel = new JPanel();
+         private final DefaultListModel<Notification> listModel = new DefaultListModel<>();
+         private final JList<Notification> notificationList = new JList<>(listModel);
+         private final JPanel detailPanel = new JPanel(new BorderLayout());
+         private final BackgroundLoader loader = new BackgroundLoader(this);
          private final JComboBox<String> filterSelector = new JComboBox<>(new String[]{"All", "Unread", "Custom", "System", "Security"});
          private final StorageMode storageMode;
+         private NotificationCursor nextCursor;
+         private boolean hasMore;
 
          /**
           * Constructs an InboxPanel with the specified storage mode.
@@ -61,23 +73,25 @@ package com.fortisbank.ui.panels.commons;
                  StyleUtils.styleButton(clearBtn, false);
 
                  markAllReadBtn.addActionListener(e -> {
-                     try {
-                         notificationService.markAllAsRead(SessionManager.getCurrentUser());
-                         refreshMessages();
-                     } catch (Exception ex) {
+                     var user = SessionManager.getCurrentUser();
+                     loader.load(() -> {
+                         notificationService.markAllAsRead(user);
+                         return null;
+                     }, done -> refreshMessages(), ex -> {
                          LOGGER.log(Level.SEVERE, "Error marking all notifications as read: {0}", ex.getMessage());
                          StyleUtils.showStyledErrorDialog(this, "Failed to mark all notifications as read: " + ex.getMessage());
-                     }
+                     });
                  });
 
                  clearBtn.addActionListener(e -> {
-                     try {
-                         notificationService.clearInbox(SessionManager.getCurrentUser());
-                         refreshMessages();
-                     } catch (Exception ex) {
+                     var user = SessionManager.getCurrentUser();
+                     loader.load(() -> {
+                         notificationService.clearInbox(user);
+                         return null;
+                     }, done -> refreshMessages(), ex -> {
                          LOGGER.log(Level.SEVERE, "Error clearing inbox: {0}", ex.getMessage());
                          StyleUtils.showStyledErrorDialog(this, "Failed to clear inbox: " + ex.getMessage());
-                     }
+                     });
                  });
 
                  topPanel.add(filterLabel);
@@ -86,15 +100,35 @@ package com.fortisbank.ui.panels.commons;
                  topPanel.add(clearBtn);
                  add(topPanel, BorderLayout.BEFORE_FIRST_LINE);
 
-                 messageListPanel.setLayout(new BoxLayout(messageListPanel, BoxLayout.Y_AXIS));
-                 messageListPanel.setOpaque(false);
+                 notificationList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+                 notificationList.setFixedCellHeight(ROW_HEIGHT);
+                 notificationList.setBackground(StyleUtils.BACKGROUND_COLOR);
+                 notificationList.setForeground(StyleUtils.TEXT_COLOR);
+                 notificationList.setSelectionBackground(StyleUtils.PRIMARY_COLOR);
+                 notificationList.setSelectionForeground(StyleUtils.TEXT_COLOR);
+                 notificationList.setCellRenderer(new NotificationRowRenderer());
+                 notificationList.addListSelectionListener(e -> {
+                     if (!e.getValueIsAdjusting()) {
+                         showDetail(notificationList.getSelectedValue());
+                     }
+                 });
 
-                 JScrollPane scrollPane = new JScrollPane(messageListPanel);
+                 JScrollPane scrollPane = new JScrollPane(notificationList);
                  scrollPane.setOpaque(false);
                  scrollPane.getViewport().setOpaque(false);
                  scrollPane.setBorder(null);
+                 scrollPane.getVerticalScrollBar().setUnitIncrement(ROW_HEIGHT / 2);
+                 scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+                     BoundedRangeModel range = scrollPane.getVerticalScrollBar().getModel();
+                     if (!loader.isLoading() && range.getValue() + range.getExtent() >= range.getMaximum() - ROW_HEIGHT * 5) {
+                         loadNextPage();
+                     }
+                 });
                  add(scrollPane, BorderLayout.CENTER);
 
+                 detailPanel.setOpaque(false);
+                 add(detailPanel, BorderLayout.SOUTH);
+
                  refreshMessages();
              } catch (Exception e) {
                  LOGGER.log(Level.SEVERE, "Error initializing InboxPanel: {0}", e.getMessage());
@@ -103,34 +137,84 @@ package com.fortisbank.ui.panels.commons;
          }
 
          /**
-          * Refreshes the messages displayed in the inbox panel based on the selected filter.
+          * Reloads the inbox from its first page based on the selected filter.
+          * A page that is still loading for the previous filter is discarded.
           */
          private void refreshMessages() {
-             try {
-                 messageListPanel.removeAll();
-
-                 List<Notification> notifications = switch (filterSelector.getSelectedItem().toString()) {
-                     case "Unread" -> notificationService.getUnreadNotifications(SessionManager.getCurrentUser());
-                     default -> notificationService.getAllNotifications(SessionManager.getCurrentUser());
-                 };
-
-                 if (notifications.isEmpty()) {
-                     JLabel emptyLabel = new JLabel("No notifications.");
-                     StyleUtils.styleLabel(emptyLabel);
-                     messageListPanel.add(emptyLabel);
-                 } else {
-                     for (Notification notification : notifications) {
-                         NotificationCard card = new NotificationCard(notification, storageMode);
-                         messageListPanel.add(card);
-                         messageListPanel.add(Box.createVerticalStrut(10));
-                     }
-                 }
+             loader.cancel();
+             listModel.clear();
+             nextCursor = null;
+             hasMore = true;
+             showDetail(null);
+             loadNextPage();
+         }
 
-                 messageListPanel.revalidate();
-                 messageListPanel.repaint();
-             } catch (Exception e) {
+         /**
+          * Loads the next page of notifications in the background and appends it to the list,
+          * if there is one.
+          */
+         private void loadNextPage() {
+             if (!hasMore) {
+                 return;
+             }
+             var user = SessionManager.getCurrentUser();
+             boolean unreadOnly = "Unread".equals(filterSelector.getSelectedItem());
+             NotificationCursor cursor = nextCursor;
+             loader.load(() -> notificationService.getNotificationPage(user, cursor, unreadOnly, PAGE_SIZE), page -> {
+                 nextCursor = page.getNextCursor();
+                 hasMore = page.hasMore();
+                 listModel.addAll(page.getNotifications());
+                 // Replaces the loading placeholder once a page is in, unless a notification is already shown.
+                 if (notificationList.isSelectionEmpty()) {
+                     showDetail(null);
+                 }
+             }, e -> {
+                 hasMore = false;
+                 showDetail(null);
                  LOGGER.log(Level.SEVERE, "Error refreshing messages: {0}", e.getMessage());
                  StyleUtils.showStyledErrorDialog(this, "Failed to refresh messages: " + e.getMessage());
+             });
+             if (listModel.isEmpty()) {
+                 showDetail(null);
+             }
+         }
+
+         /**
+          * Shows the given notification with its actions below the list.
+          *
+          * @param notification the notification to show, or null to clear the detail area
+          */
+         private void showDetail(Notification notification) {
+             detailPanel.removeAll();
+             if (notification != null) {
+                 detailPanel.add(new NotificationCard(notification, storageMode, this::refreshMessages), BorderLayout.CENTER);
+             } else if (listModel.isEmpty() && loader.isLoading()) {
+                 detailPanel.add(BackgroundLoader.createPlaceholder("Loading notifications..."), BorderLayout.CENTER);
+             } else if (listModel.isEmpty() && !hasMore) {
+                 JLabel emptyLabel = new JLabel("No notifications.");
+                 StyleUtils.styleLabel(emptyLabel);
+                 detailPanel.add(emptyLabel, BorderLayout.CENTER);
+             }
+             detailPanel.revalidate();
+             detailPanel.repaint();
+         }
+
+         /**
+          * Renders one row of the notification list; unread notifications are shown in bold.
+          */
+         private static class NotificationRowRenderer extends DefaultListCellRenderer {
+             @Override
+             public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                           boolean isSelected, boolean cellHasFocus) {
+                 JLabel label = (JLabel) super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                 if (value instanceof Notification notification) {
+                     String title = "[" + notification.getType().name() + "] " + notification.getTitle();
+                     label.setText("<html>" + (notification.isRead() ? title : "<b>" + title + "</b>")
+                             + "<br><small>" + notification.getTimestamp() + "</small></html>");
+                 }
+                 label.setFont(StyleUtils.LABEL_FONT);
+                 label.setBorder(BorderFactory.createEmptyBorder(4, 8, 4, 8));
+                 return label;
              }
          }
      }
\ No newline at end of file
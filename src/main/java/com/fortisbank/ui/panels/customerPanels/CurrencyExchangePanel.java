@@ -1,5 +1,6 @@
 package com.fortisbank.ui.panels.customerPanels;
 
+import com.fortisbank.business.services.exchange.CurrencyExchangeService;
 import com.fortisbank.data.dal_utils.StorageMode;
 import com.fortisbank.contracts.models.others.CurrencyType;
 import com.fortisbank.ui.ui_utils.StyleUtils;
@@ -9,7 +10,6 @@ import java.awt.*;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.math.BigDecimal;
-import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -17,6 +17,7 @@ public class CurrencyExchangePanel extends JPanel {
 
     private static final Logger LOGGER = Logger.getLogger(CurrencyExchangePanel.class.getName());
     private final StorageMode storageMode;
+    private final CurrencyExchangeService exchangeService = CurrencyExchangeService.getInstance();
 
     public CurrencyExchangePanel(StorageMode storageMode) {
         this.storageMode = storageMode;
@@ -38,7 +39,7 @@ public class CurrencyExchangePanel extends JPanel {
         leftRatePanel.setLayout(new BoxLayout(leftRatePanel, BoxLayout.Y_AXIS));
         leftRatePanel.setOpaque(false);
 
-        JLabel ratesTitle = new JLabel("Rates (Base: USD):");
+        JLabel ratesTitle = new JLabel("Rates (Base: " + CurrencyType.BASE_CURRENCY + "):");
         ratesTitle.setFont(new Font("Arial", Font.BOLD, 22));
         ratesTitle.setForeground(Color.WHITE);
         leftRatePanel.add(ratesTitle);
@@ -52,12 +53,10 @@ public class CurrencyExchangePanel extends JPanel {
         leftRatePanel.add(Box.createVerticalStrut(10));
 
         try {
-            CurrencyType currencyType = CurrencyType.getInstance();
-            Map<String, BigDecimal> rates = currencyType.getAllExchangeRates();
-
-            for (Map.Entry<String, BigDecimal> entry : rates.entrySet()) {
-                if (!entry.getKey().equalsIgnoreCase("USD")) {
-                    JLabel rateLabel = new JLabel("1 USD = " + entry.getValue() + " " + entry.getKey());
+            for (String currency : exchangeService.getCurrencies()) {
+                if (!currency.equals(CurrencyType.BASE_CURRENCY)) {
+                    BigDecimal rate = exchangeService.getRate(CurrencyType.BASE_CURRENCY, currency);
+                    JLabel rateLabel = new JLabel("1 " + CurrencyType.BASE_CURRENCY + " = " + rate.stripTrailingZeros().toPlainString() + " " + currency);
                     rateLabel.setFont(new Font("Arial", Font.PLAIN, 14));
                     rateLabel.setForeground(Color.LIGHT_GRAY);
                     leftRatePanel.add(rateLabel);
@@ -153,28 +152,21 @@ public class CurrencyExchangePanel extends JPanel {
             try {
                 String fromCurrency = (String) fromCurrencyComboBox.getSelectedItem();
                 String toCurrency = (String) toCurrencyComboBox.getSelectedItem();
-                double amount = Double.parseDouble(amountField.getText());
+                BigDecimal amount = new BigDecimal(amountField.getText().trim());
 
                 String fromCode = fromCurrency.split(" ")[1];
                 String toCode = toCurrency.split(" ")[1];
 
-                CurrencyType currencyType = CurrencyType.getInstance();
-                BigDecimal fromRate = currencyType.getExchangeRate(fromCode);
-                BigDecimal toRate = currencyType.getExchangeRate(toCode);
-
-                if (fromRate.compareTo(BigDecimal.ZERO) == 0 || toRate.compareTo(BigDecimal.ZERO) == 0) {
+                if (!exchangeService.isSupported(fromCode) || !exchangeService.isSupported(toCode)) {
                     StyleUtils.showStyledErrorDialog(this, "Unsupported currency conversion.");
                     return;
                 }
 
-                BigDecimal usdAmount = BigDecimal.valueOf(amount).divide(fromRate, 6, BigDecimal.ROUND_HALF_UP);
-                BigDecimal targetAmount = usdAmount.multiply(toRate);
-                BigDecimal conversionRate = toRate.divide(fromRate, 6, BigDecimal.ROUND_HALF_UP);
+                BigDecimal conversionRate = exchangeService.getRate(fromCode, toCode);
+                BigDecimal targetAmount = exchangeService.convert(amount, fromCode, toCode);
 
                 conversionRateField.setText(String.format("%.4f", conversionRate));
-                StyleUtils.showStyledSuccessDialog(this,
-                        "Converted Amount: " + targetAmount.setScale(2, BigDecimal.ROUND_HALF_UP)
-                );
+                StyleUtils.showStyledSuccessDialog(this, "Converted Amount: " + targetAmount);
             } catch (NumberFormatException ex) {
                 StyleUtils.showStyledErrorDialog(this, "Please enter a valid number.");
             } catch (Exception ex) {
@@ -1,29 +1,72 @@
 package com.fortisbank.ui.panels.customerPanels;
 
+import com.fortisbank.business.services.transaction.TransactionService;
 import com.fortisbank.data.dal_utils.StorageMode;
 import com.fortisbank.contracts.models.accounts.Account;
+import com.fortisbank.contracts.models.others.PageQuery;
+import com.fortisbank.contracts.models.others.TransactionSortField;
+import com.fortisbank.contracts.models.transactions.Transaction;
 import com.fortisbank.contracts.models.users.Customer;
 import com.fortisbank.business.services.session.SessionManager;
-import com.fortisbank.ui.components.TransactionSummary;
 import com.fortisbank.ui.forms.DepositForm;
 import com.fortisbank.ui.forms.TransferForm;
 import com.fortisbank.ui.forms.WithdrawalForm;
+import com.fortisbank.ui.ui_utils.PagedTableModel;
+import com.fortisbank.ui.ui_utils.PagedTableModel.Column;
 import com.fortisbank.ui.ui_utils.StyleUtils;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+/**
+ * The TransactionPanel class lets a customer pick one of their accounts, start a deposit, withdrawal
+ * or transfer, and browse the account's transactions.
+ *
+ * Transactions are listed in a table that reads one page at a time; searching and sorting are done by
+ * the transaction service, so accounts with many transactions scroll smoothly at constant memory.
+ */
 public class TransactionPanel extends JPanel {
 
     private static final Logger LOGGER = Logger.getLogger(TransactionPanel.class.getName());
+    private static final int PAGE_SIZE = 100;
+    private static final int CACHED_PAGES = 5;
+    private static final int SEARCH_DELAY_MILLIS = 300;
+
     private final JComboBox<Account> accountSelector = new JComboBox<>();
     private final JPanel previewPanel = new JPanel();
+    private final JTextField searchField = new JTextField();
+    private final JTable transactionTable = new JTable();
+    private final PagedTableModel<Transaction, TransactionSortField> tableModel;
+    private volatile String selectedAccountNumber;
     private StorageMode storageMode;
 
     public TransactionPanel(StorageMode storageMode) {
         this.storageMode = storageMode;
+        this.tableModel = new PagedTableModel<>(new PagedTableModel.PageSource<>() {
+            @Override
+            public int count(String filter) {
+                String accountNumber = selectedAccountNumber;
+                return accountNumber == null ? 0 : TransactionService.getInstance(storageMode).countTransactions(accountNumber, filter);
+            }
+
+            @Override
+            public List<Transaction> fetch(String filter, TransactionSortField sortField, boolean ascending, int offset, int limit) {
+                String accountNumber = selectedAccountNumber;
+                if (accountNumber == null) return List.of();
+                return TransactionService.getInstance(storageMode).getTransactionsPage(accountNumber,
+                        new PageQuery<>(filter, sortField, ascending, offset, limit));
+            }
+        }, List.of(
+                new Column<>("Date", Transaction::getTransactionDate, TransactionSortField.DATE),
+                new Column<>("Type", Transaction::getTransactionType, TransactionSortField.TYPE),
+                new Column<>("Description", Transaction::getDescription, TransactionSortField.DESCRIPTION),
+                new Column<>("Amount", t -> String.format("$%.2f", t.getAmount()), TransactionSortField.AMOUNT)
+        ), PAGE_SIZE, CACHED_PAGES, TransactionSortField.DATE, false);
 
         try {
             setLayout(new BorderLayout());
@@ -82,23 +125,70 @@ public class TransactionPanel extends JPanel {
             buttonPanel.add(withdrawBtn);
             buttonPanel.add(transferBtn);
 
-            // === Transactions Preview Panel ===
-            previewPanel.setLayout(new BoxLayout(previewPanel, BoxLayout.Y_AXIS));
+            // === Transactions Table ===
+            previewPanel.setLayout(new BorderLayout(0, 5));
             previewPanel.setOpaque(false);
-            previewPanel.add(Box.createVerticalStrut(10));
-            previewPanel.add(new JLabel("Recent Transactions"));
-            previewPanel.add(Box.createVerticalStrut(5));
+
+            JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+            searchPanel.setOpaque(false);
+            JLabel transactionsLabel = new JLabel("Transactions");
+            JLabel searchLabel = new JLabel("Search:");
+            StyleUtils.styleLabel(transactionsLabel);
+            StyleUtils.styleLabel(searchLabel);
+            StyleUtils.styleTextField(searchField);
+            Timer searchTimer = new Timer(SEARCH_DELAY_MILLIS, e -> tableModel.setFilter(searchField.getText()));
+            searchTimer.setRepeats(false);
+            searchField.getDocument().addDocumentListener(new DocumentListener() {
+                @Override
+                public void insertUpdate(DocumentEvent e) {
+                    searchTimer.restart();
+                }
+
+                @Override
+                public void removeUpdate(DocumentEvent e) {
+                    searchTimer.restart();
+                }
+
+                @Override
+                public void changedUpdate(DocumentEvent e) {
+                    searchTimer.restart();
+                }
+            });
+            searchPanel.add(transactionsLabel);
+            searchPanel.add(searchLabel);
+            searchPanel.add(searchField);
+
+            tableModel.attachTo(transactionTable);
+            transactionTable.setFillsViewportHeight(true);
+            transactionTable.setBackground(StyleUtils.NAVBAR_BUTTON_COLOR);
+            transactionTable.setForeground(StyleUtils.TEXT_COLOR);
+            transactionTable.setFont(StyleUtils.FIELD_FONT);
+            transactionTable.setRowHeight(24);
+            transactionTable.getTableHeader().setFont(StyleUtils.BUTTON_FONT);
+            transactionTable.getTableHeader().setBackground(StyleUtils.NAVBAR_BG);
+            transactionTable.getTableHeader().setForeground(StyleUtils.TEXT_COLOR);
+
+            JScrollPane tableScrollPane = new JScrollPane(transactionTable);
+            tableScrollPane.setBorder(BorderFactory.createLineBorder(StyleUtils.NAVBAR_BG));
+            tableScrollPane.getViewport().setBackground(StyleUtils.BACKGROUND_COLOR);
+
+            previewPanel.add(searchPanel, BorderLayout.NORTH);
+            previewPanel.add(tableScrollPane, BorderLayout.CENTER);
             updateTransactionPreview(); // Show default preview
 
             // === Center Layout ===
-            JPanel centerPanel = new JPanel();
-            centerPanel.setLayout(new BoxLayout(centerPanel, BoxLayout.Y_AXIS));
+            JPanel controlsPanel = new JPanel();
+            controlsPanel.setLayout(new BoxLayout(controlsPanel, BoxLayout.Y_AXIS));
+            controlsPanel.setOpaque(false);
+            controlsPanel.add(selectorPanel);
+            controlsPanel.add(Box.createVerticalStrut(10));
+            controlsPanel.add(buttonPanel);
+            controlsPanel.add(Box.createVerticalStrut(20));
+
+            JPanel centerPanel = new JPanel(new BorderLayout());
             centerPanel.setOpaque(false);
-            centerPanel.add(selectorPanel);
-            centerPanel.add(Box.createVerticalStrut(10));
-            centerPanel.add(buttonPanel);
-            centerPanel.add(Box.createVerticalStrut(20));
-            centerPanel.add(previewPanel);
+            centerPanel.add(controlsPanel, BorderLayout.NORTH);
+            centerPanel.add(previewPanel, BorderLayout.CENTER);
 
             add(centerPanel, BorderLayout.CENTER);
 
@@ -159,29 +249,12 @@ public class TransactionPanel extends JPanel {
         }
     }
 
+    /**
+     * Lists the transactions of the selected account.
+     */
     private void updateTransactionPreview() {
-        try {
-            previewPanel.removeAll();
-
-            previewPanel.add(Box.createVerticalStrut(10));
-            previewPanel.add(new JLabel("Recent Transactions"));
-            previewPanel.add(Box.createVerticalStrut(5));
-
-            Account selected = (Account) accountSelector.getSelectedItem();
-            if (selected != null) {
-                TransactionSummary summary = new TransactionSummary(selected, storageMode);
-                previewPanel.add(summary);
-            } else {
-                JLabel warning = new JLabel("No account selected.");
-                StyleUtils.styleLabel(warning);
-                previewPanel.add(warning);
-            }
-
-            previewPanel.revalidate();
-            previewPanel.repaint();
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error updating transaction preview: {0}", e.getMessage());
-            StyleUtils.showStyledErrorDialog(this, "Failed to update transaction preview: " + e.getMessage());
-        }
+        Account selected = (Account) accountSelector.getSelectedItem();
+        selectedAccountNumber = selected != null ? selected.getAccountNumber() : null;
+        tableModel.refresh();
     }
 }
\ No newline at end of file
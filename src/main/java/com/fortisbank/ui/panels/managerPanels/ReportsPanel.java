@@ -1,49 +1,76 @@
 package com.fortisbank.ui.panels.managerPanels;
 
+import com.fortisbank.business.services.report.ReportJobManager;
+import com.fortisbank.business.services.report.ReportJobStatus;
 import com.fortisbank.business.services.report.ReportService;
+import com.fortisbank.business.services.users.customer.CustomerService;
 import com.fortisbank.data.dal_utils.RepositoryFactory;
 import com.fortisbank.data.dal_utils.StorageMode;
+import com.fortisbank.contracts.models.accounts.AccountType;
 import com.fortisbank.contracts.models.reports.BankSummaryReport;
 import com.fortisbank.contracts.models.reports.CustomerStatementReport;
+import com.fortisbank.contracts.models.reports.DailyAggregate;
 import com.fortisbank.contracts.models.users.Customer;
+import com.fortisbank.ui.ui_utils.BackgroundLoader;
 import com.fortisbank.ui.ui_utils.StyleUtils;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
-import java.io.File;
+import java.awt.event.HierarchyEvent;
+import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * The ReportsPanel class represents the reports panel of the Fortis Bank application.
  * It extends JPanel and provides a user interface to generate and download various reports.
+ * Downloads run as background export jobs whose progress is listed below the preview; they keep
+ * running when the panel is closed.
  */
 public class ReportsPanel extends JPanel {
 
     private static final Logger LOGGER = Logger.getLogger(ReportsPanel.class.getName());
     private final StorageMode storageMode;
     private final ReportService reportService;
-    private final JComboBox<String> reportTypeSelector = new JComboBox<>(new String[]{"Bank Summary", "Customer Statement"});
+    private final ReportJobManager jobManager;
+    private final JComboBox<String> reportTypeSelector = new JComboBox<>(new String[]{"Bank Summary", "Customer Statement", "Transaction Ledger"});
     private final JComboBox<Customer> customerSelector = new JComboBox<>();
     private final JComboBox<YearMonth> monthSelector = new JComboBox<>();
     private final JTable previewTable = new JTable();
     private final JButton generateBtn = new JButton("Generate Report");
     private final JButton downloadBtn = new JButton("Download CSV");
+    private final JButton cancelExportBtn = new JButton("Cancel Export");
+    private final DefaultTableModel exportsModel = new DefaultTableModel(new String[]{"Export", "File", "Status", "Rows"}, 0) {
+        @Override
+        public boolean isCellEditable(int row, int column) {
+            return false;
+        }
+    };
+    private final JTable exportsTable = new JTable(exportsModel);
+    private final List<String> exportJobIds = new ArrayList<>();
+    private final Consumer<ReportJobStatus> exportListener = status -> SwingUtilities.invokeLater(() -> showExport(status));
+    private final BackgroundLoader customerLoader = new BackgroundLoader(this);
+    private final BackgroundLoader reportLoader = new BackgroundLoader(this);
     private Object currentReport;
 
     /**
-     * Constructs a ReportsPanel with the specified storage mode and list of all customers.
+     * Constructs a ReportsPanel with the specified storage mode.
+     * The customers to choose from are loaded in the background.
      *
      * @param storageMode the storage mode to use for services
-     * @param allCustomers the list of all customers
      */
-    public ReportsPanel(StorageMode storageMode, List<Customer> allCustomers) {
+    public ReportsPanel(StorageMode storageMode) {
         this.storageMode = storageMode;
         this.reportService = new ReportService(RepositoryFactory.getInstance(storageMode));
+        this.jobManager = ReportJobManager.getInstance(storageMode);
 
         try {
             setLayout(new BorderLayout());
@@ -60,8 +87,16 @@ public class ReportsPanel extends JPanel {
             StyleUtils.styleDropdown(monthSelector);
             StyleUtils.styleButton(generateBtn, true);
             StyleUtils.styleButton(downloadBtn, false);
+            StyleUtils.styleButton(cancelExportBtn, false);
 
-            for (Customer c : allCustomers) customerSelector.addItem(c);
+            customerSelector.setEnabled(false);
+            customerLoader.load(() -> CustomerService.getInstance(storageMode).getAllCustomers(), customers -> {
+                for (Customer c : customers) customerSelector.addItem(c);
+                customerSelector.setEnabled(true);
+            }, e -> {
+                LOGGER.log(Level.SEVERE, "Error loading customers: {0}", e.getMessage());
+                StyleUtils.showStyledErrorDialog(this, "Failed to load customers: " + e.getMessage());
+            });
             for (int i = 0; i < 12; i++) monthSelector.addItem(YearMonth.now().minusMonths(i));
 
             topPanel.add(reportLabel);
@@ -84,20 +119,62 @@ public class ReportsPanel extends JPanel {
             scrollPane.setBorder(BorderFactory.createLineBorder(StyleUtils.NAVBAR_BG));
             scrollPane.getViewport().setBackground(StyleUtils.BACKGROUND_COLOR);
 
+            exportsTable.setFillsViewportHeight(true);
+            exportsTable.setBackground(StyleUtils.NAVBAR_BUTTON_COLOR);
+            exportsTable.setForeground(StyleUtils.TEXT_COLOR);
+            exportsTable.setFont(StyleUtils.FIELD_FONT);
+            exportsTable.setRowHeight(24);
+            exportsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+            exportsTable.getTableHeader().setFont(StyleUtils.BUTTON_FONT);
+            exportsTable.getTableHeader().setBackground(StyleUtils.NAVBAR_BG);
+            exportsTable.getTableHeader().setForeground(StyleUtils.TEXT_COLOR);
+
+            JScrollPane exportsScrollPane = new JScrollPane(exportsTable);
+            exportsScrollPane.setBorder(BorderFactory.createLineBorder(StyleUtils.NAVBAR_BG));
+            exportsScrollPane.getViewport().setBackground(StyleUtils.BACKGROUND_COLOR);
+            exportsScrollPane.setPreferredSize(new Dimension(0, 160));
+
+            JLabel exportsLabel = new JLabel("Exports:");
+            StyleUtils.styleLabel(exportsLabel);
+            JPanel exportsHeader = new JPanel(new FlowLayout(FlowLayout.LEFT));
+            exportsHeader.setBackground(StyleUtils.BACKGROUND_COLOR);
+            exportsHeader.add(exportsLabel);
+            exportsHeader.add(cancelExportBtn);
+
+            JPanel exportsPanel = new JPanel(new BorderLayout());
+            exportsPanel.setBackground(StyleUtils.BACKGROUND_COLOR);
+            exportsPanel.setBorder(new EmptyBorder(10, 10, 10, 10));
+            exportsPanel.add(exportsHeader, BorderLayout.NORTH);
+            exportsPanel.add(exportsScrollPane, BorderLayout.CENTER);
+
             add(topPanel, BorderLayout.NORTH);
             add(scrollPane, BorderLayout.CENTER);
+            add(exportsPanel, BorderLayout.SOUTH);
 
             customerSelector.setVisible(false);
             monthSelector.setVisible(false);
 
             reportTypeSelector.addActionListener(e -> {
                 boolean isCustomer = reportTypeSelector.getSelectedItem().equals("Customer Statement");
+                boolean isLedger = reportTypeSelector.getSelectedItem().equals("Transaction Ledger");
                 customerSelector.setVisible(isCustomer);
-                monthSelector.setVisible(isCustomer);
+                monthSelector.setVisible(isCustomer || isLedger);
             });
 
             generateBtn.addActionListener(e -> generateReport());
             downloadBtn.addActionListener(e -> downloadReport());
+            cancelExportBtn.addActionListener(e -> cancelExport());
+
+            // Follow the export jobs only while the panel is on screen; the jobs themselves keep running
+            addHierarchyListener(e -> {
+                if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) == 0) return;
+                if (isDisplayable()) {
+                    jobManager.addListener(exportListener);
+                    jobManager.getJobs().forEach(this::showExport);
+                } else {
+                    jobManager.removeListener(exportListener);
+                }
+            });
         } catch (Exception e) {
             LOGGER.log(Level.SEVERE, "Error initializing ReportsPanel: {0}", e.getMessage());
             StyleUtils.showStyledErrorDialog(this, "Failed to initialize the reports panel: " + e.getMessage());
@@ -105,75 +182,182 @@ public class ReportsPanel extends JPanel {
     }
 
     /**
-     * Generates the selected report and displays it in the preview table.
+     * Generates the selected report in the background and displays it in the preview table.
      */
     private void generateReport() {
-        try {
-            if (reportTypeSelector.getSelectedItem().equals("Bank Summary")) {
-                BankSummaryReport report = reportService.generateBankSummaryReport();
-                currentReport = report;
-                DefaultTableModel model = new DefaultTableModel();
-                model.addColumn("Summary");
-                model.addRow(new Object[]{report.getSummary()});
-                model.addRow(new Object[]{"Total Customers: " + report.getTotalCustomers()});
-                model.addRow(new Object[]{"Total Accounts: " + report.getTotalAccounts()});
-                model.addRow(new Object[]{"Total Balance: " + report.getTotalBalance()});
-                model.addRow(new Object[]{"Total Credit Used: " + report.getTotalCreditUsed()});
-                model.addRow(new Object[]{"Total Fees Collected: " + report.getTotalFeesCollected()});
-                previewTable.setModel(model);
-            } else {
-                Customer selectedCustomer = (Customer) customerSelector.getSelectedItem();
-                YearMonth selectedMonth = (YearMonth) monthSelector.getSelectedItem();
-                if (selectedCustomer == null || selectedMonth == null) {
-                    StyleUtils.showStyledErrorDialog(this, "Please select a customer and a month.");
-                    return;
-                }
-                CustomerStatementReport report = reportService.generateCustomerStatement(selectedCustomer, selectedMonth);
-                currentReport = report;
-                DefaultTableModel model = new DefaultTableModel(
-                        new String[]{"Transaction", "Date", "Type", "Description", "Amount"}, 0
-                );
-                report.getTransactions().forEach(t -> {
-                    model.addRow(new Object[]{
-                            t.getTransactionNumber(),
-                            t.getTransactionDate(),
-                            t.getTransactionType(),
-                            t.getDescription(),
-                            t.getAmount()
-                    });
-                });
-                previewTable.setModel(model);
+        if (reportTypeSelector.getSelectedItem().equals("Bank Summary")) {
+            YearMonth month = YearMonth.now();
+            runReportTask("Generating report...",
+                    () -> new BankSummaryView(reportService.generateBankSummaryReport(),
+                            reportService.getActivityByAccountType(month.atDay(1), month.atEndOfMonth())),
+                    view -> {
+                        BankSummaryReport report = view.report();
+                        currentReport = report;
+                        DefaultTableModel model = new DefaultTableModel();
+                        model.addColumn("Summary");
+                        model.addRow(new Object[]{report.getSummary()});
+                        model.addRow(new Object[]{"Total Customers: " + report.getTotalCustomers()});
+                        model.addRow(new Object[]{"Total Accounts: " + report.getTotalAccounts()});
+                        model.addRow(new Object[]{"Total Balance: " + report.getTotalBalance()});
+                        model.addRow(new Object[]{"Total Credit Used: " + report.getTotalCreditUsed()});
+                        model.addRow(new Object[]{"Total Fees Collected: " + report.getTotalFeesCollected()});
+                        model.addRow(new Object[]{"Low Balance Accounts: " + report.getLowBalanceAccountCount()});
+                        model.addRow(new Object[]{"Transactions in " + month + ": " + report.getPeriodTransactionCount()});
+                        if (!report.getLargestTransactions().isEmpty()) {
+                            model.addRow(new Object[]{"Largest Transaction: " + report.getLargestTransactions().get(0).getAmount()});
+                        }
+                        model.addRow(new Object[]{"Activity in " + month + ":"});
+                        view.monthActivity().forEach((type, activity) -> model.addRow(new Object[]{String.format(
+                                "%s - Deposits: %s, Withdrawals: %s, Transfers in: %s, Transfers out: %s, Fees: %s, Net: %s",
+                                type, activity.getDeposits(), activity.getWithdrawals(), activity.getTransfersIn(),
+                                activity.getTransfersOut(), activity.getFees(), activity.getBalanceChange())}));
+                        previewTable.setModel(model);
+                        StyleUtils.showStyledSuccessDialog(this, "Report generated successfully.");
+                    }, "Error generating report", "Failed to generate report: ");
+        } else if (reportTypeSelector.getSelectedItem().equals("Transaction Ledger")) {
+            YearMonth selectedMonth = (YearMonth) monthSelector.getSelectedItem();
+            if (selectedMonth == null) {
+                StyleUtils.showStyledErrorDialog(this, "Please select the first month to export.");
+                return;
             }
-            StyleUtils.showStyledSuccessDialog(this, "Report generated successfully.");
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error generating report: {0}", e.getMessage());
-            StyleUtils.showStyledErrorDialog(this, "Failed to generate report: " + e.getMessage());
+            LedgerExport export = new LedgerExport(selectedMonth.atDay(1), LocalDate.now());
+            currentReport = export;
+            DefaultTableModel model = new DefaultTableModel();
+            model.addColumn("Transaction Ledger");
+            model.addRow(new Object[]{"Transactions from " + export.from() + " to " + export.to()});
+            model.addRow(new Object[]{"Downloaded as a compressed columnar file with typed columns for date, type, amount and accounts."});
+            previewTable.setModel(model);
+        } else {
+            Customer selectedCustomer = (Customer) customerSelector.getSelectedItem();
+            YearMonth selectedMonth = (YearMonth) monthSelector.getSelectedItem();
+            if (selectedCustomer == null || selectedMonth == null) {
+                StyleUtils.showStyledErrorDialog(this, "Please select a customer and a month.");
+                return;
+            }
+            runReportTask("Generating report...",
+                    () -> reportService.generateCustomerStatement(selectedCustomer, selectedMonth),
+                    report -> {
+                        currentReport = report;
+                        DefaultTableModel model = new DefaultTableModel(
+                                new String[]{"Transaction", "Date", "Type", "Description", "Amount"}, 0
+                        );
+                        report.getTransactions().forEach(t -> {
+                            model.addRow(new Object[]{
+                                    t.getTransactionNumber(),
+                                    t.getTransactionDate(),
+                                    t.getTransactionType(),
+                                    t.getDescription(),
+                                    t.getAmount()
+                            });
+                        });
+                        previewTable.setModel(model);
+                        StyleUtils.showStyledSuccessDialog(this, "Report generated successfully.");
+                    }, "Error generating report", "Failed to generate report: ");
         }
     }
 
     /**
-     * Downloads the currently generated report as a CSV file.
+     * Queues the download of the currently generated report as a CSV file, or of a transaction ledger as a
+     * columnar file. The file is written by a background export job listed under the exports.
      */
     private void downloadReport() {
-        try {
-            if (currentReport == null) {
-                StyleUtils.showStyledErrorDialog(this, "No report to download. Please generate a report first.");
-                return;
-            }
-            JFileChooser fileChooser = new JFileChooser();
-            int result = fileChooser.showSaveDialog(this);
-            if (result == JFileChooser.APPROVE_OPTION) {
-                File file = fileChooser.getSelectedFile();
+        if (currentReport == null) {
+            StyleUtils.showStyledErrorDialog(this, "No report to download. Please generate a report first.");
+            return;
+        }
+        JFileChooser fileChooser = new JFileChooser();
+        int result = fileChooser.showSaveDialog(this);
+        if (result == JFileChooser.APPROVE_OPTION) {
+            String filePath = fileChooser.getSelectedFile().getAbsolutePath();
+            try {
+                ReportJobStatus job;
                 if (currentReport instanceof BankSummaryReport summary) {
-                    reportService.saveBankSummaryReportToCSV(summary, file.getAbsolutePath());
+                    job = jobManager.submitBankSummaryExport(summary.getPeriodStart(), summary.getPeriodEnd(), filePath);
                 } else if (currentReport instanceof CustomerStatementReport customerReport) {
-                    reportService.saveCustomerStatementReportToCSV(customerReport, file.getAbsolutePath());
+                    job = jobManager.submitCustomerStatementExport(customerReport.getCustomer(),
+                            customerReport.getPeriodStart(), customerReport.getPeriodEnd(), filePath);
+                } else if (currentReport instanceof LedgerExport export) {
+                    job = jobManager.submitLedgerExport(export.from(), export.to(), filePath);
+                } else {
+                    return;
                 }
-                StyleUtils.showStyledSuccessDialog(this, "Report downloaded successfully.");
+                showExport(job);
+                StyleUtils.showStyledSuccessDialog(this, "Export started. Its progress is shown under Exports.");
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Error starting export: {0}", e.getMessage());
+                StyleUtils.showStyledErrorDialog(this, "Failed to start export: " + e.getMessage());
             }
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Error downloading report: {0}", e.getMessage());
-            StyleUtils.showStyledErrorDialog(this, "Failed to download report: " + e.getMessage());
         }
     }
+
+    /**
+     * Cancels the export selected in the exports table.
+     */
+    private void cancelExport() {
+        int row = exportsTable.getSelectedRow();
+        if (row < 0) {
+            StyleUtils.showStyledErrorDialog(this, "Please select an export to cancel.");
+            return;
+        }
+        try {
+            if (!jobManager.cancel(exportJobIds.get(row))) {
+                StyleUtils.showStyledErrorDialog(this, "This export has already finished.");
+            }
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Error cancelling export: {0}", e.getMessage());
+            StyleUtils.showStyledErrorDialog(this, "Failed to cancel export: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Adds an export job to the exports table, or updates its row.
+     */
+    private void showExport(ReportJobStatus job) {
+        String status = job.getError() != null ? job.getState() + ": " + job.getError() : job.getState().toString();
+        Object[] values = {job.getDescription(), job.getFilePath(), status, job.getRowsWritten()};
+        int row = exportJobIds.indexOf(job.getJobId());
+        if (row < 0) {
+            exportJobIds.add(job.getJobId());
+            exportsModel.addRow(values);
+        } else {
+            for (int column = 0; column < values.length; column++) exportsModel.setValueAt(values[column], row, column);
+        }
+    }
+
+    /**
+     * Runs a report task in the background, disabling the buttons and showing the given status on the
+     * generate button until it has finished.
+     */
+    private <T> void runReportTask(String status, Callable<T> task, Consumer<T> onDone,
+                                   String logMessage, String errorMessage) {
+        generateBtn.setEnabled(false);
+        downloadBtn.setEnabled(false);
+        generateBtn.setText(status);
+        reportLoader.load(task, value -> {
+            restoreButtons();
+            onDone.accept(value);
+        }, e -> {
+            restoreButtons();
+            LOGGER.log(Level.SEVERE, logMessage + ": {0}", e.getMessage());
+            StyleUtils.showStyledErrorDialog(this, errorMessage + e.getMessage());
+        });
+    }
+
+    private void restoreButtons() {
+        generateBtn.setText("Generate Report");
+        generateBtn.setEnabled(true);
+        downloadBtn.setEnabled(true);
+    }
+
+    /**
+     * A bank summary together with the current month's activity of each account type.
+     */
+    private record BankSummaryView(BankSummaryReport report, Map<AccountType, DailyAggregate> monthActivity) {
+    }
+
+    /**
+     * The date range of a transaction ledger to download in the columnar format.
+     */
+    private record LedgerExport(LocalDate from, LocalDate to) {
+    }
 }
\ No newline at end of file
@@ -3,28 +3,53 @@ package com.fortisbank.ui.panels.managerPanels;
     import com.fortisbank.business.services.users.customer.CustomerService;
     import com.fortisbank.business.services.users.manager.BankManagerService;
     import com.fortisbank.data.dal_utils.StorageMode;
-    import com.fortisbank.contracts.collections.ManagerList;
-    import com.fortisbank.contracts.models.users.Customer;
+    import com.fortisbank.contracts.models.others.CustomerSortField;
+    import com.fortisbank.contracts.models.others.PageQuery;
+    import com.fortisbank.contracts.models.users.BankManager;
     import com.fortisbank.contracts.models.users.User;
-    import com.fortisbank.ui.components.UserCard;
+    import com.fortisbank.ui.frames.subFrames.UserUpdateForm;
+    import com.fortisbank.ui.ui_utils.PagedTableModel;
+    import com.fortisbank.ui.ui_utils.PagedTableModel.Column;
     import com.fortisbank.ui.ui_utils.StyleUtils;
 
     import javax.swing.*;
+    import javax.swing.event.DocumentEvent;
+    import javax.swing.event.DocumentListener;
     import java.awt.*;
+    import java.awt.event.MouseAdapter;
+    import java.awt.event.MouseEvent;
+    import java.util.ArrayList;
+    import java.util.Comparator;
     import java.util.List;
+    import java.util.Locale;
     import java.util.logging.Level;
     import java.util.logging.Logger;
 
     /**
      * The UserManagementPanel class represents the user management panel of the Fortis Bank application.
      * It extends JPanel and provides a user interface to manage and filter users by role.
+     *
+     * Users are listed in a table that reads one page at a time, so the panel scrolls smoothly and uses
+     * the same amount of memory however many customers there are. Searching and sorting are done by the
+     * customer service; managers, who are few, are listed before the customers.
      */
     public class UserManagementPanel extends JPanel {
 
         private static final Logger LOGGER = Logger.getLogger(UserManagementPanel.class.getName());
+        private static final int PAGE_SIZE = 100;
+        private static final int CACHED_PAGES = 5;
+        private static final int SEARCH_DELAY_MILLIS = 300;
+
         private final StorageMode storageMode;
-        private final JPanel userListPanel = new JPanel();
         private final JComboBox<String> roleFilter = new JComboBox<>(new String[]{"All", "Customer", "Manager"});
+        private final JTextField searchField = new JTextField();
+        private final JTable userTable = new JTable();
+        private final UserPageSource pageSource = new UserPageSource();
+        private final PagedTableModel<User, CustomerSortField> tableModel = new PagedTableModel<>(pageSource, List.of(
+                new Column<>("Name", User::getFullName, CustomerSortField.NAME),
+                new Column<>("Email", User::getEmail, CustomerSortField.EMAIL),
+                new Column<>("Role", u -> u.getRole().name(), null)
+        ), PAGE_SIZE, CACHED_PAGES, CustomerSortField.NAME, true);
 
         /**
          * Constructs a UserManagementPanel with the specified storage mode.
@@ -49,17 +74,59 @@ package com.fortisbank.ui.panels.managerPanels;
                 StyleUtils.styleDropdown(roleFilter);
                 roleFilter.addActionListener(e -> refreshUsers());
 
+                JLabel searchLabel = new JLabel("Search:");
+                StyleUtils.styleLabel(searchLabel);
+                StyleUtils.styleTextField(searchField);
+                Timer searchTimer = new Timer(SEARCH_DELAY_MILLIS, e -> tableModel.setFilter(searchField.getText()));
+                searchTimer.setRepeats(false);
+                searchField.getDocument().addDocumentListener(new DocumentListener() {
+                    @Override
+                    public void insertUpdate(DocumentEvent e) {
+                        searchTimer.restart();
+                    }
+
+                    @Override
+                    public void removeUpdate(DocumentEvent e) {
+                        searchTimer.restart();
+                    }
+
+                    @Override
+                    public void changedUpdate(DocumentEvent e) {
+                        searchTimer.restart();
+                    }
+                });
+
+                JButton editButton = new JButton("Edit");
+                StyleUtils.styleButton(editButton, true);
+                editButton.addActionListener(e -> editSelectedUser());
+
                 topPanel.add(filterLabel);
                 topPanel.add(roleFilter);
+                topPanel.add(searchLabel);
+                topPanel.add(searchField);
+                topPanel.add(editButton);
                 add(topPanel, BorderLayout.BEFORE_FIRST_LINE);
 
-                userListPanel.setLayout(new BoxLayout(userListPanel, BoxLayout.Y_AXIS));
-                userListPanel.setOpaque(false);
+                tableModel.attachTo(userTable);
+                userTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+                userTable.setFillsViewportHeight(true);
+                userTable.setBackground(StyleUtils.NAVBAR_BUTTON_COLOR);
+                userTable.setForeground(StyleUtils.TEXT_COLOR);
+                userTable.setFont(StyleUtils.FIELD_FONT);
+                userTable.setRowHeight(24);
+                userTable.getTableHeader().setFont(StyleUtils.BUTTON_FONT);
+                userTable.getTableHeader().setBackground(StyleUtils.NAVBAR_BG);
+                userTable.getTableHeader().setForeground(StyleUtils.TEXT_COLOR);
+                userTable.addMouseListener(new MouseAdapter() {
+                    @Override
+                    public void mouseClicked(MouseEvent e) {
+                        if (e.getClickCount() == 2) editSelectedUser();
+                    }
+                });
 
-                JScrollPane scrollPane = new JScrollPane(userListPanel);
-                scrollPane.setOpaque(false);
-                scrollPane.getViewport().setOpaque(false);
-                scrollPane.setBorder(null);
+                JScrollPane scrollPane = new JScrollPane(userTable);
+                scrollPane.setBorder(BorderFactory.createLineBorder(StyleUtils.NAVBAR_BG));
+                scrollPane.getViewport().setBackground(StyleUtils.BACKGROUND_COLOR);
                 add(scrollPane, BorderLayout.CENTER);
 
                 refreshUsers();
@@ -73,31 +140,79 @@ package com.fortisbank.ui.panels.managerPanels;
          * Refreshes the user list based on the selected role filter.
          */
         private void refreshUsers() {
+            pageSource.role = roleFilter.getSelectedItem().toString();
+            tableModel.refresh();
+        }
+
+        /**
+         * Opens the update form for the selected user.
+         */
+        private void editSelectedUser() {
             try {
-                userListPanel.removeAll();
-                String selectedRole = roleFilter.getSelectedItem().toString();
-
-                if (selectedRole.equals("All") || selectedRole.equals("Customer")) {
-                    List<Customer> customers = CustomerService.getInstance(storageMode).getAllCustomers();
-                    for (Customer customer : customers) {
-                        userListPanel.add(new UserCard(customer, storageMode));
-                        userListPanel.add(Box.createVerticalStrut(10));
-                    }
+                int row = userTable.getSelectedRow();
+                User user = row >= 0 ? tableModel.getItemAt(userTable.convertRowIndexToModel(row)) : null;
+                if (user == null) {
+                    StyleUtils.showStyledErrorDialog(this, "Please select a user.");
+                    return;
                 }
+                new UserUpdateForm(user, storageMode).setVisible(true);
+            } catch (Exception e) {
+                LOGGER.log(Level.SEVERE, "Error opening UserUpdateForm: {0}", e.getMessage());
+                StyleUtils.showStyledErrorDialog(this, "Failed to open user update form: " + e.getMessage());
+            }
+        }
+
+        /**
+         * Reads the users of the selected role one page at a time. Managers come first and are filtered and
+         * sorted in memory; customers are paged, filtered and sorted by the customer service.
+         */
+        private class UserPageSource implements PagedTableModel.PageSource<User, CustomerSortField> {
+
+            private volatile String role = "All";
 
-                if (selectedRole.equals("All") || selectedRole.equals("Manager")) {
-                    ManagerList managers = BankManagerService.getInstance(storageMode).getAllManagers();
-                    for (User manager : managers) {
-                        userListPanel.add(new UserCard(manager, storageMode));
-                        userListPanel.add(Box.createVerticalStrut(10));
+            @Override
+            public int count(String filter) {
+                String currentRole = role;
+                int count = 0;
+                if (!currentRole.equals("Customer")) {
+                    count += managers(filter, CustomerSortField.NAME, true).size();
+                }
+                if (!currentRole.equals("Manager")) {
+                    count += CustomerService.getInstance(storageMode).countCustomers(filter);
+                }
+                return count;
+            }
+
+            @Override
+            public List<User> fetch(String filter, CustomerSortField sortField, boolean ascending, int offset, int limit) {
+                String currentRole = role;
+                List<User> page = new ArrayList<>(limit);
+                int customerOffset = offset;
+                if (!currentRole.equals("Customer")) {
+                    List<BankManager> managers = managers(filter, sortField, ascending);
+                    for (int i = offset; i < managers.size() && page.size() < limit; i++) {
+                        page.add(managers.get(i));
                     }
+                    customerOffset = Math.max(0, offset - managers.size());
                 }
+                if (!currentRole.equals("Manager") && page.size() < limit) {
+                    page.addAll(CustomerService.getInstance(storageMode).getCustomersPage(
+                            new PageQuery<>(filter, sortField, ascending, customerOffset, limit - page.size())));
+                }
+                return page;
+            }
 
-                userListPanel.revalidate();
-                userListPanel.repaint();
-            } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Error refreshing user list: {0}", e.getMessage());
-                StyleUtils.showStyledErrorDialog(this, "Failed to refresh the user list: " + e.getMessage());
+            private List<BankManager> managers(String filter, CustomerSortField sortField, boolean ascending) {
+                String normalized = PageQuery.normalizeFilter(filter);
+                Comparator<BankManager> order = switch (sortField) {
+                    case NAME -> Comparator.comparing((BankManager m) -> m.getLastName().toLowerCase(Locale.ROOT))
+                            .thenComparing(m -> m.getFirstName().toLowerCase(Locale.ROOT));
+                    case EMAIL -> Comparator.comparing(m -> m.getEmail().toLowerCase(Locale.ROOT));
+                };
+                return BankManagerService.getInstance(storageMode).getAllManagers().stream()
+                        .filter(m -> PageQuery.matches(normalized, m.getFullName()) || PageQuery.matches(normalized, m.getEmail()))
+                        .sorted(ascending ? order : order.reversed())
+                        .toList();
             }
         }
     }
\ No newline at end of file
@@ -0,0 +1,200 @@
+package com.fortisbank.ui.ui_utils;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs storage-bound work for a Swing component off the Event Dispatch Thread.
+ *
+ * A loader belongs to one component and runs one load at a time: starting a load cancels the one
+ * still running, and results of a cancelled load are never delivered. Loads are also cancelled when
+ * the component is removed from the screen. All methods must be called on the Event Dispatch Thread,
+ * and all callbacks are invoked on it.
+ */
+public class BackgroundLoader {
+
+    private static final Logger LOGGER = Logger.getLogger(BackgroundLoader.class.getName());
+
+    private final Component owner;
+    private final Timer debounceTimer;
+    private Runnable debouncedLoad;
+    private SwingWorker<?, ?> current;
+
+    /**
+     * Constructs a BackgroundLoader for the given component.
+     *
+     * @param owner the component the loaded data is shown in
+     */
+    public BackgroundLoader(Component owner) {
+        this.owner = owner;
+        this.debounceTimer = new Timer(0, e -> {
+            Runnable load = debouncedLoad;
+            debouncedLoad = null;
+            if (load != null) load.run();
+        });
+        this.debounceTimer.setRepeats(false);
+        owner.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) != 0 && !owner.isDisplayable()) {
+                cancel();
+            }
+        });
+    }
+
+    /**
+     * Runs work in the background and hands its result to the component.
+     *
+     * @param work the work to run
+     * @param onLoaded called with the result
+     * @param onFailed called with the error if the work fails
+     * @param <T> the type of the result
+     */
+    public <T> void load(Callable<T> work, Consumer<T> onLoaded, Consumer<Exception> onFailed) {
+        start(new SwingWorker<T, Void>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                return work.call();
+            }
+
+            @Override
+            protected void done() {
+                if (this != current) return;
+                try {
+                    onLoaded.accept(get());
+                } catch (Exception e) {
+                    fail(e, onFailed);
+                }
+            }
+        });
+    }
+
+    /**
+     * Runs work in the background once no other call to this method was made for the given delay,
+     * e.g. to load search results only after the user stopped typing.
+     *
+     * @param delayMillis the quiet period before the work starts
+     * @param work the work to run
+     * @param onLoaded called with the result
+     * @param onFailed called with the error if the work fails
+     * @param <T> the type of the result
+     */
+    public <T> void loadDebounced(int delayMillis, Callable<T> work, Consumer<T> onLoaded, Consumer<Exception> onFailed) {
+        cancelRunning();
+        debouncedLoad = () -> load(work, onLoaded, onFailed);
+        debounceTimer.setInitialDelay(delayMillis);
+        debounceTimer.restart();
+    }
+
+    /**
+     * Runs work in the background that publishes its results one by one, so the component can show
+     * the first results while the rest are still being loaded.
+     *
+     * @param work the work to run
+     * @param onChunk called with the results published since the previous call
+     * @param onDone called once the work has finished
+     * @param onFailed called with the error if the work fails
+     * @param <V> the type of the published results
+     */
+    public <V> void stream(IncrementalWork<V> work, Consumer<List<V>> onChunk, Runnable onDone, Consumer<Exception> onFailed) {
+        start(new SwingWorker<Void, V>() {
+            @Override
+            protected Void doInBackground() throws Exception {
+                work.run(this::publish);
+                return null;
+            }
+
+            @Override
+            protected void process(List<V> chunk) {
+                if (this == current) onChunk.accept(chunk);
+            }
+
+            @Override
+            protected void done() {
+                if (this != current) return;
+                try {
+                    get();
+                    onDone.run();
+                } catch (Exception e) {
+                    fail(e, onFailed);
+                }
+            }
+        });
+    }
+
+    /**
+     * Cancels the running or pending load. Its results are not delivered.
+     */
+    public void cancel() {
+        debounceTimer.stop();
+        debouncedLoad = null;
+        cancelRunning();
+    }
+
+    /**
+     * Returns whether a load is running or waiting to start.
+     *
+     * @return true if a load is running or pending
+     */
+    public boolean isLoading() {
+        return debouncedLoad != null || (current != null && !current.isDone());
+    }
+
+    private void start(SwingWorker<?, ?> worker) {
+        cancel();
+        current = worker;
+        worker.execute();
+    }
+
+    private void cancelRunning() {
+        if (current != null) {
+            current.cancel(true);
+            current = null;
+        }
+    }
+
+    private static void fail(Exception e, Consumer<Exception> onFailed) {
+        if (e instanceof CancellationException) return;
+        Exception cause = e;
+        if (e instanceof ExecutionException && e.getCause() instanceof Exception inner) {
+            cause = inner;
+        }
+        LOGGER.log(Level.FINE, "Background load failed: {0}", cause.getMessage());
+        onFailed.accept(cause);
+    }
+
+    /**
+     * Creates the label shown in place of data that is still loading.
+     *
+     * @param text the text of the placeholder, e.g. "Loading users..."
+     * @return the placeholder label
+     */
+    public static JLabel createPlaceholder(String text) {
+        JLabel placeholder = new JLabel(text);
+        placeholder.setFont(StyleUtils.STATUS_FONT);
+        placeholder.setForeground(StyleUtils.TEXT_COLOR);
+        return placeholder;
+    }
+
+    /**
+     * Work that publishes its results one by one.
+     *
+     * @param <V> the type of the published results
+     */
+    @FunctionalInterface
+    public interface IncrementalWork<V> {
+        /**
+         * Runs the work.
+         *
+         * @param publisher receives each result as soon as it is available
+         * @throws Exception if the work fails
+         */
+        void run(Consumer<V> publisher) throws Exception;
+    }
+}
@@ -0,0 +1,250 @@
+package com.fortisbank.ui.ui_utils;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.*;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Table model that reads its rows one page at a time from a {@link PageSource}.
+ *
+ * Only the pages around the rows the table asks for are kept in memory, so a listing of any size
+ * uses a fixed amount of memory. Pages are read off the Event Dispatch Thread; until a page has
+ * arrived its cells are shown as "Loading...". Filtering and sorting are passed to the source, so
+ * they are applied by the service layer instead of on the loaded rows.
+ *
+ * @param <T> the type of the listed items
+ * @param <S> the fields the listing can be sorted by
+ */
+public class PagedTableModel<T, S> extends AbstractTableModel {
+
+    private static final Logger LOGGER = Logger.getLogger(PagedTableModel.class.getName());
+    private static final String LOADING = "Loading...";
+
+    private final PageSource<T, S> source;
+    private final List<Column<T, S>> columns;
+    private final int pageSize;
+    private final Map<Integer, List<T>> pages;
+    private final Set<Integer> pendingPages = new HashSet<>();
+
+    private String filter;
+    private S sortField;
+    private boolean ascending;
+    private int rowCount;
+    private int generation;
+
+    /**
+     * Constructs a PagedTableModel.
+     *
+     * @param source reads the pages
+     * @param columns the columns of the table
+     * @param pageSize the number of rows read at once
+     * @param cachedPages the number of pages kept in memory
+     * @param sortField the initial sort field
+     * @param ascending whether to initially sort in ascending order
+     */
+    public PagedTableModel(PageSource<T, S> source, List<Column<T, S>> columns, int pageSize, int cachedPages,
+                           S sortField, boolean ascending) {
+        this.source = source;
+        this.columns = List.copyOf(columns);
+        this.pageSize = pageSize;
+        this.sortField = sortField;
+        this.ascending = ascending;
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > cachedPages;
+            }
+        };
+    }
+
+    /**
+     * Installs this model on a table and sorts by a column when its header is clicked.
+     * A second click on the same column reverses the order.
+     *
+     * @param table the table to show the rows in
+     */
+    public void attachTo(JTable table) {
+        table.setModel(this);
+        table.setAutoCreateRowSorter(false);
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = table.convertColumnIndexToModel(table.columnAtPoint(e.getPoint()));
+                if (column < 0) return;
+                sortBy(column);
+                for (int i = 0; i < table.getColumnCount(); i++) {
+                    table.getColumnModel().getColumn(i).setHeaderValue(getColumnName(table.convertColumnIndexToModel(i)));
+                }
+                table.getTableHeader().repaint();
+            }
+        });
+    }
+
+    /**
+     * Shows only the items containing the given text and reloads the listing.
+     *
+     * @param filter the text to look for, or null or blank to show everything
+     */
+    public void setFilter(String filter) {
+        this.filter = filter == null || filter.isBlank() ? null : filter.trim();
+        refresh();
+    }
+
+    /**
+     * Sorts by the given column and reloads the listing. Columns without a sort field are ignored.
+     *
+     * @param column the model index of the column
+     */
+    public void sortBy(int column) {
+        S field = columns.get(column).sortField();
+        if (field == null) return;
+        ascending = !field.equals(sortField) || !ascending;
+        sortField = field;
+        refresh();
+    }
+
+    /**
+     * Discards the loaded pages and reloads the number of rows. Pages are read again as they are shown.
+     */
+    public void refresh() {
+        int started = ++generation;
+        pages.clear();
+        pendingPages.clear();
+        String currentFilter = filter;
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return source.count(currentFilter);
+            }
+
+            @Override
+            protected void done() {
+                if (started != generation) return;
+                try {
+                    rowCount = get();
+                } catch (Exception e) {
+                    LOGGER.log(Level.SEVERE, "Error counting rows: {0}", e.getMessage());
+                    rowCount = 0;
+                }
+                fireTableDataChanged();
+            }
+        }.execute();
+    }
+
+    /**
+     * Returns the item shown in a row, or null if its page has not been loaded yet.
+     *
+     * @param row the row index
+     * @return the item, or null
+     */
+    public T getItemAt(int row) {
+        List<T> page = pages.get(row / pageSize);
+        int index = row % pageSize;
+        return page != null && index < page.size() ? page.get(index) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        Column<T, S> c = columns.get(column);
+        if (c.sortField() == null || !c.sortField().equals(sortField)) return c.name();
+        return c.name() + (ascending ? " ▲" : " ▼");
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        List<T> page = pages.get(row / pageSize);
+        if (page == null) {
+            requestPage(row / pageSize);
+            return LOADING;
+        }
+        int index = row % pageSize;
+        return index < page.size() ? columns.get(column).value().apply(page.get(index)) : "";
+    }
+
+    private void requestPage(int pageIndex) {
+        if (!pendingPages.add(pageIndex)) return;
+        int started = generation;
+        String currentFilter = filter;
+        S currentSort = sortField;
+        boolean currentAscending = ascending;
+        new SwingWorker<List<T>, Void>() {
+            @Override
+            protected List<T> doInBackground() throws Exception {
+                return source.fetch(currentFilter, currentSort, currentAscending, pageIndex * pageSize, pageSize);
+            }
+
+            @Override
+            protected void done() {
+                if (started != generation) return;
+                try {
+                    pages.put(pageIndex, get());
+                    pendingPages.remove(pageIndex);
+                } catch (Exception e) {
+                    // The page stays pending, so it is not requested again until the listing is refreshed
+                    LOGGER.log(Level.SEVERE, "Error loading page {0}: {1}", new Object[]{pageIndex, e.getMessage()});
+                    return;
+                }
+                int first = pageIndex * pageSize;
+                int last = Math.min(rowCount, first + pageSize) - 1;
+                if (last >= first) fireTableRowsUpdated(first, last);
+            }
+        }.execute();
+    }
+
+    /**
+     * One column of a paged table.
+     *
+     * @param name the header of the column
+     * @param value reads the value of the column from an item
+     * @param sortField the field the column sorts by, or null if it cannot be sorted
+     * @param <T> the type of the listed items
+     * @param <S> the fields the listing can be sorted by
+     */
+    public record Column<T, S>(String name, Function<T, Object> value, S sortField) {
+    }
+
+    /**
+     * Reads the rows of a paged table, applying the filter and sort order.
+     *
+     * @param <T> the type of the listed items
+     * @param <S> the fields the listing can be sorted by
+     */
+    public interface PageSource<T, S> {
+        /**
+         * Returns the number of items matching the filter.
+         *
+         * @param filter the filter, or null
+         * @return the number of items
+         * @throws Exception if the items cannot be counted
+         */
+        int count(String filter) throws Exception;
+
+        /**
+         * Returns one page of the items matching the filter.
+         *
+         * @param filter the filter, or null
+         * @param sortField the field to sort by
+         * @param ascending whether to sort in ascending order
+         * @param offset the number of items to skip
+         * @param limit the maximum number of items to return
+         * @return the items of the page
+         * @throws Exception if the items cannot be read
+         */
+        List<T> fetch(String filter, S sortField, boolean ascending, int offset, int limit) throws Exception;
+    }
+}
@@ -0,0 +1,8 @@
+-- Latest balance snapshot of each account, written by BalanceProjectionService (user-028).
+CREATE TABLE balance_snapshots (
+    AccountNumber VARCHAR2(36)   NOT NULL,
+    Balance       NUMBER(19, 4)  NOT NULL,
+    EventCount    NUMBER(19)     NOT NULL,
+    TakenAt       TIMESTAMP      NOT NULL,
+    CONSTRAINT pk_balance_snapshots PRIMARY KEY (AccountNumber)
+);
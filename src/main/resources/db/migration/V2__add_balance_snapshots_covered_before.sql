@@ -0,0 +1,3 @@
+-- Every transaction dated before CoveredBefore is folded into the snapshot balance.
+-- Rows written before the column existed stay NULL and are replayed from the opening balance.
+ALTER TABLE balance_snapshots ADD (CoveredBefore DATE NULL);
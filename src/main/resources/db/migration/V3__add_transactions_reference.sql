@@ -0,0 +1,4 @@
+-- Pairs the two legs of a cross-currency transfer (user-049). Existing rows have no reference.
+ALTER TABLE transactions ADD (Reference VARCHAR2(36) NULL);
+
+CREATE INDEX ix_transactions_reference ON transactions (Reference);
@@ -0,0 +1,24 @@
+-- Notifications stored per recipient, newest first (user-036), with the cursor order of the inbox (user-038).
+CREATE TABLE notifications (
+    NotificationID    VARCHAR2(36)    NOT NULL,
+    RecipientID       VARCHAR2(36)    NOT NULL,
+    NotificationType  VARCHAR2(32)    NOT NULL,
+    Title             VARCHAR2(255)   NOT NULL,
+    Message           VARCHAR2(4000),
+    CreatedAt         TIMESTAMP       NOT NULL,
+    IsRead            NUMBER(1)       DEFAULT 0 NOT NULL,
+    RelatedCustomerID VARCHAR2(36),
+    RelatedAccountID  VARCHAR2(36),
+    CONSTRAINT pk_notifications PRIMARY KEY (NotificationID),
+    CONSTRAINT ck_notifications_is_read CHECK (IsRead IN (0, 1))
+);
+
+CREATE INDEX ix_notifications_inbox ON notifications (RecipientID, CreatedAt DESC, NotificationID DESC);
+
+-- Total and unread counts per recipient, kept in step with the notifications table.
+CREATE TABLE notification_counters (
+    RecipientID VARCHAR2(36) NOT NULL,
+    TotalCount  NUMBER(10)   DEFAULT 0 NOT NULL,
+    UnreadCount NUMBER(10)   DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_notification_counters PRIMARY KEY (RecipientID)
+);
@@ -0,0 +1,13 @@
+-- Running ledger totals per day and account type (user-043).
+CREATE TABLE daily_aggregates (
+    AggregateDay  DATE           NOT NULL,
+    AccountType   VARCHAR2(16)   NOT NULL,
+    EntryCount    NUMBER(19)     DEFAULT 0 NOT NULL,
+    Deposits      NUMBER(19, 4)  DEFAULT 0 NOT NULL,
+    Withdrawals   NUMBER(19, 4)  DEFAULT 0 NOT NULL,
+    TransfersIn   NUMBER(19, 4)  DEFAULT 0 NOT NULL,
+    TransfersOut  NUMBER(19, 4)  DEFAULT 0 NOT NULL,
+    Fees          NUMBER(19, 4)  DEFAULT 0 NOT NULL,
+    BalanceChange NUMBER(19, 4)  DEFAULT 0 NOT NULL,
+    CONSTRAINT pk_daily_aggregates PRIMARY KEY (AggregateDay, AccountType)
+);
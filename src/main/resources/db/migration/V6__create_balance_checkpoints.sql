@@ -0,0 +1,7 @@
+-- Balance of each account before the first day of a closed month (user-045).
+CREATE TABLE balance_checkpoints (
+    AccountNumber VARCHAR2(36)   NOT NULL,
+    AsOf          DATE           NOT NULL,
+    Balance       NUMBER(19, 4)  NOT NULL,
+    CONSTRAINT pk_balance_checkpoints PRIMARY KEY (AccountNumber, AsOf)
+);
@@ -0,0 +1,6 @@
+-- Running balance including the transactions dated from CoveredBefore on, so the current
+-- balance of an account is read without folding them again after a restart.
+ALTER TABLE balance_snapshots ADD (
+    ProjectedBalance NUMBER(19,4) NULL,
+    TailSize         NUMBER(10) DEFAULT 0 NOT NULL
+);
@@ -0,0 +1,5 @@
+-- When the daily aggregates were last rebuilt from the transaction log (user-043).
+-- Holds at most one row; no row means they were never rebuilt.
+CREATE TABLE daily_aggregate_rebuilds (
+    RebuiltAt     TIMESTAMP      NOT NULL
+);
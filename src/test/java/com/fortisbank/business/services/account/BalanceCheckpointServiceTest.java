@@ -0,0 +1,177 @@
+package com.fortisbank.business.services.account;
+
+import com.fortisbank.business.services.report.ReportCache;
+import com.fortisbank.contracts.collections.AccountList;
+import com.fortisbank.contracts.models.accounts.Account;
+import com.fortisbank.contracts.models.accounts.BalanceCheckpoint;
+import com.fortisbank.contracts.models.accounts.BalanceSnapshot;
+import com.fortisbank.contracts.models.accounts.CheckingAccount;
+import com.fortisbank.data.dal_utils.StorageMode;
+import com.fortisbank.data.interfaces.IAccountRepository;
+import com.fortisbank.data.interfaces.IBalanceCheckpointRepository;
+import com.fortisbank.data.interfaces.IBalanceSnapshotRepository;
+import com.fortisbank.data.interfaces.ITransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BalanceCheckpointServiceTest {
+
+    private ITransactionRepository transactionRepository;
+    private IAccountRepository accountRepository;
+    private IBalanceSnapshotRepository snapshotRepository;
+    private InMemoryCheckpointRepository checkpointRepository;
+    private final AccountList accounts = new AccountList();
+    private final List<BalanceSnapshot> snapshots = new ArrayList<>();
+    private final List<Entry> ledger = new ArrayList<>();
+
+    private record Entry(String accountNumber, LocalDate day, BigDecimal amount) {
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        transactionRepository = mock(ITransactionRepository.class);
+        accountRepository = mock(IAccountRepository.class);
+        snapshotRepository = mock(IBalanceSnapshotRepository.class);
+        checkpointRepository = new InMemoryCheckpointRepository();
+        when(accountRepository.getAllAccounts()).thenAnswer(invocation -> accounts);
+        when(accountRepository.getAccountById(anyString())).thenAnswer(invocation -> accounts.stream()
+                .filter(a -> a.getAccountNumber().equals(invocation.getArgument(0)))
+                .findFirst().orElse(null));
+        when(snapshotRepository.getAllSnapshots()).thenAnswer(invocation -> snapshots);
+        when(transactionRepository.getNetChangesByAccount(anyCollection(), any(), any())).thenAnswer(invocation -> {
+            Collection<String> accountNumbers = invocation.getArgument(0);
+            LocalDate from = invocation.getArgument(1);
+            LocalDate before = invocation.getArgument(2);
+            Map<String, BigDecimal> changes = new HashMap<>();
+            for (Entry entry : ledger) {
+                if (!accountNumbers.contains(entry.accountNumber())) continue;
+                if ((from == null || !entry.day().isBefore(from)) && entry.day().isBefore(before)) {
+                    changes.merge(entry.accountNumber(), entry.amount(), BigDecimal::add);
+                }
+            }
+            return changes;
+        });
+    }
+
+    private BalanceCheckpointService start() {
+        return new BalanceCheckpointService(transactionRepository, accountRepository, checkpointRepository,
+                snapshotRepository, ReportCache.getInstance(StorageMode.FILE));
+    }
+
+    private Account account(String accountNumber, String storedBalance) {
+        Account account = new CheckingAccount(accountNumber, null, new Date(), new BigDecimal(storedBalance));
+        accounts.add(account);
+        return account;
+    }
+
+    private void post(String accountNumber, LocalDate day, String amount) {
+        ledger.add(new Entry(accountNumber, day, new BigDecimal(amount)));
+    }
+
+    private static void assertAmount(String expected, BigDecimal actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), () -> "expected " + expected + " but was " + actual);
+    }
+
+    @Test
+    void startsFromTheOpeningSnapshotWhenNoMonthWasClosed() {
+        // The opening balance of 1000.00 is recorded by no transaction
+        account("ACC-1", "1150.00");
+        snapshots.add(new BalanceSnapshot("ACC-1", new BigDecimal("1000.00"), 0, null));
+        post("ACC-1", LocalDate.of(2024, 2, 10), "200.00");
+        post("ACC-1", LocalDate.of(2024, 3, 5), "-50.00");
+
+        Map<String, BigDecimal> balances = start().getBalancesBefore(List.of("ACC-1"), LocalDate.of(2024, 3, 1));
+
+        assertAmount("1200.00", balances.get("ACC-1"));
+    }
+
+    @Test
+    void walksBackFromABackfilledSnapshotTakenLater() {
+        account("ACC-1", "1150.00");
+        snapshots.add(new BalanceSnapshot("ACC-1", new BigDecimal("1150.00"), 2, LocalDate.of(2024, 4, 1),
+                new BigDecimal("1150.00"), 0));
+        post("ACC-1", LocalDate.of(2024, 2, 10), "200.00");
+        post("ACC-1", LocalDate.of(2024, 3, 5), "-50.00");
+
+        BalanceCheckpointService service = start();
+
+        assertAmount("1200.00", service.getBalancesBefore(List.of("ACC-1"), LocalDate.of(2024, 3, 1)).get("ACC-1"));
+        assertAmount("1000.00", service.getBalancesBefore(List.of("ACC-1"), LocalDate.of(2024, 1, 1)).get("ACC-1"));
+    }
+
+    @Test
+    void startsFromTheStoredBalanceWithoutSnapshot() {
+        account("ACC-1", "1150.00");
+        post("ACC-1", LocalDate.of(2024, 2, 10), "200.00");
+        post("ACC-1", LocalDate.of(2024, 3, 5), "-50.00");
+
+        Map<String, BigDecimal> balances = start().getBalancesBefore(List.of("ACC-1"), LocalDate.of(2024, 3, 1));
+
+        assertAmount("1200.00", balances.get("ACC-1"));
+    }
+
+    @Test
+    void closingTheFirstMonthKeepsTheOpeningBalance() {
+        account("ACC-1", "1150.00");
+        account("ACC-2", "0.00");
+        snapshots.add(new BalanceSnapshot("ACC-1", new BigDecimal("1000.00"), 0, null));
+        snapshots.add(new BalanceSnapshot("ACC-2", BigDecimal.ZERO, 0, null));
+        post("ACC-1", LocalDate.of(2024, 2, 10), "200.00");
+        post("ACC-1", LocalDate.of(2024, 3, 5), "-50.00");
+        BalanceCheckpointService service = start();
+
+        assertEquals(2, service.closeMonth(YearMonth.of(2024, 2)));
+
+        assertAmount("1200.00", checkpointRepository.get("ACC-1", LocalDate.of(2024, 3, 1)).getBalance());
+        assertAmount("0.00", checkpointRepository.get("ACC-2", LocalDate.of(2024, 3, 1)).getBalance());
+        assertAmount("1150.00", service.getBalancesBefore(List.of("ACC-1"), LocalDate.of(2024, 4, 1)).get("ACC-1"));
+    }
+
+    @Test
+    void checkpointTakesPrecedenceOverSnapshot() throws Exception {
+        account("ACC-1", "1150.00");
+        snapshots.add(new BalanceSnapshot("ACC-1", new BigDecimal("1000.00"), 0, null));
+        checkpointRepository.saveCheckpoints(List.of(new BalanceCheckpoint("ACC-1", LocalDate.of(2024, 3, 1), new BigDecimal("900.00"))));
+        post("ACC-1", LocalDate.of(2024, 3, 5), "-50.00");
+
+        Map<String, BigDecimal> balances = start().getBalancesBefore(List.of("ACC-1"), LocalDate.of(2024, 4, 1));
+
+        assertAmount("850.00", balances.get("ACC-1"));
+        verify(snapshotRepository, never()).getAllSnapshots();
+    }
+
+    private static class InMemoryCheckpointRepository implements IBalanceCheckpointRepository {
+        private final Map<String, TreeMap<LocalDate, BalanceCheckpoint>> checkpoints = new HashMap<>();
+
+        @Override
+        public Map<String, BalanceCheckpoint> getLatestCheckpoints(Collection<String> accountNumbers, LocalDate onOrBefore) {
+            Map<String, BalanceCheckpoint> latest = new HashMap<>();
+            for (String accountNumber : accountNumbers) {
+                TreeMap<LocalDate, BalanceCheckpoint> byDate = checkpoints.get(accountNumber);
+                Map.Entry<LocalDate, BalanceCheckpoint> entry = byDate != null ? byDate.floorEntry(onOrBefore) : null;
+                if (entry != null) latest.put(accountNumber, entry.getValue());
+            }
+            return latest;
+        }
+
+        @Override
+        public void saveCheckpoints(List<BalanceCheckpoint> saved) {
+            for (BalanceCheckpoint checkpoint : saved) {
+                checkpoints.computeIfAbsent(checkpoint.getAccountNumber(), k -> new TreeMap<>()).put(checkpoint.getAsOf(), checkpoint);
+            }
+        }
+
+        private BalanceCheckpoint get(String accountNumber, LocalDate asOf) {
+            return checkpoints.get(accountNumber).get(asOf);
+        }
+    }
+}
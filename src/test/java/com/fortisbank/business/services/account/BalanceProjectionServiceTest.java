@@ -0,0 +1,141 @@
+package com.fortisbank.business.services.account;
+
+import com.fortisbank.contracts.collections.AccountList;
+import com.fortisbank.contracts.collections.TransactionList;
+import com.fortisbank.contracts.models.accounts.Account;
+import com.fortisbank.contracts.models.accounts.BalanceSnapshot;
+import com.fortisbank.contracts.models.accounts.CheckingAccount;
+import com.fortisbank.contracts.models.transactions.DepositTransaction;
+import com.fortisbank.contracts.models.transactions.Transaction;
+import com.fortisbank.contracts.models.transactions.WithdrawalTransaction;
+import com.fortisbank.data.interfaces.IAccountRepository;
+import com.fortisbank.data.interfaces.IBalanceSnapshotRepository;
+import com.fortisbank.data.interfaces.ITransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BalanceProjectionServiceTest {
+
+    private ITransactionRepository transactionRepository;
+    private IAccountRepository accountRepository;
+    private InMemorySnapshotRepository snapshotRepository;
+    private final AccountList accounts = new AccountList();
+    private final TransactionList log = new TransactionList();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        transactionRepository = mock(ITransactionRepository.class);
+        accountRepository = mock(IAccountRepository.class);
+        snapshotRepository = new InMemorySnapshotRepository();
+        when(accountRepository.getAllAccounts()).thenAnswer(invocation -> accounts);
+        when(transactionRepository.getAllTransactions()).thenAnswer(invocation -> log);
+        when(transactionRepository.getTransactionsByAccountSince(anyString(), any())).thenAnswer(invocation -> {
+            String accountNumber = invocation.getArgument(0);
+            TransactionList matching = new TransactionList();
+            for (Transaction transaction : log) {
+                if (accountNumber.equals(transaction.getSourceAccountNumber())
+                        || accountNumber.equals(transaction.getDestinationAccountNumber())) {
+                    matching.add(transaction);
+                }
+            }
+            return matching;
+        });
+    }
+
+    private BalanceProjectionService start() {
+        return new BalanceProjectionService(transactionRepository, accountRepository, snapshotRepository, true);
+    }
+
+    private static Account account(String accountNumber, String balance) {
+        return new CheckingAccount(accountNumber, null, new Date(), new BigDecimal(balance));
+    }
+
+    @Test
+    void backfillsAccountsOpenedBeforeProjectionsFromTheirStoredBalance() throws Exception {
+        Account legacy = account("ACC-1", "500.00");
+        accounts.add(legacy);
+        log.add(new DepositTransaction("Opening deposit", new Date(), new BigDecimal("500.00"), legacy));
+        when(transactionRepository.countTransactions("ACC-1", null)).thenReturn(1);
+
+        BalanceProjectionService service = start();
+
+        assertEquals(0, new BigDecimal("500.00").compareTo(service.getDerivedBalance("ACC-1")));
+        assertEquals(1, snapshotRepository.getSnapshot("ACC-1").getEventCount());
+        verify(transactionRepository, never()).getTransactionsByAccountSince(anyString(), any());
+    }
+
+    @Test
+    void readsStoredProjectionAfterRestartWithoutReplaying() throws Exception {
+        Account account = account("ACC-1", "100.00");
+        accounts.add(account);
+        BalanceProjectionService service = start();
+        service.recordOpeningBalance(account);
+        Transaction deposit = new DepositTransaction("Deposit", new Date(), new BigDecimal("25.50"), account);
+        log.add(deposit);
+        service.recordTransaction(deposit);
+        Transaction withdrawal = new WithdrawalTransaction("Withdrawal", new Date(), new BigDecimal("10.25"), account);
+        log.add(withdrawal);
+        service.recordTransaction(withdrawal);
+
+        BalanceProjectionService restarted = start();
+
+        assertEquals(0, new BigDecimal("115.25").compareTo(restarted.getDerivedBalance("ACC-1")));
+        verify(transactionRepository, never()).getTransactionsByAccountSince(anyString(), any());
+    }
+
+    @Test
+    void verificationRebuildsStaleProjection() throws Exception {
+        Account account = account("ACC-1", "100.00");
+        accounts.add(account);
+        BalanceProjectionService service = start();
+        service.recordOpeningBalance(account);
+        // Committed, but the process stopped before the projection was advanced.
+        log.add(new DepositTransaction("Deposit", new Date(), new BigDecimal("40.00"), account));
+        account.setAvailableBalance(new BigDecimal("140.00"));
+
+        BalanceProjectionService restarted = start();
+        assertTrue(restarted.verifyAllBalances().isEmpty());
+
+        assertEquals(0, new BigDecimal("140.00").compareTo(restarted.getDerivedBalance("ACC-1")));
+        assertEquals(0, new BigDecimal("140.00").compareTo(snapshotRepository.getSnapshot("ACC-1").getProjectedBalance()));
+    }
+
+    @Test
+    void reportsStoredBalanceThatDriftedFromTheLog() {
+        Account account = account("ACC-1", "100.00");
+        accounts.add(account);
+        BalanceProjectionService service = start();
+        service.recordOpeningBalance(account);
+        account.setAvailableBalance(new BigDecimal("90.00"));
+
+        List<BalanceDiscrepancy> discrepancies = service.verifyAllBalances();
+
+        assertEquals(1, discrepancies.size());
+    }
+
+    private static class InMemorySnapshotRepository implements IBalanceSnapshotRepository {
+        private final Map<String, BalanceSnapshot> snapshots = new HashMap<>();
+
+        @Override
+        public BalanceSnapshot getSnapshot(String accountNumber) {
+            return snapshots.get(accountNumber);
+        }
+
+        @Override
+        public List<BalanceSnapshot> getAllSnapshots() {
+            return new ArrayList<>(snapshots.values());
+        }
+
+        @Override
+        public void saveSnapshot(BalanceSnapshot snapshot) {
+            snapshots.put(snapshot.getAccountNumber(), snapshot);
+        }
+    }
+}
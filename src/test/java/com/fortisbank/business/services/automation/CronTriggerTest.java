@@ -0,0 +1,88 @@
+package com.fortisbank.business.services.automation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CronTriggerTest {
+
+    private static Instant at(int year, int month, int day, int hour, int minute) {
+        return LocalDateTime.of(year, month, day, hour, minute).atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    @Test
+    void firesAtNextMatchingMinute() {
+        CronTrigger trigger = new CronTrigger("*/15 * * * *");
+
+        assertEquals(at(2024, 3, 10, 8, 15), trigger.nextRunAfter(at(2024, 3, 10, 8, 0)));
+        assertEquals(at(2024, 3, 10, 9, 0), trigger.nextRunAfter(at(2024, 3, 10, 8, 47)));
+    }
+
+    @Test
+    void nextRunIsStrictlyAfterReference() {
+        CronTrigger trigger = new CronTrigger("0 2 * * *");
+
+        assertEquals(at(2024, 3, 11, 2, 0), trigger.nextRunAfter(at(2024, 3, 10, 2, 0)));
+    }
+
+    @Test
+    void skipsToNextMonthForDayOfMonth() {
+        CronTrigger trigger = new CronTrigger("0 2 1 * *");
+
+        assertEquals(at(2024, 4, 1, 2, 0), trigger.nextRunAfter(at(2024, 3, 1, 2, 0)));
+        assertEquals(at(2025, 1, 1, 2, 0), trigger.nextRunAfter(at(2024, 12, 15, 0, 0)));
+    }
+
+    @Test
+    void handlesRangesListsAndDayOfWeek() {
+        // 9:30 on weekdays; 2024-03-09 is a Saturday.
+        CronTrigger trigger = new CronTrigger("30 9 * * 1-5");
+        assertEquals(at(2024, 3, 11, 9, 30), trigger.nextRunAfter(at(2024, 3, 9, 12, 0)));
+
+        CronTrigger hours = new CronTrigger("0 6,18 * * *");
+        assertEquals(at(2024, 3, 9, 18, 0), hours.nextRunAfter(at(2024, 3, 9, 6, 0)));
+    }
+
+    @Test
+    void acceptsSevenForSunday() {
+        CronTrigger trigger = new CronTrigger("0 0 * * 7");
+
+        assertEquals(at(2024, 3, 10, 0, 0), trigger.nextRunAfter(at(2024, 3, 9, 0, 0)));
+    }
+
+    @Test
+    void firesOnEitherRestrictedDayField() {
+        // The 15th or any Monday; 2024-03-11 is a Monday.
+        CronTrigger trigger = new CronTrigger("0 0 15 * 1");
+
+        assertEquals(at(2024, 3, 11, 0, 0), trigger.nextRunAfter(at(2024, 3, 9, 0, 0)));
+        assertEquals(at(2024, 3, 15, 0, 0), trigger.nextRunAfter(at(2024, 3, 11, 0, 0)));
+    }
+
+    @Test
+    void findsLeapDay() {
+        CronTrigger trigger = new CronTrigger("0 0 29 2 *");
+
+        assertEquals(at(2028, 2, 29, 0, 0), trigger.nextRunAfter(at(2024, 3, 1, 0, 0)));
+    }
+
+    @Test
+    void rejectsMalformedExpressions() {
+        assertThrows(IllegalArgumentException.class, () -> new CronTrigger(null));
+        assertThrows(IllegalArgumentException.class, () -> new CronTrigger("* * * *"));
+        assertThrows(IllegalArgumentException.class, () -> new CronTrigger("60 * * * *"));
+        assertThrows(IllegalArgumentException.class, () -> new CronTrigger("5-1 * * * *"));
+        assertThrows(IllegalArgumentException.class, () -> new CronTrigger("a * * * *"));
+    }
+
+    @Test
+    void failsForExpressionThatNeverFires() {
+        CronTrigger trigger = new CronTrigger("0 0 31 2 *");
+
+        assertThrows(IllegalStateException.class, () -> trigger.nextRunAfter(at(2024, 1, 1, 0, 0)));
+    }
+}
@@ -0,0 +1,103 @@
+package com.fortisbank.business.services.exchange;
+
+import com.fortisbank.contracts.models.others.RateTable;
+import com.fortisbank.data.dal_utils.FileManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateHistoryStoreTest {
+
+    @TempDir
+    File directory;
+
+    private File snapshot() {
+        return new File(directory, "history.ser");
+    }
+
+    private File journal() {
+        return new File(directory, "history.journal");
+    }
+
+    private RateHistoryStore open() {
+        return new RateHistoryStore(snapshot(), journal());
+    }
+
+    private static RateTable table(long version) {
+        return new RateTable(version, Instant.EPOCH.plusSeconds(version), "test", Map.of("USD", BigDecimal.ONE));
+    }
+
+    private static void publish(RateHistoryStore store, List<RateTable> history, long version) throws Exception {
+        history.add(table(version));
+        store.write(List.copyOf(history));
+    }
+
+    @Test
+    void firstTableWritesSnapshotAndLaterTablesAppendToJournal() throws Exception {
+        RateHistoryStore store = open();
+        List<RateTable> history = new ArrayList<>(List.of(table(1)));
+
+        publish(store, history, 2);
+        assertTrue(snapshot().exists());
+        assertFalse(journal().exists());
+        long snapshotLength = snapshot().length();
+
+        publish(store, history, 3);
+        long afterFirst = journal().length();
+        publish(store, history, 4);
+
+        assertEquals(snapshotLength, snapshot().length());
+        assertTrue(journal().length() > afterFirst);
+    }
+
+    @Test
+    void journaledTablesSurviveRestart() throws Exception {
+        RateHistoryStore store = open();
+        List<RateTable> history = new ArrayList<>(List.of(table(1)));
+        publish(store, history, 2);
+        publish(store, history, 3);
+        publish(store, history, 4);
+
+        List<RateTable> loaded = open().load();
+
+        assertEquals(List.of(1L, 2L, 3L, 4L), loaded.stream().map(RateTable::getVersion).toList());
+        assertFalse(journal().exists(), "the journal is folded into the snapshot on load");
+        List<RateTable> stored = FileManager.readListFromFile(snapshot());
+        assertEquals(4, stored.size());
+    }
+
+    @Test
+    void ignoresPartlyWrittenJournalEntry() throws Exception {
+        RateHistoryStore store = open();
+        List<RateTable> history = new ArrayList<>(List.of(table(1)));
+        publish(store, history, 2);
+        publish(store, history, 3);
+        try (FileOutputStream out = new FileOutputStream(journal(), true)) {
+            out.write(new byte[]{0, 0, 1, 0, 'x'});
+        }
+
+        List<RateTable> loaded = open().load();
+
+        assertEquals(3, loaded.size());
+        assertEquals(3, loaded.get(2).getVersion());
+    }
+
+    @Test
+    void failedWriteIsReported() throws Exception {
+        File notADirectory = new File(directory, "blocked");
+        assertTrue(notADirectory.createNewFile());
+        RateHistoryStore store = new RateHistoryStore(new File(notADirectory, "history.ser"),
+                new File(notADirectory, "history.journal"));
+
+        assertThrows(Exception.class, () -> store.write(List.of(table(1), table(2))));
+    }
+}
@@ -0,0 +1,112 @@
+package com.fortisbank.business.services.notification;
+
+import com.fortisbank.contracts.exceptions.NotificationRepositoryException;
+import com.fortisbank.contracts.models.others.NotificationRecord;
+import com.fortisbank.contracts.models.others.NotificationType;
+import com.fortisbank.data.dal_utils.FileManager;
+import com.fortisbank.data.interfaces.INotificationRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class NotificationOutboxTest {
+
+    @TempDir
+    File directory;
+
+    private File snapshot() {
+        return new File(directory, "outbox.ser");
+    }
+
+    private File journal() {
+        return new File(directory, "outbox.journal");
+    }
+
+    private NotificationOutbox open(INotificationRepository repository) {
+        return new NotificationOutbox(repository, snapshot(), journal(), "notification-outbox-test");
+    }
+
+    private static NotificationRecord notification(String id) {
+        return new NotificationRecord(id, "CUST-1", NotificationType.SECURITY_ALERT, "Alert " + id, "Message " + id,
+                System.currentTimeMillis(), false, null, null);
+    }
+
+    private static INotificationRepository unavailableRepository() throws NotificationRepositoryException {
+        INotificationRepository repository = mock(INotificationRepository.class);
+        doThrow(new NotificationRepositoryException("unavailable", null)).when(repository).insertNotifications(anyList());
+        return repository;
+    }
+
+    @Test
+    void enqueueAppendsToJournalInsteadOfRewritingSnapshot() throws Exception {
+        NotificationOutbox outbox = open(unavailableRepository());
+
+        outbox.enqueue(notification("N-1"));
+        long afterFirst = journal().length();
+        outbox.enqueue(notification("N-2"));
+
+        assertFalse(snapshot().exists());
+        assertTrue(journal().length() > afterFirst);
+        assertEquals(2, outbox.getPendingCount());
+        outbox.shutdown(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void queuedNotificationsSurviveRestartAndAreDelivered() throws Exception {
+        NotificationOutbox first = open(unavailableRepository());
+        first.enqueue(notification("N-1"));
+        first.enqueue(notification("N-2"));
+        first.enqueue(notification("N-3"));
+        first.shutdown(Duration.ofSeconds(5));
+
+        List<NotificationRecord> delivered = new ArrayList<>();
+        INotificationRepository repository = mock(INotificationRepository.class);
+        doAnswer(invocation -> delivered.addAll(invocation.getArgument(0))).when(repository).insertNotifications(anyList());
+        NotificationOutbox restarted = open(repository);
+        assertEquals(3, restarted.getPendingCount());
+
+        restarted.shutdown(Duration.ofSeconds(5));
+
+        assertFalse(delivered.isEmpty());
+        assertEquals(0, restarted.getPendingCount());
+        assertFalse(journal().exists(), "the drained outbox is compacted");
+        List<NotificationRecord> remaining = FileManager.readObjectFromFile(snapshot());
+        assertTrue(remaining.isEmpty());
+    }
+
+    @Test
+    void ignoresPartlyWrittenJournalEntry() throws Exception {
+        NotificationOutbox first = open(unavailableRepository());
+        first.enqueue(notification("N-1"));
+        first.shutdown(Duration.ofSeconds(5));
+        try (FileOutputStream out = new FileOutputStream(journal(), true)) {
+            out.write(new byte[]{'E', 0, 0, 1});
+        }
+
+        NotificationOutbox restarted = open(unavailableRepository());
+
+        assertEquals(1, restarted.getPendingCount());
+        restarted.shutdown(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void failedEnqueueIsReportedAndNotQueued() throws Exception {
+        File notADirectory = new File(directory, "blocked");
+        assertTrue(notADirectory.createNewFile());
+        NotificationOutbox outbox = new NotificationOutbox(unavailableRepository(), snapshot(),
+                new File(notADirectory, "outbox.journal"), "notification-outbox-test");
+
+        assertThrows(RuntimeException.class, () -> outbox.enqueue(notification("N-1")));
+        assertEquals(0, outbox.getPendingCount());
+        outbox.shutdown(Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,102 @@
+package com.fortisbank.business.services.transaction;
+
+import com.fortisbank.contracts.models.transactions.DepositTransaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotencyStoreTest {
+
+    @TempDir
+    File directory;
+
+    private IdempotencyStore open(int maxEntries, Duration timeToLive) {
+        return new IdempotencyStore(new File(directory, "keys.ser"), new File(directory, "keys.journal"),
+                maxEntries, timeToLive);
+    }
+
+    private static TransactionResult result(String description) {
+        return TransactionResult.success(new DepositTransaction(description, new Date(), BigDecimal.TEN, null));
+    }
+
+    @Test
+    void returnsRecordedResult() throws IOException {
+        IdempotencyStore store = open(10, Duration.ofHours(1));
+        TransactionResult result = result("first");
+        store.put("key-1", result);
+
+        assertSame(result, store.get("key-1"));
+        assertNull(store.get("key-2"));
+    }
+
+    @Test
+    void keysSurviveRestartFromJournal() throws IOException {
+        IdempotencyStore store = open(10, Duration.ofHours(1));
+        TransactionResult result = result("first");
+        store.put("key-1", result);
+        assertTrue(new File(directory, "keys.journal").exists());
+
+        IdempotencyStore reopened = open(10, Duration.ofHours(1));
+
+        TransactionResult restored = reopened.get("key-1");
+        assertNotNull(restored);
+        assertEquals(result.getTransaction().getTransactionNumber(), restored.getTransaction().getTransactionNumber());
+        assertFalse(new File(directory, "keys.journal").exists(), "the journal is folded into the snapshot at startup");
+    }
+
+    @Test
+    void compactsJournalOnceFullAndEvictsOldestKey() throws IOException {
+        IdempotencyStore store = open(2, Duration.ofHours(1));
+        store.put("key-1", result("first"));
+        store.put("key-2", result("second"));
+        assertFalse(new File(directory, "keys.journal").exists());
+        store.put("key-3", result("third"));
+
+        assertNull(store.get("key-1"));
+        IdempotencyStore reopened = open(2, Duration.ofHours(1));
+        assertNull(reopened.get("key-1"));
+        assertNotNull(reopened.get("key-2"));
+        assertNotNull(reopened.get("key-3"));
+    }
+
+    @Test
+    void ignoresPartlyWrittenJournalEntry() throws IOException {
+        IdempotencyStore store = open(10, Duration.ofHours(1));
+        store.put("key-1", result("first"));
+        try (FileOutputStream out = new FileOutputStream(new File(directory, "keys.journal"), true)) {
+            out.write(new byte[]{0, 5, 'k', 'e'});
+        }
+
+        IdempotencyStore reopened = open(10, Duration.ofHours(1));
+        assertNotNull(reopened.get("key-1"));
+        reopened.put("key-2", result("second"));
+        assertNotNull(open(10, Duration.ofHours(1)).get("key-2"));
+    }
+
+    @Test
+    void expiredKeysAreNotReturned() throws IOException {
+        IdempotencyStore store = open(10, Duration.ZERO);
+        store.put("key-1", result("first"));
+
+        assertNull(store.get("key-1"));
+    }
+
+    @Test
+    void failedWriteIsReportedAndNotRecorded() throws IOException {
+        File notADirectory = new File(directory, "blocked");
+        assertTrue(notADirectory.createNewFile());
+        IdempotencyStore store = new IdempotencyStore(new File(directory, "keys.ser"),
+                new File(notADirectory, "keys.journal"), 10, Duration.ofHours(1));
+
+        assertThrows(IOException.class, () -> store.put("key-1", result("first")));
+        assertNull(store.get("key-1"));
+    }
+}
@@ -0,0 +1,98 @@
+package com.fortisbank.contracts.models.others;
+
+import com.fortisbank.contracts.models.accounts.Account;
+import com.fortisbank.contracts.models.accounts.CheckingAccount;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares posting a run of amounts to a balance with {@link BigDecimal} and with {@link Money}.
+ * Each operation applies {@link #POSTINGS} signed amounts and checks the balance after each one,
+ * the way {@code TransactionService} validates funds and adjusts a balance.
+ *
+ * Run from the test classpath, e.g.
+ * {@code java -cp <test classpath> com.fortisbank.contracts.models.others.MoneyBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyBenchmark {
+
+    private static final int POSTINGS = 1000;
+
+    private BigDecimal[] decimalAmounts;
+    private Money[] moneyAmounts;
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        decimalAmounts = new BigDecimal[POSTINGS];
+        moneyAmounts = new Money[POSTINGS];
+        for (int i = 0; i < POSTINGS; i++) {
+            long cents = random.nextInt(100_000) - 40_000;
+            decimalAmounts[i] = BigDecimal.valueOf(cents, 2);
+            moneyAmounts[i] = Money.ofMinor(cents, Money.DEFAULT_SCALE);
+        }
+        account = new CheckingAccount("BENCH", null, new Date(), new BigDecimal("1000.00"));
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalPostings() {
+        BigDecimal balance = new BigDecimal("1000.00");
+        for (BigDecimal amount : decimalAmounts) {
+            if (balance.add(amount).compareTo(BigDecimal.ZERO) >= 0) balance = balance.add(amount);
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public Money moneyPostings() {
+        Money balance = Money.ofMinor(100_000, Money.DEFAULT_SCALE);
+        for (Money amount : moneyAmounts) {
+            Money next = balance.plus(amount);
+            if (next.signum() >= 0) balance = next;
+        }
+        return balance;
+    }
+
+    /**
+     * The posting path before balances were kept in minor units: each posting converts the stored balance.
+     */
+    @Benchmark
+    public BigDecimal accountPostingsWithConversion() {
+        account.setAvailableBalance(new BigDecimal("1000.00"));
+        for (Money amount : moneyAmounts) {
+            Money next = Money.of(account.getAvailableBalance()).plus(amount);
+            if (next.signum() >= 0) account.setAvailableBalance(next.toBigDecimal());
+        }
+        return account.getAvailableBalance();
+    }
+
+    /**
+     * The current posting path: the balance stays in minor units and is converted once when it is read.
+     */
+    @Benchmark
+    public BigDecimal accountPostingsInMinorUnits() {
+        account.setAvailableBalance(new BigDecimal("1000.00"));
+        for (Money amount : moneyAmounts) {
+            Money next = account.getBalance().plus(amount);
+            if (next.signum() >= 0) account.setBalance(next);
+        }
+        return account.getAvailableBalance();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MoneyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.fortisbank.contracts.models.others;
+
+import com.fortisbank.contracts.models.accounts.Account;
+import com.fortisbank.contracts.models.accounts.CheckingAccount;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    @Test
+    void addsAndSubtractsInMinorUnits() {
+        Money a = Money.of(new BigDecimal("10.25"));
+        Money b = Money.of(new BigDecimal("0.75"));
+
+        assertEquals(Money.of(new BigDecimal("11.00")), a.plus(b));
+        assertEquals(Money.of(new BigDecimal("9.50")), a.minus(b));
+        assertEquals(1025L, a.getMinorUnits());
+        assertEquals(new BigDecimal("10.25"), a.toBigDecimal());
+    }
+
+    @Test
+    void acceptsTrailingZerosButRejectsSubCentAmounts() {
+        assertEquals(Money.of(new BigDecimal("5.10")), Money.of(new BigDecimal("5.1000")));
+        assertThrows(IllegalArgumentException.class, () -> Money.of(new BigDecimal("5.105")));
+    }
+
+    @Test
+    void roundsComputedValuesHalfEven() {
+        assertEquals(Money.of(new BigDecimal("0.02")), Money.rounded(new BigDecimal("0.025")));
+        assertEquals(Money.of(new BigDecimal("0.04")), Money.rounded(new BigDecimal("0.035")));
+        assertEquals(Money.of(new BigDecimal("1.24")), Money.of(new BigDecimal("12.35")).multiply(new BigDecimal("0.1")));
+    }
+
+    @Test
+    void failsOnOverflowInsteadOfWrapping() {
+        Money max = Money.ofMinor(Long.MAX_VALUE, Money.DEFAULT_SCALE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofMinor(1, Money.DEFAULT_SCALE)));
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MIN_VALUE, Money.DEFAULT_SCALE).negate());
+    }
+
+    @Test
+    void comparesAmounts() {
+        Money small = Money.of(new BigDecimal("1.00"));
+        Money large = Money.of(new BigDecimal("2.00"));
+
+        assertTrue(large.isAtLeast(small));
+        assertTrue(small.isAtLeast(small));
+        assertFalse(small.isAtLeast(large));
+        assertEquals(-1, small.negate().signum());
+        assertEquals(0, Money.ZERO.signum());
+    }
+
+    @Test
+    void accountReadsLegacySubCentBalanceLeniently() {
+        Account account = new CheckingAccount("ACC-1", null, new Date(), new BigDecimal("10.005"));
+
+        assertEquals(Money.of(new BigDecimal("10.00")), account.getBalance());
+        account.setBalance(account.getBalance().plus(Money.of(new BigDecimal("1.50"))));
+        assertEquals(new BigDecimal("11.50"), account.getAvailableBalance());
+    }
+
+    @Test
+    void accountWritesBalanceChangedInMinorUnits() throws Exception {
+        Account account = new CheckingAccount("ACC-1", null, new Date(), new BigDecimal("10.00"));
+        account.setBalance(Money.of(new BigDecimal("12.34")));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(account);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(new BigDecimal("12.34"), ((Account) in.readObject()).getAvailableBalance());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.fortisbank.data.file;
+
+import com.fortisbank.contracts.models.accounts.AccountType;
+import com.fortisbank.contracts.models.reports.DailyAggregate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyAggregateRepositoryFileTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 10);
+
+    @TempDir
+    File directory;
+
+    private File aggregates() {
+        return new File(directory, "daily_aggregates.ser");
+    }
+
+    private File journal() {
+        return new File(directory, "daily_aggregates.journal");
+    }
+
+    private DailyAggregateRepositoryFile open() {
+        return new DailyAggregateRepositoryFile(aggregates(), journal(), new File(directory, "daily_aggregates.rebuilt"));
+    }
+
+    private static DailyAggregate deposit(LocalDate day, String amount) {
+        BigDecimal value = new BigDecimal(amount);
+        BigDecimal zero = BigDecimal.ZERO;
+        return new DailyAggregate(day, AccountType.CHECKING, 1, value, zero, zero, zero, zero, value);
+    }
+
+    @Test
+    void commitsAreAppendedInsteadOfRewritingTheAggregates() throws Exception {
+        DailyAggregateRepositoryFile repository = open();
+        repository.replaceAllAggregates(List.of(deposit(DAY, "5.00")));
+        long written = aggregates().lastModified();
+        long length = aggregates().length();
+
+        repository.addToAggregates(List.of(deposit(DAY, "10.00")));
+        repository.addToAggregates(List.of(deposit(DAY.plusDays(1), "2.50")));
+
+        assertEquals(length, aggregates().length());
+        assertEquals(written, aggregates().lastModified());
+        assertTrue(journal().length() > 0);
+        List<DailyAggregate> stored = repository.getAggregates(null, null);
+        assertEquals(2, stored.size());
+        assertEquals(new BigDecimal("15.00"), stored.get(0).getDeposits());
+        assertEquals(2, stored.get(0).getEntryCount());
+    }
+
+    @Test
+    void journaledCommitsSurviveRestart() throws Exception {
+        DailyAggregateRepositoryFile first = open();
+        first.addToAggregates(List.of(deposit(DAY, "10.00")));
+        first.addToAggregates(List.of(deposit(DAY, "1.25")));
+
+        DailyAggregateRepositoryFile restarted = open();
+        List<DailyAggregate> stored = restarted.getAggregates(DAY, DAY);
+
+        assertEquals(1, stored.size());
+        assertEquals(new BigDecimal("11.25"), stored.get(0).getDeposits());
+        assertFalse(journal().exists(), "the journal is folded into the aggregates file at startup");
+    }
+
+    @Test
+    void ignoresPartlyWrittenCommit() throws Exception {
+        open().addToAggregates(List.of(deposit(DAY, "10.00")));
+        try (FileOutputStream out = new FileOutputStream(journal(), true)) {
+            out.write(new byte[]{0, 0, 1, 0, 7});
+        }
+
+        List<DailyAggregate> stored = open().getAggregates(null, null);
+
+        assertEquals(1, stored.size());
+        assertEquals(new BigDecimal("10.00"), stored.get(0).getDeposits());
+    }
+
+    @Test
+    void recordsRebuildWithTheAggregates() throws Exception {
+        DailyAggregateRepositoryFile repository = open();
+        assertFalse(repository.isRebuilt());
+
+        repository.replaceAllAggregates(List.of(deposit(DAY, "5.00")));
+
+        assertTrue(open().isRebuilt());
+    }
+}